@@ -1,5 +1,6 @@
 package tauri.dev.jsg.block.energy;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.BlockStateContainer;
@@ -22,6 +23,7 @@ import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.block.JSGBlock;
 import tauri.dev.jsg.creativetabs.JSGCreativeTabsHandler;
 import tauri.dev.jsg.gui.GuiIdEnum;
+import tauri.dev.jsg.power.general.EnergyNetworks;
 import tauri.dev.jsg.renderer.zpm.ZPMHubRenderer;
 import tauri.dev.jsg.tileentity.energy.ZPMHubTile;
 import tauri.dev.jsg.util.ItemHandlerHelper;
@@ -96,6 +98,11 @@ public class ZPMHubBlock extends JSGBlock {
         super.breakBlock(world, pos, state);
     }
 
+    @Override
+    public void neighborChanged(IBlockState state, World world, BlockPos pos, Block block, BlockPos fromPos) {
+        EnergyNetworks.onNeighborChanged(world, pos);
+    }
+
     @Override
     public void onBlockPlacedBy(World world, @Nonnull BlockPos pos, @Nonnull IBlockState state, EntityLivingBase placer, @Nonnull ItemStack stack) {
         EnumFacing facing = placer.getHorizontalFacing().getOpposite();
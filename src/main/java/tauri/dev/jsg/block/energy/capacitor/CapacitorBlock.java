@@ -1,5 +1,6 @@
 package tauri.dev.jsg.block.energy.capacitor;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.BlockStateContainer;
@@ -23,6 +24,7 @@ import tauri.dev.jsg.block.JSGAbstractCustomItemBlock;
 import tauri.dev.jsg.creativetabs.JSGCreativeTabsHandler;
 import tauri.dev.jsg.gui.GuiIdEnum;
 import tauri.dev.jsg.item.energy.CapacitorItemBlock;
+import tauri.dev.jsg.power.general.EnergyNetworks;
 import tauri.dev.jsg.power.general.ItemEnergyStorage;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
 import tauri.dev.jsg.tileentity.energy.CapacitorTile;
@@ -129,6 +131,11 @@ public class CapacitorBlock extends JSGAbstractCustomItemBlock {
 		}
 		super.breakBlock(world, pos, state);
 	}
+
+	@Override
+	public void neighborChanged(IBlockState state, World world, BlockPos pos, Block block, BlockPos fromPos) {
+		EnergyNetworks.onNeighborChanged(world, pos);
+	}
 	
 	@Override
     public boolean removedByPlayer(IBlockState state, World world, BlockPos pos, EntityPlayer player, boolean willHarvest) {
@@ -1,5 +1,6 @@
 package tauri.dev.jsg.block.stargate;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.state.BlockStateContainer;
 import net.minecraftforge.common.property.ExtendedBlockState;
 import net.minecraftforge.common.property.IExtendedBlockState;
@@ -57,6 +58,16 @@ public abstract class StargateClassicBaseBlock extends StargateAbstractBaseBlock
 		}
 	}
 
+	@Override
+	@SuppressWarnings("deprecation")
+	public void neighborChanged(IBlockState state, World world, BlockPos pos, Block blockIn, BlockPos fromPos) {
+		if (world.isRemote) return;
+
+		StargateClassicBaseTile gateTile = (StargateClassicBaseTile) world.getTileEntity(pos);
+		if (gateTile != null)
+			gateTile.onEnvironmentChanged();
+	}
+
 	@Override
 	protected void showGateInfo(EntityPlayer player, EnumHand hand, World world, BlockPos pos) {
 		StargateClassicBaseTile tile = (StargateClassicBaseTile) world.getTileEntity(pos);
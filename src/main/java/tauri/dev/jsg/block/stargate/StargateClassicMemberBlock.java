@@ -182,6 +182,10 @@ public abstract class StargateClassicMemberBlock extends StargateAbstractMemberB
         if (!world.isRemote && memberTile != null) {
             // Server and tile entity exists
 
+            StargateAbstractBaseTile gateTile = memberTile.getBaseTile(world);
+            if (gateTile instanceof StargateClassicBaseTile)
+                ((StargateClassicBaseTile) gateTile).onEnvironmentChanged();
+
             if (memberTile.isMerged() && memberTile.getCamoState() == null || DHDAbstractBlock.SNOW_MATCHER.apply(memberTile.getCamoState())) {
                 // Merged and camo is empty or it's snow
                 boolean snowAround = DHDAbstractBlock.isSnowAroundBlock(world, pos);
@@ -13,19 +13,21 @@ import net.minecraftforge.common.util.Constants.NBT;
 import java.util.List;
 
 public class ChunkLoadingCallback implements LoadingCallback {
-	
+
 	public static final ChunkLoadingCallback INSTANCE = new ChunkLoadingCallback();
-	
+
 	@Override
-	public void ticketsLoaded(List<Ticket> tickets, World world) {		
+	public void ticketsLoaded(List<Ticket> tickets, World world) {
 		for (Ticket ticket : tickets) {
 			NBTTagList forcedChunks = ticket.getModData().getTagList("forcedChunks", NBT.TAG_COMPOUND);
-			
+
 			for (NBTBase forcedChunk : forcedChunks) {
 				ChunkPos chunk = ChunkManager.deserializeChunk((NBTTagCompound) forcedChunk);
-				ChunkManager.forceChunk(world, chunk);
+
+				for (ChunkManager.Owner owner : ChunkManager.deserializeOwners((NBTTagCompound) forcedChunk, chunk))
+					ChunkManager.forceChunk(world, chunk, owner);
 			}
-			
+
 			ForgeChunkManager.releaseTicket(ticket);
 		}
 	}
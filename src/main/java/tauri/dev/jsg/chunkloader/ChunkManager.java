@@ -3,6 +3,8 @@ package tauri.dev.jsg.chunkloader;
 import tauri.dev.jsg.JSG;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeChunkManager;
@@ -13,71 +15,277 @@ import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * Reference-counted chunk loading.
+ * <p>
+ * Every forced chunk is held by one or more owners (gates, beamers...). The chunk is released
+ * when the last owner releases it. Tickets are allocated from a per-world pool, a new ticket is
+ * requested when all tickets are full ({@link Ticket#getMaxChunkListDepth()}) and released when empty.
+ * Owners of the chunks are saved in the ticket's mod data and restored by {@link ChunkLoadingCallback}.
+ */
 @EventBusSubscriber
 public class ChunkManager {
-	
-	private static final Map<World, Ticket> worldTicketMap = new HashMap<>();
-	
-	public static Ticket requestTicket(World world) {
-		if (!worldTicketMap.containsKey(world)) {
-			worldTicketMap.put(world, ForgeChunkManager.requestTicket(JSG.instance, world, Type.NORMAL));
-		}
-		
-		return worldTicketMap.get(world);
-	}
-	
-	public static void forceChunk(World world, ChunkPos chunk) {
-		JSG.debug("Forcing chunk " + chunk + ", in world: " + world.provider);
-		
-		Ticket ticket = requestTicket(world);
-		ForgeChunkManager.forceChunk(ticket, chunk);
-		
-		NBTTagList forcedChunks = ticket.getModData().getTagList("forcedChunks", NBT.TAG_COMPOUND);
-		forcedChunks.appendTag(serializeChunk(chunk));
-		ticket.getModData().setTag("forcedChunks", forcedChunks);
+
+	/**
+	 * Chunks forced by the versions without owners. Released when any owner releases the chunk
+	 * or when a tile inside the chunk releases its chunks (old versions forced only the tile's own chunk).
+	 */
+	public static final String LEGACY_OWNER_TYPE = "legacy";
+
+	public static class Owner {
+		public final BlockPos pos;
+		public final String type;
+
+		public Owner(BlockPos pos, String type) {
+			this.pos = pos.toImmutable();
+			this.type = type;
+		}
+
+		public Owner(TileEntity tileEntity) {
+			this(tileEntity.getPos(), tileEntity.getClass().getSimpleName());
+		}
+
+		public boolean isLegacy() {
+			return LEGACY_OWNER_TYPE.equals(type);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Owner)) return false;
+
+			Owner owner = (Owner) o;
+			return pos.equals(owner.pos) && type.equals(owner.type);
+		}
+
+		@Override
+		public int hashCode() {
+			return pos.hashCode() * 31 + type.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return type + " at " + pos.getX() + ", " + pos.getY() + ", " + pos.getZ();
+		}
 	}
-	
-	public static void unforceChunk(World world, ChunkPos chunk) {
-		Ticket ticket = requestTicket(world);
-		ForgeChunkManager.unforceChunk(ticket, chunk);
-		
-		NBTTagList forcedChunks = ticket.getModData().getTagList("forcedChunks", NBT.TAG_COMPOUND);
-		int found = -1;
-		
-		for (int i=0; i<forcedChunks.tagCount(); i++) {
-			if (serializedChunkEquals(chunk, forcedChunks.getCompoundTagAt(i))) {
-				found = i;
-				break;
+
+	private static class WorldChunks {
+		private final World world;
+		private final List<Ticket> tickets = new ArrayList<>();
+		private final Map<ChunkPos, Ticket> chunkTickets = new HashMap<>();
+		private final Map<ChunkPos, Set<Owner>> chunkOwners = new HashMap<>();
+		private final Map<Owner, Set<ChunkPos>> ownerChunks = new HashMap<>();
+
+		private WorldChunks(World world) {
+			this.world = world;
+		}
+
+		private Ticket getFreeTicket() {
+			for (Ticket ticket : tickets) {
+				if (ticket.getChunkList().size() < ticket.getMaxChunkListDepth())
+					return ticket;
+			}
+
+			Ticket ticket = ForgeChunkManager.requestTicket(JSG.instance, world, Type.NORMAL);
+			if (ticket != null)
+				tickets.add(ticket);
+
+			return ticket;
+		}
+
+		private boolean force(ChunkPos chunk, Owner owner) {
+			Set<Owner> owners = chunkOwners.get(chunk);
+
+			if (owners == null) {
+				Ticket ticket = getFreeTicket();
+				if (ticket == null) {
+					JSG.warn("Could not force chunk " + chunk + " for " + owner + ", no chunk loading tickets left (see forgeChunkLoading.cfg)");
+					return false;
+				}
+
+				JSG.debug("Forcing chunk " + chunk + " for " + owner + ", in world: " + world.provider);
+				ForgeChunkManager.forceChunk(ticket, chunk);
+				chunkTickets.put(chunk, ticket);
+				owners = new HashSet<>();
+				chunkOwners.put(chunk, owners);
+			}
+
+			if (owners.add(owner)) {
+				ownerChunks.computeIfAbsent(owner, o -> new HashSet<>()).add(chunk);
+				saveTicket(chunkTickets.get(chunk));
+			}
+
+			return true;
+		}
+
+		private void unforce(ChunkPos chunk, Owner owner) {
+			Set<Owner> owners = chunkOwners.get(chunk);
+			if (owners == null || !owners.remove(owner)) return;
+
+			removeOwnerChunk(owner, chunk);
+
+			for (Iterator<Owner> iterator = owners.iterator(); iterator.hasNext(); ) {
+				Owner other = iterator.next();
+				if (other.isLegacy()) {
+					iterator.remove();
+					removeOwnerChunk(other, chunk);
+				}
+			}
+
+			Ticket ticket = chunkTickets.get(chunk);
+			if (owners.isEmpty()) {
+				JSG.debug("Unforcing chunk " + chunk + ", in world: " + world.provider);
+				chunkOwners.remove(chunk);
+				chunkTickets.remove(chunk);
+				ForgeChunkManager.unforceChunk(ticket, chunk);
+
+				if (ticket.getChunkList().isEmpty()) {
+					tickets.remove(ticket);
+					ForgeChunkManager.releaseTicket(ticket);
+					return;
+				}
+			}
+
+			saveTicket(ticket);
+		}
+
+		private void removeOwnerChunk(Owner owner, ChunkPos chunk) {
+			Set<ChunkPos> chunks = ownerChunks.get(owner);
+			if (chunks == null) return;
+
+			chunks.remove(chunk);
+			if (chunks.isEmpty()) ownerChunks.remove(owner);
+		}
+
+		private void release(Owner owner) {
+			Set<ChunkPos> chunks = ownerChunks.get(owner);
+			if (chunks != null) {
+				for (ChunkPos chunk : new ArrayList<>(chunks))
+					unforce(chunk, owner);
+			}
+
+			releaseLegacy(new ChunkPos(owner.pos));
+		}
+
+		private void releaseLegacy(ChunkPos chunk) {
+			Set<Owner> owners = chunkOwners.get(chunk);
+			if (owners == null) return;
+
+			for (Owner other : new ArrayList<>(owners)) {
+				if (other.isLegacy())
+					unforce(chunk, other);
 			}
 		}
-	
-		if (found != -1) {
-			forcedChunks.removeTag(found);
+
+		private void saveTicket(Ticket ticket) {
+			NBTTagList forcedChunks = new NBTTagList();
+
+			for (ChunkPos chunk : ticket.getChunkList()) {
+				Set<Owner> owners = chunkOwners.get(chunk);
+				if (owners == null) continue;
+
+				NBTTagCompound compound = serializeChunk(chunk);
+				NBTTagList ownersList = new NBTTagList();
+				for (Owner owner : owners)
+					ownersList.appendTag(serializeOwner(owner));
+
+				compound.setTag("owners", ownersList);
+				forcedChunks.appendTag(compound);
+			}
+
 			ticket.getModData().setTag("forcedChunks", forcedChunks);
 		}
 	}
-	
+
+	private static final Map<World, WorldChunks> worldChunksMap = new WeakHashMap<>();
+
+	private static WorldChunks getWorldChunks(World world) {
+		return worldChunksMap.computeIfAbsent(world, WorldChunks::new);
+	}
+
+	/**
+	 * Forces the chunk until the owner releases it.
+	 *
+	 * @return False if no ticket could be allocated.
+	 */
+	public static boolean forceChunk(TileEntity owner, ChunkPos chunk) {
+		return forceChunk(owner.getWorld(), chunk, new Owner(owner));
+	}
+
+	public static boolean forceChunk(World world, ChunkPos chunk, Owner owner) {
+		return getWorldChunks(world).force(chunk, owner);
+	}
+
+	public static void unforceChunk(TileEntity owner, ChunkPos chunk) {
+		getWorldChunks(owner.getWorld()).unforce(chunk, new Owner(owner));
+	}
+
+	/**
+	 * Releases all chunks held by the owner.
+	 */
+	public static void releaseChunks(TileEntity owner) {
+		getWorldChunks(owner.getWorld()).release(new Owner(owner));
+	}
+
+	public static boolean isForcing(TileEntity owner) {
+		return getWorldChunks(owner.getWorld()).ownerChunks.containsKey(new Owner(owner));
+	}
+
+	/**
+	 * @return Forced chunks and their owners.
+	 */
+	public static Map<ChunkPos, Set<Owner>> getForcedChunks(World world) {
+		return Collections.unmodifiableMap(getWorldChunks(world).chunkOwners);
+	}
+
+	public static int getTicketCount(World world) {
+		return getWorldChunks(world).tickets.size();
+	}
+
 	private static NBTTagCompound serializeChunk(ChunkPos chunk) {
 		NBTTagCompound compound = new NBTTagCompound();
 		compound.setInteger("x", chunk.x);
 		compound.setInteger("z", chunk.z);
-		
+
 		return compound;
 	}
-	
+
 	public static ChunkPos deserializeChunk(NBTTagCompound compound) {
 		return new ChunkPos(compound.getInteger("x"), compound.getInteger("z"));
 	}
-	
-	private static boolean serializedChunkEquals(ChunkPos chunk, NBTTagCompound compound) {
-		return compound.getInteger("x") == chunk.x && compound.getInteger("z") == chunk.z;
+
+	private static NBTTagCompound serializeOwner(Owner owner) {
+		NBTTagCompound compound = new NBTTagCompound();
+		compound.setLong("pos", owner.pos.toLong());
+		compound.setString("type", owner.type);
+
+		return compound;
+	}
+
+	/**
+	 * @return Owners of the serialized chunk, legacy owner if the chunk was saved without them.
+	 */
+	public static List<Owner> deserializeOwners(NBTTagCompound compound, ChunkPos chunk) {
+		List<Owner> owners = new ArrayList<>();
+
+		if (!compound.hasKey("owners")) {
+			owners.add(new Owner(chunk.getBlock(0, 0, 0), LEGACY_OWNER_TYPE));
+			return owners;
+		}
+
+		NBTTagList ownersList = compound.getTagList("owners", NBT.TAG_COMPOUND);
+		for (int i = 0; i < ownersList.tagCount(); i++) {
+			NBTTagCompound ownerCompound = ownersList.getCompoundTagAt(i);
+			owners.add(new Owner(BlockPos.fromLong(ownerCompound.getLong("pos")), ownerCompound.getString("type")));
+		}
+
+		return owners;
 	}
-	
+
 	@SubscribeEvent
 	public static void onWorldUnload(WorldEvent.Unload event) {
-		worldTicketMap.remove(event.getWorld());
+		worldChunksMap.remove(event.getWorld());
 	}
 }
@@ -0,0 +1,61 @@
+package tauri.dev.jsg.command;
+
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import tauri.dev.jsg.chunkloader.ChunkManager;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+
+public class CommandChunks extends AbstractJSGCommand {
+    public CommandChunks() {
+        super(JSGCommand.JSG_BASE_COMMAND);
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "chunks";
+    }
+
+    @Nonnull
+    @Override
+    public String getDescription() {
+        return "Displays chunks loaded by JSG and their owners";
+    }
+
+    @Nonnull
+    @Override
+    public String getGeneralUsage() {
+        return "chunks";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        int total = 0;
+
+        for (WorldServer world : server.worlds) {
+            Map<ChunkPos, Set<ChunkManager.Owner>> forcedChunks = ChunkManager.getForcedChunks(world);
+            if (forcedChunks.isEmpty()) continue;
+
+            baseCommand.sendInfoMess(sender, "Dimension " + world.provider.getDimension() + ": " + forcedChunks.size() + " chunks, " + ChunkManager.getTicketCount(world) + " tickets");
+            for (Map.Entry<ChunkPos, Set<ChunkManager.Owner>> entry : forcedChunks.entrySet()) {
+                for (ChunkManager.Owner owner : entry.getValue())
+                    baseCommand.sendInfoMess(sender, "  [" + entry.getKey().x + ", " + entry.getKey().z + "] " + owner);
+            }
+
+            total += forcedChunks.size();
+        }
+
+        baseCommand.sendSuccessMess(sender, total + " chunks loaded by JSG");
+    }
+}
@@ -29,6 +29,7 @@ public final class JSGCommands {
             new CommandStargateResetFakePos(),
             new CommandImportOrigins(),
             new CommandStructureSpawn(),
+            new CommandChunks(),
             new CommandTest()
     ));
 
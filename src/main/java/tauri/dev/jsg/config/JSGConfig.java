@@ -203,6 +203,40 @@ public class JSGConfig {
             })
             public boolean logTexturesLoading = false;
 
+            @Config.Name("Cache parsed models")
+            @Config.Comment({
+                    "Should store parsed models in config/jsg/cache to load them faster next time?",
+                    "SIDE: CLIENT"
+            })
+            public boolean cacheModels = true;
+
+            @Config.Name("Asset decoding threads")
+            @Config.Comment({
+                    "How many threads should decode models and textures while loading?",
+                    "0 - number of CPU cores - 1",
+                    "SIDE: CLIENT"
+            })
+            @Config.RangeInt(min = 0, max = 32)
+            public int assetLoadingThreads = 0;
+
+            @Config.Name("Load models and textures on demand")
+            @Config.Comment({
+                    "Load models and textures when they are rendered for the first time instead of loading all of them on startup?",
+                    "WARNING! - Requires reloading!",
+                    "SIDE: CLIENT"
+            })
+            public boolean loadAssetsOnDemand = true;
+
+            @Config.Name("Models and textures memory budget (MB)")
+            @Config.Comment({
+                    "If models and textures loaded on demand take more memory than this,",
+                    "the least recently used ones are released.",
+                    "0 - unlimited",
+                    "SIDE: CLIENT"
+            })
+            @Config.RangeInt(min = 0)
+            public int assetMemoryBudget = 512;
+
             @Config.Name("Log debug messages as info")
             @Config.Comment({
                     "If debug console not working, should display debug as info?",
@@ -563,6 +597,18 @@ public class JSGConfig {
                     "SIDE: SERVER"
             })
             public boolean useStrictSevenSymbolsUniGate = false;
+
+            @Config.RequiresWorldRestart
+            @Config.Name("Save stargate network per dimension")
+            @Config.Comment({
+                    "Store registered gates in one file per dimension and save only changed dimensions.",
+                    "Recommended for servers with large networks. Old network data are migrated automatically.",
+                    "Switching this back to false writes the whole network to the main file again (on the next save).",
+                    "WARNING: While this is true the main file does not contain the gates - do not downgrade JSG",
+                    "to a version without this option, the stargate network would be lost. Switch it off first.",
+                    "SIDE: SERVER"
+            })
+            public boolean shardedNetworkStorage = false;
         }
 
         public static class Iris {
@@ -1600,6 +1646,22 @@ public class JSGConfig {
                     "SIDE: SERVER"
             })
             public int port = 7070;
+
+            @Config.Name("Threads")
+            @Config.Comment({
+                    "Threads handling the requests",
+                    "SIDE: SERVER"
+            })
+            @Config.RangeInt(min = 1, max = 16)
+            public int threads = 2;
+
+            @Config.Name("Max event stream clients")
+            @Config.Comment({
+                    "Max clients connected to the /sgevents stream at once",
+                    "SIDE: SERVER"
+            })
+            @Config.RangeInt(min = 0, max = 64)
+            public int maxEventClients = 8;
         }
     }
 }
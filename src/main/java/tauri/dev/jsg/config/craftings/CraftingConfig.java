@@ -39,8 +39,18 @@ public class CraftingConfig {
     private static File configDir;
     private static File configFile;
 
+    /**
+     * Incremented on every change of the config, recipes cache their disabled state until it changes.
+     */
+    private static int version = 0;
+
+    public static int getVersion() {
+        return version;
+    }
+
     public static void addConfig(CraftingConfig config) {
         CONFIG_MAP.put(config.configId, config.entries);
+        version++;
     }
 
     private static void rewrite() {
@@ -67,6 +77,7 @@ public class CraftingConfig {
     }
 
     public static void load(File configDir) {
+        version++;
         CraftingConfig.configDir = configDir;
         configFile = new File(configDir, "jsg/jsgEnabledCraftings_" + JSG.CONFIG_CRAFTINGS_VERSION + ".json");
 
@@ -9,12 +9,23 @@ public class JSGConfigEnumEntry {
         this.value= value;
     }
 
+    /**
+     * Value {@link #intValue} was parsed from.
+     */
+    private String parsedValue;
+    private int intValue;
+
     public int getIntValue(){
+        if(parsedValue == this.value) return intValue;
+
+        int i = -1;
         try{
-            return Integer.parseInt(this.value);
+            i = Integer.parseInt(this.value);
         }
         catch(Exception ignored){}
-        return -1;
+        intValue = i;
+        parsedValue = this.value;
+        return i;
     }
 
     @Override
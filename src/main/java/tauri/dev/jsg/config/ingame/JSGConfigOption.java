@@ -23,10 +23,20 @@ public class JSGConfigOption {
     public List<String> comment = new ArrayList<>();
     public List<JSGConfigEnumEntry> possibleValues = new ArrayList<>();
     public JSGConfigOptionTypeEnum type = JSGConfigOptionTypeEnum.TEXT;
-    public String value = "";
     public String defaultValue = "";
     private String label = "";
 
+    /**
+     * String form of the value, used by the GUI and for NBT/ByteBuf.
+     * Getters read the typed values below, which are updated in {@link #setRawValue(String)}.
+     */
+    private String value = "";
+    private boolean booleanValue;
+    private int intValue;
+    private JSGConfigEnumEntry enumValue = NULL_ENUM_VALUE;
+
+    private static final JSGConfigEnumEntry NULL_ENUM_VALUE = new JSGConfigEnumEntry("null", "-1");
+
     private int minInt = -1;
     private int maxInt = -1;
 
@@ -157,27 +167,27 @@ public class JSGConfigOption {
     }
 
     public boolean getBooleanValue() {
-        if (this.value == null) return false;
-        return this.value.equals("true");
+        return booleanValue;
     }
 
     private JSGConfigOption setBooleanValue(String value) {
         if (value.equals("true") || value.equals("1"))
-            this.value = "true";
+            setRawValue("true");
         else
-            this.value = "false";
+            setRawValue("false");
         return this;
     }
 
     public int getIntValue() {
-        return getIntValue(false);
+        return intValue;
     }
 
     public int getIntValue(boolean getDefault) {
-        String v = value;
-        if (getDefault)
-            v = defaultValue;
+        if (!getDefault) return intValue;
+        return parseInt(defaultValue);
+    }
 
+    private static int parseInt(String v) {
         if (v == null) return 0;
         try {
             return Integer.parseInt(v);
@@ -192,7 +202,7 @@ public class JSGConfigOption {
         try {
             int i = Integer.parseInt(value);
             if ((maxInt == -1 || i <= maxInt) && (minInt == -1 || i >= minInt))
-                this.value = i + "";
+                setRawValue(i + "");
         } catch (Exception ignored) {
         }
         return this;
@@ -203,20 +213,36 @@ public class JSGConfigOption {
     }
 
     private JSGConfigOption setStringValue(String value) {
-        this.value = value;
+        setRawValue(value);
         return this;
     }
 
+    /**
+     * Sets the string form of the value and updates the typed values.
+     */
+    private void setRawValue(String value) {
+        this.value = value;
+        this.booleanValue = "true".equals(value);
+        this.intValue = parseInt(value);
+        updateEnumValue();
+    }
+
+    private void updateEnumValue() {
+        JSGConfigEnumEntry entry = null;
+        if (intValue >= 0 && intValue < possibleValues.size())
+            entry = possibleValues.get(intValue);
+
+        this.enumValue = (entry != null ? entry : NULL_ENUM_VALUE);
+    }
+
     @Nonnull
     public JSGConfigEnumEntry getEnumValue() {
-        if (possibleValues.size() <= getIntValue()) return new JSGConfigEnumEntry("null", "-1");
-        JSGConfigEnumEntry t = possibleValues.get(getIntValue());
-        if (t != null) return t;
-        return new JSGConfigEnumEntry("null", "-1");
+        return enumValue;
     }
 
     private JSGConfigOption setEnumValues(List<JSGConfigEnumEntry> entries) {
         this.possibleValues = entries;
+        updateEnumValue();
         return this;
     }
 
@@ -252,7 +278,7 @@ public class JSGConfigOption {
             comment.add(compound.getString("comment" + i));
         }
         this.type = JSGConfigOptionTypeEnum.byId(compound.getInteger("type"));
-        this.value = compound.getString("value");
+        String value = compound.getString("value");
         this.minInt = compound.getInteger("minInt");
         this.maxInt = compound.getInteger("maxInt");
         this.defaultValue = compound.getString("defaultValue");
@@ -261,6 +287,7 @@ public class JSGConfigOption {
         for (int i = 0; i < s; i++) {
             possibleValues.add(new JSGConfigEnumEntry(compound.getString("possibleValueName" + i), compound.getString("possibleValue" + i)));
         }
+        setRawValue(value);
     }
 
     public void toBytes(ByteBuf buf) {
@@ -301,7 +328,7 @@ public class JSGConfigOption {
         }
         this.type = JSGConfigOptionTypeEnum.byId(buf.readInt());
         int valueSize = buf.readInt();
-        this.value = buf.readCharSequence(valueSize, StandardCharsets.UTF_8).toString();
+        String optionValue = buf.readCharSequence(valueSize, StandardCharsets.UTF_8).toString();
         this.minInt = buf.readInt();
         this.maxInt = buf.readInt();
         int defaultValueSize = buf.readInt();
@@ -315,5 +342,6 @@ public class JSGConfigOption {
             String name = buf.readCharSequence(nameSize, StandardCharsets.UTF_8).toString();
             possibleValues.add(new JSGConfigEnumEntry(name, value));
         }
+        setRawValue(optionValue);
     }
 }
@@ -1,22 +1,30 @@
 package tauri.dev.jsg.entity.ai;
 
 import net.minecraft.entity.ai.EntityAIBase;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.entity.friendly.TokraEntity;
 import tauri.dev.jsg.tileentity.transportrings.TransportRingsAbstractTile;
-import tauri.dev.jsg.util.JSGAxisAlignedBB;
 import tauri.dev.jsg.util.LinkingHelper;
 
 import java.util.ArrayList;
 
+/**
+ * Tok'ra walk to nearby rings and use them.
+ * <p>
+ * Rings are found by {@link TokraRingsLookup} at most once per {@link #SEARCH_COOLDOWN} ticks per entity,
+ * the last result is used in between.
+ */
 public class JSGTokraLookForRingsAI extends EntityAIBase {
 
+    private static final int SEARCH_COOLDOWN = 20;
+
     private final TokraEntity entity;
     private BlockPos nearestRingsPos;
+    private BlockPos pathTarget;
+    private long nextSearch;
     public long lastRingsActivated;
 
     public JSGTokraLookForRingsAI(TokraEntity tokra) {
@@ -26,61 +34,35 @@ public class JSGTokraLookForRingsAI extends EntityAIBase {
     @Override
     public boolean shouldExecute() {
         World world = entity.getWorld();
-        BlockPos entityPos = entity.getPos();
-
-        EntityPlayer nearestPlayer = (EntityPlayer) world.findNearestEntityWithinAABB(EntityPlayer.class, new JSGAxisAlignedBB(new BlockPos(-40, -25, -40).add(entityPos), new BlockPos(40, 70, 40).add(entityPos)), entity);
-
-        BlockPos nearestRings;
-        ArrayList<BlockPos> blacklist = new ArrayList<>();
-        int loop = 0;
-        boolean found = false;
-        while (!found && loop < 50) {
-            nearestRings = LinkingHelper.findClosestPos(world, entityPos, new BlockPos(15, 5, 15), JSGBlocks.RINGS_BLOCKS, blacklist);
-            if (nearestRings == null)
-                break;
+        long time = world.getTotalWorldTime();
+        if (time < nextSearch) return nearestRingsPos != null;
 
-            TileEntity tile = world.getTileEntity(nearestRings);
-            if (tile instanceof TransportRingsAbstractTile) {
-                TransportRingsAbstractTile tRings = (TransportRingsAbstractTile) tile;
-                if (tRings.isBusy()) {
-                    blacklist.add(nearestRings);
-                    continue;
-                }
-                if (nearestPlayer == null && world.getBlockState(tile.getPos().up()).getBlock() == JSGBlocks.DECOR_CRYSTAL_BLOCK) {
-                    return false;
-                }
-                if (nearestPlayer != null && world.getBlockState(tile.getPos().up()).getBlock() != JSGBlocks.DECOR_CRYSTAL_BLOCK) {
-                    return false;
-                }
+        // Spread the searches of Tok'ra spawned at the same time
+        nextSearch = time + SEARCH_COOLDOWN + entity.getRNG().nextInt(SEARCH_COOLDOWN / 2);
+        nearestRingsPos = TokraRingsLookup.get(world).findRings(entity.getPos());
 
-                if (tRings.dialNearestRings(false).ok()) {
-                    this.nearestRingsPos = nearestRings;
-                    return true;
-                }
-            } else {
-                blacklist.add(nearestRings);
-                continue;
-            }
-            loop++;
-        }
-        return false;
+        return nearestRingsPos != null;
     }
 
     @Override
     public void startExecuting() {
         if (nearestRingsPos == null) return;
         entity.getLookHelper().setLookPosition(nearestRingsPos.getX(), (nearestRingsPos.getY() + 3), nearestRingsPos.getZ(), 10.0F, this.entity.getVerticalFaceSpeed());
-        entity.getNavigator().tryMoveToXYZ(nearestRingsPos.getX(), (nearestRingsPos.getY() + 2), nearestRingsPos.getZ(), 0.5D);
+
+        // Path to the same rings is still being followed
+        if (nearestRingsPos.equals(pathTarget) && !entity.getNavigator().noPath()) return;
+        if (entity.getNavigator().tryMoveToXYZ(nearestRingsPos.getX(), (nearestRingsPos.getY() + 2), nearestRingsPos.getZ(), 0.5D))
+            pathTarget = nearestRingsPos;
     }
 
     @Override
     public void updateTask() {
         if (nearestRingsPos == null) return;
         World world = entity.getWorld();
-        BlockPos entityPos = entity.getPos();
-        BlockPos nearestRings;
-        nearestRings = LinkingHelper.findClosestPos(world, entityPos, new BlockPos(1, 3, 1), JSGBlocks.RINGS_BLOCKS, new ArrayList<>());
-        if (((world.getTotalWorldTime() - lastRingsActivated) > 15 * 20) && nearestRings != null && (world.getTotalWorldTime() % 60 == 0)) {
+        if ((world.getTotalWorldTime() - lastRingsActivated) <= 15 * 20 || (world.getTotalWorldTime() % 60 != 0)) return;
+
+        BlockPos nearestRings = LinkingHelper.findClosestPos(world, entity.getPos(), new BlockPos(1, 3, 1), JSGBlocks.RINGS_BLOCKS, new ArrayList<>());
+        if (nearestRings != null) {
             TileEntity tile = world.getTileEntity(nearestRings);
             if (tile instanceof TransportRingsAbstractTile) {
                 TransportRingsAbstractTile tRings = (TransportRingsAbstractTile) tile;
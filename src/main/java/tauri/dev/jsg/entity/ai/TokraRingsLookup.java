@@ -0,0 +1,164 @@
+package tauri.dev.jsg.entity.ai;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import tauri.dev.jsg.block.JSGBlocks;
+import tauri.dev.jsg.tileentity.transportrings.TransportRingsAbstractTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
+import tauri.dev.jsg.util.JSGAxisAlignedBB;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-world lookup of rings usable by Tok'ra, see {@link JSGTokraLookForRingsAI}.
+ * <p>
+ * Rings are found in {@link DeviceRegistry}. Candidates are cached for a short time per area (8x8x8 blocks),
+ * so Tok'ra standing close to each other share one search. Each Tok'ra then picks from the candidates
+ * in its own range.
+ */
+@EventBusSubscriber
+public class TokraRingsLookup {
+
+    private static final Map<World, TokraRingsLookup> INSTANCES = new WeakHashMap<>();
+
+    public static TokraRingsLookup get(World world) {
+        return INSTANCES.computeIfAbsent(world, TokraRingsLookup::new);
+    }
+
+    private static final int CELL_SHIFT = 3;
+    private static final int CELL_HALF = 1 << (CELL_SHIFT - 1);
+    private static final BlockPos RINGS_RANGE = new BlockPos(15, 5, 15);
+
+    /**
+     * Range searched around the cell center - covers the range of every position in the cell.
+     */
+    private static final BlockPos CELL_RANGE = RINGS_RANGE.add(CELL_HALF, CELL_HALF, CELL_HALF);
+    private static final int RESULT_TTL = 20;
+
+    /**
+     * Expired results are removed when there are more than this many cached areas.
+     */
+    private static final int CLEANUP_SIZE = 64;
+
+    private enum CandidateState {
+        USABLE,
+        BUSY,
+        CANT_DIAL,
+
+        /**
+         * Crystal on the rings doesn't match the player presence - Tok'ra don't go to any rings.
+         */
+        STOP
+    }
+
+    private static class Candidate {
+        final BlockPos pos;
+        final CandidateState state;
+
+        Candidate(BlockPos pos, CandidateState state) {
+            this.pos = pos;
+            this.state = state;
+        }
+    }
+
+    private static class Result {
+        final List<Candidate> candidates;
+        final long time;
+
+        Result(List<Candidate> candidates, long time) {
+            this.candidates = candidates;
+            this.time = time;
+        }
+    }
+
+    private final World world;
+    private final Map<Long, Result> results = new HashMap<>();
+
+    private TokraRingsLookup(World world) {
+        this.world = world;
+    }
+
+    /**
+     * @return Rings the Tok'ra at the position should walk to or null.
+     */
+    @Nullable
+    public BlockPos findRings(BlockPos entityPos) {
+        long time = world.getTotalWorldTime();
+        BlockPos cell = new BlockPos(entityPos.getX() >> CELL_SHIFT, entityPos.getY() >> CELL_SHIFT, entityPos.getZ() >> CELL_SHIFT);
+        long key = cell.toLong();
+
+        Result result = results.get(key);
+        if (result == null || time - result.time >= RESULT_TTL) {
+            if (results.size() > CLEANUP_SIZE)
+                results.values().removeIf(r -> time - r.time >= RESULT_TTL);
+
+            BlockPos center = new BlockPos((cell.getX() << CELL_SHIFT) + CELL_HALF, (cell.getY() << CELL_SHIFT) + CELL_HALF, (cell.getZ() << CELL_SHIFT) + CELL_HALF);
+            result = new Result(search(center), time);
+            results.put(key, result);
+        }
+
+        List<Candidate> inRange = new ArrayList<>();
+        for (Candidate candidate : result.candidates) {
+            if (Math.abs(candidate.pos.getX() - entityPos.getX()) > RINGS_RANGE.getX()) continue;
+            if (Math.abs(candidate.pos.getY() - entityPos.getY()) > RINGS_RANGE.getY()) continue;
+            if (Math.abs(candidate.pos.getZ() - entityPos.getZ()) > RINGS_RANGE.getZ()) continue;
+            inRange.add(candidate);
+        }
+
+        inRange.sort(Comparator.comparingDouble(candidate -> entityPos.distanceSq(candidate.pos)));
+        for (Candidate candidate : inRange) {
+            switch (candidate.state) {
+                case USABLE:
+                    return candidate.pos;
+                case STOP:
+                    return null;
+                default:
+                    break;
+            }
+        }
+
+        return null;
+    }
+
+    private List<Candidate> search(BlockPos center) {
+        List<TransportRingsAbstractTile> ringsTiles = DeviceRegistry.get(world).getTilesInRange(TransportRingsAbstractTile.class, center, CELL_RANGE, false);
+        List<Candidate> candidates = new ArrayList<>(ringsTiles.size());
+        if (ringsTiles.isEmpty()) return candidates;
+
+        boolean playerNearby = !world.getEntitiesWithinAABB(EntityPlayer.class, new JSGAxisAlignedBB(new BlockPos(-40, -25, -40).add(center), new BlockPos(40, 70, 40).add(center)), EntitySelectors.NOT_SPECTATING).isEmpty();
+
+        for (TransportRingsAbstractTile ringsTile : ringsTiles) {
+            CandidateState state;
+            if (ringsTile.isBusy())
+                state = CandidateState.BUSY;
+
+            // Crystal on the rings - Tok'ra use them only when a player is around
+            else if ((world.getBlockState(ringsTile.getPos().up()).getBlock() == JSGBlocks.DECOR_CRYSTAL_BLOCK) != playerNearby)
+                state = CandidateState.STOP;
+            else if (ringsTile.dialNearestRings(false).ok())
+                state = CandidateState.USABLE;
+            else
+                state = CandidateState.CANT_DIAL;
+
+            candidates.add(new Candidate(ringsTile.getPos(), state));
+        }
+
+        return candidates;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+}
@@ -11,11 +11,12 @@ import tauri.dev.jsg.gui.base.JSGTextField;
 import tauri.dev.jsg.gui.element.GuiHelper;
 import tauri.dev.jsg.gui.element.ModeButton;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkDeltaToClient.DeltaType;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkRequestToServer;
 import tauri.dev.jsg.packet.gui.entry.EntryActionEnum;
 import tauri.dev.jsg.packet.gui.entry.EntryActionToServer;
 import tauri.dev.jsg.stargate.EnumDialingType;
 import tauri.dev.jsg.stargate.EnumIrisState;
-import tauri.dev.jsg.stargate.network.StargateAddress;
 import tauri.dev.jsg.stargate.network.StargateAddressDynamic;
 import tauri.dev.jsg.stargate.network.StargatePos;
 import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
@@ -43,87 +44,92 @@ public class AddressesSection {
 
     public JSGTextField searchField;
 
+    // Paging
+    public String requestedFilter = null;
+    public int pendingPage = -1;
+    public int loadedPages = 0;
+    public int totalEntries = 0;
+
     public AddressesSection(GuiAdminController baseGui) {
         this.guiBase = baseGui;
         searchField = new JSGTextField(500, Minecraft.getMinecraft().fontRenderer, 0, 0, 120, 20, "");
     }
 
-    @SuppressWarnings("all")
-    public boolean canAddThisEntry(StargatePos pos) {
-        String searchString = searchField.getText().toLowerCase();
-        if (!searchString.equalsIgnoreCase("")) {
-            boolean notContinue = false;
-            String entryString = BlockHelpers.blockPosToBetterString(pos.gatePos) + " " + pos.getGateSymbolType().name().toLowerCase() + " " + pos.dimensionID + " " + pos.getName().toLowerCase();
-            if (entryString.contains(searchString)) notContinue = true;
-
-            String[] params = searchString.split(" ");
-            for (String s : params) {
-                try {
-                    if (s.startsWith("dim=")) {
-                        if (pos.dimensionID == Integer.parseInt(s.replaceFirst("dim=", "")))
-                            notContinue = true;
-                    } else if (s.startsWith("pos=")) {
-                        String ss = s.replaceFirst("pos=", "");
-                        int i = Integer.parseInt(ss.split(",")[0]);
-                        if (pos.gatePos.getX() == i)
-                            notContinue = true;
-                        i = Integer.parseInt(ss.split(",")[1]);
-                        if (pos.gatePos.getY() == i)
-                            notContinue = true;
-                        i = Integer.parseInt(ss.split(",")[2]);
-                        if (pos.gatePos.getZ() == i)
-                            notContinue = true;
-                    } else if (s.startsWith("name=")) {
-                        if (pos.getName().equalsIgnoreCase(s.replaceFirst("name=", "")))
-                            notContinue = true;
-                    } else if (s.startsWith("type=")) {
-                        if (pos.getGateSymbolType().name().equalsIgnoreCase(s.replaceFirst("type=", "")))
-                            notContinue = true;
-                    }
-                } catch (Exception ignored) {
-                }
-            }
-            return notContinue;
-        }
-        return true;
-    }
-
     public void generateAddressEntries() {
         generateAddressEntries(false);
     }
 
     public void generateAddressEntries(boolean reset) {
-        if (guiBase.stargateNetwork == null) {
+        if (guiBase.gateTile == null) {
             entries.clear();
             return;
         }
-        if (!reset && entries.size() > 0) return;
-        entries.clear();
-
-        Map<StargateAddress, StargatePos> m = guiBase.stargateNetwork.getMap().get(Objects.requireNonNull(guiBase.gateTile).getSymbolType());
-        for (StargateAddress a : m.keySet()) {
-            if (!canAddThisEntry(m.get(a))) continue;
-            StargateEntry e = new StargateEntry();
-            e.pos = m.get(a);
-            if(!DimensionManager.isDimensionRegistered(e.pos.dimensionID)) continue;
-            e.address = a;
-            entries.add(e);
+        if (!reset && requestedFilter != null) return;
+        requestPage(0);
+    }
+
+    // ----------------------------------------------------------
+    // Network paging
+
+    public void requestPage(int page) {
+        if (guiBase.gateTile == null) return;
+        requestedFilter = searchField.getText();
+        pendingPage = page;
+        JSGPacketHandler.INSTANCE.sendToServer(new AdminControllerNetworkRequestToServer(guiBase.pos, guiBase.gateTile.getSymbolType(), requestedFilter, page));
+    }
+
+    public void onPageReceived(SymbolTypeEnum symbolType, String filter, int page, int total, List<StargateEntry> pageEntries) {
+        if (guiBase.gateTile == null || symbolType != guiBase.gateTile.getSymbolType()) return;
+        if (!filter.equals(requestedFilter) || page != pendingPage) return;
+
+        pendingPage = -1;
+        if (page == 0) entries.clear();
+        for (StargateEntry e : pageEntries) {
+            // Could be already added by a delta
+            if (findEntry(e) < 0)
+                entries.add(e);
+        }
+        loadedPages = page + 1;
+        totalEntries = total;
+        init(true);
+    }
+
+    public void onDeltaReceived(DeltaType type, StargateEntry entry) {
+        if (requestedFilter == null) return;
+        int index = findEntry(entry);
+
+        switch (type) {
+            case REMOVE:
+                if (index < 0) return;
+                entries.remove(index);
+                totalEntries--;
+                break;
+
+            case ADD:
+            case UPDATE:
+                if (index >= 0) {
+                    entries.set(index, entry);
+                } else {
+                    entries.add(entry);
+                    totalEntries++;
+                }
+                sortEntries();
+                break;
         }
+        init(true);
+    }
 
-        Map<StargatePos, Map<SymbolTypeEnum, StargateAddress>> notGeneratedMap = guiBase.stargateNetwork.getMapNotGenerated();
-        for (StargatePos pos : notGeneratedMap.keySet()) {
-            if (!canAddThisEntry(pos)) continue;
-            StargateEntry e = new StargateEntry();
-            e.pos = pos;
-            if(!DimensionManager.isDimensionRegistered(e.pos.dimensionID)) continue;
-            e.address = notGeneratedMap.get(pos).get(Objects.requireNonNull(guiBase.gateTile).getSymbolType());
-            e.addresses = notGeneratedMap.get(pos);
-            e.notGenerated = true;
-            e.defaultName = "NOT GENERATED - ";
-            entries.add(e);
+    public int findEntry(StargateEntry entry) {
+        for (int i = 0; i < entries.size(); i++) {
+            StargateEntry e = entries.get(i);
+            if (e.notGenerated == entry.notGenerated && Objects.equals(e.address, entry.address))
+                return i;
         }
-        sortEntries();
-        init(reset);
+        return -1;
+    }
+
+    public void close() {
+        JSGPacketHandler.INSTANCE.sendToServer(AdminControllerNetworkRequestToServer.close(guiBase.pos));
     }
 
     public void init(boolean reset) {
@@ -394,6 +400,9 @@ public class AddressesSection {
         if (k > 0) k = 1;
         if (canContinueScrolling(k)) {
             scrolled += (SCROLL_AMOUNT * k);
+        } else if (k == -1 && pendingPage == -1 && entries.size() < totalEntries) {
+            // Reached the bottom, load next page
+            requestPage(loadedPages);
         }
     }
 
@@ -29,7 +29,6 @@ import tauri.dev.jsg.renderer.stargate.StargateAbstractRenderer;
 import tauri.dev.jsg.renderer.stargate.StargateAbstractRendererState;
 import tauri.dev.jsg.stargate.EnumStargateState;
 import tauri.dev.jsg.stargate.network.StargateAddressDynamic;
-import tauri.dev.jsg.stargate.network.StargateNetwork;
 import tauri.dev.jsg.stargate.network.SymbolInterface;
 import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
@@ -50,8 +49,6 @@ public class GuiAdminController extends JSGTexturedGui {
     public final BlockPos pos;
     public final EntityPlayer player;
 
-    public StargateNetwork stargateNetwork;
-
     public final AddressesSection addressesSection;
 
     public int mouseX;
@@ -65,7 +62,7 @@ public class GuiAdminController extends JSGTexturedGui {
 
     public Notifier notifer = new Notifier();
 
-    public GuiAdminController(EntityPlayer player, World world, BlockPos pos, StargateNetwork stargateNetwork) {
+    public GuiAdminController(EntityPlayer player, World world, BlockPos pos) {
         super(512, 256, 512, 256);
         this.world = world;
         this.player = player;
@@ -75,7 +72,6 @@ public class GuiAdminController extends JSGTexturedGui {
             gateTile = (StargateClassicBaseTile) te;
         } else gateTile = null;
         this.addressesSection = new AddressesSection(this);
-        this.stargateNetwork = stargateNetwork;
 
         regenerateStargate();
     }
@@ -94,10 +90,6 @@ public class GuiAdminController extends JSGTexturedGui {
             imaginaryGateTile.readFromNBT(compound.getCompoundTag("gateNBT"));
             if (lastDialedAddressLength == -1)
                 lastDialedAddressLength = imaginaryGateTile.getDialedAddress().size();
-
-            if (!compound.hasKey("sgNetwork")) return;
-            stargateNetwork = new StargateNetwork();
-            stargateNetwork.deserializeNBT(compound.getCompoundTag("sgNetwork"));
         } catch (Exception e) {
             JSG.error(e);
         }
@@ -450,6 +442,7 @@ public class GuiAdminController extends JSGTexturedGui {
         for (GuiTextField f : addressesSection.entriesTextFields) {
             f.setFocused(false);
         }
+        addressesSection.close();
         super.onGuiClosed();
     }
 }
@@ -1,9 +1,11 @@
 package tauri.dev.jsg.gui.admincontroller;
 
+import io.netty.buffer.ByteBuf;
 import tauri.dev.jsg.stargate.network.StargateAddress;
 import tauri.dev.jsg.stargate.network.StargatePos;
 import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
 
+import java.util.EnumMap;
 import java.util.Map;
 
 public class StargateEntry {
@@ -14,4 +16,52 @@ public class StargateEntry {
 
     public boolean notGenerated = false;
     public String defaultName = "";
+
+    public StargateEntry() {
+    }
+
+    public StargateEntry(StargateAddress address, StargatePos pos) {
+        this.address = address;
+        this.pos = pos;
+    }
+
+    public static StargateEntry notGenerated(SymbolTypeEnum symbolType, StargatePos pos, Map<SymbolTypeEnum, StargateAddress> addresses) {
+        StargateEntry e = new StargateEntry(addresses.get(symbolType), pos);
+        e.addresses = addresses;
+        e.notGenerated = true;
+        e.defaultName = "NOT GENERATED - ";
+        return e;
+    }
+
+    public void toBytes(ByteBuf buf) {
+        buf.writeBoolean(notGenerated);
+        address.toBytes(buf);
+        buf.writeInt(pos.symbolType.id);
+        pos.toBytes(buf);
+
+        if (notGenerated) {
+            buf.writeInt(addresses.size());
+            for (Map.Entry<SymbolTypeEnum, StargateAddress> e : addresses.entrySet()) {
+                buf.writeInt(e.getKey().id);
+                e.getValue().toBytes(buf);
+            }
+        }
+    }
+
+    public static StargateEntry fromBytes(ByteBuf buf) {
+        boolean notGenerated = buf.readBoolean();
+        StargateAddress address = new StargateAddress(buf);
+        StargatePos pos = new StargatePos(SymbolTypeEnum.valueOf(buf.readInt()), buf);
+
+        if (!notGenerated)
+            return new StargateEntry(address, pos);
+
+        Map<SymbolTypeEnum, StargateAddress> addresses = new EnumMap<>(SymbolTypeEnum.class);
+        int size = buf.readInt();
+        for (int i = 0; i < size; i++) {
+            SymbolTypeEnum symbolType = SymbolTypeEnum.valueOf(buf.readInt());
+            addresses.put(symbolType, new StargateAddress(buf));
+        }
+        return notGenerated(address.getSymbolType(), pos, addresses);
+    }
 }
@@ -16,7 +16,7 @@ import net.minecraftforge.items.SlotItemHandler;
 import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.gui.container.JSGContainer;
 import tauri.dev.jsg.gui.util.ContainerHelper;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
 import tauri.dev.jsg.state.StateTypeEnum;
@@ -106,7 +106,7 @@ public class CapacitorContainer extends JSGContainer {
         if (lastEnergyStored != Objects.requireNonNull(energyStorage).getEnergyStored() || energyTransferedLastTick != capTile.getEnergyTransferedLastTick()) {
             for (IContainerListener listener : listeners) {
                 if (listener instanceof EntityPlayerMP) {
-                    JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, capTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
+                    StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, capTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
                 }
             }
 
@@ -11,7 +11,7 @@ import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.gui.container.JSGContainer;
 import tauri.dev.jsg.gui.container.OpenTabHolderInterface;
 import tauri.dev.jsg.gui.util.ContainerHelper;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.state.StateTypeEnum;
 import tauri.dev.jsg.tileentity.props.DestinyCountDownTile;
@@ -67,7 +67,7 @@ public class CountDownContainer extends JSGContainer implements OpenTabHolderInt
         super.addListener(listener);
 
         if (listener instanceof EntityPlayerMP) {
-            JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_STATE, tile.getState(StateTypeEnum.GUI_STATE)), (EntityPlayerMP) listener);
+            StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_STATE, tile.getState(StateTypeEnum.GUI_STATE)), (EntityPlayerMP) listener);
         }
     }
 }
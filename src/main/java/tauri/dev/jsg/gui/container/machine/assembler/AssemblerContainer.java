@@ -17,7 +17,7 @@ import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.gui.container.JSGContainer;
 import tauri.dev.jsg.gui.util.ContainerHelper;
 import tauri.dev.jsg.item.JSGItems;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
 import tauri.dev.jsg.state.StateTypeEnum;
@@ -124,7 +124,7 @@ public class AssemblerContainer extends JSGContainer {
         if (machineStart != tile.getMachineStart() || machineEnd != tile.getMachineEnd() || (energyStorage != null && (lastEnergyStored != energyStorage.getEnergyStored() || energyTransferedLastTick != tile.getEnergyTransferedLastTick()))) {
             for (IContainerListener listener : listeners) {
                 if (listener instanceof EntityPlayerMP) {
-                    JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, tile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
+                    StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, tile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
                 }
             }
 
@@ -18,7 +18,7 @@ import tauri.dev.jsg.gui.container.JSGContainer;
 import tauri.dev.jsg.gui.container.OpenTabHolderInterface;
 import tauri.dev.jsg.gui.util.ContainerHelper;
 import tauri.dev.jsg.item.energy.CapacitorItemBlock;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.LargeEnergyStorage;
 import tauri.dev.jsg.state.StateTypeEnum;
@@ -177,7 +177,7 @@ public class TRContainer extends JSGContainer implements OpenTabHolderInterface
         ) {
             for (IContainerListener listener : listeners) {
                 if (listener instanceof EntityPlayerMP) {
-                    JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, trTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
+                    StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, trTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
                 }
             }
 
@@ -201,7 +201,7 @@ public class TRContainer extends JSGContainer implements OpenTabHolderInterface
         super.addListener(listener);
 
         if (listener instanceof EntityPlayerMP) {
-            JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_STATE, trTile.getState(StateTypeEnum.GUI_STATE)), (EntityPlayerMP) listener);
+            StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_STATE, trTile.getState(StateTypeEnum.GUI_STATE)), (EntityPlayerMP) listener);
         }
     }
 }
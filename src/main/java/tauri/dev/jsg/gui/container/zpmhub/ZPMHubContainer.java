@@ -17,7 +17,7 @@ import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.capability.CapabilityEnergyZPM;
 import tauri.dev.jsg.gui.container.JSGContainer;
 import tauri.dev.jsg.gui.util.ContainerHelper;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.zpm.ZPMHubEnergyStorage;
 import tauri.dev.jsg.state.StateTypeEnum;
@@ -135,7 +135,7 @@ public class ZPMHubContainer extends JSGContainer {
         if (energyStorage != null && (lastEnergyStored != energyStorage.getEnergyStoredInternally() || energyTransferedLastTick != hubTile.getEnergyTransferedLastTick())) {
             for (IContainerListener listener : listeners) {
                 if (listener instanceof EntityPlayerMP) {
-                    JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, hubTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
+                    StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(pos, StateTypeEnum.GUI_UPDATE, hubTile.getState(StateTypeEnum.GUI_UPDATE)), (EntityPlayerMP) listener);
                 }
             }
 
@@ -18,6 +18,7 @@ import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.creativetabs.JSGCreativeTabsHandler;
 import tauri.dev.jsg.packet.AdminControllerGuiOpenToClient;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkSync;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicMemberTile;
 import tauri.dev.jsg.util.LinkingHelper;
@@ -67,7 +68,6 @@ public class ItemAdminController extends Item {
             // cast and set NBT of gate tile to NBT of controller
             StargateClassicBaseTile gateTile = (StargateClassicBaseTile) te;
             compound.setTag("gateNBT", gateTile.writeToNBT(new NBTTagCompound()));
-            compound.setTag("sgNetwork", gateTile.getNetwork().serializeNBT());
             stack.setTagCompound(compound);
         }
     }
@@ -96,7 +96,8 @@ public class ItemAdminController extends Item {
                 player.getHeldItem(hand).setTagCompound(compound);
 
                 // Open GUI for the player
-                JSGPacketHandler.INSTANCE.sendTo(new AdminControllerGuiOpenToClient(te.getPos(), ((StargateClassicBaseTile) te).getNetwork()), (EntityPlayerMP) player);
+                AdminControllerNetworkSync.INSTANCE.open((EntityPlayerMP) player, te.getPos());
+                JSGPacketHandler.INSTANCE.sendTo(new AdminControllerGuiOpenToClient(te.getPos()), (EntityPlayerMP) player);
             }
         }
         return new ActionResult<>(EnumActionResult.SUCCESS, player.getHeldItem(hand));
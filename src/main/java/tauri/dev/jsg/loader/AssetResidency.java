@@ -0,0 +1,223 @@
+package tauri.dev.jsg.loader;
+
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.config.JSGConfig;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * On-demand residency of TESR textures and models.
+ * <p>
+ * Asset is decoded on a loader thread the first time it's used, the GL upload is done at the start of the next frame.
+ * Until then renderers get a placeholder. Resident assets are kept in LRU order - when their total size exceeds
+ * the budget, least recently used assets (not used during the last second and the last frame) are released and will be loaded again when needed.
+ */
+@Mod.EventBusSubscriber(Side.CLIENT)
+public class AssetResidency {
+
+    /**
+     * Max time spent by uploading assets in one frame. At least one asset is uploaded every frame.
+     */
+    private static final long UPLOAD_NANOS_PER_FRAME = 4_000_000;
+
+    /**
+     * Assets used in this time are not evicted even if the budget is exceeded.
+     */
+    private static final long KEEP_USED_MILLIS = 1000;
+
+    private static final LinkedHashMap<Asset<?>, Boolean> RESIDENT = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Queue<Runnable> UPLOADS = new ConcurrentLinkedQueue<>();
+    private static ExecutorService executor;
+    private static long residentBytes;
+
+    /**
+     * Number of the frame being rendered.
+     */
+    private static long frame;
+
+    public static long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public static boolean isEnabled() {
+        return JSGConfig.General.debug.loadAssetsOnDemand;
+    }
+
+    private static long getBudgetBytes() {
+        return JSGConfig.General.debug.assetMemoryBudget * 1024L * 1024L;
+    }
+
+    // ------------------------------------------------------------------------
+    // Asset
+
+    public static abstract class Asset<D> {
+        private static final int UNLOADED = 0;
+        private static final int LOADING = 1;
+        private static final int RESIDENT = 2;
+        private static final int FAILED = 3;
+        private static final int DELETED = 4;
+
+        private final String name;
+        private int state = UNLOADED;
+        private long size;
+        private long lastUsed;
+        private long lastUsedFrame = -1;
+
+        protected Asset(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Called on a loader thread.
+         */
+        protected abstract D decode() throws Exception;
+
+        /**
+         * Called on the client thread.
+         *
+         * @return Size of the asset in bytes.
+         */
+        protected abstract long upload(D decoded);
+
+        /**
+         * Releases GL resources and decoded data.
+         */
+        protected abstract void release();
+
+        protected void onLoadFailed() {
+        }
+
+        /**
+         * Marks the asset as used in this frame, starts loading it if it's not resident.
+         *
+         * @return True if the asset is resident, false if a placeholder should be used.
+         */
+        public final boolean use() {
+            lastUsed = System.currentTimeMillis();
+            lastUsedFrame = frame;
+
+            switch (state) {
+                case RESIDENT:
+                    AssetResidency.RESIDENT.get(this);
+                    return true;
+
+                case UNLOADED:
+                    state = LOADING;
+                    requestLoad(this);
+                    return false;
+
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Releases the asset for good (resource reload).
+         */
+        public final void delete() {
+            if (state == RESIDENT)
+                evict(this);
+
+            state = DELETED;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Loading
+
+    private static <D> void requestLoad(Asset<D> asset) {
+        if (executor == null)
+            executor = ParallelLoader.createExecutor("JSG Asset Loader", ParallelLoader.getThreadCount());
+
+        executor.execute(() -> {
+            D decoded = null;
+            Exception error = null;
+            try {
+                decoded = asset.decode();
+            } catch (Exception e) {
+                error = e;
+            }
+
+            D finalDecoded = decoded;
+            Exception finalError = error;
+            UPLOADS.add(() -> finishLoad(asset, finalDecoded, finalError));
+        });
+    }
+
+    private static <D> void finishLoad(Asset<D> asset, D decoded, Exception error) {
+        if (asset.state != Asset.LOADING) return;
+
+        if (decoded == null) {
+            JSG.error("Failed to load " + asset, error);
+            asset.onLoadFailed();
+            asset.state = Asset.FAILED;
+            return;
+        }
+
+        asset.size = asset.upload(decoded);
+        asset.state = Asset.RESIDENT;
+        residentBytes += asset.size;
+        RESIDENT.put(asset, Boolean.TRUE);
+
+        if (JSGConfig.General.debug.logTexturesLoading)
+            JSG.info("Loaded " + asset + " (" + asset.size / 1024 + " kB, resident " + residentBytes / 1024 / 1024 + " MB)");
+    }
+
+    private static void evict(Asset<?> asset) {
+        asset.release();
+        asset.state = Asset.UNLOADED;
+        residentBytes -= asset.size;
+        RESIDENT.remove(asset);
+    }
+
+    private static void evictOverBudget() {
+        long budget = getBudgetBytes();
+        if (budget <= 0 || residentBytes <= budget) return;
+
+        long keepSince = System.currentTimeMillis() - KEEP_USED_MILLIS;
+        for (Iterator<Asset<?>> iterator = RESIDENT.keySet().iterator(); iterator.hasNext() && residentBytes > budget; ) {
+            Asset<?> asset = iterator.next();
+
+            // Access order - all next assets were used later.
+            // Assets of the last frame are kept even if it took longer than KEEP_USED_MILLIS (they'd be loaded again right away)
+            if (asset.lastUsed >= keepSince || asset.lastUsedFrame >= frame - 1) break;
+
+            iterator.remove();
+            asset.release();
+            asset.state = Asset.UNLOADED;
+            residentBytes -= asset.size;
+
+            if (JSGConfig.General.debug.logTexturesLoading)
+                JSG.info("Released " + asset + " (resident " + residentBytes / 1024 / 1024 + " MB)");
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
+
+        frame++;
+        long start = System.nanoTime();
+        Runnable upload;
+        while ((upload = UPLOADS.poll()) != null) {
+            upload.run();
+
+            if (System.nanoTime() - start > UPLOAD_NANOS_PER_FRAME) break;
+        }
+
+        evictOverBudget();
+    }
+}
@@ -8,13 +8,14 @@ import net.minecraftforge.fml.common.ProgressManager;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.config.JSGConfigUtil;
-import tauri.dev.jsg.loader.model.OBJLoader;
+import tauri.dev.jsg.loader.model.ModelLoader;
 import tauri.dev.jsg.loader.model.OBJModel;
 import tauri.dev.jsg.loader.texture.Texture;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -85,21 +86,34 @@ public class OriginsLoader {
         }
     }
 
+    private static List<Integer> getAdditionalOrigins() {
+        List<Integer> list = new ArrayList<>();
+        for (String s : JSGConfig.Stargate.pointOfOrigins.additionalOrigins)
+            list.add(Integer.parseInt(s.split(":")[0]));
+        return list;
+    }
+
     public static void registerTextures(Map<ResourceLocation, Texture> texturesArray) throws IOException {
         checkDirectory();
         if (JSGConfig.Stargate.pointOfOrigins.additionalOrigins.length < 1) return;
 
         ProgressManager.ProgressBar progressBar = ProgressManager.push("JSG - Custom PoO models", JSGConfig.Stargate.pointOfOrigins.additionalOrigins.length);
-        for (String s : JSGConfig.Stargate.pointOfOrigins.additionalOrigins) {
-            int id = Integer.parseInt(s.split(":")[0]);
-            progressBar.step("Origin " + id);
-            if (!getOriginFile(EnumOriginFileType.TEXTURE, id).exists()) {
+        ParallelLoader.load(getAdditionalOrigins(), progressBar, id -> "Origin " + id, id -> {
+            File file = getOriginFile(EnumOriginFileType.TEXTURE, id);
+            if (!file.exists()) return null;
+
+            try (InputStream stream = Files.newInputStream(file.toPath())) {
+                return TextureUtil.readBufferedImage(stream);
+            }
+        }, (id, image, error) -> {
+            if (image == null) {
                 NOT_LOADED_ORIGINS.add(id);
-                JSG.error("Origin texture not found! [" + id + "]");
-                continue;
+                if (error != null) JSG.error("Failed to load origin texture [" + id + "]", error);
+                else JSG.error("Origin texture not found! [" + id + "]");
+                return;
             }
-            texturesArray.put(getResource(EnumOriginFileType.TEXTURE, id), new Texture(TextureUtil.readBufferedImage(Files.newInputStream(getOriginFile(EnumOriginFileType.TEXTURE, id).toPath()))));
-        }
+            texturesArray.put(getResource(EnumOriginFileType.TEXTURE, id), new Texture(image));
+        });
         ProgressManager.pop(progressBar);
     }
 
@@ -107,19 +121,28 @@ public class OriginsLoader {
         checkDirectory();
         if (JSGConfig.Stargate.pointOfOrigins.additionalOrigins.length < 1) return;
 
+        EnumOriginFileType[] modelTypes = {EnumOriginFileType.MODEL_DHD, EnumOriginFileType.MODEL_RING, EnumOriginFileType.MODEL_DHD_LIGHT};
+
         ProgressManager.ProgressBar progressBar = ProgressManager.push("JSG - Custom PoO models", JSGConfig.Stargate.pointOfOrigins.additionalOrigins.length);
-        for (String s : JSGConfig.Stargate.pointOfOrigins.additionalOrigins) {
-            int id = Integer.parseInt(s.split(":")[0]);
-            progressBar.step("Origin " + id);
-            if (!getOriginFile(EnumOriginFileType.MODEL_DHD, id).exists() || !getOriginFile(EnumOriginFileType.MODEL_RING, id).exists() || !getOriginFile(EnumOriginFileType.MODEL_DHD_LIGHT, id).exists()) {
+        ParallelLoader.load(getAdditionalOrigins(), progressBar, id -> "Origin " + id, id -> {
+            for (EnumOriginFileType type : modelTypes) {
+                if (!getOriginFile(type, id).exists()) return null;
+            }
+
+            OBJModel[] models = new OBJModel[modelTypes.length];
+            for (int i = 0; i < modelTypes.length; i++)
+                models[i] = ModelLoader.loadModel(Files.newInputStream(getOriginFile(modelTypes[i], id).toPath()), "origin " + id + " " + modelTypes[i]);
+            return models;
+        }, (id, models, error) -> {
+            if (models == null) {
                 NOT_LOADED_ORIGINS.add(id);
-                JSG.error("Origin model not found! [" + id + "]");
-                continue;
+                if (error != null) JSG.error("Failed to load origin models [" + id + "]", error);
+                else JSG.error("Origin model not found! [" + id + "]");
+                return;
             }
-            modelsArray.put(getResource(EnumOriginFileType.MODEL_DHD, id), OBJLoader.loadModel(Files.newInputStream(getOriginFile(EnumOriginFileType.MODEL_DHD, id).toPath())));
-            modelsArray.put(getResource(EnumOriginFileType.MODEL_RING, id), OBJLoader.loadModel(Files.newInputStream(getOriginFile(EnumOriginFileType.MODEL_RING, id).toPath())));
-            modelsArray.put(getResource(EnumOriginFileType.MODEL_DHD_LIGHT, id), OBJLoader.loadModel(Files.newInputStream(getOriginFile(EnumOriginFileType.MODEL_DHD_LIGHT, id).toPath())));
-        }
+            for (int i = 0; i < modelTypes.length; i++)
+                modelsArray.put(getResource(modelTypes[i], id), models[i]);
+        });
         ProgressManager.pop(progressBar);
     }
 
@@ -0,0 +1,112 @@
+package tauri.dev.jsg.loader;
+
+import net.minecraftforge.fml.common.ProgressManager.ProgressBar;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.config.JSGConfig;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Two-stage asset loading.
+ * <p>
+ * Decoding (reading files, parsing models, decoding images) runs on a pool of worker threads,
+ * the upload stage (GL calls, {@link ReloadListener.LoadingStats}, progress bar) runs on the calling thread
+ * in order of completion of the decode tasks.
+ */
+public class ParallelLoader {
+
+    public interface Decoder<I, R> {
+        R decode(I item) throws Exception;
+    }
+
+    public interface Uploader<I, R> {
+        /**
+         * @param result Decoded item or null if decoding failed.
+         * @param error  Exception thrown by the decoder or null.
+         */
+        void upload(I item, @Nullable R result, @Nullable Exception error);
+    }
+
+    private static class Decoded<I, R> {
+        final I item;
+        final R result;
+        final Exception error;
+
+        Decoded(I item, R result, Exception error) {
+            this.item = item;
+            this.result = result;
+            this.error = error;
+        }
+    }
+
+    public static int getThreadCount() {
+        int threads = JSGConfig.General.debug.assetLoadingThreads;
+        if (threads > 0) return threads;
+
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * @return Pool of daemon threads.
+     */
+    public static ExecutorService createExecutor(String name, int threads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + " #" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Decodes all items in parallel and uploads them on this thread.
+     * The progress bar is stepped once for every item.
+     *
+     * @param stepName Name of the step of the progress bar.
+     */
+    public static <I, R> void load(List<I> items, ProgressBar progressBar, Function<I, String> stepName, Decoder<I, R> decoder, Uploader<I, R> uploader) {
+        if (items.isEmpty()) return;
+
+        ExecutorService executor = createExecutor("JSG Asset Decoder", Math.min(getThreadCount(), items.size()));
+
+        try {
+            CompletionService<Decoded<I, R>> completionService = new ExecutorCompletionService<>(executor);
+            for (I item : items) {
+                completionService.submit(() -> {
+                    try {
+                        return new Decoded<>(item, decoder.decode(item), null);
+                    } catch (Exception e) {
+                        return new Decoded<>(item, null, e);
+                    }
+                });
+            }
+
+            for (int i = 0; i < items.size(); i++) {
+                Decoded<I, R> decoded;
+                try {
+                    decoded = completionService.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while loading assets", e);
+                } catch (ExecutionException e) {
+                    // Decode tasks catch their exceptions
+                    throw new IllegalStateException(e.getCause());
+                }
+
+                progressBar.step(stepName.apply(decoded.item));
+
+                try {
+                    uploader.upload(decoded.item, decoded.result, decoded.error);
+                } catch (Exception e) {
+                    JSG.error("Failed to upload asset " + decoded.item, e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package tauri.dev.jsg.loader.model;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.util.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-animated parts of a TESR baked into one model (one draw call).
+ * <p>
+ * All parts have to use the same texture. Every part can be rotated around the Z axis (like the chevrons).
+ * The model is baked once all the parts are loaded and again after the models are reloaded.
+ * Until then the parts are rendered one by one.
+ */
+public class ComposedModel {
+
+    private final List<ResourceLocation> parts = new ArrayList<>();
+    private final List<Float> rotations = new ArrayList<>();
+
+    private OBJModel baked;
+    private int bakedReloadCount = -1;
+
+    public ComposedModel add(ResourceLocation part) {
+        return add(part, 0);
+    }
+
+    /**
+     * @param rotation Rotation around the Z axis in degrees (as {@link GlStateManager#rotate(float, float, float, float)}).
+     */
+    public ComposedModel add(ResourceLocation part, float rotation) {
+        parts.add(part);
+        rotations.add(rotation);
+        return this;
+    }
+
+    public void render() {
+        if (bakedReloadCount != ModelLoader.getReloadCount()) {
+            if (baked != null) baked.deleteModel();
+            baked = null;
+            bakedReloadCount = ModelLoader.getReloadCount();
+        }
+
+        if (baked == null)
+            baked = bake();
+
+        if (baked != null) {
+            baked.render();
+            return;
+        }
+
+        for (int i = 0; i < parts.size(); i++) {
+            OBJModel model = ModelLoader.getModel(parts.get(i));
+            if (model == null) continue;
+
+            GlStateManager.pushMatrix();
+            GlStateManager.rotate(rotations.get(i), 0, 0, 1);
+            model.render();
+            GlStateManager.popMatrix();
+        }
+    }
+
+    /**
+     * @return Baked model or null if some parts are not loaded yet.
+     */
+    private OBJModel bake() {
+        List<OBJModel> models = new ArrayList<>();
+        List<Float> modelRotations = new ArrayList<>();
+        int vertexCount = 0;
+        int indexCount = 0;
+        boolean hasTex = true;
+
+        for (int i = 0; i < parts.size(); i++) {
+            OBJModel model = ModelLoader.getModel(parts.get(i));
+            if (model == null) continue;
+
+            model = model.getData();
+            if (model == null) return null;
+
+            models.add(model);
+            modelRotations.add(rotations.get(i));
+            vertexCount += model.getVertexCount();
+            indexCount += model.getIndexCount();
+            hasTex &= model.hasTex();
+        }
+
+        float[] vertices = new float[vertexCount * 3];
+        float[] textureCoords = new float[vertexCount * 2];
+        float[] normals = new float[vertexCount * 3];
+        int[] indices = new int[indexCount];
+
+        int vertexOffset = 0;
+        int indexOffset = 0;
+        for (int i = 0; i < models.size(); i++) {
+            OBJModel model = models.get(i);
+            double rad = Math.toRadians(modelRotations.get(i));
+            float cos = (float) Math.cos(rad);
+            float sin = (float) Math.sin(rad);
+
+            rotate(model.getVertices(), vertices, vertexOffset * 3, cos, sin);
+            rotate(model.getNormals(), normals, vertexOffset * 3, cos, sin);
+            System.arraycopy(model.getTextureCoords(), 0, textureCoords, vertexOffset * 2, model.getVertexCount() * 2);
+
+            for (int index : model.getIndices())
+                indices[indexOffset++] = index + vertexOffset;
+
+            vertexOffset += model.getVertexCount();
+        }
+
+        return new OBJModel(vertices, textureCoords, normals, indices, hasTex);
+    }
+
+    private static void rotate(float[] source, float[] target, int offset, float cos, float sin) {
+        for (int i = 0; i < source.length; i += 3) {
+            float x = source[i];
+            float y = source[i + 1];
+
+            target[offset + i] = x * cos - y * sin;
+            target[offset + i + 1] = x * sin + y * cos;
+            target[offset + i + 2] = source[i + 2];
+        }
+    }
+}
@@ -5,10 +5,14 @@ import net.minecraftforge.fml.common.ProgressManager;
 import net.minecraftforge.fml.common.ProgressManager.ProgressBar;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.config.JSGConfig;
+import tauri.dev.jsg.loader.AssetResidency;
 import tauri.dev.jsg.loader.FolderLoader;
 import tauri.dev.jsg.loader.OriginsLoader;
+import tauri.dev.jsg.loader.ParallelLoader;
 import tauri.dev.jsg.loader.ReloadListener;
 
+import javax.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
@@ -21,59 +25,168 @@ public class ModelLoader {
     public static final String MODELS_PATH = "assets/jsg/models/tesr";
     public static final Map<ResourceLocation, OBJModel> LOADED_MODELS = new HashMap<>();
 
+    private static OBJModelCache modelCache;
+    private static int reloadCount;
+
     public static OBJModel getModel(ResourceLocation resourceLocation) {
         return LOADED_MODELS.get(resourceLocation);
     }
 
+    /**
+     * @return Number of model reloads. Models obtained before a reload can't be rendered anymore.
+     */
+    public static int getReloadCount() {
+        return reloadCount;
+    }
+
     public static void reloadModels() throws IOException, URISyntaxException {
+        reloadCount++;
+        for (OBJModel model : LOADED_MODELS.values())
+            model.deleteModel();
         LOADED_MODELS.clear();
+        modelCache = JSGConfig.General.debug.cacheModels ? new OBJModelCache(new File(JSG.modConfigDir, "jsg/cache/models")) : null;
 
         List<String> modelPaths = FolderLoader.getAllFiles(MODELS_PATH, ".obj");
 
         for (String poo : JSGConfig.Stargate.pointOfOrigins.additionalOrigins) {
             int i = Integer.parseInt(poo.split(":")[0]);
-            String s = "assets/jsg/models/tesr/milkyway/origin_" + i + ".obj";
-            if (!modelPaths.contains(s)) {
-                modelPaths.add(s);
-            }
-            s = "assets/jsg/models/tesr/milkyway/origin_" + i + "_light.obj";
-            if (!modelPaths.contains(s)) {
-                modelPaths.add(s);
-            }
-            s = "assets/jsg/models/tesr/milkyway/ring/origin_" + i + ".obj";
-            if (!modelPaths.contains(s)) {
-                modelPaths.add(s);
-            }
+            addOriginModelPath(modelPaths, "assets/jsg/models/tesr/milkyway/origin_" + i + ".obj");
+            addOriginModelPath(modelPaths, "assets/jsg/models/tesr/milkyway/origin_" + i + "_light.obj");
+            addOriginModelPath(modelPaths, "assets/jsg/models/tesr/milkyway/ring/origin_" + i + ".obj");
         }
 
         ProgressBar progressBar = ProgressManager.push("JSG - General models", modelPaths.size());
 
         long start = System.currentTimeMillis();
 
-        JSG.info("Started loading models...");
-        for (String modelPath : modelPaths) {
+        if (AssetResidency.isEnabled()) {
+            // Models are loaded when they are rendered for the first time
+            for (String modelPath : modelPaths) {
+                String modelResourcePath = modelPath.replaceFirst("assets/jsg/", "");
+                progressBar.step(modelResourcePath.replaceFirst("models/", ""));
+                LOADED_MODELS.put(new ResourceLocation(JSG.MOD_ID, modelResourcePath), new ResidentOBJModel(modelPath, modelResourcePath));
+                ReloadListener.LoadingStats.loadedModels++;
+            }
+
+            OriginsLoader.loadModels(LOADED_MODELS);
+
+            if (modelCache != null) {
+                OBJModelCache cache = modelCache;
+                Thread thread = new Thread(() -> removeUnusedCached(cache, modelPaths), "JSG Model Cache Cleanup");
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            JSG.info("Registered " + modelPaths.size() + " models to load on demand in " + (System.currentTimeMillis() - start) + " ms");
+            ProgressManager.pop(progressBar);
+            return;
+        }
+
+        JSG.info("Started loading models (" + ParallelLoader.getThreadCount() + " threads)...");
+        ParallelLoader.load(modelPaths, progressBar, modelPath -> modelPath.replaceFirst("assets/jsg/models/", ""), modelPath -> {
             String modelResourcePath = modelPath.replaceFirst("assets/jsg/", "");
             if (JSGConfig.General.debug.logTexturesLoading)
                 JSG.info("Loading model: " + modelResourcePath);
-            progressBar.step(modelResourcePath.replaceFirst("models/", ""));
 
             InputStream stream = JSG.class.getClassLoader().getResourceAsStream(modelPath);
-            OBJModel model = OBJLoader.loadModel(stream);
-            if (model == null){
+            return loadModel(stream, modelResourcePath);
+        }, (modelPath, model, error) -> {
+            if (model == null) {
+                if (error != null)
+                    JSG.error("Failed to load model " + modelPath, error);
                 ReloadListener.LoadingStats.notLoadedModels++;
-                continue;
+                return;
             }
-            LOADED_MODELS.put(new ResourceLocation(JSG.MOD_ID, modelResourcePath), model);
+            LOADED_MODELS.put(new ResourceLocation(JSG.MOD_ID, modelPath.replaceFirst("assets/jsg/", "")), model);
             ReloadListener.LoadingStats.loadedModels++;
-        }
+        });
 
         OriginsLoader.loadModels(LOADED_MODELS);
 
+        if (modelCache != null)
+            modelCache.removeUnused();
+
         JSG.info("Loaded " + modelPaths.size() + " models in " + (System.currentTimeMillis() - start) + " ms");
 
         ProgressManager.pop(progressBar);
     }
 
+    /**
+     * On demand models are cached when they're rendered - hash all the registered models
+     * (without parsing them) to know which cached entries are still valid.
+     */
+    private static void removeUnusedCached(OBJModelCache cache, List<String> modelPaths) {
+        for (String modelPath : modelPaths) {
+            try (InputStream stream = JSG.class.getClassLoader().getResourceAsStream(modelPath)) {
+                if (stream == null) continue;
+                cache.markUsed(OBJModelCache.hash(OBJLoader.readFully(stream)));
+            } catch (IOException e) {
+                // Don't remove anything, the entry could be still used
+                JSG.error("Failed to read model " + modelPath, e);
+                return;
+            }
+        }
+
+        cache.removeUnused();
+    }
+
+    /**
+     * Adds the model of an additional origin if it exists - on demand models are registered without reading them,
+     * so missing files must not get into the list ({@link #getModel(ResourceLocation)} would not return null for them).
+     */
+    private static void addOriginModelPath(List<String> modelPaths, String modelPath) {
+        if (modelPaths.contains(modelPath)) return;
+
+        if (JSG.class.getClassLoader().getResource(modelPath) == null) {
+            // Usually loaded from the origins folder by OriginsLoader
+            JSG.debug("Model " + modelPath + " of an additional origin is not in the jar");
+            ReloadListener.LoadingStats.notLoadedModels++;
+            return;
+        }
+
+        modelPaths.add(modelPath);
+    }
+
+    /**
+     * Loads the model from the binary cache or parses it (and caches it).
+     */
+    @Nullable
+    public static OBJModel loadModel(@Nullable InputStream stream, String name) {
+        if (stream == null)
+            return null;
+
+        long start = System.nanoTime();
+        byte[] data;
+        try {
+            data = OBJLoader.readFully(stream);
+        } catch (IOException e) {
+            JSG.error("Failed to read model " + name, e);
+            return null;
+        }
+
+        String hash = null;
+        OBJModel model = null;
+        if (modelCache != null) {
+            hash = OBJModelCache.hash(data);
+            model = modelCache.load(hash);
+        }
+
+        boolean cached = model != null;
+        if (!cached) {
+            model = OBJLoader.loadModel(data);
+            if (model == null) {
+                JSG.error("Failed to parse model " + name);
+                return null;
+            }
+
+            if (modelCache != null)
+                modelCache.save(hash, model);
+        }
+
+        JSG.debug("Loaded model " + name + (cached ? " from cache" : "") + " in " + (System.nanoTime() - start) / 1000 + "us (vertices: " + model.getVertexCount() + ", face corners: " + model.getIndexCount() + ")");
+        return model;
+    }
+
     public static ResourceLocation getModelResource(String model) {
         return new ResourceLocation(JSG.MOD_ID, "models/tesr/" + model);
     }
@@ -1,161 +1,352 @@
 package tauri.dev.jsg.loader.model;
 
-import org.lwjgl.util.vector.Vector2f;
-import org.lwjgl.util.vector.Vector3f;
-
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Parses Wavefront OBJ models (v, vt, vn and f lines only).
+ * <p>
+ * Works directly on the bytes of the file - no regex splitting, no boxed vectors.
+ * Same v/vt/vn triplets are shared by all faces using them (one vertex in the VBO).
+ */
 public class OBJLoader {
 
     public static OBJModel loadModel(InputStream stream) {
-        BufferedReader reader;
+        if (stream == null)
+            return null;
+
+        try {
+            return loadModel(readFully(stream));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-        List<Vector3f> vertices = new ArrayList<>();
-        List<Vector3f> normals = new ArrayList<>();
-        List<Vector2f> textures = new ArrayList<>();
-        List<Integer> indices = new ArrayList<>();
-        Map<Vertex, Integer> vertexIndexMap = new LinkedHashMap<>();
+    public static byte[] readFully(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 8192));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
 
-        int current = 0;
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * @return Parsed model or null if the file is malformed (partial geometry is never returned).
+     */
+    public static OBJModel loadModel(byte[] data) {
+        Parser parser = new Parser(data);
 
         try {
-            //stream = JSG.class.getClassLoader().getResourceAsStream(modelPath);
-            if (stream == null)
-                return null;
-            reader = new BufferedReader(new InputStreamReader(stream));
-            String line;
+            parser.parse();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
 
-            while ((line = reader.readLine()) != null) {
+        return parser.build();
+    }
 
-                if (line.startsWith("v "))
-                    vertices.add(splitToVector(line));
+    // ----------------------------------------------------------------------------------
 
-                else if (line.startsWith("vt "))
-                    textures.add(splitToVector2(line));
+    private static class Vertex {
+        int vId;
+        int tId;
+        int nId;
 
-                else if (line.startsWith("vn "))
-                    normals.add(splitToVector(line));
+        public Vertex(int vId, int tId, int nId) {
+            this.vId = vId;
+            this.tId = tId;
+            this.nId = nId;
+        }
 
-                else if (line.startsWith("f ")) {
-                    String[] face = line.split(" ");
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Vertex)) return false;
 
-                    for (String verticle : face) {
-                        if (verticle.equals("f")) continue;
+            Vertex vertex = (Vertex) o;
+            return vId == vertex.vId && tId == vertex.tId && nId == vertex.nId;
+        }
 
-                        String[] vtn = verticle.split("/");
-                        Vertex vertex = new Vertex(vtn);
+        @Override
+        public int hashCode() {
+            return (vId * 31 + tId) * 31 + nId;
+        }
 
-                        Integer index = vertexIndexMap.get(vertex);
+        public String toString() {
+            return vId + "/" + tId + "/" + nId;
+        }
+    }
 
-                        if (index != null) {
-                            // Index found -> duplicate -> add index to list
-                            indices.add(index);
-                        } else {
-                            // No index found -> new one -> add to Map with <current> index
-                            vertexIndexMap.put(vertex, current);
-                            indices.add(current);
+    private static class Parser {
+        private final byte[] data;
+        private int pos;
+
+        private float[] vertices = new float[3 * 1024];
+        private int verticesSize;
+        private float[] textures = new float[2 * 1024];
+        private int texturesSize;
+        private float[] normals = new float[3 * 1024];
+        private int normalsSize;
+
+        private int[] indices = new int[3 * 1024];
+        private int indicesSize;
+
+        /**
+         * v/vt/vn of unique vertices in order of their indices.
+         */
+        private int[] uniqueVertices = new int[3 * 1024];
+        private final Map<Vertex, Integer> vertexIndexMap = new HashMap<>();
+        private final Vertex lookup = new Vertex(0, 0, 0);
+
+        public Parser(byte[] data) {
+            this.data = data;
+        }
 
-                            current++;
-                        }
-                    }
+        public void parse() {
+            while (pos < data.length) {
+                skipSpaces();
+                if (pos >= data.length) break;
+
+                byte c = data[pos];
+                byte next = pos + 1 < data.length ? data[pos + 1] : 0;
+
+                if (c == 'v' && isSpace(next)) {
+                    pos++;
+                    vertices = ensure(vertices, verticesSize + 3);
+                    vertices[verticesSize++] = parseFloat();
+                    vertices[verticesSize++] = parseFloat();
+                    vertices[verticesSize++] = parseFloat();
+                } else if (c == 'v' && next == 't') {
+                    pos += 2;
+                    textures = ensure(textures, texturesSize + 2);
+                    textures[texturesSize++] = parseFloat();
+                    textures[texturesSize++] = parseFloat();
+                } else if (c == 'v' && next == 'n') {
+                    pos += 2;
+                    normals = ensure(normals, normalsSize + 3);
+                    normals[normalsSize++] = parseFloat();
+                    normals[normalsSize++] = parseFloat();
+                    normals[normalsSize++] = parseFloat();
+                } else if (c == 'f' && isSpace(next)) {
+                    pos++;
+                    parseFace();
                 }
-            }
 
-            reader.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+                skipLine();
+            }
         }
 
-        // String[] path = filename.split("/");
-        // JSG.logger.debug(String.format("Finished loading mesh %s: v:%d t:%d n:%d vertexMap:%d indices:%d", path[path.length-1], vertices.size(), textures.size(), normals.size(), vertexIndexMap.size(), indices.size() ));
+        private void parseFace() {
+            while (true) {
+                skipSpaces();
+                if (pos >= data.length || isLineEnd(data[pos])) return;
 
-        // ----------------------------------------------------------------------------------
+                int vId = toIndex(parseInt(), verticesSize / 3);
+                int tId = 0;
+                int nId = 0;
 
-        boolean hasTex = textures.size() > 0;
+                if (pos < data.length && data[pos] == '/') {
+                    pos++;
+                    if (pos < data.length && data[pos] != '/')
+                        tId = toIndex(parseInt(), texturesSize / 2);
 
-        int size = vertexIndexMap.size();
-        int index = 0;
+                    if (pos < data.length && data[pos] == '/') {
+                        pos++;
+                        nId = toIndex(parseInt(), normalsSize / 3);
+                    }
+                }
 
-        float[] v = new float[size * 3];
-        float[] t = new float[size * 2];
-        float[] n = new float[size * 3];
+                lookup.vId = vId;
+                lookup.tId = tId;
+                lookup.nId = nId;
 
-        for (Vertex key : vertexIndexMap.keySet()) {
+                Integer index = vertexIndexMap.get(lookup);
 
-            Vector3f ver = vertices.get(key.vId);
-            Vector3f norm = normals.get(key.nId);
+                if (index == null) {
+                    // No index found -> new one -> add to Map with next index
+                    index = vertexIndexMap.size();
+                    vertexIndexMap.put(new Vertex(vId, tId, nId), index);
+
+                    uniqueVertices = ensure(uniqueVertices, index * 3 + 3);
+                    uniqueVertices[index * 3] = vId;
+                    uniqueVertices[index * 3 + 1] = tId;
+                    uniqueVertices[index * 3 + 2] = nId;
+                }
+
+                indices = ensure(indices, indicesSize + 1);
+                indices[indicesSize++] = index;
+
+                // Skip rest of the token (e.g. w of vertex)
+                while (pos < data.length && !isSpace(data[pos]) && !isLineEnd(data[pos]))
+                    pos++;
+            }
+        }
 
-            v[index * 3] = ver.x;
-            v[index * 3 + 1] = ver.y;
-            v[index * 3 + 2] = ver.z;
+        public OBJModel build() {
+            boolean hasTex = texturesSize > 0;
 
-            n[index * 3] = norm.x;
-            n[index * 3 + 1] = norm.y;
-            n[index * 3 + 2] = norm.z;
+            int size = vertexIndexMap.size();
 
-            if (hasTex) {
-                Vector2f tex = textures.get(key.tId);
+            float[] v = new float[size * 3];
+            float[] t = new float[size * 2];
+            float[] n = new float[size * 3];
 
-                t[index * 2] = tex.x;
-                t[index * 2 + 1] = -tex.y;
+            for (int index = 0; index < size; index++) {
+                int vId = uniqueVertices[index * 3];
+                int tId = uniqueVertices[index * 3 + 1];
+                int nId = uniqueVertices[index * 3 + 2];
+
+                System.arraycopy(vertices, vId * 3, v, index * 3, 3);
+
+                if (nId * 3 < normalsSize)
+                    System.arraycopy(normals, nId * 3, n, index * 3, 3);
+
+                if (hasTex && tId * 2 < texturesSize) {
+                    t[index * 2] = textures[tId * 2];
+                    t[index * 2 + 1] = -textures[tId * 2 + 1];
+                }
             }
 
-            index++;
+            return new OBJModel(v, t, n, Arrays.copyOf(indices, indicesSize), hasTex);
         }
 
-        int[] ind = new int[indices.size()];
+        // ------------------------------------------------------------------------------
+        // Tokens
 
-        for (int k = 0; k < indices.size(); k++) {
-            ind[k] = indices.get(k).intValue();
+        private static boolean isSpace(byte c) {
+            return c == ' ' || c == '\t';
         }
 
-        return new OBJModel(v, t, n, ind, hasTex);
-    }
+        private static boolean isLineEnd(byte c) {
+            return c == '\n' || c == '\r';
+        }
 
-    private static class Vertex {
-        int vId;
-        int tId;
-        int nId;
+        private void skipSpaces() {
+            while (pos < data.length && isSpace(data[pos]))
+                pos++;
+        }
 
-        public Vertex(String[] vtn) {
-            if (vtn.length == 3) {
-                vId = Integer.valueOf(vtn[0]) - 1;
+        private void skipLine() {
+            while (pos < data.length && data[pos] != '\n')
+                pos++;
+            pos++;
+        }
 
-                if (!vtn[1].isEmpty())
-                    tId = Integer.valueOf(vtn[1]) - 1;
+        /**
+         * OBJ indices start at 1, negative ones are relative to the end of the list.
+         */
+        private static int toIndex(int objIndex, int count) {
+            return objIndex < 0 ? count + objIndex : objIndex - 1;
+        }
 
-                if (!vtn[2].isEmpty())
-                    nId = Integer.valueOf(vtn[2]) - 1;
+        private int parseInt() {
+            skipSpaces();
+
+            boolean negative = false;
+            if (pos < data.length && data[pos] == '-') {
+                negative = true;
+                pos++;
             }
+
+            int value = 0;
+            int start = pos;
+            while (pos < data.length && data[pos] >= '0' && data[pos] <= '9')
+                value = value * 10 + (data[pos++] - '0');
+
+            if (pos == start)
+                throw new NumberFormatException("Expected number at byte " + pos);
+
+            return negative ? -value : value;
         }
 
-        public String toString() {
-            return vId + "/" + tId + "/" + nId;
+        private static final double[] POW10 = new double[23];
+
+        static {
+            POW10[0] = 1;
+            for (int i = 1; i < POW10.length; i++)
+                POW10[i] = POW10[i - 1] * 10;
         }
-    }
 
-    private static Vector3f splitToVector(String line) {
-        String[] splitted = line.split(" ");
+        private float parseFloat() {
+            skipSpaces();
+            int start = pos;
 
-        float x = Float.valueOf(splitted[1]);
-        float y = Float.valueOf(splitted[2]);
-        float z = Float.valueOf(splitted[3]);
+            boolean negative = false;
+            if (pos < data.length && (data[pos] == '-' || data[pos] == '+')) {
+                negative = data[pos] == '-';
+                pos++;
+            }
 
-        return new Vector3f(x, y, z);
-    }
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = 0;
+            boolean fraction = false;
+
+            while (pos < data.length) {
+                byte c = data[pos];
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (fraction) fractionDigits++;
+                } else if (c == '.' && !fraction) {
+                    fraction = true;
+                } else break;
+                pos++;
+            }
+
+            int exponent = 0;
+            boolean exponentValid = true;
+            if (pos < data.length && (data[pos] == 'e' || data[pos] == 'E')) {
+                pos++;
+
+                boolean exponentNegative = false;
+                if (pos < data.length && (data[pos] == '-' || data[pos] == '+')) {
+                    exponentNegative = data[pos] == '-';
+                    pos++;
+                }
+
+                int exponentStart = pos;
+                while (pos < data.length && data[pos] >= '0' && data[pos] <= '9') {
+                    // Larger exponents are out of float range anyway
+                    if (exponent < 1000)
+                        exponent = exponent * 10 + (data[pos] - '0');
+                    pos++;
+                }
 
-    private static Vector2f splitToVector2(String line) {
-        String[] splitted = line.split(" ");
+                exponentValid = pos > exponentStart;
+                if (exponentNegative) exponent = -exponent;
+            }
 
-        float x = Float.valueOf(splitted[1]);
-        float y = Float.valueOf(splitted[2]);
+            exponent -= fractionDigits;
 
-        return new Vector2f(x, y);
+            if (digits == 0 || digits > 18 || !exponentValid || Math.abs(exponent) >= POW10.length) {
+                // Unusual number - let Java parse it
+                while (pos < data.length && !isSpace(data[pos]) && !isLineEnd(data[pos]))
+                    pos++;
+                return Float.parseFloat(new String(data, start, pos - start, StandardCharsets.US_ASCII));
+            }
+
+            double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+            return (float) (negative ? -value : value);
+        }
+
+        private static float[] ensure(float[] array, int size) {
+            return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+        }
+
+        private static int[] ensure(int[] array, int size) {
+            return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+        }
     }
 }
@@ -11,12 +11,16 @@ import static org.lwjgl.opengl.GL15.*;
 
 public class OBJModel {
 	
+	/**
+	 * Interleaved vertex: position (3), texture (2), normal (3).
+	 */
+	private static final int VERTEX_FLOATS = 8;
+	private static final int STRIDE = VERTEX_FLOATS * 4;
+
 	private int drawCount;
 	private boolean modelInitialized;
 	
 	private int vId;
-	private int tId;
-	private int nId;
 	private int iId;
 	private boolean hasTex;
 	
@@ -26,6 +30,9 @@ public class OBJModel {
 	private int[] indices;
 	
 	
+	protected OBJModel() {
+	}
+
 	public OBJModel(float[] vertices, float[] textureCoords, float[] normals, int[] indices, boolean hasTex) {
 		this.vertices = vertices;
 		this.textureCoords = textureCoords;
@@ -35,23 +42,48 @@ public class OBJModel {
 
 		modelInitialized = false;
 	}
+
+	public int getVertexCount() {
+		return vertices.length / 3;
+	}
+
+	public int getIndexCount() {
+		return indices.length;
+	}
+
+	float[] getVertices() {
+		return vertices;
+	}
+
+	float[] getTextureCoords() {
+		return textureCoords;
+	}
+
+	float[] getNormals() {
+		return normals;
+	}
+
+	int[] getIndices() {
+		return indices;
+	}
+
+	boolean hasTex() {
+		return hasTex;
+	}
 	
+	/**
+	 * @return Model with loaded vertex data or null if it's not available (yet).
+	 */
+	OBJModel getData() {
+		return vertices != null ? this : null;
+	}
+
 	public void initializeModel() {
 		drawCount = indices.length;
 
 		vId = glGenBuffers();
 		glBindBuffer(GL_ARRAY_BUFFER, vId);
-		glBufferData(GL_ARRAY_BUFFER, createFloatBuffer(vertices), GL_STATIC_DRAW);
-		
-		if (hasTex) {
-			tId = glGenBuffers();
-			glBindBuffer(GL_ARRAY_BUFFER, tId);
-			glBufferData(GL_ARRAY_BUFFER, createFloatBuffer(textureCoords), GL_STATIC_DRAW);
-		}
-		
-		nId = glGenBuffers();
-		glBindBuffer(GL_ARRAY_BUFFER, nId);
-		glBufferData(GL_ARRAY_BUFFER, createFloatBuffer(normals), GL_STATIC_DRAW);
+		glBufferData(GL_ARRAY_BUFFER, createFloatBuffer(interleave()), GL_STATIC_DRAW);
 		
 		iId = glGenBuffers();
 		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, iId);
@@ -63,6 +95,20 @@ public class OBJModel {
 		modelInitialized = true;
 	}
 	
+	/**
+	 * Deletes the buffers, model can't be rendered anymore.
+	 */
+	public void deleteModel() {
+		if (modelInitialized) {
+			glDeleteBuffers(vId);
+			glDeleteBuffers(iId);
+		}
+
+		modelInitialized = false;
+		vertices = textureCoords = normals = null;
+		indices = null;
+	}
+
 	public void render() {
 		if (!modelInitialized)
 			initializeModel();
@@ -72,15 +118,9 @@ public class OBJModel {
 		if (hasTex) glEnableClientState(GL_TEXTURE_COORD_ARRAY);
 		
 		glBindBuffer(GL_ARRAY_BUFFER, vId);
-		glVertexPointer(3, GL_FLOAT, 0, 0);
-		
-		if (hasTex) {
-			glBindBuffer(GL_ARRAY_BUFFER, tId);
-			glTexCoordPointer(2, GL_FLOAT, 0, 0);
-		}
-		
-		glBindBuffer(GL_ARRAY_BUFFER, nId);
-		glNormalPointer(GL_FLOAT, 0, 0);
+		glVertexPointer(3, GL_FLOAT, STRIDE, 0);
+		if (hasTex) glTexCoordPointer(2, GL_FLOAT, STRIDE, 3 * 4);
+		glNormalPointer(GL_FLOAT, STRIDE, 5 * 4);
 		
 		glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, iId);		
 		glDrawElements(GL_TRIANGLES, drawCount, GL_UNSIGNED_INT, 0);
@@ -93,6 +133,20 @@ public class OBJModel {
 		if (hasTex) glDisableClientState(GL_TEXTURE_COORD_ARRAY);
 	}
 	
+	private float[] interleave() {
+		int count = getVertexCount();
+		float[] data = new float[count * VERTEX_FLOATS];
+
+		for (int i = 0; i < count; i++) {
+			int offset = i * VERTEX_FLOATS;
+			System.arraycopy(vertices, i * 3, data, offset, 3);
+			if (hasTex) System.arraycopy(textureCoords, i * 2, data, offset + 3, 2);
+			System.arraycopy(normals, i * 3, data, offset + 5, 3);
+		}
+
+		return data;
+	}
+
 	private FloatBuffer createFloatBuffer(float[] input) {
 		FloatBuffer buffer = BufferUtils.createFloatBuffer(input.length);
 		((Buffer) buffer.put(input)).flip();
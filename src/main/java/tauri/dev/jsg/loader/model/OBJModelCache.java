@@ -0,0 +1,150 @@
+package tauri.dev.jsg.loader.model;
+
+import tauri.dev.jsg.JSG;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary cache of parsed {@link OBJModel}s.
+ * <p>
+ * Every model is stored in its own file named by SHA-1 hash of the source .obj file,
+ * so changed models (resource packs, custom origins) get a new entry.
+ * Files are memory-mapped when loading. Thread safe - used by the asset decoding threads.
+ */
+public class OBJModelCache {
+
+    private static final int MAGIC = 0x4A53474D; // JSGM
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 1 + 4 + 4;
+    private static final String SUFFIX = ".bin";
+
+    private final File directory;
+    private final Set<String> usedHashes = ConcurrentHashMap.newKeySet();
+
+    public OBJModelCache(File directory) {
+        this.directory = directory;
+    }
+
+    public static String hash(byte[] data) {
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(data))
+                builder.append(String.format("%02x", b));
+
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private File getFile(String hash) {
+        return new File(directory, hash + SUFFIX);
+    }
+
+    /**
+     * @return Cached model or null if not cached (or the entry is broken).
+     */
+    @Nullable
+    public OBJModel load(String hash) {
+        usedHashes.add(hash);
+
+        File file = getFile(hash);
+        if (!file.isFile()) return null;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            boolean hasTex = buffer.get() != 0;
+            int vertexCount = buffer.getInt();
+            int indexCount = buffer.getInt();
+
+            if (buffer.remaining() != (vertexCount * 8 + indexCount) * 4) return null;
+
+            float[] vertices = new float[vertexCount * 3];
+            float[] textureCoords = new float[vertexCount * 2];
+            float[] normals = new float[vertexCount * 3];
+            int[] indices = new int[indexCount];
+
+            buffer.asFloatBuffer().get(vertices).get(textureCoords).get(normals);
+            buffer.position(buffer.position() + vertexCount * 8 * 4);
+            buffer.asIntBuffer().get(indices);
+
+            return new OBJModel(vertices, textureCoords, normals, indices, hasTex);
+        } catch (Exception e) {
+            JSG.warn("Failed to read cached model " + file.getName() + ", it will be parsed again");
+            return null;
+        }
+    }
+
+    public void save(String hash, OBJModel model) {
+        usedHashes.add(hash);
+
+        int vertexCount = model.getVertexCount();
+        int indexCount = model.getIndexCount();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (vertexCount * 8 + indexCount) * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.put((byte) (model.hasTex() ? 1 : 0));
+        buffer.putInt(vertexCount);
+        buffer.putInt(indexCount);
+
+        buffer.asFloatBuffer().put(model.getVertices()).put(model.getTextureCoords()).put(model.getNormals());
+        buffer.position(buffer.position() + vertexCount * 8 * 4);
+        buffer.asIntBuffer().put(model.getIndices());
+        buffer.rewind();
+
+        try {
+            if (!directory.exists() && !directory.mkdirs())
+                throw new IOException("Could not create " + directory);
+
+            File file = getFile(hash);
+            File tmpFile = new File(directory, hash + SUFFIX + "_" + Thread.currentThread().getId() + "_tmp");
+            try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            JSG.warn("Failed to cache model " + hash + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the entry of the model even if it's not loaded (on demand models).
+     */
+    public void markUsed(String hash) {
+        usedHashes.add(hash);
+    }
+
+    /**
+     * Removes entries not used since this cache was created (models which were changed or removed).
+     */
+    public void removeUnused() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) return;
+
+        for (File file : files) {
+            String hash = file.getName().substring(0, file.getName().length() - SUFFIX.length());
+            if (!usedHashes.contains(hash) && !file.delete())
+                JSG.warn("Could not remove old cached model " + file.getName());
+        }
+    }
+}
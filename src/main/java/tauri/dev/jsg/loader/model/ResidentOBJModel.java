@@ -0,0 +1,65 @@
+package tauri.dev.jsg.loader.model;
+
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.loader.AssetResidency;
+import tauri.dev.jsg.loader.ReloadListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Model loaded on the first render (see {@link AssetResidency}). Nothing is rendered until it's loaded.
+ */
+public class ResidentOBJModel extends OBJModel {
+
+    private final AssetResidency.Asset<OBJModel> asset;
+    private OBJModel model;
+
+    /**
+     * @param modelPath Class path of the model.
+     */
+    public ResidentOBJModel(String modelPath, String name) {
+        asset = new AssetResidency.Asset<OBJModel>("model " + name) {
+            @Override
+            protected OBJModel decode() throws Exception {
+                InputStream stream = JSG.class.getClassLoader().getResourceAsStream(modelPath);
+                OBJModel loaded = ModelLoader.loadModel(stream, name);
+                if (loaded == null)
+                    throw new IOException("Model not found: " + modelPath);
+                return loaded;
+            }
+
+            @Override
+            protected long upload(OBJModel decoded) {
+                model = decoded;
+                return (long) (decoded.getVertexCount() * 8 + decoded.getIndexCount()) * 4;
+            }
+
+            @Override
+            protected void release() {
+                model.deleteModel();
+                model = null;
+            }
+
+            @Override
+            protected void onLoadFailed() {
+                ReloadListener.LoadingStats.notLoadedModels++;
+            }
+        };
+    }
+
+    @Override
+    public void render() {
+        if (asset.use()) model.render();
+    }
+
+    @Override
+    OBJModel getData() {
+        return asset.use() ? model.getData() : null;
+    }
+
+    @Override
+    public void deleteModel() {
+        asset.delete();
+    }
+}
@@ -0,0 +1,61 @@
+package tauri.dev.jsg.loader.texture;
+
+import net.minecraft.client.renderer.texture.TextureUtil;
+import net.minecraft.client.resources.IResource;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.util.ResourceLocation;
+import org.apache.commons.io.IOUtils;
+import tauri.dev.jsg.loader.AssetResidency;
+import tauri.dev.jsg.loader.ReloadListener;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Texture loaded on the first bind (see {@link AssetResidency}). Binds {@link TextureLoader#getPlaceholder()} until it's loaded.
+ */
+public class ResidentTexture extends Texture {
+
+    private final AssetResidency.Asset<BufferedImage> asset;
+
+    public ResidentTexture(IResourceManager resourceManager, ResourceLocation resourceLocation) {
+        asset = new AssetResidency.Asset<BufferedImage>("texture " + resourceLocation) {
+            @Override
+            protected BufferedImage decode() throws Exception {
+                IResource resource = null;
+                try {
+                    resource = resourceManager.getResource(resourceLocation);
+                    return TextureUtil.readBufferedImage(resource.getInputStream());
+                } finally {
+                    IOUtils.closeQuietly(resource);
+                }
+            }
+
+            @Override
+            protected long upload(BufferedImage decoded) {
+                ResidentTexture.this.upload(decoded);
+                return (long) decoded.getWidth() * decoded.getHeight() * 4;
+            }
+
+            @Override
+            protected void release() {
+                ResidentTexture.super.deleteTexture();
+            }
+
+            @Override
+            protected void onLoadFailed() {
+                ReloadListener.LoadingStats.notLoadedTextures++;
+            }
+        };
+    }
+
+    @Override
+    public void deleteTexture() {
+        asset.delete();
+    }
+
+    @Override
+    public void bindTexture() {
+        if (asset.use()) super.bindTexture();
+        else TextureLoader.getPlaceholder().bindTexture();
+    }
+}
@@ -7,18 +7,28 @@ import java.awt.image.BufferedImage;
 
 public class Texture {
 
-    private final int textureId;
+    private int textureId = -1;
+
+    protected Texture() {
+    }
 
     public Texture(BufferedImage bufferedImage) {
+        upload(bufferedImage);
+    }
+
+    protected void upload(BufferedImage bufferedImage) {
         this.textureId = TextureUtil.glGenTextures();
         TextureUtil.uploadTextureImageAllocate(textureId, bufferedImage, false, false);
     }
 
     public void deleteTexture() {
+        if (textureId == -1) return;
+
         TextureUtil.deleteTexture(textureId);
+        textureId = -1;
     }
 
     public void bindTexture() {
         GlStateManager.bindTexture(textureId);
     }
-}
\ No newline at end of file
+}
@@ -14,8 +14,10 @@ import net.minecraftforge.fml.common.ProgressManager.ProgressBar;
 import org.apache.commons.io.IOUtils;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.config.JSGConfig;
+import tauri.dev.jsg.loader.AssetResidency;
 import tauri.dev.jsg.loader.FolderLoader;
 import tauri.dev.jsg.loader.OriginsLoader;
+import tauri.dev.jsg.loader.ParallelLoader;
 import tauri.dev.jsg.loader.ReloadListener;
 
 import javax.annotation.Nullable;
@@ -49,6 +51,7 @@ public class TextureLoader {
     public static void reloadTextures(IResourceManager resourceManager) throws IOException, URISyntaxException {
         for (Texture texture : LOADED_TEXTURES.values())
             texture.deleteTexture();
+        LOADED_TEXTURES.clear();
 
         OriginsLoader.registerTextures(LOADED_TEXTURES);
 
@@ -76,10 +79,8 @@ public class TextureLoader {
         // LOAD NORMAL TEXTURES
         ProgressBar progressBar = ProgressManager.push("JSG - General textures", texturePaths.size());
         long start = System.currentTimeMillis();
-        JSG.info("Started loading textures...");
-        for (String texturePath : texturePaths) {
-            loadTexture(progressBar, texturePath, resourceManager);
-        }
+        JSG.info("Started loading textures (" + ParallelLoader.getThreadCount() + " threads)...");
+        loadTextures(progressBar, texturePaths, resourceManager);
         JSG.info("Loaded " + texturePaths.size() + " textures in " + (System.currentTimeMillis() - start) + " ms");
         ProgressManager.pop(progressBar);
         // ----------------------------------
@@ -90,17 +91,7 @@ public class TextureLoader {
             progressBar = ProgressManager.push("JSG - Animated textures", ehPaths.size());
             start = System.currentTimeMillis();
             JSG.info("Started loading event horizon textures...");
-            for (String texturePath : ehPaths) {
-                switch (texturePath) {
-                    case "textures/tesr/event_horizon_animated_kawoosh.jpg":
-                    case "textures/tesr/event_horizon_animated_kawoosh_unstable.jpg":
-                        loadEH(progressBar, texturePath, resourceManager);
-                        break;
-                    default:
-                        loadTexture(progressBar, texturePath, resourceManager);
-                        break;
-                }
-            }
+            loadTextures(progressBar, ehPaths, resourceManager);
             JSG.info("Loaded " + ehPaths.size() + " textures in " + (System.currentTimeMillis() - start) + " ms");
             ProgressManager.pop(progressBar);
         } else {
@@ -110,47 +101,68 @@ public class TextureLoader {
         // ----------------------------------
     }
 
-    private static void loadTexture(ProgressBar progressBar, String texturePath, IResourceManager resourceManager) {
-        progressBar.step(texturePath.replaceFirst("textures/tesr/", ""));
-        ResourceLocation resourceLocation = new ResourceLocation(JSG.MOD_ID, texturePath);
-        IResource resource = null;
-        try {
-            resource = resourceManager.getResource(resourceLocation);
-            if (JSGConfig.General.debug.logTexturesLoading)
-                JSG.info("Loading texture: " + texturePath);
-            BufferedImage bufferedImage = TextureUtil.readBufferedImage(resource.getInputStream());
-            LOADED_TEXTURES.put(resourceLocation, new Texture(bufferedImage));
-            ReloadListener.LoadingStats.loadedTextures++;
-        } catch (IOException e) {
-            JSG.error("Failed to load texture " + texturePath);
-            e.printStackTrace();
-            ReloadListener.LoadingStats.notLoadedTextures++;
-        } finally {
-            IOUtils.closeQuietly(resource);
+    /**
+     * Images are decoded by {@link ParallelLoader} threads, GL textures are created on this thread.
+     * If assets are loaded on demand, only {@link ResidentTexture}s are registered.
+     */
+    private static void loadTextures(ProgressBar progressBar, List<String> texturePaths, IResourceManager resourceManager) {
+        if (AssetResidency.isEnabled()) {
+            for (String texturePath : texturePaths) {
+                progressBar.step(texturePath.replaceFirst("textures/tesr/", ""));
+                onTextureLoaded(texturePath, new ResidentTexture(resourceManager, new ResourceLocation(JSG.MOD_ID, texturePath)));
+            }
+            return;
         }
+
+        ParallelLoader.load(texturePaths, progressBar, texturePath -> texturePath.replaceFirst("textures/tesr/", ""), texturePath -> {
+            IResource resource = null;
+            try {
+                resource = resourceManager.getResource(new ResourceLocation(JSG.MOD_ID, texturePath));
+                if (JSGConfig.General.debug.logTexturesLoading)
+                    JSG.info("Loading texture: " + texturePath);
+                return TextureUtil.readBufferedImage(resource.getInputStream());
+            } finally {
+                IOUtils.closeQuietly(resource);
+            }
+        }, (texturePath, bufferedImage, error) -> {
+            if (bufferedImage == null) {
+                JSG.error("Failed to load texture " + texturePath);
+                if (error != null) error.printStackTrace();
+                ReloadListener.LoadingStats.notLoadedTextures++;
+                return;
+            }
+
+            onTextureLoaded(texturePath, new Texture(bufferedImage));
+        });
     }
 
-    private static void loadEH(ProgressBar progressBar, String texturePath, IResourceManager resourceManager) {
-        ReloadListener.LoadingStats.loadedAnimatedEHs = true;
-        progressBar.step(texturePath.replaceFirst("textures/tesr/", ""));
-        ResourceLocation resourceLocation = new ResourceLocation(JSG.MOD_ID, texturePath);
-        IResource resource = null;
-        try {
-            resource = resourceManager.getResource(resourceLocation);
-            if (JSGConfig.General.debug.logTexturesLoading)
-                JSG.info("Loading texture: " + texturePath);
-
-            BufferedImage bufferedImage = TextureUtil.readBufferedImage(resource.getInputStream());
-
-            LOADED_TEXTURES.put(resourceLocation, new Texture(bufferedImage));
-            ReloadListener.LoadingStats.loadedTextures++;
-        } catch (IOException e) {
-            JSG.error("Failed to load texture " + texturePath);
-            e.printStackTrace();
-            ReloadListener.LoadingStats.notLoadedTextures++;
-        } finally {
-            IOUtils.closeQuietly(resource);
+    private static void onTextureLoaded(String texturePath, Texture texture) {
+        switch (texturePath) {
+            case "textures/tesr/event_horizon_animated_kawoosh.jpg":
+            case "textures/tesr/event_horizon_animated_kawoosh_unstable.jpg":
+                ReloadListener.LoadingStats.loadedAnimatedEHs = true;
+                break;
+            default:
+                break;
         }
+
+        LOADED_TEXTURES.put(new ResourceLocation(JSG.MOD_ID, texturePath), texture);
+        ReloadListener.LoadingStats.loadedTextures++;
+    }
+
+    private static Texture placeholder;
+
+    /**
+     * @return Flat gray texture used while a {@link ResidentTexture} is loading.
+     */
+    public static Texture getPlaceholder() {
+        if (placeholder == null) {
+            BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, 0xFF808080);
+            placeholder = new Texture(image);
+        }
+
+        return placeholder;
     }
 
     public static ResourceLocation getTextureResource(String texture) {
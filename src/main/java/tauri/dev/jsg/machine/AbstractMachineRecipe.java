@@ -1,6 +1,32 @@
 package tauri.dev.jsg.machine;
 
+import tauri.dev.jsg.config.craftings.CraftingConfig;
+
 public abstract class AbstractMachineRecipe {
     public abstract int getWorkingTime(); // in ticks
     public abstract int getEnergyPerTick();
+
+    private int disabledConfigVersion = -1;
+    private boolean disabled;
+
+    /**
+     * @return True if the recipe is disabled in the crafting config. Cached until the config is (re)loaded.
+     */
+    public boolean isDisabled() {
+        if (disabledConfigVersion != CraftingConfig.getVersion()) {
+            disabled = isDisabledInConfig();
+            disabledConfigVersion = CraftingConfig.getVersion();
+        }
+
+        return disabled;
+    }
+
+    protected abstract boolean isDisabledInConfig();
+
+    /**
+     * Machine needs at least energy for half of the work to start (or continue) the recipe.
+     */
+    public boolean hasEnoughEnergy(int energyStored) {
+        return energyStored >= (getEnergyPerTick() * (getWorkingTime() / 2));
+    }
 }
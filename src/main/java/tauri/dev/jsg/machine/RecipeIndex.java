@@ -0,0 +1,66 @@
+package tauri.dev.jsg.machine;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Recipes of a machine grouped by a key (schematic, items in the pattern, fluid...),
+ * so the machine only checks the recipes which can match its inventory.
+ * <p>
+ * Key of a recipe and key of the inventory must be created the same way, see {@link #key(Object...)}.
+ * Index is built on the first lookup (when items and fluids are registered).
+ */
+public class RecipeIndex<R extends AbstractMachineRecipe> {
+
+    private final Supplier<R[]> recipes;
+    private final Function<R, Object> keyFunction;
+
+    private Map<Object, List<R>> index = null;
+
+    public RecipeIndex(Supplier<R[]> recipes, Function<R, Object> keyFunction) {
+        this.recipes = recipes;
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * @return Recipes with the given key (possibly disabled).
+     */
+    public List<R> getRecipes(Object key) {
+        if (index == null) {
+            Map<Object, List<R>> index = new HashMap<>();
+            for (R recipe : recipes.get())
+                index.computeIfAbsent(keyFunction.apply(recipe), k -> new ArrayList<>(1)).add(recipe);
+
+            this.index = index;
+        }
+
+        return index.getOrDefault(key, Collections.emptyList());
+    }
+
+    public static Object key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * @return Items of the stacks, null for an empty slot. Counts are not part of the fingerprint.
+     */
+    public static List<Item> fingerprint(List<ItemStack> stacks, int slots) {
+        List<Item> items = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            ItemStack stack = i < stacks.size() ? stacks.get(i) : null;
+            items.add(getItem(stack));
+        }
+
+        return items;
+    }
+
+    @Nullable
+    public static Item getItem(@Nullable ItemStack stack) {
+        return (stack == null || stack.isEmpty()) ? null : stack.getItem();
+    }
+}
@@ -4,8 +4,10 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.machine.AbstractMachineRecipe;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AssemblerRecipe extends AbstractMachineRecipe {
     public static final String ID = "Ancient Assembler";
@@ -31,7 +33,14 @@ public abstract class AssemblerRecipe extends AbstractMachineRecipe {
     public boolean isOk(int energyStored, Item schematic, ArrayList<ItemStack> stacks, ItemStack subStack) {
         if(isDisabled()) return false;
 
-        if (energyStored < (getEnergyPerTick() * (getWorkingTime() / 2))) return false;
+        if (!hasEnoughEnergy(energyStored)) return false;
+        return matches(schematic, stacks, subStack);
+    }
+
+    /**
+     * @return True if the inventory contains everything the recipe needs (energy is not checked).
+     */
+    public boolean matches(Item schematic, List<ItemStack> stacks, ItemStack subStack) {
         if (getSchematic() != schematic) return false;
         int i = 0;
         for (ItemStack s : getPattern()) {
@@ -48,7 +57,19 @@ public abstract class AssemblerRecipe extends AbstractMachineRecipe {
         return subStack.getCount() >= getSubItemStack().getCount();
     }
 
-    public boolean isDisabled(){
+    /**
+     * @return Key of the recipe in {@link AssemblerRecipes#INDEX}.
+     */
+    public Object getIndexKey() {
+        return getIndexKey(getSchematic(), getPattern(), getSubItemStack());
+    }
+
+    public static Object getIndexKey(Item schematic, List<ItemStack> stacks, ItemStack subStack) {
+        return RecipeIndex.key(schematic, RecipeIndex.fingerprint(stacks, 9), RecipeIndex.getItem(subStack));
+    }
+
+    @Override
+    protected boolean isDisabledInConfig() {
         return CraftingConfig.isDisabled(ID, getResult().getItem().getRegistryName());
     }
 }
@@ -7,6 +7,7 @@ import net.minecraft.item.ItemStack;
 import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.item.JSGItems;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 import java.util.ArrayList;
 
@@ -1146,6 +1147,8 @@ public class AssemblerRecipes {
             TR_GOAULD_CONTROLLER
     };
 
+    public static final RecipeIndex<AssemblerRecipe> INDEX = new RecipeIndex<>(() -> RECIPES, AssemblerRecipe::getIndexKey);
+
     public static void addToConfig() {
         CraftingConfig config = new CraftingConfig(AssemblerRecipe.ID);
         for (AssemblerRecipe recipe : RECIPES) {
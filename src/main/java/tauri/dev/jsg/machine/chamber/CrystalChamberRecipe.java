@@ -5,6 +5,7 @@ import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.item.JSGItems;
 import tauri.dev.jsg.machine.AbstractMachineRecipe;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 public abstract class CrystalChamberRecipe extends AbstractMachineRecipe {
     public static final String ID = "Crystal Chamber";
@@ -20,14 +21,33 @@ public abstract class CrystalChamberRecipe extends AbstractMachineRecipe {
     public boolean isOk(int energyStored, FluidStack fluidStored, ItemStack seeds) {
         if(isDisabled()) return false;
 
-        if (energyStored < (getEnergyPerTick() * (getWorkingTime() / 2))) return false;
+        if (!hasEnoughEnergy(energyStored)) return false;
+        return matches(fluidStored, seeds);
+    }
+
+    /**
+     * @return True if the inventory contains everything the recipe needs (energy is not checked).
+     */
+    public boolean matches(FluidStack fluidStored, ItemStack seeds) {
         if (!(fluidStored.isFluidEqual(getSubFluidStack()))) return false;
         if (fluidStored.amount < getSubFluidStack().amount) return false;
         if (seeds.getItem() != JSGItems.CRYSTAL_SEED) return false;
         return seeds.getCount() >= getNeededSeeds();
     }
 
-    public boolean isDisabled(){
+    /**
+     * @return Key of the recipe in {@link CrystalChamberRecipes#INDEX}.
+     */
+    public Object getIndexKey() {
+        return getIndexKey(getSubFluidStack());
+    }
+
+    public static Object getIndexKey(FluidStack fluid) {
+        return RecipeIndex.key(fluid.getFluid());
+    }
+
+    @Override
+    protected boolean isDisabledInConfig() {
         return CraftingConfig.isDisabled(ID, getResult().getItem().getRegistryName());
     }
 }
@@ -5,6 +5,7 @@ import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.fluid.JSGFluids;
 import tauri.dev.jsg.item.JSGItems;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 import static tauri.dev.jsg.Constants.ONE_INGOT_IN_FLUID_MB;
 
@@ -151,6 +152,8 @@ public class CrystalChamberRecipes {
             CRYSTAL_BLUE_PEGASUS
     };
 
+    public static final RecipeIndex<CrystalChamberRecipe> INDEX = new RecipeIndex<>(() -> RECIPES, CrystalChamberRecipe::getIndexKey);
+
     public static void addToConfig(){
         CraftingConfig config = new CraftingConfig(CrystalChamberRecipe.ID);
         for(CrystalChamberRecipe recipe : RECIPES){
@@ -4,6 +4,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.machine.AbstractMachineRecipe;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 public abstract class OreWashingRecipe extends AbstractMachineRecipe {
     public static final String ID = "Ore Washing Machine";
@@ -17,14 +18,33 @@ public abstract class OreWashingRecipe extends AbstractMachineRecipe {
     public boolean isOk(int energyStored, FluidStack fluidStored, ItemStack itemIn) {
         if(isDisabled()) return false;
 
-        if (energyStored < (getEnergyPerTick() * (getWorkingTime() / 2))) return false;
+        if (!hasEnoughEnergy(energyStored)) return false;
+        return matches(fluidStored, itemIn);
+    }
+
+    /**
+     * @return True if the inventory contains everything the recipe needs (energy is not checked).
+     */
+    public boolean matches(FluidStack fluidStored, ItemStack itemIn) {
         if (!(fluidStored.isFluidEqual(getSubFluidStack()))) return false;
         if (fluidStored.amount < getSubFluidStack().amount) return false;
         if (!itemIn.isItemEqualIgnoreDurability(getItemNeeded())) return false;
         return itemIn.getCount() >= getItemNeeded().getCount();
     }
 
-    public boolean isDisabled(){
+    /**
+     * @return Key of the recipe in {@link OreWashingRecipes#INDEX}.
+     */
+    public Object getIndexKey() {
+        return getIndexKey(getSubFluidStack(), getItemNeeded());
+    }
+
+    public static Object getIndexKey(FluidStack fluid, ItemStack itemIn) {
+        return RecipeIndex.key(fluid.getFluid(), RecipeIndex.getItem(itemIn));
+    }
+
+    @Override
+    protected boolean isDisabledInConfig() {
         return CraftingConfig.isDisabled(ID, getResult().getItem().getRegistryName());
     }
 }
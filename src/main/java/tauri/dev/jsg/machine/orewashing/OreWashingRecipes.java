@@ -5,6 +5,7 @@ import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.item.JSGItems;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 public class OreWashingRecipes {
     public static final OreWashingRecipe PURIFIED_TRINIUM = new OreWashingRecipe() {
@@ -175,6 +176,8 @@ public class OreWashingRecipes {
             RAW_TRINIUM
     };
 
+    public static final RecipeIndex<OreWashingRecipe> INDEX = new RecipeIndex<>(() -> RECIPES, OreWashingRecipe::getIndexKey);
+
     public static void addToConfig() {
         CraftingConfig config = new CraftingConfig(OreWashingRecipe.ID);
         for (OreWashingRecipe recipe : RECIPES) {
@@ -4,8 +4,10 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.machine.AbstractMachineRecipe;
+import tauri.dev.jsg.machine.RecipeIndex;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public abstract class PCBFabricatorRecipe extends AbstractMachineRecipe {
     public static final String ID = "PCB Fabricator";
@@ -21,7 +23,14 @@ public abstract class PCBFabricatorRecipe extends AbstractMachineRecipe {
     public boolean isOk(int energyStored, FluidStack fluidStored, ArrayList<ItemStack> stacks) {
         if(isDisabled()) return false;
 
-        if (energyStored < (getEnergyPerTick() * (getWorkingTime() / 2))) return false;
+        if (!hasEnoughEnergy(energyStored)) return false;
+        return matches(fluidStored, stacks);
+    }
+
+    /**
+     * @return True if the inventory contains everything the recipe needs (energy is not checked).
+     */
+    public boolean matches(FluidStack fluidStored, List<ItemStack> stacks) {
         if (!(fluidStored.isFluidEqual(getSubFluidStack()))) return false;
         if (fluidStored.amount < getSubFluidStack().amount) return false;
         int i = 0;
@@ -38,7 +47,19 @@ public abstract class PCBFabricatorRecipe extends AbstractMachineRecipe {
         return true;
     }
 
-    public boolean isDisabled(){
+    /**
+     * @return Key of the recipe in {@link PCBFabricatorRecipes#INDEX}.
+     */
+    public Object getIndexKey() {
+        return getIndexKey(getSubFluidStack(), getPattern());
+    }
+
+    public static Object getIndexKey(FluidStack fluid, List<ItemStack> stacks) {
+        return RecipeIndex.key(fluid.getFluid(), RecipeIndex.fingerprint(stacks, 9));
+    }
+
+    @Override
+    protected boolean isDisabledInConfig() {
         return CraftingConfig.isDisabled(ID, getResult().getItem().getRegistryName());
     }
 }
@@ -6,6 +6,7 @@ import net.minecraftforge.fluids.FluidStack;
 import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.fluid.JSGFluids;
 import tauri.dev.jsg.item.JSGItems;
+import tauri.dev.jsg.machine.RecipeIndex;
 import tauri.dev.jsg.util.FluidColors;
 
 import java.util.ArrayList;
@@ -598,6 +599,8 @@ public class PCBFabricatorRecipes {
             UPGRADE_EFFICIENCY
     };
 
+    public static final RecipeIndex<PCBFabricatorRecipe> INDEX = new RecipeIndex<>(() -> RECIPES, PCBFabricatorRecipe::getIndexKey);
+
     public static void addToConfig() {
         CraftingConfig config = new CraftingConfig(PCBFabricatorRecipe.ID);
         for (PCBFabricatorRecipe recipe : RECIPES) {
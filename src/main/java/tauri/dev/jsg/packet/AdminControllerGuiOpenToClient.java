@@ -10,39 +10,29 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.gui.admincontroller.GuiAdminController;
-import tauri.dev.jsg.stargate.network.StargateNetwork;
 
 public class AdminControllerGuiOpenToClient extends PositionedPacket {
     public AdminControllerGuiOpenToClient() {
     }
 
     protected BlockPos pos;
-    protected StargateNetwork network;
 
-    public AdminControllerGuiOpenToClient(BlockPos pos, StargateNetwork network) {
+    // Network entries are requested by the GUI page by page (AdminControllerNetworkRequestToServer)
+    public AdminControllerGuiOpenToClient(BlockPos pos) {
         super(pos);
         this.pos = pos;
-        this.network = network;
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
         super.toBytes(buf);
         buf.writeLong(pos.toLong());
-        if (network != null) {
-            buf.writeBoolean(true);
-            network.toBytes(buf);
-        } else buf.writeBoolean(false);
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
         super.fromBytes(buf);
         pos = BlockPos.fromLong(buf.readLong());
-        if (buf.readBoolean()) {
-            network = new StargateNetwork();
-            network.fromBytes(buf);
-        }
     }
 
     public static class AdminControllerGuiOpenToClientHandler implements IMessageHandler<AdminControllerGuiOpenToClient, IMessage> {
@@ -51,7 +41,7 @@ public class AdminControllerGuiOpenToClient extends PositionedPacket {
         @SideOnly(Side.CLIENT)
         public IMessage onMessage(AdminControllerGuiOpenToClient message, MessageContext ctx) {
             EntityPlayer player = JSG.proxy.getPlayerClientSide();
-            JSG.proxy.addScheduledTaskClientSide(() -> JSG.proxy.openGui(new GuiAdminController(player, player.getEntityWorld(), message.pos, message.network)));
+            JSG.proxy.addScheduledTaskClientSide(() -> JSG.proxy.openGui(new GuiAdminController(player, player.getEntityWorld(), message.pos)));
 
             return null;
         }
@@ -15,6 +15,9 @@ import tauri.dev.jsg.item.oc.ItemOCProgramToServer;
 import tauri.dev.jsg.item.oc.ItemOCProgramToServer.ItemOCProgramServerHandler;
 import tauri.dev.jsg.packet.ChangeRedstoneModeToServer.ChangeRedstoneModeServerHandler;
 import tauri.dev.jsg.packet.SetOpenTabToServer.SetOpenTabServerHandler;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkDeltaToClient;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkPageToClient;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkRequestToServer;
 import tauri.dev.jsg.packet.gui.entry.EntryActionToServer;
 import tauri.dev.jsg.packet.gui.entry.OCActionToServer;
 import tauri.dev.jsg.packet.stargate.*;
@@ -53,6 +56,7 @@ public class JSGPacketHandler {
 		INSTANCE.registerMessage(SaveConfigToServer.SaveConfigToServerHandler.class, SaveConfigToServer.class, id, Side.SERVER); id++;
 		INSTANCE.registerMessage(ZPMHubAnimationToServer.ZPMHubAnimationToServerHandler.class, ZPMHubAnimationToServer.class, id, Side.SERVER); id++;
 		INSTANCE.registerMessage(AncientSignSaveToServer.AncientSignSaveToServerHandler.class, AncientSignSaveToServer.class, id, Side.SERVER); id++;
+		INSTANCE.registerMessage(AdminControllerNetworkRequestToServer.AdminControllerNetworkRequestServerHandler.class, AdminControllerNetworkRequestToServer.class, id, Side.SERVER); id++;
 
 		// clientside packets
 		INSTANCE.registerMessage(StargateMotionToClient.RetrieveMotionClientHandler.class, StargateMotionToClient.class, id, Side.CLIENT); id++;
@@ -60,5 +64,8 @@ public class JSGPacketHandler {
 		INSTANCE.registerMessage(StateUpdatePacketToClient.StateUpdateClientHandler.class, StateUpdatePacketToClient.class, id, Side.CLIENT); id++;
 		INSTANCE.registerMessage(SoundPositionedPlayToClient.PlayPositionedSoundClientHandler.class, SoundPositionedPlayToClient.class, id, Side.CLIENT); id++;
 		INSTANCE.registerMessage(AdminControllerGuiOpenToClient.AdminControllerGuiOpenToClientHandler.class, AdminControllerGuiOpenToClient.class, id, Side.CLIENT); id++;
+		INSTANCE.registerMessage(AdminControllerNetworkPageToClient.AdminControllerNetworkPageClientHandler.class, AdminControllerNetworkPageToClient.class, id, Side.CLIENT); id++;
+		INSTANCE.registerMessage(AdminControllerNetworkDeltaToClient.AdminControllerNetworkDeltaClientHandler.class, AdminControllerNetworkDeltaToClient.class, id, Side.CLIENT); id++;
+		INSTANCE.registerMessage(StateUpdateBatchToClient.StateUpdateBatchClientHandler.class, StateUpdateBatchToClient.class, id, Side.CLIENT); id++;
 	}
 }
@@ -0,0 +1,134 @@
+package tauri.dev.jsg.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.state.State;
+import tauri.dev.jsg.state.StateRegistry;
+import tauri.dev.jsg.state.StateTypeEnum;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All state updates for one player in one tick, see {@link StateUpdateBatcher}.
+ */
+public class StateUpdateBatchToClient implements IMessage {
+	public StateUpdateBatchToClient() {}
+
+	public static class Entry {
+		public final BlockPos pos;
+		public final StateTypeEnum stateType;
+		public final int stateId;
+
+		/**
+		 * Serialized state. On the client only set for states not in {@link StateRegistry}.
+		 */
+		@Nullable
+		public final byte[] data;
+
+		/**
+		 * Deserialized state (client, registered states only).
+		 */
+		@Nullable
+		public final State state;
+
+		public Entry(BlockPos pos, StateTypeEnum stateType, int stateId, byte[] data) {
+			this(pos, stateType, stateId, data, null);
+		}
+
+		private Entry(BlockPos pos, StateTypeEnum stateType, int stateId, @Nullable byte[] data, @Nullable State state) {
+			this.pos = pos;
+			this.stateType = stateType;
+			this.stateId = stateId;
+			this.data = data;
+			this.state = state;
+		}
+
+		/**
+		 * @return Serialized size of the entry (approximately).
+		 */
+		public int getSize() {
+			return 8 + 2 + 2 + 3 + (data != null ? data.length : 0);
+		}
+	}
+
+	private List<Entry> entries;
+
+	public StateUpdateBatchToClient(List<Entry> entries) {
+		this.entries = entries;
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		ByteBufUtils.writeVarInt(buf, entries.size(), 5);
+
+		for (Entry entry : entries) {
+			buf.writeLong(entry.pos.toLong());
+			ByteBufUtils.writeVarInt(buf, entry.stateType.id, 5);
+			ByteBufUtils.writeVarInt(buf, entry.stateId, 5);
+			ByteBufUtils.writeVarInt(buf, entry.data.length, 5);
+			buf.writeBytes(entry.data);
+		}
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		int count = ByteBufUtils.readVarInt(buf, 5);
+		entries = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			BlockPos pos = BlockPos.fromLong(buf.readLong());
+			StateTypeEnum stateType = StateTypeEnum.byId(ByteBufUtils.readVarInt(buf, 5));
+			int stateId = ByteBufUtils.readVarInt(buf, 5);
+			int length = ByteBufUtils.readVarInt(buf, 5);
+
+			if (stateId == StateRegistry.UNREGISTERED) {
+				byte[] data = new byte[length];
+				buf.readBytes(data);
+
+				entries.add(new Entry(pos, stateType, stateId, data, null));
+				continue;
+			}
+
+			// Slice shares the packet's memory, it only limits the state to its own bytes
+			State state = StateUpdatePacketToClient.decodeState(stateId, buf.readSlice(length), pos, stateType);
+			if (state != null)
+				entries.add(new Entry(pos, stateType, stateId, null, state));
+		}
+	}
+
+	public static class StateUpdateBatchClientHandler implements IMessageHandler<StateUpdateBatchToClient, IMessage> {
+
+		@Override
+		public IMessage onMessage(StateUpdateBatchToClient message, MessageContext ctx) {
+			EntityPlayer player = JSG.proxy.getPlayerClientSide();
+			if (player == null) return null;
+
+			JSG.proxy.addScheduledTaskClientSide(() -> {
+				World world = player.getEntityWorld();
+
+				for (Entry entry : message.entries) {
+					try {
+						if (entry.state != null)
+							StateUpdatePacketToClient.applyState(world, entry.pos, entry.stateType, entry.state);
+						else
+							StateUpdatePacketToClient.applyState(world, entry.pos, entry.stateType, Unpooled.wrappedBuffer(entry.data));
+					} catch (Exception e) {
+						JSG.error("Failed to apply state " + entry.stateType + " at " + entry.pos, e);
+					}
+				}
+			});
+
+			return null;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package tauri.dev.jsg.packet;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
+import tauri.dev.jsg.state.StateTypeEnum;
+
+import java.util.*;
+
+/**
+ * Collects {@link StateUpdatePacketToClient}s sent during a server tick and sends them at the end of the tick,
+ * one {@link StateUpdateBatchToClient} per player.
+ * <p>
+ * States are serialized when queued. States of types marked by {@link StateTypeEnum#coalesce} replace the state
+ * of the same type queued earlier for the same position (only the last one is sent), other states are sent in order.
+ */
+@EventBusSubscriber
+public class StateUpdateBatcher {
+
+	/**
+	 * Batches are split to packets of this size.
+	 */
+	private static final int MAX_PACKET_SIZE = 256 * 1024;
+
+	private static class Queued {
+		final StateUpdateBatchToClient.Entry entry;
+		final long order;
+
+		Queued(StateUpdateBatchToClient.Entry entry, long order) {
+			this.entry = entry;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * Coalescing key of a state. Target is the tracked chunk (and dimension) or the player.
+	 */
+	private static class Key {
+		final Object target;
+		final BlockPos pos;
+		final StateTypeEnum stateType;
+
+		Key(Object target, BlockPos pos, StateTypeEnum stateType) {
+			this.target = target;
+			this.pos = pos;
+			this.stateType = stateType;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+
+			Key key = (Key) o;
+			return target.equals(key.target) && pos.equals(key.pos) && stateType == key.stateType;
+		}
+
+		@Override
+		public int hashCode() {
+			return (target.hashCode() * 31 + pos.hashCode()) * 31 + stateType.hashCode();
+		}
+	}
+
+	/**
+	 * Chunk watched by the players in a dimension.
+	 */
+	private static class TrackingTarget {
+		final int dimension;
+		final ChunkPos chunk;
+
+		TrackingTarget(int dimension, ChunkPos chunk) {
+			this.dimension = dimension;
+			this.chunk = chunk;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof TrackingTarget)) return false;
+
+			TrackingTarget target = (TrackingTarget) o;
+			return dimension == target.dimension && chunk.equals(target.chunk);
+		}
+
+		@Override
+		public int hashCode() {
+			return dimension * 31 + chunk.hashCode();
+		}
+	}
+
+	private static final Map<Object, Map<Object, Queued>> QUEUE = new LinkedHashMap<>();
+	private static long nextOrder;
+
+	/**
+	 * Replacement for {@link JSGPacketHandler#INSTANCE}.sendToAllTracking(packet, point).
+	 */
+	public static void sendToAllTracking(StateUpdatePacketToClient packet, TargetPoint point) {
+		if (!isServerThread()) {
+			JSGPacketHandler.INSTANCE.sendToAllTracking(packet, point);
+			return;
+		}
+
+		queue(new TrackingTarget(point.dimension, new ChunkPos(((int) Math.floor(point.x)) >> 4, ((int) Math.floor(point.z)) >> 4)), packet);
+	}
+
+	/**
+	 * Replacement for {@link JSGPacketHandler#INSTANCE}.sendTo(packet, player).
+	 */
+	public static void sendTo(StateUpdatePacketToClient packet, EntityPlayerMP player) {
+		if (!isServerThread()) {
+			JSGPacketHandler.INSTANCE.sendTo(packet, player);
+			return;
+		}
+
+		queue(player, packet);
+	}
+
+	private static boolean isServerThread() {
+		return FMLCommonHandler.instance().getMinecraftServerInstance() != null
+				&& FMLCommonHandler.instance().getMinecraftServerInstance().isCallingFromMinecraftThread();
+	}
+
+	private static void queue(Object target, StateUpdatePacketToClient packet) {
+		StateTypeEnum stateType = packet.getStateType();
+		BlockPos pos = packet.getPos().toImmutable();
+		Queued queued = new Queued(new StateUpdateBatchToClient.Entry(pos, stateType, packet.getStateId(), packet.getStateBytes()), nextOrder++);
+
+		Map<Object, Queued> targetQueue = QUEUE.computeIfAbsent(target, t -> new LinkedHashMap<>());
+		if (stateType.coalesce) {
+			// Remove first so the entry moves to the end
+			Key key = new Key(target, pos, stateType);
+			targetQueue.remove(key);
+			targetQueue.put(key, queued);
+		} else {
+			targetQueue.put(queued, queued);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase == TickEvent.Phase.END) flush();
+	}
+
+	/**
+	 * Sends all queued states.
+	 */
+	public static void flush() {
+		if (QUEUE.isEmpty()) return;
+
+		Map<EntityPlayerMP, List<Queued>> playerQueues = new LinkedHashMap<>();
+
+		for (Map.Entry<Object, Map<Object, Queued>> targetEntry : QUEUE.entrySet()) {
+			for (EntityPlayerMP player : getPlayers(targetEntry.getKey()))
+				playerQueues.computeIfAbsent(player, p -> new ArrayList<>()).addAll(targetEntry.getValue().values());
+		}
+
+		QUEUE.clear();
+
+		for (Map.Entry<EntityPlayerMP, List<Queued>> playerEntry : playerQueues.entrySet()) {
+			List<Queued> queue = playerEntry.getValue();
+			queue.sort(Comparator.comparingLong(queued -> queued.order));
+
+			List<StateUpdateBatchToClient.Entry> batch = new ArrayList<>();
+			int size = 0;
+
+			for (Queued queued : queue) {
+				if (!batch.isEmpty() && size + queued.entry.getSize() > MAX_PACKET_SIZE) {
+					JSGPacketHandler.INSTANCE.sendTo(new StateUpdateBatchToClient(batch), playerEntry.getKey());
+					batch = new ArrayList<>();
+					size = 0;
+				}
+
+				batch.add(queued.entry);
+				size += queued.entry.getSize();
+			}
+
+			JSGPacketHandler.INSTANCE.sendTo(new StateUpdateBatchToClient(batch), playerEntry.getKey());
+		}
+	}
+
+	/**
+	 * @return Connected players receiving the states for the target.
+	 */
+	private static List<EntityPlayerMP> getPlayers(Object target) {
+		List<EntityPlayerMP> players = new ArrayList<>();
+
+		if (target instanceof EntityPlayerMP) {
+			EntityPlayerMP player = (EntityPlayerMP) target;
+			if (player.connection != null) players.add(player);
+
+			return players;
+		}
+
+		TrackingTarget trackingTarget = (TrackingTarget) target;
+		WorldServer world = DimensionManager.getWorld(trackingTarget.dimension);
+		if (world == null) return players;
+
+		for (EntityPlayer player : world.playerEntities) {
+			if (player instanceof EntityPlayerMP && ((EntityPlayerMP) player).connection != null
+					&& world.getPlayerChunkMap().isPlayerWatchingChunk((EntityPlayerMP) player, trackingTarget.chunk.x, trackingTarget.chunk.z))
+				players.add((EntityPlayerMP) player);
+		}
+
+		return players;
+	}
+}
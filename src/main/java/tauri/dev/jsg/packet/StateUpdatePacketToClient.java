@@ -1,13 +1,17 @@
 package tauri.dev.jsg.packet;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.state.State;
 import tauri.dev.jsg.state.StateProviderInterface;
+import tauri.dev.jsg.state.StateRegistry;
 import tauri.dev.jsg.state.StateTypeEnum;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -18,7 +22,11 @@ public class StateUpdatePacketToClient extends PositionedPacket {
 	
 	private StateTypeEnum stateType;
 	private State state;
-	
+
+	/**
+	 * Client-side copy of the serialized state. Only used for states not in {@link StateRegistry},
+	 * registered states are deserialized directly in {@link #fromBytes(ByteBuf)}.
+	 */
 	private ByteBuf stateBuf;
 	
 	public StateUpdatePacketToClient(BlockPos pos, StateTypeEnum stateType, State state) {
@@ -32,11 +40,36 @@ public class StateUpdatePacketToClient extends PositionedPacket {
 		this.state = state;
 	}
 
+	BlockPos getPos() {
+		return pos;
+	}
+
+	StateTypeEnum getStateType() {
+		return stateType;
+	}
+
+	int getStateId() {
+		return StateRegistry.getId(state);
+	}
+
+	/**
+	 * @return Serialized state (without the position and type).
+	 */
+	byte[] getStateBytes() {
+		ByteBuf buf = Unpooled.buffer();
+		state.toBytes(buf);
+
+		byte[] bytes = new byte[buf.readableBytes()];
+		buf.readBytes(bytes);
+		return bytes;
+	}
+
     @Override
 	public void toBytes(ByteBuf buf) {		
 		super.toBytes(buf);
 		
 		buf.writeInt(stateType.id);
+		ByteBufUtils.writeVarInt(buf, getStateId(), 5);
 		
 		state.toBytes(buf);
 	}
@@ -46,9 +79,87 @@ public class StateUpdatePacketToClient extends PositionedPacket {
 		super.fromBytes(buf);
 
 		stateType = StateTypeEnum.byId(buf.readInt());
-		stateBuf = buf.copy();
+		int stateId = ByteBufUtils.readVarInt(buf, 5);
+
+		if (stateId == StateRegistry.UNREGISTERED) {
+			stateBuf = buf.copy();
+			return;
+		}
+
+		state = decodeState(stateId, buf, pos, stateType);
 	}
-	
+
+	/**
+	 * Deserializes the registered state. Network thread.
+	 *
+	 * @return The state or null if it could not be read.
+	 */
+	static State decodeState(int stateId, ByteBuf buf, BlockPos pos, StateTypeEnum stateType) {
+		State state = StateRegistry.create(stateId);
+		if (state == null) {
+			JSG.error("Unknown state id " + stateId + " (State type: " + stateType + "; Pos: " + pos + ")");
+			return null;
+		}
+
+		try {
+			state.fromBytes(buf);
+			return state;
+		} catch (RuntimeException e) {
+			JSG.error("Failed to read state " + stateType + " at " + pos, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Deserializes the state and sets it to the tile. Client thread.
+	 */
+	static void applyState(World world, BlockPos pos, StateTypeEnum stateType, ByteBuf stateBuf) {
+		StateProviderInterface te = (StateProviderInterface) world.getTileEntity(pos);
+
+		try {
+			if (te == null)
+				return;
+
+			State state = te.createState(stateType);
+
+			if (state != null) {
+				state.fromBytes(stateBuf);
+
+				te.setState(stateType, state);
+			}
+
+			else {
+				throw new NotImplementedError("State not implemented on " + te.toString());
+			}
+		}
+
+		catch (UnsupportedOperationException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Sets the already deserialized state to the tile. Client thread.
+	 */
+	static void applyState(World world, BlockPos pos, StateTypeEnum stateType, State state) {
+		TileEntity te = world.getTileEntity(pos);
+		if (!(te instanceof StateProviderInterface))
+			return;
+
+		try {
+			((StateProviderInterface) te).setState(stateType, state);
+		}
+
+		catch (UnsupportedOperationException e) {
+			e.printStackTrace();
+		}
+
+		catch (ClassCastException e) {
+			// The tile was replaced by another one since the state was sent
+			JSG.debug("State " + stateType + " does not match the tile " + te + ": " + e.getMessage());
+		}
+	}
+
 	public static class StateUpdateClientHandler implements IMessageHandler<StateUpdatePacketToClient, IMessage> {
 
 		@Override
@@ -57,31 +168,10 @@ public class StateUpdatePacketToClient extends PositionedPacket {
 			if(player == null) return null;
 			World world = player.getEntityWorld();
 			
-			JSG.proxy.addScheduledTaskClientSide(() -> {
-								
-				StateProviderInterface te = (StateProviderInterface) world.getTileEntity(message.pos);
-				
-				try {
-					if (te == null)
-						return;
-					
-					State state = te.createState(message.stateType);
-					
-					if (state != null) {
-						state.fromBytes(message.stateBuf);
-
-						te.setState(message.stateType, state);
-					}
-					
-					else {
-						throw new NotImplementedError("State not implemented on " + te.toString());
-					}
-				}
-				
-				catch (UnsupportedOperationException e) {
-					e.printStackTrace();
-				}
-			});
+			if (message.state != null)
+				JSG.proxy.addScheduledTaskClientSide(() -> applyState(world, message.pos, message.stateType, message.state));
+			else if (message.stateBuf != null)
+				JSG.proxy.addScheduledTaskClientSide(() -> applyState(world, message.pos, message.stateType, message.stateBuf));
 			
 			return null;
 		}
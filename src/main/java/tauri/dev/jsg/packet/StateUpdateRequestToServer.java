@@ -55,7 +55,7 @@ public class StateUpdateRequestToServer extends PositionedPacket {
 							State state = te.getState(message.stateType);
 						
 							if (state != null)
-								JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(message.pos, message.stateType, state), player);
+								StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(message.pos, message.stateType, state), player);
 							else
 								throw new NotImplementedError("State not implemented on " + te.toString() + " : " + message.stateType.toString());
 						}
@@ -31,7 +31,7 @@ public class ZPMHubAnimationToServer extends PositionedPacket {
                     te = (ZPMHubTile) world.getTileEntity(message.pos);
                     if (te != null) {
                         te.startAnimation();
-                        JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.RENDERER_UPDATE, te.getState(StateTypeEnum.RENDERER_UPDATE)), player);
+                        StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.RENDERER_UPDATE, te.getState(StateTypeEnum.RENDERER_UPDATE)), player);
                     }
                 }
             });
@@ -0,0 +1,62 @@
+package tauri.dev.jsg.packet.admincontroller;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.gui.admincontroller.GuiAdminController;
+import tauri.dev.jsg.gui.admincontroller.StargateEntry;
+
+/**
+ * Change of the stargate network pushed to players with opened admin controller GUI.
+ */
+public class AdminControllerNetworkDeltaToClient implements IMessage {
+    public AdminControllerNetworkDeltaToClient() {
+    }
+
+    public enum DeltaType {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    private DeltaType type;
+    private StargateEntry entry;
+
+    public AdminControllerNetworkDeltaToClient(DeltaType type, StargateEntry entry) {
+        this.type = type;
+        this.entry = entry;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeByte(type.ordinal());
+        entry.toBytes(buf);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        type = DeltaType.values()[buf.readByte()];
+        entry = StargateEntry.fromBytes(buf);
+    }
+
+    public static class AdminControllerNetworkDeltaClientHandler implements IMessageHandler<AdminControllerNetworkDeltaToClient, IMessage> {
+
+        @Override
+        @SideOnly(Side.CLIENT)
+        public IMessage onMessage(AdminControllerNetworkDeltaToClient message, MessageContext ctx) {
+            JSG.proxy.addScheduledTaskClientSide(() -> {
+                GuiScreen screen = Minecraft.getMinecraft().currentScreen;
+                if (screen instanceof GuiAdminController)
+                    ((GuiAdminController) screen).addressesSection.onDeltaReceived(message.type, message.entry);
+            });
+
+            return null;
+        }
+    }
+}
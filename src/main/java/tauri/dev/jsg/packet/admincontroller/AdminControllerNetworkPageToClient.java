@@ -0,0 +1,78 @@
+package tauri.dev.jsg.packet.admincontroller;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.gui.admincontroller.GuiAdminController;
+import tauri.dev.jsg.gui.admincontroller.StargateEntry;
+import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the stargate network requested by {@link AdminControllerNetworkRequestToServer}.
+ */
+public class AdminControllerNetworkPageToClient implements IMessage {
+    public AdminControllerNetworkPageToClient() {
+    }
+
+    private SymbolTypeEnum symbolType;
+    private String filter;
+    private int page;
+    private int totalEntries;
+    private List<StargateEntry> entries;
+
+    public AdminControllerNetworkPageToClient(SymbolTypeEnum symbolType, String filter, int page, int totalEntries, List<StargateEntry> entries) {
+        this.symbolType = symbolType;
+        this.filter = filter;
+        this.page = page;
+        this.totalEntries = totalEntries;
+        this.entries = entries;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeInt(symbolType.id);
+        ByteBufUtils.writeUTF8String(buf, filter);
+        buf.writeInt(page);
+        buf.writeInt(totalEntries);
+        buf.writeInt(entries.size());
+        for (StargateEntry entry : entries)
+            entry.toBytes(buf);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        symbolType = SymbolTypeEnum.valueOf(buf.readInt());
+        filter = ByteBufUtils.readUTF8String(buf);
+        page = buf.readInt();
+        totalEntries = buf.readInt();
+        int size = buf.readInt();
+        entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            entries.add(StargateEntry.fromBytes(buf));
+    }
+
+    public static class AdminControllerNetworkPageClientHandler implements IMessageHandler<AdminControllerNetworkPageToClient, IMessage> {
+
+        @Override
+        @SideOnly(Side.CLIENT)
+        public IMessage onMessage(AdminControllerNetworkPageToClient message, MessageContext ctx) {
+            JSG.proxy.addScheduledTaskClientSide(() -> {
+                GuiScreen screen = Minecraft.getMinecraft().currentScreen;
+                if (screen instanceof GuiAdminController)
+                    ((GuiAdminController) screen).addressesSection.onPageReceived(message.symbolType, message.filter, message.page, message.totalEntries, message.entries);
+            });
+
+            return null;
+        }
+    }
+}
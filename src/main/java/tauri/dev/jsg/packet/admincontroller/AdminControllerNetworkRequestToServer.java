@@ -0,0 +1,74 @@
+package tauri.dev.jsg.packet.admincontroller;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tauri.dev.jsg.packet.PositionedPacket;
+import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
+
+/**
+ * Sent by the admin controller GUI to get one page of the network (with given symbol type and filter)
+ * or to stop receiving network updates when the GUI is closed.
+ */
+public class AdminControllerNetworkRequestToServer extends PositionedPacket {
+    public AdminControllerNetworkRequestToServer() {
+    }
+
+    private boolean close;
+    private SymbolTypeEnum symbolType;
+    private String filter;
+    private int page;
+
+    public AdminControllerNetworkRequestToServer(BlockPos pos, SymbolTypeEnum symbolType, String filter, int page) {
+        super(pos);
+        this.close = false;
+        this.symbolType = symbolType;
+        this.filter = filter;
+        this.page = page;
+    }
+
+    public static AdminControllerNetworkRequestToServer close(BlockPos pos) {
+        AdminControllerNetworkRequestToServer packet = new AdminControllerNetworkRequestToServer(pos, SymbolTypeEnum.MILKYWAY, "", 0);
+        packet.close = true;
+        return packet;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        super.toBytes(buf);
+        buf.writeBoolean(close);
+        buf.writeInt(symbolType.id);
+        ByteBufUtils.writeUTF8String(buf, filter);
+        buf.writeInt(page);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        super.fromBytes(buf);
+        close = buf.readBoolean();
+        symbolType = SymbolTypeEnum.valueOf(buf.readInt());
+        filter = ByteBufUtils.readUTF8String(buf);
+        page = buf.readInt();
+    }
+
+    public static class AdminControllerNetworkRequestServerHandler implements IMessageHandler<AdminControllerNetworkRequestToServer, IMessage> {
+
+        @Override
+        public IMessage onMessage(AdminControllerNetworkRequestToServer message, MessageContext ctx) {
+            EntityPlayerMP player = ctx.getServerHandler().player;
+
+            player.getServerWorld().addScheduledTask(() -> {
+                if (message.close)
+                    AdminControllerNetworkSync.INSTANCE.close(player);
+                else
+                    AdminControllerNetworkSync.INSTANCE.sendPage(player, message.pos, message.symbolType, message.filter, message.page);
+            });
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package tauri.dev.jsg.packet.admincontroller;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.gui.admincontroller.StargateEntry;
+import tauri.dev.jsg.item.JSGItems;
+import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkDeltaToClient.DeltaType;
+import tauri.dev.jsg.stargate.network.*;
+import tauri.dev.jsg.util.BlockHelpers;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side of the admin controller network list.
+ * <p>
+ * Players request only the page of the network they display (symbol type + filter).
+ * While the GUI is opened, changes of the network matching the player's symbol type and filter are pushed as deltas.
+ * <p>
+ * Sessions are opened only by {@link tauri.dev.jsg.item.ItemAdminController} on the server,
+ * requests of players without an opened session are ignored.
+ */
+@EventBusSubscriber
+public class AdminControllerNetworkSync implements StargateNetworkListener {
+
+    public static final AdminControllerNetworkSync INSTANCE = new AdminControllerNetworkSync();
+
+    public static final int PAGE_SIZE = 50;
+
+    private static class Session {
+        public EntityPlayerMP player;
+        public final BlockPos gatePos;
+
+        @Nullable
+        public SymbolTypeEnum symbolType;
+        public String filter = "";
+
+        /**
+         * Filtered entries (named first) the client is paging through. Kept until the client starts from page 0 again,
+         * so the page offsets don't shift - changes made meanwhile are sent as deltas.
+         */
+        @Nullable
+        public List<StargateEntry> entries;
+        public boolean changed;
+
+        /**
+         * Entries of the list removed since it was built (not sent again on next pages).
+         */
+        public final List<StargateEntry> removed = new ArrayList<>();
+        public int added;
+
+        public Session(EntityPlayerMP player, BlockPos gatePos) {
+            this.player = player;
+            this.gatePos = gatePos;
+        }
+    }
+
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+    private AdminControllerNetworkSync() {
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Requests
+
+    /**
+     * Called when the player opens the admin controller GUI of the gate.
+     */
+    public void open(EntityPlayerMP player, BlockPos gatePos) {
+        sessions.put(player.getUniqueID(), new Session(player, gatePos));
+    }
+
+    public void sendPage(EntityPlayerMP player, BlockPos gatePos, SymbolTypeEnum symbolType, String filter, int page) {
+        Session session = sessions.get(player.getUniqueID());
+        if (session == null || !session.gatePos.equals(gatePos) || !isHoldingController(player)) {
+            JSG.warn("Player " + player.getName() + " requested the stargate network without using the admin controller");
+            return;
+        }
+
+        String lowerFilter = filter.toLowerCase();
+        if (session.entries == null || session.symbolType != symbolType || !session.filter.equals(lowerFilter) || (page <= 0 && session.changed)) {
+            session.symbolType = symbolType;
+            session.filter = lowerFilter;
+            session.entries = getEntries(StargateNetwork.get(player.world), symbolType, lowerFilter);
+            session.changed = false;
+            session.removed.clear();
+            session.added = 0;
+        }
+        session.player = player;
+
+        List<StargateEntry> entries = session.entries;
+        int from = Math.min(entries.size(), Math.max(0, page) * PAGE_SIZE);
+        int to = Math.min(entries.size(), from + PAGE_SIZE);
+
+        List<StargateEntry> pageEntries = new ArrayList<>(PAGE_SIZE);
+        for (StargateEntry entry : entries.subList(from, to)) {
+            if (indexOf(session.removed, entry) < 0)
+                pageEntries.add(entry);
+        }
+
+        int total = entries.size() - session.removed.size() + session.added;
+        JSGPacketHandler.INSTANCE.sendTo(new AdminControllerNetworkPageToClient(symbolType, filter, page, total, pageEntries), player);
+    }
+
+    private static List<StargateEntry> getEntries(StargateNetwork network, SymbolTypeEnum symbolType, String lowerFilter) {
+        List<StargateEntry> named = new ArrayList<>();
+        List<StargateEntry> unnamed = new ArrayList<>();
+
+        for (Map.Entry<StargateAddress, StargatePos> e : network.getMap().get(symbolType).entrySet()) {
+            if (!matchesFilter(e.getValue(), lowerFilter)) continue;
+            (e.getValue().getName().isEmpty() ? unnamed : named).add(new StargateEntry(e.getKey(), e.getValue()));
+        }
+
+        for (Map.Entry<StargatePos, Map<SymbolTypeEnum, StargateAddress>> e : network.getMapNotGenerated().entrySet()) {
+            if (e.getValue().get(symbolType) == null) continue;
+            if (!matchesFilter(e.getKey(), lowerFilter)) continue;
+            (e.getKey().getName().isEmpty() ? unnamed : named).add(StargateEntry.notGenerated(symbolType, e.getKey(), e.getValue()));
+        }
+
+        named.addAll(unnamed);
+        return named;
+    }
+
+    private static int indexOf(List<StargateEntry> entries, StargateEntry entry) {
+        for (int i = 0; i < entries.size(); i++) {
+            StargateEntry e = entries.get(i);
+            if (e.notGenerated == entry.notGenerated && Objects.equals(e.address, entry.address))
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean isHoldingController(EntityPlayerMP player) {
+        return player.getHeldItemMainhand().getItem() == JSGItems.ADMIN_CONTROLLER || player.getHeldItemOffhand().getItem() == JSGItems.ADMIN_CONTROLLER;
+    }
+
+    public void close(EntityPlayerMP player) {
+        sessions.remove(player.getUniqueID());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        INSTANCE.sessions.remove(event.player.getUniqueID());
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Deltas
+
+    @Override
+    public void onStargateAdded(StargateAddress address, StargatePos pos, @Nullable StargatePos oldPos) {
+        push(address.getSymbolType(), pos, new StargateEntry(address, pos), oldPos == null ? DeltaType.ADD : DeltaType.UPDATE);
+    }
+
+    @Override
+    public void onStargateRemoved(StargateAddress address, StargatePos pos) {
+        push(address.getSymbolType(), pos, new StargateEntry(address, pos), DeltaType.REMOVE);
+    }
+
+    @Override
+    public void onNotGeneratedStargateRemoved(StargatePos pos, Map<SymbolTypeEnum, StargateAddress> addresses) {
+        for (Map.Entry<SymbolTypeEnum, StargateAddress> e : addresses.entrySet())
+            push(e.getKey(), pos, StargateEntry.notGenerated(e.getKey(), pos, addresses), DeltaType.REMOVE);
+    }
+
+    private void push(SymbolTypeEnum symbolType, StargatePos pos, StargateEntry entry, DeltaType type) {
+        if (sessions.isEmpty()) return;
+
+        for (Session session : sessions.values()) {
+            if (session.player.hasDisconnected()) {
+                sessions.remove(session.player.getUniqueID());
+                continue;
+            }
+            if (session.symbolType != symbolType) continue;
+            if (type != DeltaType.REMOVE && !matchesFilter(pos, session.filter)) continue;
+
+            if (session.entries != null) {
+                // The list is built again when the client starts from page 0
+                session.changed = true;
+
+                if (type == DeltaType.REMOVE) {
+                    if (indexOf(session.entries, entry) >= 0 && indexOf(session.removed, entry) < 0)
+                        session.removed.add(entry);
+                } else if (type == DeltaType.ADD) {
+                    session.added++;
+                }
+            }
+
+            try {
+                JSGPacketHandler.INSTANCE.sendTo(new AdminControllerNetworkDeltaToClient(type, entry), session.player);
+            } catch (Exception e) {
+                JSG.error("Failed to send network update to admin controller", e);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Filter
+
+    /**
+     * @param filter Lower case filter from the GUI search field.
+     */
+    public static boolean matchesFilter(StargatePos pos, String filter) {
+        if (!DimensionManager.isDimensionRegistered(pos.dimensionID)) return false;
+        if (filter.isEmpty()) return true;
+
+        // Do not call getGateSymbolType() - it would load the gate
+        String gateType = StargateNetworkIndex.getIndexedGateType(pos).name();
+        String entryString = BlockHelpers.blockPosToBetterString(pos.gatePos) + " " + gateType.toLowerCase() + " " + pos.dimensionID + " " + pos.getName().toLowerCase();
+        if (entryString.contains(filter)) return true;
+
+        for (String s : filter.split(" ")) {
+            try {
+                if (s.startsWith("dim=")) {
+                    if (pos.dimensionID == Integer.parseInt(s.replaceFirst("dim=", "")))
+                        return true;
+                } else if (s.startsWith("pos=")) {
+                    String[] coords = s.replaceFirst("pos=", "").split(",");
+                    if (pos.gatePos.getX() == Integer.parseInt(coords[0]))
+                        return true;
+                    if (pos.gatePos.getY() == Integer.parseInt(coords[1]))
+                        return true;
+                    if (pos.gatePos.getZ() == Integer.parseInt(coords[2]))
+                        return true;
+                } else if (s.startsWith("name=")) {
+                    if (pos.getName().equalsIgnoreCase(s.replaceFirst("name=", "")))
+                        return true;
+                } else if (s.startsWith("type=")) {
+                    if (gateType.equalsIgnoreCase(s.replaceFirst("type=", "")))
+                        return true;
+                }
+            } catch (Exception ignored) {
+            }
+        }
+        return false;
+    }
+}
@@ -3,8 +3,8 @@ package tauri.dev.jsg.packet.stargate;
 import io.netty.buffer.ByteBuf;
 import tauri.dev.jsg.config.ingame.JSGTileEntityConfig;
 import tauri.dev.jsg.config.ingame.ITileConfig;
-import tauri.dev.jsg.packet.JSGPacketHandler;
 import tauri.dev.jsg.packet.PositionedPacket;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.state.StateTypeEnum;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -51,7 +51,7 @@ public class SaveConfigToServer extends PositionedPacket {
                     te = (ITileConfig) world.getTileEntity(message.pos);
                     if(te != null) {
                         te.setConfigAndUpdate(message.config);
-                        JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, te.getState(StateTypeEnum.GUI_STATE)), player);
+                        StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, te.getState(StateTypeEnum.GUI_STATE)), player);
                     }
                 }
             });
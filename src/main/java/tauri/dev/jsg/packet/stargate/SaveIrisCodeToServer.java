@@ -7,8 +7,8 @@ import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
-import tauri.dev.jsg.packet.JSGPacketHandler;
 import tauri.dev.jsg.packet.PositionedPacket;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.stargate.EnumIrisMode;
 import tauri.dev.jsg.state.StateTypeEnum;
@@ -62,7 +62,7 @@ public class SaveIrisCodeToServer extends PositionedPacket {
                     te = (StargateClassicBaseTile) world.getTileEntity(message.pos);
                     te.setIrisCode(message.code);
                     te.setIrisMode(message.mode);
-                    JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, te.getState(StateTypeEnum.GUI_STATE)), player);
+                    StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, te.getState(StateTypeEnum.GUI_STATE)), player);
                 }
             });
 
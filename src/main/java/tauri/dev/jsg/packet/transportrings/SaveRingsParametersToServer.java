@@ -1,8 +1,8 @@
 package tauri.dev.jsg.packet.transportrings;
 
 import io.netty.buffer.ByteBuf;
-import tauri.dev.jsg.packet.JSGPacketHandler;
 import tauri.dev.jsg.packet.PositionedPacket;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.state.StateTypeEnum;
 import tauri.dev.jsg.tileentity.transportrings.TransportRingsAbstractTile;
@@ -61,7 +61,7 @@ public class SaveRingsParametersToServer extends PositionedPacket {
 				if (ringsTile != null && ringsTile.setRingsParams(message.name, message.distance) == ParamsSetResult.DUPLICATE_ADDRESS)
 					player.sendStatusMessage(new TextComponentTranslation("tile.jsg.transportrings_block.duplicate_address"), true);
 			
-				JSGPacketHandler.INSTANCE.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, ringsTile.getState(StateTypeEnum.GUI_STATE)), player);
+				StateUpdateBatcher.sendTo(new StateUpdatePacketToClient(message.pos, StateTypeEnum.GUI_STATE, ringsTile.getState(StateTypeEnum.GUI_STATE)), player);
 			});
 			
 			return null;
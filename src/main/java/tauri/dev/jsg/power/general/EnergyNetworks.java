@@ -0,0 +1,329 @@
+package tauri.dev.jsg.power.general;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+
+/**
+ * Per-world graph of the energy nodes ({@link IEnergyNetworkNode}) and the tiles they power.
+ * <p>
+ * Adjacent nodes form one network. Only the networks affected by a change are rebuilt: the network of an added
+ * or removed node (and the ones it joins), of a node whose neighbor changed, or one waiting for a chunk with its
+ * neighbors to load. Connections hold the resolved {@link IEnergyStorage}s of the neighbors.
+ * <p>
+ * Energy is moved once per tick per network: every connection receives up to the sum of the transfer limits
+ * of the faces touching it, taken from the whole network. Then the nodes which only give energy (ZPM hubs)
+ * charge the ones which can store it (capacitors).
+ */
+@EventBusSubscriber
+public class EnergyNetworks {
+
+    private static final Map<World, EnergyNetworks> INSTANCES = new WeakHashMap<>();
+
+    public static EnergyNetworks get(World world) {
+        return INSTANCES.computeIfAbsent(world, EnergyNetworks::new);
+    }
+
+    /**
+     * Should be called from {@link net.minecraft.block.Block#neighborChanged} of the node blocks.
+     */
+    public static void onNeighborChanged(World world, BlockPos pos) {
+        if (world.isRemote) return;
+
+        EnergyNetworks networks = INSTANCES.get(world);
+        if (networks != null) networks.markDirty(pos);
+    }
+
+    private static class Connection {
+        final TileEntity tile;
+        final IEnergyStorage storage;
+
+        /**
+         * Sum of {@link IEnergyNetworkNode#getMaxTransferPerFace()} of the faces touching the tile.
+         */
+        int maxTransfer = 0;
+
+        Connection(TileEntity tile, IEnergyStorage storage) {
+            this.tile = tile;
+            this.storage = storage;
+        }
+    }
+
+    private static class Network {
+        /**
+         * Nodes which can't receive energy. Energy is taken from them first.
+         */
+        final List<IEnergyNetworkNode> generators = new ArrayList<>();
+        final List<IEnergyNetworkNode> storages = new ArrayList<>();
+        final List<Connection> connections = new ArrayList<>();
+
+        final List<BlockPos> nodePositions = new ArrayList<>();
+
+        /**
+         * Not loaded chunks with possible neighbors of the nodes ({@link ChunkPos#asLong(int, int)}).
+         */
+        final Set<Long> waitingChunks = new HashSet<>();
+
+        boolean dirty = false;
+    }
+
+    private final World world;
+    private final Map<BlockPos, TileEntity> nodes = new HashMap<>();
+    private final Map<BlockPos, Network> nodeNetworks = new HashMap<>();
+    private final Map<Long, List<Network>> chunkWaiters = new HashMap<>();
+    private List<Network> networks = new ArrayList<>();
+
+    /**
+     * Added nodes not in any network yet.
+     */
+    private final Set<BlockPos> addedNodes = new HashSet<>();
+    private boolean dirty = false;
+
+    private EnergyNetworks(World world) {
+        this.world = world;
+    }
+
+    /**
+     * @param tile Tile implementing {@link IEnergyNetworkNode}.
+     */
+    public void add(TileEntity tile) {
+        BlockPos pos = tile.getPos().toImmutable();
+        nodes.put(pos, tile);
+        addedNodes.add(pos);
+        dirty = true;
+
+        // Networks around are joined with the new node
+        markDirty(pos);
+        for (EnumFacing facing : EnumFacing.VALUES)
+            markDirty(pos.offset(facing));
+    }
+
+    public void remove(TileEntity tile) {
+        if (nodes.remove(tile.getPos(), tile))
+            markDirty(tile.getPos());
+    }
+
+    /**
+     * Rebuilds the network of the node at the position (if any) on the next tick.
+     */
+    public void markDirty(BlockPos pos) {
+        Network network = nodeNetworks.get(pos);
+        if (network != null) markDirty(network);
+    }
+
+    private void markDirty(Network network) {
+        network.dirty = true;
+        dirty = true;
+    }
+
+    // ------------------------------------------------------------------------
+    // Graph
+
+    private void rebuild() {
+        List<Network> networks = new ArrayList<>();
+        Set<BlockPos> starts = new LinkedHashSet<>(addedNodes);
+        addedNodes.clear();
+
+        for (Network network : this.networks) {
+            if (!network.dirty) {
+                networks.add(network);
+                continue;
+            }
+
+            starts.addAll(network.nodePositions);
+            for (BlockPos pos : network.nodePositions)
+                nodeNetworks.remove(pos, network);
+
+            for (long chunk : network.waitingChunks) {
+                List<Network> waiters = chunkWaiters.get(chunk);
+                if (waiters != null && waiters.remove(network) && waiters.isEmpty())
+                    chunkWaiters.remove(chunk);
+            }
+        }
+
+        for (BlockPos startPos : starts) {
+            TileEntity start = nodes.get(startPos);
+            if (start == null || nodeNetworks.containsKey(startPos)) continue;
+
+            Network network = build(start);
+            for (long chunk : network.waitingChunks)
+                chunkWaiters.computeIfAbsent(chunk, c -> new ArrayList<>()).add(network);
+
+            networks.add(network);
+        }
+
+        this.networks = networks;
+        dirty = false;
+    }
+
+    /**
+     * Finds all the nodes connected to the start node (they are not in any network).
+     */
+    private Network build(TileEntity start) {
+        Network network = new Network();
+        Map<TileEntity, Connection> connections = new LinkedHashMap<>();
+        Deque<TileEntity> queue = new ArrayDeque<>();
+        queue.add(start);
+        nodeNetworks.put(start.getPos(), network);
+
+        while (!queue.isEmpty()) {
+            TileEntity tile = queue.poll();
+            IEnergyNetworkNode node = (IEnergyNetworkNode) tile;
+            network.nodePositions.add(tile.getPos());
+
+            if (node.canReceiveNetworkEnergy()) network.storages.add(node);
+            else network.generators.add(node);
+
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos neighborPos = tile.getPos().offset(facing);
+
+                TileEntity neighborNode = nodes.get(neighborPos);
+                if (neighborNode != null) {
+                    if (!nodeNetworks.containsKey(neighborPos)) {
+                        nodeNetworks.put(neighborPos, network);
+                        queue.add(neighborNode);
+                    }
+                    continue;
+                }
+
+                // Don't load chunks, the network is rebuilt when the chunk loads
+                if (!world.isBlockLoaded(neighborPos)) {
+                    network.waitingChunks.add(ChunkPos.asLong(neighborPos.getX() >> 4, neighborPos.getZ() >> 4));
+                    continue;
+                }
+
+                TileEntity neighbor = world.getTileEntity(neighborPos);
+                if (neighbor == null || !neighbor.hasCapability(CapabilityEnergy.ENERGY, facing.getOpposite())) continue;
+
+                Connection connection = connections.get(neighbor);
+                if (connection == null) {
+                    IEnergyStorage storage = neighbor.getCapability(CapabilityEnergy.ENERGY, facing.getOpposite());
+                    if (storage == null || !storage.canReceive()) continue;
+
+                    connection = new Connection(neighbor, storage);
+                    connections.put(neighbor, connection);
+                }
+
+                connection.maxTransfer += node.getMaxTransferPerFace();
+            }
+        }
+
+        network.connections.addAll(connections.values());
+        return network;
+    }
+
+    // ------------------------------------------------------------------------
+    // Transfers
+
+    private void tick() {
+        if (dirty) rebuild();
+
+        for (Network network : networks) {
+            supplyConnections(network);
+            chargeStorages(network);
+        }
+    }
+
+    private void supplyConnections(Network network) {
+        if (network.connections.isEmpty()) return;
+
+        long available = 0;
+        for (IEnergyNetworkNode node : network.generators)
+            available += node.extractNetworkEnergy(Integer.MAX_VALUE, true);
+        for (IEnergyNetworkNode node : network.storages)
+            available += node.extractNetworkEnergy(Integer.MAX_VALUE, true);
+
+        long given = 0;
+        for (Connection connection : network.connections) {
+            if (connection.tile.isInvalid()) {
+                // Removed without a block update (chunk unload)
+                markDirty(network);
+                continue;
+            }
+
+            int toGive = (int) Math.min(connection.maxTransfer, available - given);
+            if (toGive <= 0) break;
+
+            given += connection.storage.receiveEnergy(toGive, false);
+        }
+
+        given -= extract(network.generators, given);
+        extract(network.storages, given);
+    }
+
+    /**
+     * @return Energy extracted from the nodes.
+     */
+    private static long extract(List<IEnergyNetworkNode> nodes, long amount) {
+        long extracted = 0;
+
+        for (IEnergyNetworkNode node : nodes) {
+            if (extracted >= amount) break;
+
+            int toExtract = node.extractNetworkEnergy((int) Math.min(amount - extracted, Integer.MAX_VALUE), true);
+            if (toExtract > 0)
+                extracted += node.extractNetworkEnergy(toExtract, false);
+        }
+
+        return extracted;
+    }
+
+    private static void chargeStorages(Network network) {
+        if (network.generators.isEmpty()) return;
+
+        for (IEnergyNetworkNode storage : network.storages) {
+            int demand = storage.receiveNetworkEnergy(Integer.MAX_VALUE, true);
+
+            for (IEnergyNetworkNode generator : network.generators) {
+                if (demand <= 0) break;
+
+                int extracted = generator.extractNetworkEnergy(demand, true);
+                if (extracted <= 0) continue;
+
+                int received = storage.receiveNetworkEnergy(extracted, false);
+                if (received > 0) generator.extractNetworkEnergy(received, false);
+                demand -= received;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+
+        EnergyNetworks networks = INSTANCES.get(event.world);
+        if (networks != null) networks.tick();
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        EnergyNetworks networks = INSTANCES.get(event.getWorld());
+        if (networks == null) return;
+
+        // Neighbors in the loaded chunk are not connected yet
+        List<Network> waiters = networks.chunkWaiters.remove(ChunkPos.asLong(event.getChunk().x, event.getChunk().z));
+        if (waiters == null) return;
+
+        for (Network network : waiters)
+            networks.markDirty(network);
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+}
@@ -0,0 +1,29 @@
+package tauri.dev.jsg.power.general;
+
+/**
+ * Tile giving energy to its neighbors (capacitor, ZPM hub), see {@link EnergyNetworks}.
+ * Adjacent nodes form one network sharing their energy.
+ */
+public interface IEnergyNetworkNode {
+
+    /**
+     * Same contract as {@link net.minecraftforge.energy.IEnergyStorage#extractEnergy(int, boolean)}.
+     * Network always extracts the amount returned by the simulation.
+     */
+    int extractNetworkEnergy(int maxExtract, boolean simulate);
+
+    /**
+     * Same contract as {@link net.minecraftforge.energy.IEnergyStorage#receiveEnergy(int, boolean)}.
+     */
+    int receiveNetworkEnergy(int maxReceive, boolean simulate);
+
+    /**
+     * @return False if the node only gives energy (ZPM hub, creative capacitor). Such nodes charge the other ones.
+     */
+    boolean canReceiveNetworkEnergy();
+
+    /**
+     * @return Max energy given to a neighbor through one face in one tick.
+     */
+    int getMaxTransferPerFace();
+}
@@ -8,6 +8,14 @@ import java.util.List;
 public class LargeEnergyStorage extends SmallEnergyStorage {
 	
 	private final List<IEnergyStorage> storages = new ArrayList<>();
+
+	/**
+	 * Sums of the attached storages. Gates ask for them several times per tick, so they are
+	 * computed when the storages are added and recounted only after a transfer.
+	 * Tile must call {@link #clearStorages()}/{@link #addStorage(IEnergyStorage)} whenever the storages change.
+	 */
+	private int storagesEnergy = 0;
+	private int storagesMaxEnergy = 0;
 	
 	public LargeEnergyStorage() {
 		super();
@@ -15,30 +23,24 @@ public class LargeEnergyStorage extends SmallEnergyStorage {
 
 	public void clearStorages() {
 		storages.clear();
+		storagesEnergy = 0;
+		storagesMaxEnergy = 0;
 	}
 	
 	public void addStorage(IEnergyStorage storage) {		
 		storages.add(storage);
+		storagesEnergy += storage.getEnergyStored();
+		storagesMaxEnergy += storage.getMaxEnergyStored();
 	}
 	
 	@Override
 	public int getEnergyStored() {
-		int energyStored = this.energy;
-		
-		for (IEnergyStorage storage : storages)
-			energyStored += storage.getEnergyStored();
-		
-		return energyStored;
+		return this.energy + storagesEnergy;
 	}
 	
 	@Override
 	public int getMaxEnergyStored() {		
-		int maxEnergyStored = this.capacity;
-		
-		for (IEnergyStorage storage : storages)
-			maxEnergyStored += storage.getMaxEnergyStored();
-		
-		return maxEnergyStored;
+		return this.capacity + storagesMaxEnergy;
 	}
 	
 	@Override
@@ -48,12 +50,15 @@ public class LargeEnergyStorage extends SmallEnergyStorage {
 		
 		for (IEnergyStorage storage : storages) {
 			if (toReceive == 0)
-				return maxReceive;
+				break;
 			
 			toReceive -= storage.receiveEnergy(toReceive, simulate);
 		}
 
-		if(!simulate) onEnergyChanged();
+		if(!simulate) {
+			recountStoragesEnergy();
+			onEnergyChanged();
+		}
 		
 		return maxReceive - toReceive;
 	}
@@ -64,16 +69,29 @@ public class LargeEnergyStorage extends SmallEnergyStorage {
 		
 		for (IEnergyStorage storage : storages) {
 			if (toExtract == 0)
-				return maxExtract;
+				break;
 			
 			toExtract -= storage.extractEnergy(toExtract, simulate);
 		}
 		
 		toExtract -= super.extractEnergy(toExtract, simulate);
-		if(!simulate) onEnergyChanged();
+		if(!simulate) {
+			recountStoragesEnergy();
+			onEnergyChanged();
+		}
 		return maxExtract - toExtract;
 	}
 	
+	/**
+	 * Storages may not change by the transferred amount (creative capacitor).
+	 */
+	private void recountStoragesEnergy() {
+		storagesEnergy = 0;
+
+		for (IEnergyStorage storage : storages)
+			storagesEnergy += storage.getEnergyStored();
+	}
+
 	public void setEnergyStoredInternally(int energy) {
 		this.energy = energy;
 	}
@@ -62,6 +62,37 @@ public abstract class DHDAbstractRenderer extends TileEntitySpecialRenderer<DHDA
 
     public abstract Block getDHDBlock();
 
+    /**
+     * Adds all buttons to the cache, see {@link #renderSymbolsCached(DHDAbstractTile, DHDAbstractRendererState, int)}.
+     */
+    protected abstract void buildRenderCache(DHDAbstractTile te, DHDAbstractRendererState rendererState, DHDRenderCache cache);
+
+    /**
+     * @return True if the held notebook page may highlight a button (buttons have to be rendered one by one).
+     */
+    protected boolean isPageHintShown(NBTTagCompound compound) {
+        return compound != null && JSGConfig.DialHomeDevice.visual.enablePageHint;
+    }
+
+    /**
+     * Renders the buttons from the cache (one texture bind per texture and light level).
+     *
+     * @param origin Origin the buttons were resolved with.
+     */
+    protected void renderSymbolsCached(DHDAbstractTile te, DHDAbstractRendererState rendererState, int origin) {
+        if (rendererState.renderCache == null)
+            rendererState.renderCache = new DHDRenderCache();
+
+        DHDRenderCache cache = rendererState.renderCache;
+        int dimensionId = te.getWorld().provider.getDimension();
+        if (!cache.isValid(rendererState.getBiomeOverlay(), origin, dimensionId, rendererState.buttonsVersion)) {
+            cache.clear(rendererState.getBiomeOverlay(), origin, dimensionId, rendererState.buttonsVersion);
+            buildRenderCache(te, rendererState, cache);
+        }
+
+        cache.render(rendererDispatcher.renderEngine, getWorld(), rendererState.pos);
+    }
+
     protected void setColorByAddress(DHDAbstractTile te, DHDAbstractRendererState rendererState, NBTTagCompound compound, SymbolTypeEnum symbolType, SymbolInterface symbol) {
         GlStateManager.color(1, 1, 1, 1);
         if (compound != null && JSGConfig.DialHomeDevice.visual.enablePageHint) {
@@ -43,6 +43,16 @@ public abstract class DHDAbstractRendererState extends State {
 
 	public JSGTileEntityConfig gateConfig = new JSGTileEntityConfig();
 
+    /**
+     * Incremented on every change of the buttons' states.
+     */
+    public int buttonsVersion;
+
+    /**
+     * Client only, created by the renderer.
+     */
+    public DHDRenderCache renderCache;
+
     public BiomeOverlayEnum getBiomeOverlay() {
         if (biomeOverride != null)
             return biomeOverride;
@@ -18,18 +18,34 @@ public class DHDMilkyWayRenderer extends DHDAbstractRenderer {
     @Override
     public void renderSymbols(DHDAbstractTile te, DHDAbstractRendererState rendererState, World world, BlockPos lightPos) {
         NBTTagCompound compound = getNoteBookPage();
+        int origin = rendererState.gateConfig.getOption(StargateClassicBaseTile.ConfigOptions.ORIGIN_MODEL.id).getEnumValue().getIntValue();
+
+        if (!isPageHintShown(compound)) {
+            renderSymbolsCached(te, rendererState, origin);
+            return;
+        }
 
         for (SymbolMilkyWayEnum symbol : SymbolMilkyWayEnum.values()) {
             GlStateManager.pushMatrix();
             JSGTextureLightningHelper.lightUpTexture((rendererState.isButtonActive(symbol) ? 0.9f : 0));
             setColorByAddress(te, rendererState, compound, SymbolTypeEnum.MILKYWAY, symbol);
             rendererDispatcher.renderEngine.bindTexture(((DHDMilkyWayRendererState) rendererState).getButtonTexture(symbol, rendererState.getBiomeOverlay()));
-            ModelLoader.getModel(symbol.getModelResource(rendererState.getBiomeOverlay(), te.getWorld().provider.getDimension(), true, true, rendererState.gateConfig.getOption(StargateClassicBaseTile.ConfigOptions.ORIGIN_MODEL.id).getEnumValue().getIntValue())).render();
+            ModelLoader.getModel(symbol.getModelResource(rendererState.getBiomeOverlay(), te.getWorld().provider.getDimension(), true, true, origin)).render();
             JSGTextureLightningHelper.resetLight(getWorld(), rendererState.pos);
             GlStateManager.popMatrix();
         }
     }
 
+    @Override
+    protected void buildRenderCache(DHDAbstractTile te, DHDAbstractRendererState rendererState, DHDRenderCache cache) {
+        int origin = rendererState.gateConfig.getOption(StargateClassicBaseTile.ConfigOptions.ORIGIN_MODEL.id).getEnumValue().getIntValue();
+
+        for (SymbolMilkyWayEnum symbol : SymbolMilkyWayEnum.values()) {
+            cache.add(((DHDMilkyWayRendererState) rendererState).getButtonTexture(symbol, rendererState.getBiomeOverlay()), rendererState.isButtonActive(symbol),
+                    ModelLoader.getModel(symbol.getModelResource(rendererState.getBiomeOverlay(), te.getWorld().provider.getDimension(), true, true, origin)));
+        }
+    }
+
     @Override
     public void renderDHD(DHDAbstractRendererState rendererState, DHDAbstractTile te) {
         ElementEnum.MILKYWAY_DHD.bindTextureAndRender(rendererState.getBiomeOverlay());
@@ -18,6 +18,11 @@ public class DHDPegasusRenderer extends DHDAbstractRenderer {
     public void renderSymbols(DHDAbstractTile te, DHDAbstractRendererState rendererState, World world, BlockPos lightPos) {
         NBTTagCompound compound = getNoteBookPage();
 
+        if (!isPageHintShown(compound)) {
+            renderSymbolsCached(te, rendererState, 0);
+            return;
+        }
+
         for (SymbolPegasusEnum symbol : SymbolPegasusEnum.values()) {
             GlStateManager.pushMatrix();
             JSGTextureLightningHelper.lightUpTexture((rendererState.isButtonActive(symbol) ? 0.9f : 0));
@@ -29,6 +34,13 @@ public class DHDPegasusRenderer extends DHDAbstractRenderer {
         }
     }
 
+    @Override
+    protected void buildRenderCache(DHDAbstractTile te, DHDAbstractRendererState rendererState, DHDRenderCache cache) {
+        for (SymbolPegasusEnum symbol : SymbolPegasusEnum.values()) {
+            cache.add(((DHDPegasusRendererState) rendererState).getButtonTexture(symbol, rendererState.getBiomeOverlay()), rendererState.isButtonActive(symbol), ModelLoader.getModel(symbol.modelResource));
+        }
+    }
+
     @Override
     public void renderDHD(DHDAbstractRendererState rendererState, DHDAbstractTile te) {
         ElementEnum.PEGASUS_DHD.bindTextureAndRender(rendererState.getBiomeOverlay());
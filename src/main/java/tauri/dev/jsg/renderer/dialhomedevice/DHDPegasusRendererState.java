@@ -62,6 +62,8 @@ public class DHDPegasusRendererState extends DHDAbstractRendererState {
 				BUTTON_STATE_MAP.put(symbol, addressDialed.contains(symbol) ? 5 : 0);
 		}
 
+		buttonsVersion++;
+
 		return this;
 	}
 
@@ -89,7 +91,9 @@ public class DHDPegasusRendererState extends DHDAbstractRendererState {
 	@Override
 	public void iterate(World world, double partialTicks) {
 		Activation.iterate(activationList, world.getTotalWorldTime(), partialTicks, (index, stage) -> {
-			BUTTON_STATE_MAP.put(index, Math.round(stage));
+			int buttonState = Math.round(stage);
+			Integer previous = BUTTON_STATE_MAP.put(index, buttonState);
+			if (previous == null || previous != buttonState) buttonsVersion++;
 		});
 	}
 
@@ -0,0 +1,89 @@
+package tauri.dev.jsg.renderer.dialhomedevice;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import tauri.dev.jsg.loader.model.ModelLoader;
+import tauri.dev.jsg.loader.model.OBJModel;
+import tauri.dev.jsg.renderer.biomes.BiomeOverlayEnum;
+import tauri.dev.jsg.util.JSGTextureLightningHelper;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolved textures and models of the DHD buttons, grouped by the texture and the light.
+ * <p>
+ * Rebuilt only when the buttons change (see {@link DHDAbstractRendererState#buttonsVersion}),
+ * when the overlay, origin or dimension change or when the models are reloaded.
+ */
+public class DHDRenderCache {
+
+    private static class Group {
+        final ResourceLocation texture;
+        final boolean lit;
+        final List<OBJModel> models = new ArrayList<>();
+
+        Group(ResourceLocation texture, boolean lit) {
+            this.texture = texture;
+            this.lit = lit;
+        }
+    }
+
+    private final List<Group> groups = new ArrayList<>();
+
+    private BiomeOverlayEnum overlay;
+    private int origin;
+    private int dimensionId;
+    private int buttonsVersion = -1;
+    private int modelsReloadCount = -1;
+
+    public boolean isValid(BiomeOverlayEnum overlay, int origin, int dimensionId, int buttonsVersion) {
+        return this.overlay == overlay && this.origin == origin && this.dimensionId == dimensionId
+                && this.buttonsVersion == buttonsVersion && this.modelsReloadCount == ModelLoader.getReloadCount();
+    }
+
+    /**
+     * Removes all buttons, they are added again by {@link #add(ResourceLocation, boolean, OBJModel)}.
+     */
+    public void clear(BiomeOverlayEnum overlay, int origin, int dimensionId, int buttonsVersion) {
+        this.overlay = overlay;
+        this.origin = origin;
+        this.dimensionId = dimensionId;
+        this.buttonsVersion = buttonsVersion;
+        this.modelsReloadCount = ModelLoader.getReloadCount();
+
+        groups.clear();
+    }
+
+    public void add(ResourceLocation texture, boolean lit, @Nullable OBJModel model) {
+        if (texture == null || model == null) return;
+
+        for (Group group : groups) {
+            if (group.lit == lit && group.texture.equals(texture)) {
+                group.models.add(model);
+                return;
+            }
+        }
+
+        Group group = new Group(texture, lit);
+        group.models.add(model);
+        groups.add(group);
+    }
+
+    public void render(TextureManager textureManager, World world, BlockPos pos) {
+        for (Group group : groups) {
+            JSGTextureLightningHelper.lightUpTexture(group.lit ? 0.9f : 0);
+            GlStateManager.color(1, 1, 1, 1);
+            textureManager.bindTexture(group.texture);
+
+            for (OBJModel model : group.models)
+                model.render();
+
+            JSGTextureLightningHelper.resetLight(world, pos);
+        }
+    }
+}
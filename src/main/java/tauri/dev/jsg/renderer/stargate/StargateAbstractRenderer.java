@@ -263,7 +263,7 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
         // Back side of the EH
         if (rendererState.vortexState != EnumVortexState.STILL && rendererState.vortexState != EnumVortexState.CLOSING) {
             if (inner >= 0.2f) {
-                rendererState.frontStrip = new StargateRendererStatic.QuadStrip(8, inner - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+                rendererState.frontStrip = StargateRendererStatic.updateStrip(rendererState.frontStrip, 8, inner - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
             }
         } else
             rendererState.frontStrip = null;
@@ -271,14 +271,14 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
 
         // Going center
         if (inner >= kawooshRadius) {
-            rendererState.backStrip = new StargateRendererStatic.QuadStrip(8, inner - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+            rendererState.backStrip = StargateRendererStatic.updateStrip(rendererState.backStrip, 8, inner - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
         }
         if (inner < StargateRendererStatic.kawooshRadius) {
             if (rendererState.backStripClamp) {
                 // Clamping to the desired size
                 if (inner < kawooshRadius) {
                     rendererState.backStripClamp = false;
-                    rendererState.backStrip = new StargateRendererStatic.QuadStrip(8, kawooshRadius - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, null);
+                    rendererState.backStrip = StargateRendererStatic.updateStrip(rendererState.backStrip, 8, kawooshRadius - 0.2f, StargateRendererStatic.EVENT_HORIZON_RADIUS, null);
                 }
 
                 float argState = (tick - VORTEX_START) / SPEED_FACTOR;
@@ -291,7 +291,7 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
             }
             if (rendererState.frontStripClamp && inner < 0.2f) {
                 rendererState.frontStripClamp = false;
-                rendererState.frontStrip = new StargateRendererStatic.QuadStrip(8, 0, StargateRendererStatic.EVENT_HORIZON_RADIUS, null);
+                rendererState.frontStrip = StargateRendererStatic.updateStrip(rendererState.frontStrip, 8, 0, StargateRendererStatic.EVENT_HORIZON_RADIUS, null);
             }
             if (!(rendererState.vortexState == EnumVortexState.STILL)) {
                 float arg = (tick - VORTEX_START) / SPEED_FACTOR;
@@ -349,7 +349,7 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
                                 float mulAbs = Math.abs(mul);
                                 float currentRad = e.getValue() == 0 ? 0 : e.getValue() + StargateRendererStatic.getOffset(index, tick, 7, 1);
                                 if (index != 0) {
-                                    new StargateRendererStatic.QuadStrip(9, currentRad, prevRad, tick, 1 / 5f * 7).render(tick, currentZ * mulAbs, prevZ * mulAbs, false, 1.0f - rendererState.whiteOverlayAlpha, 5, false);
+                                    StargateRendererStatic.getVortexStrip(index, currentRad, prevRad, tick, 1 / 5f * 7).render(tick, currentZ * mulAbs, prevZ * mulAbs, false, 1.0f - rendererState.whiteOverlayAlpha, 5, false);
                                 }
                                 prevZ = currentZ;
                                 prevRad = currentRad;
@@ -368,8 +368,8 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
                         rendererState.whiteOverlayAlpha = MathHelper.sin(arg2);
 
                         if (arg2 < StargateRendererStatic.EVENT_HORIZON_RADIUS + 0.1f) {
-                            rendererState.backStrip = new StargateRendererStatic.QuadStrip(8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
-                            rendererState.frontStrip = new StargateRendererStatic.QuadStrip(8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+                            rendererState.backStrip = StargateRendererStatic.updateStrip(rendererState.backStrip, 8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+                            rendererState.frontStrip = StargateRendererStatic.updateStrip(rendererState.frontStrip, 8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
                         } else {
                             rendererState.whiteOverlayAlpha = null;
 
@@ -388,10 +388,10 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
                         if (arg2 <= Math.PI / 6) rendererState.whiteOverlayAlpha = MathHelper.sin(arg2);
                         else {
                             if (rendererState.backStrip == null)
-                                rendererState.backStrip = new StargateRendererStatic.QuadStrip(8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+                                rendererState.backStrip = StargateRendererStatic.updateStrip(rendererState.backStrip, 8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
 
                             if (rendererState.frontStrip == null)
-                                rendererState.frontStrip = new StargateRendererStatic.QuadStrip(8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
+                                rendererState.frontStrip = StargateRendererStatic.updateStrip(rendererState.frontStrip, 8, arg2, StargateRendererStatic.EVENT_HORIZON_RADIUS, tick);
 
                             rendererState.vortexState = EnumVortexState.SHRINKING;
                         }
@@ -552,7 +552,7 @@ public abstract class StargateAbstractRenderer<S extends StargateAbstractRendere
                 }
                 if(rendererState.frontStrip != null && closingAnimation && currentRad < rendererState.frontStrip.innerRadius) continue;
                 if (index != 0) {
-                    new StargateRendererStatic.QuadStrip(9, currentRad, prevRad, tick, 1 / 5f * 7 * mul2).render(tick, currentZ * mul, prevZ * mul, false, (i == 1 ? 1 : 0.7f), 5 * mul2, false, (byte) 0, new float[]{finalColor.getRed()/255f, finalColor.getGreen()/255f, finalColor.getBlue()/255f}, false);
+                    StargateRendererStatic.getVortexStrip(index, currentRad, prevRad, tick, 1 / 5f * 7 * mul2).render(tick, currentZ * mul, prevZ * mul, false, (i == 1 ? 1 : 0.7f), 5 * mul2, false, (byte) 0, new float[]{finalColor.getRed()/255f, finalColor.getGreen()/255f, finalColor.getBlue()/255f}, false);
                 }
                 prevZ = currentZ;
                 prevRad = currentRad;
@@ -4,6 +4,7 @@ import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import tauri.dev.jsg.loader.ElementEnum;
+import tauri.dev.jsg.loader.model.ComposedModel;
 import tauri.dev.jsg.loader.model.ModelLoader;
 import tauri.dev.jsg.loader.texture.TextureLoader;
 import tauri.dev.jsg.stargate.network.SymbolMilkyWayEnum;
@@ -18,6 +19,18 @@ public class StargateMilkyWayRenderer extends StargateClassicRenderer<StargateMi
     public static final Vec3d RING_LOC = new Vec3d(0.0, -0.122333, -0.000597);
     private static final float GATE_DIAMETER = 10.1815f;
 
+    /**
+     * Gate, chevron frames and backs (same texture, never animated).
+     */
+    private static final ComposedModel STATIC_PARTS = new ComposedModel().add(ElementEnum.MILKYWAY_GATE.modelResource);
+
+    static {
+        for (ChevronEnum chevron : ChevronEnum.values()) {
+            STATIC_PARTS.add(ElementEnum.MILKYWAY_CHEVRON_FRAME.modelResource, chevron.rotation);
+            STATIC_PARTS.add(ElementEnum.MILKYWAY_CHEVRON_BACK.modelResource, chevron.rotation);
+        }
+    }
+
     @Override
     public float getGateDiameter() {
         return GATE_DIAMETER;
@@ -38,7 +51,8 @@ public class StargateMilkyWayRenderer extends StargateClassicRenderer<StargateMi
 
         GlStateManager.pushMatrix();
         applyLightMap(rendererState, partialTicks);
-        ElementEnum.MILKYWAY_GATE.bindTextureAndRender(rendererState.getBiomeOverlay());
+        ElementEnum.MILKYWAY_GATE.bindTexture(rendererState.getBiomeOverlay());
+        STATIC_PARTS.render();
         GlStateManager.popMatrix();
     }
 
@@ -125,13 +139,6 @@ public class StargateMilkyWayRenderer extends StargateClassicRenderer<StargateMi
             ElementEnum.MILKYWAY_CHEVRON_LIGHT.render();
         }
 
-        if (!onlyLight) {
-            setGateHeatColor(rendererState);
-            applyLightMap(rendererState, partialTicks);
-            ElementEnum.MILKYWAY_CHEVRON_FRAME.bindTextureAndRender(rendererState.getBiomeOverlay());
-            ElementEnum.MILKYWAY_CHEVRON_BACK.render();
-        }
-
 
         GlStateManager.popMatrix();
         GlStateManager.color(1, 1, 1);
@@ -0,0 +1,198 @@
+package tauri.dev.jsg.renderer.stargate;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.util.ResourceLocation;
+import org.lwjgl.BufferUtils;
+import tauri.dev.jsg.loader.texture.TextureLoader;
+import tauri.dev.jsg.stargate.network.SymbolPegasusEnum;
+import tauri.dev.jsg.util.math.NumberUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * Glyphs of one Pegasus gate. All glyphs using one texture are drawn at once.
+ * <p>
+ * Vertices are computed from tables built once (slot positions, glyph rotations, UVs of the glyphs in the atlas)
+ * and kept until the glyphs shown on the gate change.
+ */
+public class StargatePegasusGlyphBatch {
+
+    public static final int GLYPHS_COUNT = 36;
+
+    /**
+     * Slots 36 and 37 can be set by incoming connections.
+     */
+    private static final int SLOTS_COUNT = GLYPHS_COUNT + 2;
+
+    public static final int NO_SPIN = Integer.MIN_VALUE;
+
+    private static final ResourceLocation GLYPHS_TEXTURE = TextureLoader.getTextureResource("pegasus/glyphs.png");
+    private static final ResourceLocation GLYPHS_OFF_TEXTURE = TextureLoader.getTextureResource("pegasus/glyphs_off.png");
+
+    private static final double SLOT_RADIUS = (StargatePegasusRenderer.GATE_DIAMETER / 2) - 0.85;
+    private static final double UV_RADIUS = 0.94;
+    private static final double TILE_SIZE = 0.27;
+    private static final double UV_SIZE = 0.0625;
+
+    private static final double FRONT_Z = 0.205;
+    private static final double BACK_Z = -0.105;
+
+    /**
+     * Position, texture.
+     */
+    private static final int VERTEX_SIZE = 5;
+    private static final int STRIDE = VERTEX_SIZE * 4;
+
+    // Slot -> position on the ring
+    private static final double[] SLOT_X = new double[GLYPHS_COUNT];
+    private static final double[] SLOT_Y = new double[GLYPHS_COUNT];
+
+    // Texture slot -> top left corner in the atlas
+    private static final double[] ATLAS_U = new double[GLYPHS_COUNT];
+    private static final double[] ATLAS_V = new double[GLYPHS_COUNT];
+
+    // (slot - texture slot) -> rotation of the glyph
+    private static final double[] ROTATION_COS = new double[GLYPHS_COUNT];
+    private static final double[] ROTATION_SIN = new double[GLYPHS_COUNT];
+
+    static {
+        for (int i = 0; i < GLYPHS_COUNT; i++) {
+            double rad = Math.toRadians((360.0 / GLYPHS_COUNT) * i);
+
+            // Round is necessary here, since Minecraft doesn't handle many decimal places very well in this case,
+            // so that the texture just ceases to exist.
+            SLOT_X[i] = NumberUtils.round(SLOT_RADIUS * Math.cos(rad), 3);
+            SLOT_Y[i] = NumberUtils.round(SLOT_RADIUS * Math.sin(rad), 3);
+
+            // The glyphs in the assets are arranged in a circle, so we extract those glyphs at certain positions.
+            ATLAS_U[i] = (UV_RADIUS * Math.cos(-rad) + UV_RADIUS) / 2;
+            ATLAS_V[i] = (UV_RADIUS * Math.sin(-rad) + UV_RADIUS) / 2;
+
+            double rotation = Math.toRadians((float) ((360.0f / GLYPHS_COUNT) * i));
+            ROTATION_COS[i] = Math.cos(rotation);
+            ROTATION_SIN[i] = Math.sin(rotation);
+        }
+    }
+
+    private final FloatBuffer glyphs = BufferUtils.createFloatBuffer((GLYPHS_COUNT + SLOTS_COUNT + 1) * 4 * VERTEX_SIZE);
+    private final FloatBuffer glyphsOff = BufferUtils.createFloatBuffer(GLYPHS_COUNT * 4 * VERTEX_SIZE);
+    private int glyphsCount;
+    private int glyphsOffCount;
+
+    private int builtVersion = -1;
+    private int builtSpinSlot = NO_SPIN;
+    private int builtSpinGlyph = -1;
+    private boolean builtDeactivated;
+
+    /**
+     * Rebuilds the vertices if the shown glyphs changed and renders them.
+     *
+     * @param spinSlot    Slot of the spinning glyph or {@link #NO_SPIN}.
+     * @param spinGlyph   Id of the spinning glyph.
+     * @param deactivated Show the faded out glyphs.
+     */
+    public void render(StargatePegasusRendererState rendererState, int spinSlot, int spinGlyph, boolean deactivated) {
+        if (builtVersion != rendererState.glyphsVersion || builtSpinSlot != spinSlot || builtSpinGlyph != spinGlyph || builtDeactivated != deactivated) {
+            build(rendererState, spinSlot, spinGlyph, deactivated);
+
+            builtVersion = rendererState.glyphsVersion;
+            builtSpinSlot = spinSlot;
+            builtSpinGlyph = spinGlyph;
+            builtDeactivated = deactivated;
+        }
+
+        GlStateManager.disableBlend();
+        GlStateManager.enableAlpha();
+        GlStateManager.enableTexture2D();
+        GlStateManager.disableLighting();
+        GlStateManager.color(1, 1, 1);
+
+        glEnableClientState(GL_VERTEX_ARRAY);
+        glEnableClientState(GL_TEXTURE_COORD_ARRAY);
+
+        draw(GLYPHS_TEXTURE, glyphs, glyphsCount);
+        draw(GLYPHS_OFF_TEXTURE, glyphsOff, glyphsOffCount);
+
+        glDisableClientState(GL_VERTEX_ARRAY);
+        glDisableClientState(GL_TEXTURE_COORD_ARRAY);
+
+        GlStateManager.enableLighting();
+    }
+
+    private static void draw(ResourceLocation texture, FloatBuffer buffer, int count) {
+        if (count == 0) return;
+
+        Minecraft.getMinecraft().getTextureManager().bindTexture(texture);
+
+        buffer.position(0);
+        glVertexPointer(3, STRIDE, buffer);
+        buffer.position(3);
+        glTexCoordPointer(2, STRIDE, buffer);
+        buffer.position(0);
+
+        glDrawArrays(GL_QUADS, 0, count * 4);
+    }
+
+    private void build(StargatePegasusRendererState rendererState, int spinSlot, int spinGlyph, boolean deactivated) {
+        glyphs.clear();
+        glyphsOff.clear();
+        glyphsCount = 0;
+        glyphsOffCount = 0;
+
+        if (spinSlot != NO_SPIN && !rendererState.slotToGlyphMap.containsKey(spinSlot)) {
+            putGlyph(glyphs, spinGlyph, spinSlot, FRONT_Z);
+            glyphsCount++;
+        }
+
+        for (int slot = 0; slot < SLOTS_COUNT; slot++) {
+            Integer glyphId = rendererState.slotToGlyphMap.get(slot);
+
+            if (glyphId != null) {
+                // Incoming and locked chevrons
+                putGlyph(glyphs, glyphId, slot, FRONT_Z);
+                glyphsCount++;
+            } else if (deactivated && slot < GLYPHS_COUNT) {
+                putGlyph(glyphsOff, slot, slot, FRONT_Z);
+                glyphsOffCount++;
+
+                putGlyph(glyphs, slot, slot, BACK_Z);
+                glyphsCount++;
+            }
+        }
+
+        glyphs.flip();
+        glyphsOff.flip();
+    }
+
+    private static void putGlyph(FloatBuffer buffer, int glyphId, int slot, double z) {
+        int textureSlot = SymbolPegasusEnum.valueOf(glyphId).textureSlot;
+        int rotation = Math.floorMod(slot - textureSlot, GLYPHS_COUNT);
+        slot = Math.floorMod(slot, GLYPHS_COUNT);
+
+        double u = ATLAS_U[textureSlot];
+        double v = ATLAS_V[textureSlot];
+
+        putVertex(buffer, slot, rotation, -TILE_SIZE, -TILE_SIZE, z, u, v);
+        putVertex(buffer, slot, rotation, -TILE_SIZE, TILE_SIZE, z, u, v + UV_SIZE);
+        putVertex(buffer, slot, rotation, TILE_SIZE, TILE_SIZE, z, u + UV_SIZE, v + UV_SIZE);
+        putVertex(buffer, slot, rotation, TILE_SIZE, -TILE_SIZE, z, u + UV_SIZE, v);
+    }
+
+    /**
+     * Quad corner (x, 0, z) rotated around Y by the glyph rotation, then by 90 degrees around X
+     * and moved to the slot.
+     */
+    private static void putVertex(FloatBuffer buffer, int slot, int rotation, double x, double z, double depth, double u, double v) {
+        double cos = ROTATION_COS[rotation];
+        double sin = ROTATION_SIN[rotation];
+
+        buffer.put((float) (SLOT_X[slot] + x * cos + z * sin));
+        buffer.put((float) (SLOT_Y[slot] + x * sin - z * cos));
+        buffer.put((float) depth);
+        buffer.put((float) u);
+        buffer.put((float) v);
+    }
+}
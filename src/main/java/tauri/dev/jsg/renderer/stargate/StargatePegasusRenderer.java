@@ -1,26 +1,30 @@
 package tauri.dev.jsg.renderer.stargate;
 
-import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.client.renderer.Tessellator;
-import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.util.math.Vec3d;
-import org.lwjgl.opengl.GL11;
 import tauri.dev.jsg.loader.ElementEnum;
+import tauri.dev.jsg.loader.model.ComposedModel;
 import tauri.dev.jsg.loader.texture.Texture;
 import tauri.dev.jsg.loader.texture.TextureLoader;
-import tauri.dev.jsg.stargate.network.SymbolPegasusEnum;
 import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
 import tauri.dev.jsg.util.JSGTextureLightningHelper;
-import tauri.dev.jsg.util.math.NumberUtils;
 
 public class StargatePegasusRenderer extends StargateClassicRenderer<StargatePegasusRendererState> {
 
     public static final Vec3d RING_LOC = new Vec3d(0.0, -0.122333, -0.000597);
     public static final float GATE_DIAMETER = 10.1815f;
 
-    private static final int GLYPHS_COUNT = 36;
+    /**
+     * Gate, chevron frames and backs (same texture, never animated).
+     */
+    private static final ComposedModel STATIC_PARTS = new ComposedModel().add(ElementEnum.PEGASUS_GATE.modelResource);
+
+    static {
+        for (ChevronEnum chevron : ChevronEnum.values()) {
+            STATIC_PARTS.add(ElementEnum.PEGASUS_CHEVRON_FRAME.modelResource, chevron.rotation);
+            STATIC_PARTS.add(ElementEnum.PEGASUS_CHEVRON_BACK.modelResource, chevron.rotation);
+        }
+    }
 
     @Override
     public float getGateDiameter() {
@@ -42,37 +46,28 @@ public class StargatePegasusRenderer extends StargateClassicRenderer<StargatePeg
 
         GlStateManager.pushMatrix();
         applyLightMap(rendererState, partialTicks);
-        ElementEnum.PEGASUS_GATE.bindTextureAndRender(rendererState.getBiomeOverlay());
+        ElementEnum.PEGASUS_GATE.bindTexture(rendererState.getBiomeOverlay());
+        STATIC_PARTS.render();
         GlStateManager.popMatrix();
 
         GlStateManager.pushMatrix();
         JSGTextureLightningHelper.lightUpTexture(1f);
 
+        int spinSlot = StargatePegasusGlyphBatch.NO_SPIN;
+        int spinGlyph = -1;
         if (rendererState.spinHelper.getIsSpinning()) {
             double tick = (getWorld().getTotalWorldTime() + partialTicks);
-            //JSG.info("--------------------------------------");
-            //JSG.info("Tick: " + String.format("%.2f", tick));
-            int index = (int) Math.floor(rendererState.spinHelper.apply(tick));
-            //JSG.info("Index: " + index);
-            //JSG.info("--------------------------------------");
-            if (!rendererState.slotToGlyphMap.containsKey(index)) {
-                renderGlyph(rendererState.spinHelper.getTargetSymbol().getId(), index, false);
-            }
+            spinSlot = (int) Math.floor(rendererState.spinHelper.apply(tick));
+            spinGlyph = rendererState.spinHelper.getTargetSymbol().getId();
         }
 
+        // Don't show the faded out glyphs when the gate is dialing.
+        boolean deactivated = !rendererState.spinHelper.getIsSpinning() && rendererState.slotToGlyphMap.size() == 0;
 
-        for (int i = 0; i < GLYPHS_COUNT + 2; i++) { // +2 for incoming bug
-            if (!rendererState.slotToGlyphMap.containsKey(i) && i < GLYPHS_COUNT) { // here is fixed
-                // Don't show the faded out glyphs when the gate is dialing.
-                if (!rendererState.spinHelper.getIsSpinning() && rendererState.slotToGlyphMap.size() == 0) {
-                    renderGlyph(i, i, true);
-                }
-                continue;
-            } else if (!rendererState.slotToGlyphMap.containsKey(i) && i >= GLYPHS_COUNT)
-                continue;
+        if (rendererState.glyphBatch == null)
+            rendererState.glyphBatch = new StargatePegasusGlyphBatch();
+        rendererState.glyphBatch.render(rendererState, spinSlot, spinGlyph, deactivated);
 
-            renderGlyph(rendererState.slotToGlyphMap.get(i), i, false); // for incoming and locked chevrons
-        }
         applyLightMap(rendererState, partialTicks);
         GlStateManager.popMatrix();
 
@@ -140,77 +135,8 @@ public class StargatePegasusRenderer extends StargateClassicRenderer<StargatePeg
                 ElementEnum.PEGASUS_CHEVRON_LIGHT.render();
             }
 
-            if (!onlyLight) {
-                ElementEnum.PEGASUS_CHEVRON_FRAME.bindTextureAndRender(rendererState.getBiomeOverlay());
-                ElementEnum.PEGASUS_CHEVRON_BACK.render();
-            }
-
-
             GlStateManager.popMatrix();
             GlStateManager.color(1, 1, 1);
         }
     }
-
-    private double[] getPositionInRingAtIndex(double radius, int index) {
-        double deg = ((360.0 / GLYPHS_COUNT) * index);
-        double rad = Math.toRadians(deg);
-        return new double[]{radius * Math.cos(rad), radius * Math.sin(rad), deg};
-    }
-
-    protected void renderGlyph(int glyphId, int slot, boolean deactivated) {
-        renderGlyph(glyphId, slot, deactivated, false);
-        if (deactivated) {
-            renderGlyph(glyphId, slot, false, true);
-        }
-    }
-
-    protected void renderGlyph(int glyphId, int slot, boolean deactivated, boolean translatePos) {
-        GlStateManager.pushMatrix();
-        GlStateManager.disableBlend();
-        GlStateManager.enableAlpha();
-        GlStateManager.enableTexture2D();
-        GlStateManager.disableLighting();
-
-        GlStateManager.color(1, 1, 1);
-
-        double[] slotPos = getPositionInRingAtIndex((GATE_DIAMETER / 2) - 0.85, slot);
-
-        // Round is necessary here, since Minecraft doesn't handle many decimal places very well in this case,
-        // so that the texture just ceases to exist.
-        GlStateManager.translate(NumberUtils.round(slotPos[0], 3), NumberUtils.round(slotPos[1], 3), translatePos ? -0.105 : 0.205);
-        GlStateManager.rotate(90, 1, 0, 0);
-
-        String path = String.format("pegasus/%s.png", deactivated ? "glyphs_off" : "glyphs");
-        Minecraft.getMinecraft().getTextureManager().bindTexture(TextureLoader.getTextureResource(path));
-
-        Tessellator tessellator = Tessellator.getInstance();
-        BufferBuilder buffer = tessellator.getBuffer();
-
-        buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX);
-
-        // The glyphs in the assets are arranged in a circle, so we extract those glyphs at certain positions.
-        double radius = 0.94;
-        // double[] uv = getPositionInRingAtIndex(radius, -glyphId);
-        int textureSlot = SymbolPegasusEnum.valueOf(glyphId).textureSlot;
-        double[] uv = getPositionInRingAtIndex(radius, -(textureSlot));
-        double x = (uv[0] + radius) / 2;
-        double y = (uv[1] + radius) / 2;
-
-        double tileSize = 0.27;
-        double uvSize = 0.0625;
-
-        GlStateManager.rotate((360.0f / GLYPHS_COUNT) * (slot - textureSlot), 0, 1, 0);
-
-        buffer.pos(-tileSize, 0, -tileSize).tex(x, y).endVertex();
-        buffer.pos(-tileSize, 0, tileSize).tex(x, y + uvSize).endVertex();
-        buffer.pos(tileSize, 0, tileSize).tex(x + uvSize, y + uvSize).endVertex();
-        buffer.pos(tileSize, 0, -tileSize).tex(x + uvSize, y).endVertex();
-
-        tessellator.draw();
-
-        buffer.setTranslation(0, 0, 0);
-
-        GlStateManager.enableLighting();
-        GlStateManager.popMatrix();
-    }
 }
@@ -18,6 +18,16 @@ public class StargatePegasusRendererState extends StargateClassicRendererState {
 
     public Map<Integer, Integer> slotToGlyphMap = new HashMap<Integer, Integer>();
 
+    /**
+     * Incremented on every change of {@link #slotToGlyphMap}.
+     */
+    public int glyphsVersion;
+
+    /**
+     * Client only, created by the renderer.
+     */
+    public StargatePegasusGlyphBatch glyphBatch;
+
     public int slotFromChevron(ChevronEnum chevron) {
         return new int[]{9, 5, 1, 33, 29, 25, 21, 17, 13}[chevron.rotationIndex];
     }
@@ -26,6 +36,7 @@ public class StargatePegasusRendererState extends StargateClassicRendererState {
         if (slot > 36) return;
 
         slotToGlyphMap.put(slot, glyphId);
+        glyphsVersion++;
     }
 
     public void lockChevron(int glyphId, ChevronEnum chevron) {
@@ -40,6 +51,7 @@ public class StargatePegasusRendererState extends StargateClassicRendererState {
 
     public void clearGlyphs() {
         slotToGlyphMap.clear();
+        glyphsVersion++;
     }
 
     // Chevrons
@@ -2,11 +2,16 @@ package tauri.dev.jsg.renderer.stargate;
 
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.util.math.MathHelper;
+import org.lwjgl.BufferUtils;
 import tauri.dev.jsg.config.JSGConfig;
 
+import javax.annotation.Nullable;
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
 import java.util.*;
 
 import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
 import static tauri.dev.jsg.renderer.stargate.StargateAbstractRenderer.isEhAnimatedLoaded;
 
 public class StargateRendererStatic {
@@ -19,23 +24,32 @@ public class StargateRendererStatic {
     public static final float INNER_CIRCLE_RADIUS = 0.25f;
     private static final float QUAD_STEP = (EVENT_HORIZON_RADIUS - INNER_CIRCLE_RADIUS) / QUADS;
 
-    private static final List<Float> OFFSET_LIST = new ArrayList<>();
-    private static final List<Float> SIN = new ArrayList<>();
-    private static final List<Float> COS = new ArrayList<>();
+    private static final float[] OFFSETS = new float[SECTIONS * (QUADS + 1)];
+    private static final float[] SIN = new float[SECTIONS + 1];
+    private static final float[] COS = new float[SECTIONS + 1];
 
-    private static final List<Float> QUAD_RADIUS = new ArrayList<>();
+    private static final float[] QUAD_RADIUS = new float[QUADS + 1];
 
     static InnerCircle innerCircle;
     static List<QuadStrip> quadStrips = new ArrayList<>();
 
+    /**
+     * Strips of the kawoosh/vortex rings, one per ring of the {@link #Z_RadiusMap}.
+     * Recalculated in place every frame instead of allocating new ones.
+     */
+    private static final List<QuadStrip> VORTEX_STRIPS = new ArrayList<>();
+
     private static final Random RANDOM = new Random();
 
     private static float getRandomFloat() {
         return RANDOM.nextFloat() * 2 - 1;
     }
 
+    /**
+     * Uses {@link MathHelper#sin(float)} - sine table instead of {@link Math#sin(double)}.
+     */
     static float getOffset(int index, float tick, float mul, int quadStripIndex) {
-        return (float) (Math.sin(tick / 4f + OFFSET_LIST.get(index)) * mul * (quadStripIndex / 4f) * (quadStripIndex - quadStrips.size()) / 400f);
+        return MathHelper.sin(tick / 4f + OFFSETS[index]) * mul * (quadStripIndex / 4f) * (quadStripIndex - QUADS) / 400f;
     }
 
     private static float toUV(float coord) {
@@ -49,43 +63,196 @@ public class StargateRendererStatic {
 
     private static void initEventHorizon() {
         for (int i = 0; i < SECTIONS * (QUADS + 1); i++) {
-            OFFSET_LIST.add(getRandomFloat() * 3);
+            OFFSETS[i] = getRandomFloat() * 3;
         }
 
         for (int i = 0; i <= SECTIONS; i++) {
-            SIN.add(MathHelper.sin(SECTION_ANGLE * i));
-            COS.add(MathHelper.cos(SECTION_ANGLE * i));
+            SIN[i] = MathHelper.sin(SECTION_ANGLE * i);
+            COS[i] = MathHelper.cos(SECTION_ANGLE * i);
         }
 
         innerCircle = new InnerCircle();
 
         for (int i = 0; i <= QUADS; i++) {
-            QUAD_RADIUS.add(INNER_CIRCLE_RADIUS + QUAD_STEP * i);
+            QUAD_RADIUS[i] = INNER_CIRCLE_RADIUS + QUAD_STEP * i;
         }
 
         for (int i = 0; i < QUADS; i++) {
-            quadStrips.add(new QuadStrip(i));
+            quadStrips.add(new QuadStrip(i, QUAD_RADIUS[i], QUAD_RADIUS[i + 1], null, 1, true));
         }
 
         // horizonStateChange = world.getTotalWorldTime();
     }
 
-    public static class InnerCircle {
-        private final List<Float> x = new ArrayList<>();
-        private final List<Float> y = new ArrayList<>();
+    /**
+     * @param strip Strip to reuse (can be null).
+     * @return Given strip recalculated for new radius or a new one.
+     */
+    static QuadStrip updateStrip(@Nullable QuadStrip strip, int quadStripIndex, float innerRadius, float outerRadius, @Nullable Float tick) {
+        if (strip == null || strip.quadStripIndex != quadStripIndex)
+            return new QuadStrip(quadStripIndex, innerRadius, outerRadius, tick);
+
+        strip.recalculate(innerRadius, outerRadius, tick, 1);
+        return strip;
+    }
+
+    /**
+     * @param ring Index of the ring in the {@link #Z_RadiusMap}.
+     * @return Cached strip of the kawoosh/vortex ring recalculated for given radius.
+     */
+    static QuadStrip getVortexStrip(int ring, float innerRadius, float outerRadius, float tick, float radMul) {
+        while (VORTEX_STRIPS.size() <= ring)
+            VORTEX_STRIPS.add(new QuadStrip(9, 0, 0, null, 1));
+
+        QuadStrip strip = VORTEX_STRIPS.get(ring);
+        strip.recalculate(innerRadius, outerRadius, tick, radMul);
+        return strip;
+    }
+
+    // ------------------------------------------------------------------------
+    // Buffers
+
+    private static final int MAX_VERTICES = (SECTIONS + 1) * 2;
+    private static final FloatBuffer UPLOAD_BUFFER = BufferUtils.createFloatBuffer(MAX_VERTICES * 3);
+
+    private static int streamPositionsId = -1;
+    private static int streamTexCoordsId = -1;
+
+    private static void upload(int bufferId, float[] data, int length, int usage) {
+        UPLOAD_BUFFER.clear();
+        ((Buffer) UPLOAD_BUFFER.put(data, 0, length)).flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        glBufferData(GL_ARRAY_BUFFER, UPLOAD_BUFFER, usage);
+    }
+
+    /**
+     * Geometry of a part of the horizon kept in primitive arrays and drawn from VBOs.
+     * <p>
+     * Texture coordinates don't change between frames - the animated texture is offset by the texture matrix.
+     * Retained meshes (the event horizon itself) have their own buffers, texture coordinates are uploaded once
+     * and positions only when the ripples change (once per frame, not per pass). Other meshes (kawoosh, vortex)
+     * are streamed through shared buffers.
+     */
+    private static abstract class HorizonMesh {
+        private final int mode;
+        protected final int vertexCount;
+        protected final float[] positions;
+        protected final float[] texCoords;
+
+        private final boolean retained;
+        private int positionsId = -1;
+        private int texCoordsId = -1;
+        private boolean positionsUploaded;
+        private boolean texCoordsUploaded;
+
+        protected HorizonMesh(int mode, int vertexCount, boolean retained) {
+            this.mode = mode;
+            this.vertexCount = vertexCount;
+            this.positions = new float[vertexCount * 3];
+            this.texCoords = new float[vertexCount * 2];
+            this.retained = retained;
+        }
+
+        protected void invalidatePositions() {
+            positionsUploaded = false;
+        }
+
+        protected void invalidateTexCoords() {
+            texCoordsUploaded = false;
+        }
+
+        protected void draw(boolean textured, boolean animated, float tick) {
+            int posId;
+            int texId;
+
+            if (retained) {
+                if (positionsId == -1) {
+                    positionsId = glGenBuffers();
+                    texCoordsId = glGenBuffers();
+                }
+
+                posId = positionsId;
+                texId = texCoordsId;
+            } else {
+                if (streamPositionsId == -1) {
+                    streamPositionsId = glGenBuffers();
+                    streamTexCoordsId = glGenBuffers();
+                }
+
+                posId = streamPositionsId;
+                texId = streamTexCoordsId;
+                positionsUploaded = false;
+                texCoordsUploaded = false;
+            }
+
+            if (!positionsUploaded) {
+                upload(posId, positions, vertexCount * 3, retained ? GL_DYNAMIC_DRAW : GL_STREAM_DRAW);
+                positionsUploaded = true;
+            }
+
+            glEnableClientState(GL_VERTEX_ARRAY);
+            glBindBuffer(GL_ARRAY_BUFFER, posId);
+            glVertexPointer(3, GL_FLOAT, 0, 0);
+
+            if (textured) {
+                if (!texCoordsUploaded) {
+                    upload(texId, texCoords, vertexCount * 2, retained ? GL_STATIC_DRAW : GL_STREAM_DRAW);
+                    texCoordsUploaded = true;
+                }
+
+                glEnableClientState(GL_TEXTURE_COORD_ARRAY);
+                glBindBuffer(GL_ARRAY_BUFFER, texId);
+                glTexCoordPointer(2, GL_FLOAT, 0, 0);
+
+                int texIndex = (int) (tick * 4 % 185);
+                float xTexOffset = texIndex % 14 / 14f;
+                float yTexOffset = texIndex / 14 / 14f;
+
+                GlStateManager.matrixMode(GL_TEXTURE);
+                GlStateManager.pushMatrix();
+                if (animated) {
+                    GlStateManager.translate(xTexOffset, yTexOffset, 0);
+                    GlStateManager.scale(1 / 14.0f, 1 / 14.0f, 1);
+                } else GlStateManager.scale(1, -1, 1);
+            }
+
+            glDrawArrays(mode, 0, vertexCount);
+
+            if (textured) {
+                GlStateManager.popMatrix();
+                GlStateManager.matrixMode(GL_MODELVIEW);
+                glDisableClientState(GL_TEXTURE_COORD_ARRAY);
+            }
+
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            glDisableClientState(GL_VERTEX_ARRAY);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Horizon parts
 
-        private final List<Float> tx = new ArrayList<>();
-        private final List<Float> ty = new ArrayList<>();
+    public static class InnerCircle extends HorizonMesh {
 
         public InnerCircle() {
+            super(GL_TRIANGLE_FAN, SECTIONS + 2, true);
+
             float texMul = (INNER_CIRCLE_RADIUS / EVENT_HORIZON_RADIUS);
 
-            for (int i = 0; i < SECTIONS; i++) {
-                x.add(SIN.get(i) * INNER_CIRCLE_RADIUS);
-                y.add(COS.get(i) * INNER_CIRCLE_RADIUS);
+            texCoords[0] = 0.5f;
+            texCoords[1] = 0.5f;
+
+            // Offset of the inner circle is always zero (strip index 0), so positions are static
+            int vertex = 1;
+            for (int i = SECTIONS; i >= 0; i--, vertex++) {
+                int index = (i == SECTIONS ? 0 : i);
+
+                positions[vertex * 3] = SIN[index] * INNER_CIRCLE_RADIUS;
+                positions[vertex * 3 + 1] = COS[index] * INNER_CIRCLE_RADIUS;
 
-                tx.add(toUV(SIN.get(i) * texMul));
-                ty.add(toUV(COS.get(i) * texMul));
+                texCoords[vertex * 2] = toUV(SIN[index] * texMul);
+                texCoords[vertex * 2 + 1] = toUV(COS[index] * texMul);
             }
         }
 
@@ -108,70 +275,38 @@ public class StargateRendererStatic {
                     alpha = 1.0f - alpha;
             }
 
-            glBegin(GL_TRIANGLE_FAN);
-
-            int texIndex = (int) (tick * 4 % 185);
-            float xTexOffset = texIndex % 14 / 14f;
-            float yTexOffset = texIndex / 14 / 14f;
-
-            float xTex = 0.5f;
-            float yTex = 0.5f;
-
-            if (animated) {
-                xTex /= 14.0f;
-                xTex += xTexOffset;
-                yTex /= 14.0f;
-                yTex += yTexOffset;
-            } else yTex *= -1;
-
             if (alpha != null) glColor4f(color[0], color[1], color[2], alpha);
-            if (!white) glTexCoord2f(xTex, yTex);
-
-            glVertex3f(0, 0, 0);
-
-            int index;
-            for (int i = SECTIONS; i >= 0; i--) {
-                if (i == SECTIONS)
-                    index = 0;
-                else
-                    index = i;
-
-                xTex = tx.get(index);
-                yTex = ty.get(index);
 
-                if (animated) {
-                    xTex /= 14.0f;
-                    xTex += xTexOffset;
-                    yTex /= 14.0f;
-                    yTex += yTexOffset;
-                } else yTex *= -1;
-
-                if (!white) glTexCoord2f(xTex, yTex);
-                glVertex3f(x.get(index), y.get(index), getOffset(index, tick * mul, mul, 0));
-            }
-
-            glEnd();
+            draw(!white, animated, tick);
 
             if (alpha != null) glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
             if (white) GlStateManager.enableTexture2D();
         }
     }
 
-    public static class QuadStrip {
-        private final List<Float> x = new ArrayList<>();
-        private final List<Float> y = new ArrayList<>();
+    public static class QuadStrip extends HorizonMesh {
+        private final float[] x = new float[SECTIONS * 2];
+        private final float[] y = new float[SECTIONS * 2];
 
-        private final List<Float> tx = new ArrayList<>();
-        private final List<Float> ty = new ArrayList<>();
+        private final float[] tx = new float[SECTIONS * 2];
+        private final float[] ty = new float[SECTIONS * 2];
 
         private final int quadStripIndex;
 
-        private final float radMul;
+        private float radMul;
 
-        public final float innerRadius;
+        public float innerRadius;
+
+        // State of the last built vertices
+        private boolean built;
+        private float builtTick;
+        private float builtMul;
+        private Float builtOuterZ;
+        private Float builtInnerZ;
+        private boolean builtReversed;
 
         public QuadStrip(int quadStripIndex) {
-            this(quadStripIndex, QUAD_RADIUS.get(quadStripIndex), QUAD_RADIUS.get(quadStripIndex + 1), null);
+            this(quadStripIndex, QUAD_RADIUS[quadStripIndex], QUAD_RADIUS[quadStripIndex + 1], null);
         }
 
         public QuadStrip(int quadStripIndex, float innerRadius, float outerRadius, Float tick) {
@@ -179,27 +314,29 @@ public class StargateRendererStatic {
         }
 
         public QuadStrip(int quadStripIndex, float innerRadius, float outerRadius, Float tick, float radMul) {
+            this(quadStripIndex, innerRadius, outerRadius, tick, radMul, false);
+        }
+
+        private QuadStrip(int quadStripIndex, float innerRadius, float outerRadius, Float tick, float radMul, boolean retained) {
+            super(GL_QUAD_STRIP, MAX_VERTICES, retained);
             this.quadStripIndex = quadStripIndex;
+            recalculate(innerRadius, outerRadius, tick, radMul);
+        }
+
+        public void recalculate(float innerRadius, float outerRadius, Float tick, float radMul) {
             this.radMul = radMul;
-            this.innerRadius = innerRadius;
             recalculate(innerRadius, outerRadius, tick);
         }
 
         public void recalculate(float innerRadius, float outerRadius, Float tick) {
-
-            List<Float> radius = new ArrayList<>();
-            List<Float> texMul = new ArrayList<>();
-
-
-            radius.add(innerRadius);
-            radius.add(outerRadius);
-
-            for (int i = 0; i < 2; i++)
-                texMul.add(radius.get(i) / EVENT_HORIZON_RADIUS);
+            this.innerRadius = innerRadius;
 
             for (int k = 0; k < 2; k++) {
+                float radius = (k == 0 ? innerRadius : outerRadius);
+                float texMul = radius / EVENT_HORIZON_RADIUS;
+
                 for (int i = 0; i < SECTIONS; i++) {
-                    float rad = radius.get(k);
+                    float rad = radius;
 
                     if (tick != null) {
                         if (quadStripIndex == 9)
@@ -208,13 +345,16 @@ public class StargateRendererStatic {
                             rad += getOffset(i, tick, 1 * radMul, quadStripIndex) * 2;
                     }
 
-                    x.add(rad * SIN.get(i));
-                    y.add(rad * COS.get(i));
+                    int index = k * SECTIONS + i;
+                    x[index] = rad * SIN[i];
+                    y[index] = rad * COS[i];
 
-                    tx.add(toUV(SIN.get(i) * texMul.get(k)));
-                    ty.add(toUV(COS.get(i) * texMul.get(k)));
+                    tx[index] = toUV(SIN[i] * texMul);
+                    ty[index] = toUV(COS[i] * texMul);
                 }
             }
+
+            built = false;
         }
 
         public void render(float tick, boolean white, Float alpha, float mul) {
@@ -254,63 +394,57 @@ public class StargateRendererStatic {
 
             if (alpha != null) glColor4d(color[0], color[1], color[2], alpha);
 
-            glBegin(GL_QUAD_STRIP);
+            build(tick * mul, mul, outerZ, innerZ, reversed);
+            draw(!white, animate, tick);
 
-            int index;
+            if (white) GlStateManager.enableTexture2D();
+            if (alpha != null) glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+        }
 
-            int texIndex = (int) (tick * 4 % 185);
-            float xTexOffset = texIndex % 14 / 14f;
-            float yTexOffset = texIndex / 14 / 14f;
+        /**
+         * Fills vertex arrays in the drawing order. Skipped if nothing changed since the last call
+         * (other passes/sides of the horizon in the same frame).
+         */
+        private void build(float tick, float mul, Float outerZ, Float innerZ, boolean reversed) {
+            if (built && builtTick == tick && builtMul == mul && Objects.equals(builtOuterZ, outerZ) && Objects.equals(builtInnerZ, innerZ) && builtReversed == reversed)
+                return;
 
+            int vertex = 0;
             for (int i = reversed ? 0 : SECTIONS; (reversed && i <= SECTIONS) || (!reversed && i >= 0); i += (reversed ? 1 : -1)) {
-                if (i == SECTIONS)
-                    index = 0;
-                else
-                    index = i;
+                int index = (i == SECTIONS ? 0 : i);
 
                 float z;
-
                 if (outerZ != null) z = outerZ;
-                else z = getOffset(index + SECTIONS * quadStripIndex, tick * mul, mul, quadStripIndex);
+                else z = getOffset(index + SECTIONS * quadStripIndex, tick, mul, quadStripIndex);
 
-                float xTex = tx.get(index);
-                float yTex = ty.get(index);
-
-                if (animate) {
-                    xTex /= 14.0f;
-                    xTex += xTexOffset;
-                    yTex /= 14.0f;
-                    yTex += yTexOffset;
-                } else yTex *= -1;
-
-                if (!white) glTexCoord2f(xTex, yTex);
-                glVertex3f(x.get(index), y.get(index), z);
-
-//				JSG.info("z: " + z);
+                putVertex(vertex++, index, z);
 
                 index = index + SECTIONS;
 
-                xTex = tx.get(index);
-                yTex = ty.get(index);
-
-                if (animate) {
-                    xTex /= 14.0f;
-                    xTex += xTexOffset;
-                    yTex /= 14.0f;
-                    yTex += yTexOffset;
-                } else yTex *= -1;
-
                 if (innerZ != null) z = innerZ;
-                else z = getOffset(index + SECTIONS * quadStripIndex, tick * mul, mul, quadStripIndex + 1);
+                else z = getOffset(index + SECTIONS * quadStripIndex, tick, mul, quadStripIndex + 1);
 
-                if (!white) glTexCoord2f(xTex, yTex);
-                glVertex3f(x.get(index), y.get(index), z);
+                putVertex(vertex++, index, z);
             }
 
-            glEnd();
+            invalidatePositions();
+            invalidateTexCoords();
 
-            if (white) GlStateManager.enableTexture2D();
-            if (alpha != null) glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+            built = true;
+            builtTick = tick;
+            builtMul = mul;
+            builtOuterZ = outerZ;
+            builtInnerZ = innerZ;
+            builtReversed = reversed;
+        }
+
+        private void putVertex(int vertex, int index, float z) {
+            positions[vertex * 3] = x[index];
+            positions[vertex * 3 + 1] = y[index];
+            positions[vertex * 3 + 2] = z;
+
+            texCoords[vertex * 2] = tx[index];
+            texCoords[vertex * 2 + 1] = ty[index];
         }
     }
 
@@ -11,6 +11,8 @@ import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
 import tauri.dev.jsg.util.JSGTextureLightningHelper;
 
+import java.util.Arrays;
+
 public class StargateUniverseRenderer extends StargateClassicRenderer<StargateUniverseRendererState> {
 
     private static final float GATE_DIAMETER = 8.67415f;
@@ -45,23 +47,40 @@ public class StargateUniverseRenderer extends StargateClassicRenderer<StargateUn
 
         ElementEnum.UNIVERSE_SYMBOL.bindTexture(rendererState.getBiomeOverlay());
         GlStateManager.disableLighting();
-        for (SymbolUniverseEnum symbol : SymbolUniverseEnum.values()) {
-            if (symbol.modelResource != null) {
-                float color = rendererState.getSymbolColor(symbol) + 0.25f;
-                GlStateManager.pushMatrix();
-                JSGTextureLightningHelper.lightUpTexture(rendererState.getSymbolColor(symbol) / 0.6f);
 
-                GlStateManager.color(color, color, color);
-                ModelLoader.getModel(symbol.modelResource).render();
+        // Light and color are only changed between symbols of different state
+        float lastSymbolColor = Float.NaN;
+        for (SymbolUniverseEnum symbol : getSymbolsWithModel()) {
+            float symbolColor = rendererState.getSymbolColor(symbol);
+            if (symbolColor != lastSymbolColor) {
                 applyLightMap(rendererState, partialTicks);
-                GlStateManager.popMatrix();
+                JSGTextureLightningHelper.lightUpTexture(symbolColor / 0.6f);
+
+                float color = symbolColor + 0.25f;
+                GlStateManager.color(color, color, color);
+                lastSymbolColor = symbolColor;
             }
+
+            ModelLoader.getModel(symbol.modelResource).render();
         }
+        applyLightMap(rendererState, partialTicks);
         GlStateManager.enableLighting();
 
         rendererState.iterate(getWorld(), partialTicks);
     }
 
+    private static SymbolUniverseEnum[] symbolsWithModel;
+
+    private static SymbolUniverseEnum[] getSymbolsWithModel() {
+        if (symbolsWithModel == null) {
+            symbolsWithModel = Arrays.stream(SymbolUniverseEnum.values())
+                    .filter(symbol -> symbol.modelResource != null)
+                    .toArray(SymbolUniverseEnum[]::new);
+        }
+
+        return symbolsWithModel;
+    }
+
     @Override
     protected String getEventHorizonTexturePath(StargateAbstractRendererState rendererState, boolean kawoosh) {
         String texture = (kawoosh ? EV_HORIZON_DESATURATED_KAWOOSH_TEXTURE_ANIMATED : EV_HORIZON_DESATURATED_TEXTURE_ANIMATED);
@@ -10,6 +10,7 @@ import net.minecraftforge.common.util.INBTSerializable;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.stargate.network.StargatePos;
 import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
+import tauri.dev.jsg.util.EntityBroadphase;
 
 public class AutoCloseManager implements INBTSerializable<NBTTagCompound> {
 
@@ -49,10 +50,8 @@ public class AutoCloseManager implements INBTSerializable<NBTTagCompound> {
                 if (sourceLoaded) {
                     // create scan box
                     AxisAlignedBB scanBox = new AxisAlignedBB(sourcePos.add(new Vec3i(-10, -5, -10)), sourcePos.add(new Vec3i(10, 5, 10)));
-                    // scan players in box
-                    int playerCount = sourceWorld.getEntitiesWithinAABB(EntityPlayerMP.class, scanBox, player -> !player.isDead).size();
                     // check if player is in the box
-                    if (playerCount == 0)
+                    if (!EntityBroadphase.get(sourceWorld).hasEntityWithin(EntityPlayerMP.class, scanBox, null))
                         // if no, add 1 to secondsPassed
                         secondsPassed++;
                     else
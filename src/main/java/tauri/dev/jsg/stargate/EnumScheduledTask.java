@@ -58,7 +58,8 @@ public enum EnumScheduledTask {
 
   /**
    * Should the task be called on nearest occasion
-   * even when the scheduled wait time exceeded?
+   * even when the scheduled wait time exceeded
+   * (the tile was loaded from NBT after the time passed)?
    */
   public final boolean overtime;
 
@@ -0,0 +1,166 @@
+package tauri.dev.jsg.stargate;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.BlockFluidBase;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
+import tauri.dev.jsg.util.FacingHelper;
+import tauri.dev.jsg.util.math.TemperatureHelper;
+
+/**
+ * Cached temperature of the blocks around the gate.
+ * <p>
+ * All blocks around the chevrons, ring blocks and the base block are scanned in one pass.
+ * The result is kept until a block around the gate changes ({@link #markDirty()})
+ * or until {@link #RECALCULATE_PERIOD} ticks pass (biome temperature could change).
+ */
+public class StargateThermalEnvironment {
+
+    /**
+     * Recalculate the temperature at least every 5 seconds.
+     */
+    public static final int RECALCULATE_PERIOD = 100;
+
+    private final StargateClassicBaseTile gateTile;
+
+    private boolean dirty = true;
+    private long lastUpdate;
+
+    private double lavaCount;
+    private double waterCount;
+    private double airCount;
+
+    private double lavaTemp;
+    private double waterTemp;
+    private double airTemp;
+
+    private double temperature;
+
+    public StargateThermalEnvironment(StargateClassicBaseTile gateTile) {
+        this.gateTile = gateTile;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    private void updateIfNeeded() {
+        World world = gateTile.getWorld();
+        if (dirty || world.getTotalWorldTime() - lastUpdate >= RECALCULATE_PERIOD) {
+            recalculate(world);
+            lastUpdate = world.getTotalWorldTime();
+            dirty = false;
+        }
+    }
+
+    /**
+     * @return temperature of air/blocks/liquids around the gate (in Kelvins)
+     */
+    public double getTemperature() {
+        updateIfNeeded();
+        return temperature;
+    }
+
+    /**
+     * @param type           - specifies type of search -> 1: hot; 0: air; -1: cold
+     * @param getTemperature - return sum of temperatures of all blocks?
+     */
+    public double getSum(int type, boolean getTemperature) {
+        updateIfNeeded();
+        if (type == 1) return getTemperature ? lavaTemp : lavaCount;
+        if (type == 0) return getTemperature ? airTemp : airCount;
+        return getTemperature ? waterTemp : waterCount;
+    }
+
+    // ------------------------------------------------------------------------
+    // Scanning
+
+    private void recalculate(World world) {
+        long start = System.nanoTime();
+
+        lavaCount = waterCount = airCount = 0;
+        lavaTemp = waterTemp = airTemp = 0;
+
+        BlockPos pos = gateTile.getPos();
+        EnumFacing facing = gateTile.getFacing();
+        EnumFacing facingVertical = gateTile.getFacingVertical();
+        double biomeTemp = TemperatureHelper.asCelsius(world.getBiome(pos).getTemperature(pos) * 30).toKelvins();
+
+        // check chevron blocks
+        for (BlockPos chevron : gateTile.getMergeHelper().getChevronBlocks())
+            scanAround(world, FacingHelper.rotateBlock(chevron, facing, facingVertical).add(pos), biomeTemp);
+
+        // check ring blocks
+        for (BlockPos ring : gateTile.getMergeHelper().getRingBlocks())
+            scanAround(world, FacingHelper.rotateBlock(ring, facing, facingVertical).add(pos), biomeTemp);
+
+        // check base block
+        scanAround(world, pos, biomeTemp);
+
+        double total = lavaCount + waterCount + airCount;
+        double totalTemp = lavaTemp + waterTemp + airTemp;
+        temperature = TemperatureHelper.asCelsius(((total > 0) ? TemperatureHelper.asKelvins((totalTemp / total)).toCelsius() : 25)).toKelvins();
+
+        JSG.debug("Gate at " + pos + " recalculated temperature around the gate in " + (System.nanoTime() - start) / 1000 + "us");
+    }
+
+    private void scanAround(World world, BlockPos center, double biomeTemp) {
+        for (EnumFacing side : EnumFacing.values()) {
+            BlockPos newPos = center.offset(side);
+            IBlockState state = world.getBlockState(newPos);
+            Block block = state.getBlock();
+
+            if (block.isAir(state, world, newPos)) {
+                airCount++;
+                airTemp += biomeTemp;
+                continue;
+            }
+
+            double liquidTemp = getLiquidBlockTemp(true, state);
+            if (liquidTemp > -1) {
+                lavaCount++;
+                lavaTemp += liquidTemp;
+                continue;
+            }
+
+            liquidTemp = getLiquidBlockTemp(false, state);
+            if (liquidTemp > -1) {
+                waterCount++;
+                waterTemp += liquidTemp;
+            } else if (block == Blocks.ICE || block == Blocks.SNOW || block == Blocks.PACKED_ICE) {
+                waterCount++;
+                waterTemp += (block == Blocks.SNOW ? TemperatureHelper.asCelsius(3).toKelvins() : TemperatureHelper.asCelsius(-3).toKelvins());
+            }
+        }
+    }
+
+    /**
+     * @param lava  - searching for hot block?
+     * @param state - state of target block
+     * @return temperature in Kelvins
+     */
+    public static double getLiquidBlockTemp(boolean lava, IBlockState state) {
+        Block block = state.getBlock();
+        if (block instanceof BlockLiquid) {
+            if (lava && block.getUnlocalizedName().equalsIgnoreCase("tile.lava"))
+                return TemperatureHelper.asCelsius(1200).toKelvins();
+            if (!lava && block.getUnlocalizedName().equalsIgnoreCase("tile.water"))
+                return TemperatureHelper.asCelsius(3).toKelvins();
+        }
+
+        if (block instanceof BlockFluidBase) {
+            BlockFluidBase liquid = (BlockFluidBase) block;
+            boolean isHot = (liquid.getFluid().getTemperature() >= TemperatureHelper.asCelsius(1200).toKelvins());
+            if ((isHot && lava) || (!isHot && !lava)) {
+                return liquid.getFluid().getTemperature();
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,5 @@
 package tauri.dev.jsg.stargate.network;
 
-import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -23,18 +22,25 @@ import tauri.dev.jsg.worldgen.util.GeneratedStargate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Random;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class StargateNetwork extends WorldSavedData {
 
     private static final String DATA_NAME = JSG.MOD_ID + "_StargateNetworkData";
+    private static final List<StargateNetworkListener> LISTENERS = new CopyOnWriteArrayList<>();
     public final StargateInternalGates INTERNAL_GATES = new StargateInternalGates();
     private final Map<SymbolTypeEnum, Map<StargateAddress, StargatePos>> stargateNetworkMap = new HashMap<>();
     private final Map<StargatePos, Map<SymbolTypeEnum, StargateAddress>> notGeneratedStargates = new HashMap<>();
+    private final Map<Integer, StargatePos> notGeneratedStargatesByDim = new HashMap<>();
+    private final StargateNetworkIndex index = new StargateNetworkIndex();
+
+    // Sharded storage (see JSGConfig.Stargate.mechanics.shardedNetworkStorage)
+    private StargateNetworkShardStorage shardStorage;
+    private final Set<Integer> storedShards = new HashSet<>();
+    private int[] shardsToLoad;
+    private boolean legacyStargatesLoaded;
     private StargateAddress netherGateAddress;
 
     public StargateNetwork() {
@@ -60,6 +66,9 @@ public class StargateNetwork extends WorldSavedData {
             storage.setData(DATA_NAME, instance);
         }
 
+        if (instance.shardStorage == null && !world.isRemote)
+            instance.initShardStorage(world);
+
         return instance;
     }
 
@@ -70,6 +79,43 @@ public class StargateNetwork extends WorldSavedData {
         INTERNAL_GATES.init();
     }
 
+    public static void registerListener(StargateNetworkListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    private void initShardStorage(World world) {
+        shardStorage = StargateNetworkShardStorage.create(world, DATA_NAME);
+        if (shardStorage == null) return;
+
+        if (shardsToLoad != null) {
+            for (int dimensionID : shardsToLoad) {
+                shardStorage.load(dimensionID, this::loadStargate);
+                storedShards.add(dimensionID);
+            }
+            shardsToLoad = null;
+
+            // Storage mode was switched back, write the whole network to the main file
+            if (!JSGConfig.Stargate.mechanics.shardedNetworkStorage)
+                markDirty();
+        }
+
+        if (legacyStargatesLoaded && JSGConfig.Stargate.mechanics.shardedNetworkStorage) {
+            JSG.info("Migrating stargate network to per-dimension storage...");
+            shardStorage.markAllDirty();
+            markDirty();
+        }
+        legacyStargatesLoaded = false;
+    }
+
+    private boolean isShardedStorageActive() {
+        return shardStorage != null && JSGConfig.Stargate.mechanics.shardedNetworkStorage;
+    }
+
+    private void markShardDirty(int dimensionID) {
+        if (shardStorage != null)
+            shardStorage.markDirty(dimensionID);
+    }
+
     private Map<StargateAddress, StargatePos> getMapFromAddress(StargateAddress address) {
         if (address == null) return new HashMap<>();
         return stargateNetworkMap.get(address.getSymbolType());
@@ -90,11 +136,54 @@ public class StargateNetwork extends WorldSavedData {
         if (!JSGConfig.WorldGen.otherDimGenerator.generatorEnabled) {
             return new HashMap<>();
         }
-        for(Map.Entry<StargatePos, Map<SymbolTypeEnum, StargateAddress>> map : getMapNotGenerated().entrySet()){
-            if(map.getKey().dimensionID == pos.dimensionID)
-                return map.getValue();
-        }
-        return new HashMap<>();
+        StargatePos notGeneratedPos = notGeneratedStargatesByDim.get(pos.dimensionID);
+        if (notGeneratedPos == null) return new HashMap<>();
+        return notGeneratedStargates.get(notGeneratedPos);
+    }
+
+    public boolean hasNotGeneratedStargate(int dimensionID) {
+        return notGeneratedStargatesByDim.containsKey(dimensionID);
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Index queries
+
+    public StargateNetworkIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @param addressType Type of the returned addresses.
+     * @return Addresses of gates registered in the dimension and within radius from the center.
+     */
+    public List<Map.Entry<StargateAddress, StargatePos>> getStargatesInRange(SymbolTypeEnum addressType, int dimensionID, BlockPos center, double radius) {
+        return index.getInRange(addressType, dimensionID, center, radius);
+    }
+
+    /**
+     * @param gateType Type of the gate, null for any gate.
+     * @return All addresses of the first found gate in the dimension or empty map.
+     */
+    public Map<SymbolTypeEnum, StargateAddress> getFirstStargateInDimension(int dimensionID, @Nullable SymbolTypeEnum gateType) {
+        Map.Entry<StargateAddress, StargatePos> entry = index.getFirstInDimension(dimensionID, gateType, null);
+        if (entry == null) return new HashMap<>();
+        return index.getAddressesAt(dimensionID, entry.getValue().gatePos);
+    }
+
+    public Set<Integer> getDimensionsWithStargate() {
+        return index.getDimensions();
+    }
+
+    public void setStargateRelocated(StargateAddress address, boolean relocated) {
+        if (address == null) return;
+
+        StargatePos pos = getMapFromAddress(address).get(address);
+        if (pos == null || pos.relocated == relocated) return;
+
+        pos.relocated = relocated;
+        index.setRelocated(address, relocated ? pos : null);
+        markShardDirty(pos.dimensionID);
+        markDirty();
     }
 
     @Nullable
@@ -118,51 +207,21 @@ public class StargateNetwork extends WorldSavedData {
             return null;
         int size = notGeneratedStargates.size();
         if (size < 1) return null;
-        for (Map.Entry<StargatePos, Map<SymbolTypeEnum, StargateAddress>> map : notGeneratedStargates.entrySet()) {
-            if (map.getKey().dimensionID == 1) return map;
-        }
-        final Map<SymbolTypeEnum, StargateAddress> map = new HashMap<>();
-        StargatePos p = null;
-        for (Map.Entry<SymbolTypeEnum, Map<StargateAddress, StargatePos>> e1 : stargateNetworkMap.entrySet()) {
-            for(Map.Entry<StargateAddress, StargatePos> e : e1.getValue().entrySet()){
-                if(e.getValue().dimensionID == 1 && e.getValue().getGateSymbolType() == SymbolTypeEnum.UNIVERSE){
-                    map.put(e1.getKey(), e.getKey());
-                    p = e.getValue();
-                    break;
-                }
-            }
-        }
-        if(p == null){
+        StargatePos notGeneratedPos = notGeneratedStargatesByDim.get(1);
+        if (notGeneratedPos != null)
+            return new AbstractMap.SimpleEntry<>(notGeneratedPos, notGeneratedStargates.get(notGeneratedPos));
+
+        Map<SymbolTypeEnum, StargateAddress> map = getFirstStargateInDimension(1, SymbolTypeEnum.UNIVERSE);
+        if (map.isEmpty())
             // rerun - check for all gate types
-            for (Map.Entry<SymbolTypeEnum, Map<StargateAddress, StargatePos>> e1 : stargateNetworkMap.entrySet()) {
-                for(Map.Entry<StargateAddress, StargatePos> e : e1.getValue().entrySet()){
-                    if(e.getValue().dimensionID == 1){
-                        map.put(e1.getKey(), e.getKey());
-                        p = e.getValue();
-                        break;
-                    }
-                }
-            }
-        }
-        if(p != null){
-            final StargatePos finalP = p;
-            return new Map.Entry<StargatePos, Map<SymbolTypeEnum, StargateAddress>>() {
-                @Override
-                public StargatePos getKey() {
-                    return finalP;
-                }
-
-                @Override
-                public Map<SymbolTypeEnum, StargateAddress> getValue() {
-                    return map;
-                }
-
-                @Override
-                public Map<SymbolTypeEnum, StargateAddress> setValue(Map<SymbolTypeEnum, StargateAddress> value) {
-                    return value;
-                }
-            };
+            map = getFirstStargateInDimension(1, null);
+        StargatePos p = null;
+        for (StargateAddress address : map.values()) {
+            p = getMapFromAddress(address).get(address);
+            if (p != null) break;
         }
+        if (p != null)
+            return new AbstractMap.SimpleEntry<>(p, map);
         return null;
     }
 
@@ -239,23 +298,54 @@ public class StargateNetwork extends WorldSavedData {
     public void addStargate(StargateAddress gateAddress, StargatePos stargatePos) {
         if (gateAddress == null) return;
 
-        getMapFromAddress(gateAddress).put(gateAddress, stargatePos);
+        StargatePos oldPos = putStargate(gateAddress, stargatePos);
+        for (StargateNetworkListener listener : LISTENERS)
+            listener.onStargateAdded(gateAddress, stargatePos, oldPos);
 
         markDirty();
     }
 
+    private StargatePos putStargate(StargateAddress gateAddress, StargatePos stargatePos) {
+        StargatePos oldPos = getMapFromAddress(gateAddress).put(gateAddress, stargatePos);
+
+        // Same gate registered again, keep its fake pos state
+        if (oldPos != null && oldPos.relocated && oldPos.dimensionID == stargatePos.dimensionID && oldPos.gatePos.equals(stargatePos.gatePos))
+            stargatePos.relocated = true;
+
+        if (oldPos != null) {
+            index.remove(gateAddress, oldPos);
+            markShardDirty(oldPos.dimensionID);
+        }
+        index.add(gateAddress, stargatePos);
+        markShardDirty(stargatePos.dimensionID);
+        return oldPos;
+    }
+
+    /**
+     * Puts the gate read from a shard into the maps. The shard was just read, so it's not marked dirty.
+     */
+    private void loadStargate(StargateAddress gateAddress, StargatePos stargatePos) {
+        StargatePos oldPos = getMapFromAddress(gateAddress).put(gateAddress, stargatePos);
+        if (oldPos != null) {
+            index.remove(gateAddress, oldPos);
+
+            // Address was stored in two shards, the other one has to be rewritten
+            if (oldPos.dimensionID != stargatePos.dimensionID)
+                markShardDirty(oldPos.dimensionID);
+        }
+        index.add(gateAddress, stargatePos);
+    }
+
     public void addNotGeneratedStargate(StargateAddress gateAddress, StargatePos stargatePos) {
         if (gateAddress == null) return;
 
         Map<SymbolTypeEnum, StargateAddress> map = null;
-        for (StargatePos p : notGeneratedStargates.keySet()) {
-            if (p.dimensionID == stargatePos.dimensionID) {
-                map = notGeneratedStargates.get(p);
-                break;
-            }
-        }
+        StargatePos p = notGeneratedStargatesByDim.get(stargatePos.dimensionID);
+        if (p != null)
+            map = notGeneratedStargates.get(p);
         if (map == null) {
             notGeneratedStargates.put(stargatePos, new HashMap<>());
+            notGeneratedStargatesByDim.put(stargatePos.dimensionID, stargatePos);
             map = notGeneratedStargates.get(stargatePos);
         }
         map.put(gateAddress.symbolType, gateAddress);
@@ -265,7 +355,13 @@ public class StargateNetwork extends WorldSavedData {
     public void removeStargate(StargateAddress gateAddress) {
         if (gateAddress == null) return;
 
-        getMapFromAddress(gateAddress).remove(gateAddress);
+        StargatePos oldPos = getMapFromAddress(gateAddress).remove(gateAddress);
+        if (oldPos != null) {
+            index.remove(gateAddress, oldPos);
+            markShardDirty(oldPos.dimensionID);
+            for (StargateNetworkListener listener : LISTENERS)
+                listener.onStargateRemoved(gateAddress, oldPos);
+        }
 
         markDirty();
     }
@@ -273,7 +369,13 @@ public class StargateNetwork extends WorldSavedData {
     public void removeNotGeneratedStargate(StargatePos pos) {
         if (pos == null) return;
 
-        notGeneratedStargates.remove(pos);
+        Map<SymbolTypeEnum, StargateAddress> addresses = notGeneratedStargates.remove(pos);
+        if (addresses != null) {
+            if (pos.equals(notGeneratedStargatesByDim.get(pos.dimensionID)))
+                notGeneratedStargatesByDim.remove(pos.dimensionID);
+            for (StargateNetworkListener listener : LISTENERS)
+                listener.onNotGeneratedStargateRemoved(pos, addresses);
+        }
 
         markDirty();
     }
@@ -330,8 +432,13 @@ public class StargateNetwork extends WorldSavedData {
             StargatePos stargatePos = new StargatePos(stargateAddress.getSymbolType(), stargateCompound.getCompoundTag("pos"));
 
             addStargate(stargateAddress, stargatePos);
+            legacyStargatesLoaded = true;
         }
 
+        // Gates are stored in per-dimension files, loaded when the world is known
+        if (compound.hasKey("stargateShards"))
+            shardsToLoad = compound.getIntArray("stargateShards");
+
         NBTTagList notGeneratedStargates = compound.getTagList("notGeneratedStargates", NBT.TAG_COMPOUND);
         for (NBTBase baseTag : notGeneratedStargates) {
             if (!JSGConfig.WorldGen.otherDimGenerator.generatorEnabled) break;
@@ -363,6 +470,31 @@ public class StargateNetwork extends WorldSavedData {
     @Nonnull
     @Override
     public NBTTagCompound writeToNBT(@Nonnull NBTTagCompound compound) {
+        if (isShardedStorageActive()) {
+            long start = System.nanoTime();
+            int count = shardStorage.save(index, storedShards);
+
+            int[] shards = new int[storedShards.size()];
+            int i = 0;
+            for (int dimensionID : storedShards)
+                shards[i++] = dimensionID;
+            compound.setIntArray("stargateShards", shards);
+
+            writeDataToNBT(compound);
+            JSG.debug("Saved stargate network (" + count + "/" + shards.length + " dimension files rewritten) in " + ((System.nanoTime() - start) / 1000) + " us");
+            return compound;
+        }
+
+        long start = System.nanoTime();
+        writeToNBTFull(compound);
+        JSG.debug("Saved stargate network (" + index.getDimensions().size() + " dimensions) in " + ((System.nanoTime() - start) / 1000) + " us");
+        return compound;
+    }
+
+    /**
+     * Writes whole network (including all gates) to the compound regardless of storage mode.
+     */
+    public NBTTagCompound writeToNBTFull(NBTTagCompound compound) {
         NBTTagList stargateTagList = new NBTTagList();
 
         for (Map<StargateAddress, StargatePos> stargateMap : stargateNetworkMap.values()) {
@@ -375,6 +507,10 @@ public class StargateNetwork extends WorldSavedData {
         }
         compound.setTag("stargates", stargateTagList);
 
+        return writeDataToNBT(compound);
+    }
+
+    private NBTTagCompound writeDataToNBT(NBTTagCompound compound) {
         NBTTagList notGeneratedStargates = new NBTTagList();
         for (StargatePos pos : this.notGeneratedStargates.keySet()) {
             for (Map.Entry<SymbolTypeEnum, StargateAddress> entry : this.notGeneratedStargates.get(pos).entrySet()) {
@@ -393,89 +529,4 @@ public class StargateNetwork extends WorldSavedData {
 
         return compound;
     }
-
-
-    public void toBytes(ByteBuf buf) {
-
-        // Write addresses
-        int networkSize = 0;
-        for (Map<StargateAddress, StargatePos> stargateMap : stargateNetworkMap.values()) {
-            for (Map.Entry<StargateAddress, StargatePos> ignored : stargateMap.entrySet()) {
-                networkSize++;
-            }
-        }
-        buf.writeInt(networkSize);
-        for (Map<StargateAddress, StargatePos> stargateMap : stargateNetworkMap.values()) {
-            for (Map.Entry<StargateAddress, StargatePos> stargateEntry : stargateMap.entrySet()) {
-                stargateEntry.getKey().toBytes(buf);
-                stargateEntry.getValue().toBytes(buf);
-            }
-        }
-        // ---------------
-
-        // Write not generated gates
-        int notGeneratedSize = 0;
-        for (StargatePos pos : notGeneratedStargates.keySet()) {
-            for (Map.Entry<SymbolTypeEnum, StargateAddress> ignored : notGeneratedStargates.get(pos).entrySet()) {
-                notGeneratedSize++;
-            }
-        }
-        buf.writeInt(notGeneratedSize);
-        for (StargatePos pos : notGeneratedStargates.keySet()) {
-            for (Map.Entry<SymbolTypeEnum, StargateAddress> entry : notGeneratedStargates.get(pos).entrySet()) {
-                StargateAddress address = entry.getValue();
-                if (pos == null || address == null) {
-                    notGeneratedSize--;
-                    continue;
-                }
-                address.toBytes(buf);
-                pos.toBytes(buf);
-            }
-        }
-        // ---------------
-
-        // Write nether gate
-        if (netherGateAddress != null) {
-            buf.writeBoolean(true);
-            netherGateAddress.toBytes(buf);
-        } else
-            buf.writeBoolean(false);
-        // ---------------
-
-        // Write internal gates
-        INTERNAL_GATES.toBytes(buf);
-        // ---------------
-    }
-
-    public void fromBytes(ByteBuf buf) {
-        // Read addresses
-        int size = buf.readInt();
-        for (int i = 0; i < size; i++) {
-            StargateAddress stargateAddress = new StargateAddress(buf);
-            StargatePos stargatePos = new StargatePos(stargateAddress.getSymbolType(), buf);
-
-            getMapFromAddress(stargateAddress).put(stargateAddress, stargatePos);
-        }
-        // ---------------
-
-        // Read not generated gates
-        size = buf.readInt();
-        for (int i = 0; i < size; i++) {
-            StargateAddress stargateAddress = new StargateAddress(buf);
-            StargatePos stargatePos = new StargatePos(stargateAddress.getSymbolType(), buf);
-
-            addNotGeneratedStargate(stargateAddress, stargatePos);
-        }
-        // ---------------
-
-        // Read nether gate
-        if (buf.readBoolean()) {
-            netherGateAddress = new StargateAddress(buf);
-        }
-        // ---------------
-
-        // Read internal gates
-        INTERNAL_GATES.fromBytes(buf);
-        // ---------------
-    }
 }
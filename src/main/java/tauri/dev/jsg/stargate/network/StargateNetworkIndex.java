@@ -0,0 +1,200 @@
+package tauri.dev.jsg.stargate.network;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes of the {@link StargateNetwork}.
+ * <p>
+ * Gates are grouped by dimension, by region (grid of {@link #REGION_SIZE} blocks) and by the type of the gate,
+ * so nearby-gate and per-dimension queries don't have to iterate the whole network.
+ * <p>
+ * Kept in sync by {@link StargateNetwork#addStargate(StargateAddress, StargatePos)} and
+ * {@link StargateNetwork#removeStargate(StargateAddress)}.
+ */
+public class StargateNetworkIndex {
+
+    public static final int REGION_SHIFT = 7;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    private final Map<Integer, Map<StargateAddress, StargatePos>> byDimension = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Long, Map<StargateAddress, StargatePos>>> byRegion = new ConcurrentHashMap<>();
+    private final Map<SymbolTypeEnum, Map<Integer, Map<StargateAddress, StargatePos>>> byGateType = new EnumMap<>(SymbolTypeEnum.class);
+
+    /**
+     * Gates which are rendered/dialed from other position than they are registered at
+     * (Universe gates with fake pos, {@link StargatePos#relocated}). These are always returned as candidates of range queries.
+     */
+    private final Map<StargateAddress, StargatePos> relocated = new ConcurrentHashMap<>();
+
+    public StargateNetworkIndex() {
+        for (SymbolTypeEnum symbolType : SymbolTypeEnum.values())
+            byGateType.put(symbolType, new ConcurrentHashMap<>());
+    }
+
+    public static long getRegionKey(int x, int z) {
+        return ChunkPos.asLong(x >> REGION_SHIFT, z >> REGION_SHIFT);
+    }
+
+    public static SymbolTypeEnum getIndexedGateType(StargatePos pos) {
+        // Do not call getGateSymbolType() here - it would load the gate's tile
+        return (pos.gateSymbolType != null ? pos.gateSymbolType : pos.symbolType);
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Updating
+
+    public void add(StargateAddress address, StargatePos pos) {
+        byDimension.computeIfAbsent(pos.dimensionID, k -> new ConcurrentHashMap<>()).put(address, pos);
+        byRegion.computeIfAbsent(pos.dimensionID, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getRegionKey(pos.gatePos.getX(), pos.gatePos.getZ()), k -> new ConcurrentHashMap<>())
+                .put(address, pos);
+        byGateType.get(getIndexedGateType(pos)).computeIfAbsent(pos.dimensionID, k -> new ConcurrentHashMap<>()).put(address, pos);
+
+        if (pos.relocated) relocated.put(address, pos);
+        else relocated.remove(address);
+    }
+
+    public void remove(StargateAddress address, StargatePos pos) {
+        removeFrom(byDimension, pos.dimensionID, address);
+
+        Map<Long, Map<StargateAddress, StargatePos>> regions = byRegion.get(pos.dimensionID);
+        if (regions != null) {
+            removeFrom(regions, getRegionKey(pos.gatePos.getX(), pos.gatePos.getZ()), address);
+            if (regions.isEmpty()) byRegion.remove(pos.dimensionID);
+        }
+
+        // Gate type could have been changed on the StargatePos instance, check all of them
+        for (Map<Integer, Map<StargateAddress, StargatePos>> dimMap : byGateType.values())
+            removeFrom(dimMap, pos.dimensionID, address);
+
+        relocated.remove(address);
+    }
+
+    private static <K> void removeFrom(Map<K, Map<StargateAddress, StargatePos>> map, K key, StargateAddress address) {
+        Map<StargateAddress, StargatePos> inner = map.get(key);
+        if (inner == null) return;
+        inner.remove(address);
+        if (inner.isEmpty()) map.remove(key);
+    }
+
+    public void setRelocated(StargateAddress address, @Nullable StargatePos pos) {
+        if (pos == null) relocated.remove(address);
+        else relocated.put(address, pos);
+    }
+
+    public void clear() {
+        byDimension.clear();
+        byRegion.clear();
+        for (Map<Integer, Map<StargateAddress, StargatePos>> dimMap : byGateType.values())
+            dimMap.clear();
+        relocated.clear();
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Queries
+
+    @Nonnull
+    public Map<StargateAddress, StargatePos> getInDimension(int dimensionID) {
+        Map<StargateAddress, StargatePos> map = byDimension.get(dimensionID);
+        if (map == null) return Collections.emptyMap();
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Nonnull
+    public Set<Integer> getDimensions() {
+        return Collections.unmodifiableSet(byDimension.keySet());
+    }
+
+    /**
+     * Returns all addresses of given type whose gates are registered in given dimension
+     * and are not further than radius from the center. Relocated gates are always included.
+     *
+     * @param addressType Type of the returned addresses (null = all types).
+     */
+    @Nonnull
+    public List<Map.Entry<StargateAddress, StargatePos>> getInRange(@Nullable SymbolTypeEnum addressType, int dimensionID, BlockPos center, double radius) {
+        List<Map.Entry<StargateAddress, StargatePos>> list = new ArrayList<>();
+        Map<Long, Map<StargateAddress, StargatePos>> regions = byRegion.get(dimensionID);
+
+        if (regions != null) {
+            double radiusSq = radius * radius;
+            int r = (int) Math.ceil(radius);
+            int minX = (center.getX() - r) >> REGION_SHIFT;
+            int maxX = (center.getX() + r) >> REGION_SHIFT;
+            int minZ = (center.getZ() - r) >> REGION_SHIFT;
+            int maxZ = (center.getZ() + r) >> REGION_SHIFT;
+
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    Map<StargateAddress, StargatePos> region = regions.get(ChunkPos.asLong(x, z));
+                    if (region == null) continue;
+
+                    for (Map.Entry<StargateAddress, StargatePos> entry : region.entrySet()) {
+                        if (addressType != null && entry.getKey().getSymbolType() != addressType) continue;
+                        if (entry.getValue().gatePos.distanceSq(center) > radiusSq) continue;
+                        if (relocated.containsKey(entry.getKey())) continue;
+
+                        list.add(entry);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<StargateAddress, StargatePos> entry : relocated.entrySet()) {
+            if (addressType != null && entry.getKey().getSymbolType() != addressType) continue;
+            list.add(entry);
+        }
+
+        return list;
+    }
+
+    /**
+     * @param gateType    Type of the gate (null = any gate).
+     * @param addressType Type of the returned address (null = any type).
+     * @return First found address of a gate of given type in given dimension or null.
+     */
+    @Nullable
+    public Map.Entry<StargateAddress, StargatePos> getFirstInDimension(int dimensionID, @Nullable SymbolTypeEnum gateType, @Nullable SymbolTypeEnum addressType) {
+        if (gateType == null) {
+            for (SymbolTypeEnum symbolType : SymbolTypeEnum.values()) {
+                Map.Entry<StargateAddress, StargatePos> entry = getFirstInDimension(dimensionID, symbolType, addressType);
+                if (entry != null) return entry;
+            }
+            return null;
+        }
+
+        Map<StargateAddress, StargatePos> map = byGateType.get(gateType).get(dimensionID);
+        if (map == null) return null;
+
+        for (Map.Entry<StargateAddress, StargatePos> entry : map.entrySet()) {
+            if (addressType == null || entry.getKey().getSymbolType() == addressType)
+                return entry;
+        }
+        return null;
+    }
+
+    /**
+     * @return All addresses registered to the gate at given position.
+     */
+    @Nonnull
+    public Map<SymbolTypeEnum, StargateAddress> getAddressesAt(int dimensionID, BlockPos gatePos) {
+        Map<SymbolTypeEnum, StargateAddress> map = new EnumMap<>(SymbolTypeEnum.class);
+        Map<Long, Map<StargateAddress, StargatePos>> regions = byRegion.get(dimensionID);
+        if (regions == null) return map;
+
+        Map<StargateAddress, StargatePos> region = regions.get(getRegionKey(gatePos.getX(), gatePos.getZ()));
+        if (region == null) return map;
+
+        for (Map.Entry<StargateAddress, StargatePos> entry : region.entrySet()) {
+            if (entry.getValue().gatePos.equals(gatePos))
+                map.put(entry.getKey().getSymbolType(), entry.getKey());
+        }
+        return map;
+    }
+}
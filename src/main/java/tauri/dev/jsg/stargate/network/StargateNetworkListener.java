@@ -0,0 +1,22 @@
+package tauri.dev.jsg.stargate.network;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Notified by {@link StargateNetwork} (server side) when a gate is added, changed or removed.
+ * <p>
+ * Register with {@link StargateNetwork#registerListener(StargateNetworkListener)}.
+ */
+public interface StargateNetworkListener {
+
+    /**
+     * @param oldPos Previous position of the address (gate renamed/updated) or null if the address is new.
+     */
+    void onStargateAdded(StargateAddress address, StargatePos pos, @Nullable StargatePos oldPos);
+
+    void onStargateRemoved(StargateAddress address, StargatePos pos);
+
+    default void onNotGeneratedStargateRemoved(StargatePos pos, Map<SymbolTypeEnum, StargateAddress> addresses) {
+    }
+}
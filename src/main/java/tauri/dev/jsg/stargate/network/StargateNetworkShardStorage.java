@@ -0,0 +1,170 @@
+package tauri.dev.jsg.stargate.network;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.Constants.NBT;
+import tauri.dev.jsg.JSG;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores registered stargates of the {@link StargateNetwork} in one file per dimension
+ * (data/jsg_StargateNetworkData/dim_ID.dat) and rewrites only the dimensions that changed since the last save.
+ */
+public class StargateNetworkShardStorage {
+
+    private static final String SHARD_PREFIX = "dim_";
+    private static final String SHARD_SUFFIX = ".dat";
+
+    private final File directory;
+    private final Set<Integer> dirtyShards = new HashSet<>();
+    private boolean allShardsDirty = false;
+
+    public StargateNetworkShardStorage(File directory) {
+        this.directory = directory;
+    }
+
+    @Nullable
+    public static StargateNetworkShardStorage create(World world, String dataName) {
+        File dataFile = world.getSaveHandler().getMapFileFromName(dataName);
+        if (dataFile == null) return null;
+
+        return new StargateNetworkShardStorage(new File(dataFile.getParentFile(), dataName));
+    }
+
+    public void markDirty(int dimensionID) {
+        dirtyShards.add(dimensionID);
+    }
+
+    public void markAllDirty() {
+        allShardsDirty = true;
+    }
+
+    public boolean isDirty() {
+        return allShardsDirty || !dirtyShards.isEmpty();
+    }
+
+    private File getShardFile(int dimensionID) {
+        return new File(directory, SHARD_PREFIX + dimensionID + SHARD_SUFFIX);
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Reading
+
+    public void load(int dimensionID, BiConsumer<StargateAddress, StargatePos> consumer) {
+        File file = getShardFile(dimensionID);
+        if (!file.exists()) {
+            JSG.warn("Stargate network shard " + file.getName() + " is missing!");
+            return;
+        }
+
+        NBTTagCompound compound;
+        try (InputStream stream = new FileInputStream(file)) {
+            compound = CompressedStreamTools.readCompressed(stream);
+        } catch (IOException e) {
+            JSG.error("Failed to read stargate network shard " + file.getName(), e);
+            return;
+        }
+
+        for (NBTBase baseTag : compound.getTagList("stargates", NBT.TAG_COMPOUND)) {
+            NBTTagCompound stargateCompound = (NBTTagCompound) baseTag;
+
+            StargateAddress stargateAddress = new StargateAddress(stargateCompound.getCompoundTag("address"));
+            StargatePos stargatePos = new StargatePos(stargateAddress.getSymbolType(), stargateCompound.getCompoundTag("pos"));
+
+            consumer.accept(stargateAddress, stargatePos);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Writing
+
+    /**
+     * Writes all dirty shards.
+     *
+     * @param index   Index of the network to take the gates from.
+     * @param written Dimensions which already have a shard file. Updated by this method.
+     * @return Count of written (or deleted) shards.
+     */
+    public int save(StargateNetworkIndex index, Set<Integer> written) {
+        Set<Integer> toSave = new HashSet<>(dirtyShards);
+        if (allShardsDirty) {
+            toSave.addAll(index.getDimensions());
+            toSave.addAll(written);
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            JSG.error("Failed to create stargate network directory " + directory);
+            return 0;
+        }
+
+        int count = 0;
+        for (int dimensionID : toSave) {
+            Map<StargateAddress, StargatePos> gates = index.getInDimension(dimensionID);
+            File file = getShardFile(dimensionID);
+
+            if (gates.isEmpty()) {
+                if (file.exists() && !file.delete())
+                    JSG.warn("Failed to delete empty stargate network shard " + file.getName());
+                written.remove(dimensionID);
+                dirtyShards.remove(dimensionID);
+                count++;
+                continue;
+            }
+
+            NBTTagList stargateTagList = new NBTTagList();
+            for (Map.Entry<StargateAddress, StargatePos> stargateEntry : gates.entrySet()) {
+                NBTTagCompound stargateCompound = new NBTTagCompound();
+                stargateCompound.setTag("address", stargateEntry.getKey().serializeNBT());
+                stargateCompound.setTag("pos", stargateEntry.getValue().serializeNBT());
+                stargateTagList.appendTag(stargateCompound);
+            }
+
+            NBTTagCompound compound = new NBTTagCompound();
+            compound.setTag("stargates", stargateTagList);
+
+            if (writeShard(file, compound)) {
+                written.add(dimensionID);
+                dirtyShards.remove(dimensionID);
+                count++;
+            } else {
+                // try it again next save
+                dirtyShards.add(dimensionID);
+            }
+        }
+
+        allShardsDirty = false;
+        return count;
+    }
+
+    private static boolean writeShard(File file, NBTTagCompound compound) {
+        File tmpFile = new File(file.getParentFile(), file.getName() + "_tmp");
+
+        try (OutputStream stream = new FileOutputStream(tmpFile)) {
+            CompressedStreamTools.writeCompressed(compound, stream);
+        } catch (IOException e) {
+            JSG.error("Failed to write stargate network shard " + file.getName(), e);
+            return false;
+        }
+
+        if (file.exists() && !file.delete()) {
+            JSG.error("Failed to replace stargate network shard " + file.getName());
+            return false;
+        }
+
+        return tmpFile.renameTo(file);
+    }
+}
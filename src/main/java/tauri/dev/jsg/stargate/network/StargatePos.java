@@ -23,6 +23,12 @@ public class StargatePos implements INBTSerializable<NBTTagCompound> {
     public SymbolTypeEnum gateSymbolType;
     public List<SymbolInterface> additionalSymbols;
 
+    /**
+     * Gate is dialed/found from other position than {@link #gatePos} (Universe gate with fake pos).
+     * Saved, so the gate is found by nearby queries even when its tile is not loaded.
+     */
+    public boolean relocated = false;
+
     private String name;
 
     public void setName(String name) {
@@ -93,6 +99,7 @@ public class StargatePos implements INBTSerializable<NBTTagCompound> {
             compound.setByte("gateSymbolType", (byte) gateSymbolType.id);
 
         compound.setBoolean("blacklisted", blacklisted);
+        compound.setBoolean("relocated", relocated);
         return compound;
     }
 
@@ -107,6 +114,11 @@ public class StargatePos implements INBTSerializable<NBTTagCompound> {
             gateSymbolType = SymbolTypeEnum.valueOf(compound.getByte("gateSymbolType"));
         else gateSymbolType = symbolType;
         blacklisted = compound.getBoolean("blacklisted");
+
+        // Saved before the flag existed - Universe gates could have a fake pos, the tile updates it when loaded
+        if (compound.hasKey("relocated"))
+            relocated = compound.getBoolean("relocated");
+        else relocated = (gateSymbolType == SymbolTypeEnum.UNIVERSE);
     }
 
     public void toBytes(ByteBuf buf) {
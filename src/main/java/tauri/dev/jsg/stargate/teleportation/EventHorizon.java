@@ -23,6 +23,7 @@ import tauri.dev.jsg.sound.SoundEventEnum;
 import tauri.dev.jsg.stargate.network.StargatePos;
 import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
+import tauri.dev.jsg.util.EntityBroadphase;
 import tauri.dev.jsg.util.JSGAdvancementsUtil;
 import tauri.dev.jsg.util.JSGAxisAlignedBB;
 import tauri.dev.jsg.util.main.JSGDamageSources;
@@ -70,6 +71,8 @@ public class EventHorizon {
      */
     private final Map<Integer, Integer> timeoutMap = new HashMap<>();
 
+    private final List<Entity> entitiesInHorizon = new ArrayList<>();
+
     public void scheduleTeleportation(StargatePos targetGate, boolean teleport) {
         if (targetGate == null) return;
         boolean closedIris = false;
@@ -77,7 +80,7 @@ public class EventHorizon {
             teleport = false;
             closedIris = true;
         }
-        List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, globalBox);
+        List<Entity> entities = EntityBroadphase.get(world).getEntitiesWithin(Entity.class, globalBox, entitiesInHorizon);
 
         if (teleport) {
             timeoutMap.replaceAll((i, v) -> timeoutMap.get(i) - 1);
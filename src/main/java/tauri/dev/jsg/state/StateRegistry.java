@@ -0,0 +1,162 @@
+package tauri.dev.jsg.state;
+
+import tauri.dev.jsg.gui.container.beamer.BeamerContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.capacitor.CapacitorContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.countdown.CountDownContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.dhd.DHDContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.machine.assembler.AssemblerContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.machine.crystalchamber.CrystalChamberContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.machine.orewashing.OreWashingContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.machine.pcbfabricator.PCBFabricatorContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.stargate.StargateContainerGuiState;
+import tauri.dev.jsg.gui.container.stargate.StargateContainerGuiUpdate;
+import tauri.dev.jsg.gui.container.transportrings.TRGuiState;
+import tauri.dev.jsg.gui.container.transportrings.TRGuiUpdate;
+import tauri.dev.jsg.gui.container.zpmhub.ZPMHubContainerGuiUpdate;
+import tauri.dev.jsg.renderer.dialhomedevice.DHDMilkyWayRendererState;
+import tauri.dev.jsg.renderer.dialhomedevice.DHDPegasusRendererState;
+import tauri.dev.jsg.renderer.machine.AssemblerRendererState;
+import tauri.dev.jsg.renderer.machine.CrystalChamberRendererState;
+import tauri.dev.jsg.renderer.machine.LabRendererState;
+import tauri.dev.jsg.renderer.machine.OreWashingRendererState;
+import tauri.dev.jsg.renderer.machine.PCBFabricatorRendererState;
+import tauri.dev.jsg.renderer.props.AncientSignRendererState;
+import tauri.dev.jsg.renderer.props.DestinyCountDownRendererState;
+import tauri.dev.jsg.renderer.stargate.StargateMilkyWayRendererState;
+import tauri.dev.jsg.renderer.stargate.StargateOrlinRendererState;
+import tauri.dev.jsg.renderer.stargate.StargatePegasusRendererState;
+import tauri.dev.jsg.renderer.stargate.StargateUniverseRendererState;
+import tauri.dev.jsg.renderer.transportrings.controller.TRControllerGoauldRendererState;
+import tauri.dev.jsg.renderer.transportrings.controller.TRControllerOriRendererState;
+import tauri.dev.jsg.state.beamer.BeamerFluidUpdate;
+import tauri.dev.jsg.state.beamer.BeamerRendererActionState;
+import tauri.dev.jsg.state.beamer.BeamerRendererState;
+import tauri.dev.jsg.state.beamer.BeamerRendererUpdate;
+import tauri.dev.jsg.state.dialhomedevice.DHDActivateButtonState;
+import tauri.dev.jsg.state.energy.CapacitorPowerLevelUpdate;
+import tauri.dev.jsg.state.energy.ZPMHubRendererUpdate;
+import tauri.dev.jsg.state.props.PropVariantState;
+import tauri.dev.jsg.state.stargate.StargateBiomeOverrideState;
+import tauri.dev.jsg.state.stargate.StargateCamoState;
+import tauri.dev.jsg.state.stargate.StargateFlashState;
+import tauri.dev.jsg.state.stargate.StargateLightState;
+import tauri.dev.jsg.state.stargate.StargateOrlinSparkState;
+import tauri.dev.jsg.state.stargate.StargateRendererActionState;
+import tauri.dev.jsg.state.stargate.StargateSpinState;
+import tauri.dev.jsg.state.stargate.StargateUniverseSymbolState;
+import tauri.dev.jsg.state.stargate.StargateVaporizeBlockParticlesRequest;
+import tauri.dev.jsg.state.transportrings.TransportRingsRendererState;
+import tauri.dev.jsg.state.transportrings.TransportRingsStartAnimationRequest;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Numeric ids of the {@link State}s sent to the clients.
+ * <p>
+ * Client deserializes registered states right on the network thread (without the tile entity and without
+ * copying the packet), only {@link StateProviderInterface#setState(StateTypeEnum, State)} runs on the main thread.
+ * States which are not registered are deserialized on the main thread using {@link StateProviderInterface#createState(StateTypeEnum)}.
+ * <p>
+ * Ids are given by the registration order. Add new states to the end.
+ */
+public class StateRegistry {
+
+	/**
+	 * Id of the states which are not registered.
+	 */
+	public static final int UNREGISTERED = 0;
+
+	private static final List<Supplier<? extends State>> FACTORIES = new ArrayList<>();
+	private static final Map<Class<? extends State>, Integer> IDS = new HashMap<>();
+
+	private static <T extends State> void register(Class<T> stateClass, Supplier<T> factory) {
+		FACTORIES.add(factory);
+		IDS.put(stateClass, FACTORIES.size());
+	}
+
+	static {
+		// Stargates
+		register(StargateMilkyWayRendererState.class, StargateMilkyWayRendererState::new);
+		register(StargatePegasusRendererState.class, StargatePegasusRendererState::new);
+		register(StargateUniverseRendererState.class, StargateUniverseRendererState::new);
+		register(StargateOrlinRendererState.class, StargateOrlinRendererState::new);
+		register(StargateRendererActionState.class, StargateRendererActionState::new);
+		register(StargateSpinState.class, StargateSpinState::new);
+		register(StargateFlashState.class, StargateFlashState::new);
+		register(StargateCamoState.class, StargateCamoState::new);
+		register(StargateLightState.class, StargateLightState::new);
+		register(StargateBiomeOverrideState.class, StargateBiomeOverrideState::new);
+		register(StargateOrlinSparkState.class, StargateOrlinSparkState::new);
+		register(StargateUniverseSymbolState.class, StargateUniverseSymbolState::new);
+		register(StargateVaporizeBlockParticlesRequest.class, StargateVaporizeBlockParticlesRequest::new);
+		register(StateSoundPositionedUpdate.class, StateSoundPositionedUpdate::new);
+		register(StargateContainerGuiState.class, StargateContainerGuiState::new);
+		register(StargateContainerGuiUpdate.class, StargateContainerGuiUpdate::new);
+
+		// DHDs
+		register(DHDMilkyWayRendererState.class, DHDMilkyWayRendererState::new);
+		register(DHDPegasusRendererState.class, DHDPegasusRendererState::new);
+		register(DHDActivateButtonState.class, DHDActivateButtonState::new);
+		register(DHDContainerGuiUpdate.class, DHDContainerGuiUpdate::new);
+
+		// Transport rings
+		register(TransportRingsRendererState.class, TransportRingsRendererState::new);
+		register(TransportRingsStartAnimationRequest.class, TransportRingsStartAnimationRequest::new);
+		register(TRGuiState.class, TRGuiState::new);
+		register(TRGuiUpdate.class, TRGuiUpdate::new);
+		register(TRControllerGoauldRendererState.class, TRControllerGoauldRendererState::new);
+		register(TRControllerOriRendererState.class, TRControllerOriRendererState::new);
+
+		// Beamers
+		register(BeamerRendererState.class, BeamerRendererState::new);
+		register(BeamerRendererUpdate.class, BeamerRendererUpdate::new);
+		register(BeamerRendererActionState.class, BeamerRendererActionState::new);
+		register(BeamerFluidUpdate.class, BeamerFluidUpdate::new);
+		register(BeamerContainerGuiUpdate.class, BeamerContainerGuiUpdate::new);
+
+		// Energy
+		register(CapacitorPowerLevelUpdate.class, CapacitorPowerLevelUpdate::new);
+		register(CapacitorContainerGuiUpdate.class, CapacitorContainerGuiUpdate::new);
+		register(ZPMHubRendererUpdate.class, ZPMHubRendererUpdate::new);
+		register(ZPMHubContainerGuiUpdate.class, ZPMHubContainerGuiUpdate::new);
+
+		// Machines
+		register(AssemblerRendererState.class, AssemblerRendererState::new);
+		register(AssemblerContainerGuiUpdate.class, AssemblerContainerGuiUpdate::new);
+		register(CrystalChamberRendererState.class, CrystalChamberRendererState::new);
+		register(CrystalChamberContainerGuiUpdate.class, CrystalChamberContainerGuiUpdate::new);
+		register(OreWashingRendererState.class, OreWashingRendererState::new);
+		register(OreWashingContainerGuiUpdate.class, OreWashingContainerGuiUpdate::new);
+		register(PCBFabricatorRendererState.class, PCBFabricatorRendererState::new);
+		register(PCBFabricatorContainerGuiUpdate.class, PCBFabricatorContainerGuiUpdate::new);
+		register(LabRendererState.class, LabRendererState::new);
+
+		// Props
+		register(AncientSignRendererState.class, AncientSignRendererState::new);
+		register(DestinyCountDownRendererState.class, DestinyCountDownRendererState::new);
+		register(CountDownContainerGuiUpdate.class, CountDownContainerGuiUpdate::new);
+		register(PropVariantState.class, PropVariantState::new);
+	}
+
+	/**
+	 * @return Id of the state's class or {@link #UNREGISTERED}.
+	 */
+	public static int getId(State state) {
+		return IDS.getOrDefault(state.getClass(), UNREGISTERED);
+	}
+
+	/**
+	 * @return New empty state (to be deserialized) or null if the id is not registered.
+	 */
+	@Nullable
+	public static State create(int id) {
+		if (id <= UNREGISTERED || id > FACTORIES.size()) return null;
+
+		return FACTORIES.get(id - 1).get();
+	}
+}
@@ -13,14 +13,14 @@ import java.util.Map;
  *
  */
 public enum StateTypeEnum {
-	RENDERER_STATE(0),
-	GUI_STATE(1),
-	GUI_UPDATE(2),
-	CAMO_STATE(3),
-	LIGHT_STATE(4),
-	ENERGY_STATE(5),
+	RENDERER_STATE(0, true),
+	GUI_STATE(1, true),
+	GUI_UPDATE(2, true),
+	CAMO_STATE(3, true),
+	LIGHT_STATE(4, true),
+	ENERGY_STATE(5, true),
 	SPIN_STATE(6),
-	FLASH_STATE(7),
+	FLASH_STATE(7, true),
 	DHD_ACTIVATE_BUTTON(8),
 	RENDERER_UPDATE(9),
 	SPARK_STATE(10),
@@ -28,18 +28,29 @@ public enum StateTypeEnum {
 	STARGATE_VAPORIZE_BLOCK_PARTICLES(12),
 	STARGATE_UNIVERSE_ACTIVATE_SYMBOL(13),
 	RENDERER_ACTION(14),
-	BIOME_OVERRIDE_STATE(15),
-	BEAMER_FLUID_UPDATE(16),
+	BIOME_OVERRIDE_STATE(15, true),
+	BEAMER_FLUID_UPDATE(16, true),
 	IRIS_UPDATE(17),
 	RINGS_DISTANCE_UPDATE(18),
-	PROP_VARIANT(20),
+	PROP_VARIANT(20, true),
 	SOUND_UPDATE(21);
 
     public int id;
+
+	/**
+	 * State fully replaces the previous one of this type (not an action), so when more states of this type
+	 * are sent from one position in a tick, only the last one is sent. See {@link tauri.dev.jsg.packet.StateUpdateBatcher}.
+	 */
+	public final boolean coalesce;
 	
 	private StateTypeEnum(int id) {
+		this(id, false);
+	}
+
+	private StateTypeEnum(int id, boolean coalesce) {
 		this.id = id;
-	} 
+		this.coalesce = coalesce;
+	}
 	
 	private static Map<Integer, StateTypeEnum> ID_MAP = new HashMap<Integer, StateTypeEnum>();
 	static {
@@ -1,25 +1,39 @@
 package tauri.dev.jsg.state.stargate;
 
 import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import tauri.dev.jsg.state.State;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Positions of all entities and blocks vaporized by the kawoosh in one tick.
+ */
 public class StargateVaporizeBlockParticlesRequest extends State {
 	public StargateVaporizeBlockParticlesRequest() {}
 	
-	public BlockPos block;
+	public List<BlockPos> blocks;
 	
-	public StargateVaporizeBlockParticlesRequest(BlockPos block) {
-		this.block = block;
+	public StargateVaporizeBlockParticlesRequest(List<BlockPos> blocks) {
+		this.blocks = blocks;
 	}
 	
 	@Override
 	public void toBytes(ByteBuf buf) {
-		buf.writeLong(block.toLong());
+		ByteBufUtils.writeVarInt(buf, blocks.size(), 5);
+
+		for (BlockPos block : blocks)
+			buf.writeLong(block.toLong());
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
-		block = BlockPos.fromLong(buf.readLong());
+		int count = ByteBufUtils.readVarInt(buf, 5);
+		blocks = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++)
+			blocks.add(BlockPos.fromLong(buf.readLong()));
 	}
 }
@@ -19,6 +19,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.Constants.NBT;
@@ -38,11 +39,13 @@ import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.beamer.*;
+import tauri.dev.jsg.chunkloader.ChunkManager;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.gui.container.beamer.BeamerContainerGui;
 import tauri.dev.jsg.gui.container.beamer.BeamerContainerGuiUpdate;
 import tauri.dev.jsg.item.JSGItems;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
@@ -99,9 +102,11 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
     @Override
     public void onLoad() {
         updateFacing(world.getBlockState(pos).getValue(JSGProps.FACING_HORIZONTAL));
+        DeviceRegistry.get(world).add(this);
 
         if (!world.isRemote) {
             targetPoint = new TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
+            ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
         } else {
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_STATE));
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_UPDATE));
@@ -254,8 +259,6 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
     @Override
     public void update() {
         if (!world.isRemote) {
-            ScheduledTask.iterate(scheduledTasks, world.getTotalWorldTime());
-
             // This cannot be done in onLoad because it makes
             // TE invisible to the network sometimes.
             if (!addedToNetwork) {
@@ -506,6 +509,9 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
                 energyStoredLastTick = energyStorage.getEnergyStored();
             }
 
+            if (lastBeamerStatus != beamerStatus || world.getTotalWorldTime() % 100 == 0)
+                updateChunkLoading();
+
             if (lastBeamerStatus != beamerStatus) {
                 syncToClient();
 
@@ -744,6 +750,17 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
         markDirty();
     }
 
+    /**
+     * Keeps the chunk of the beamer loaded while it's beaming.
+     */
+    private void updateChunkLoading() {
+        boolean beaming = isActive();
+        if (beaming == ChunkManager.isForcing(this)) return;
+
+        if (beaming) ChunkManager.forceChunk(this, new ChunkPos(pos));
+        else ChunkManager.releaseChunks(this);
+    }
+
     public void updateObstructed() {
         if (basePos == null)
             return;
@@ -1019,6 +1036,14 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
         scheduledTask.setTaskCreated(world.getTotalWorldTime());
 
         scheduledTasks.add(scheduledTask);
+        if (!world.isRemote)
+            ScheduledTaskWheel.get(world).schedule(scheduledTask);
+        markDirty();
+    }
+
+    @Override
+    public void removeTask(ScheduledTask scheduledTask) {
+        ScheduledTask.remove(scheduledTasks, scheduledTask);
         markDirty();
     }
 
@@ -1051,7 +1076,7 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
             return;
 
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -1308,6 +1333,8 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
             node.load(compound.getCompoundTag("node"));
 
         ScheduledTask.deserializeList(compound.getCompoundTag("scheduledTasks"), scheduledTasks, this);
+        if (world != null && !world.isRemote)
+            ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
 
         if (compound.hasKey("targetGatePos")) {
             SymbolTypeEnum symbolType = SymbolTypeEnum.valueOf(compound.getInteger("targetGatePosSymbolType"));
@@ -1336,6 +1363,8 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
     public void onChunkUnload() {
         if (node != null)
             node.remove();
+
+        DeviceRegistry.get(world).remove(this);
     }
 
     @Override
@@ -1343,6 +1372,9 @@ public class BeamerTile extends SidedTileEntity implements ITickable, IUpgradabl
         if (node != null)
             node.remove();
 
+        if (world != null) DeviceRegistry.get(world).remove(this);
+        if (world != null && !world.isRemote) ChunkManager.releaseChunks(this);
+
         super.invalidate();
     }
 
@@ -35,6 +35,7 @@ import tauri.dev.jsg.fluid.JSGFluids;
 import tauri.dev.jsg.gui.container.dhd.DHDContainerGuiUpdate;
 import tauri.dev.jsg.item.JSGItems;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.renderer.biomes.BiomeOverlayEnum;
@@ -50,6 +51,7 @@ import tauri.dev.jsg.state.stargate.StargateBiomeOverrideState;
 import tauri.dev.jsg.tileentity.SidedTileEntity;
 import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 import tauri.dev.jsg.tileentity.util.IUpgradable;
 import tauri.dev.jsg.tileentity.util.ReactorStateEnum;
 import tauri.dev.jsg.util.EnumKeyInterface;
@@ -273,6 +275,8 @@ public abstract class DHDAbstractTile extends SidedTileEntity implements ILinkab
 
     @Override
     public void onLoad() {
+        DeviceRegistry.get(world).add(this);
+
         if (!world.isRemote) {
             targetPoint = new TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
             hadControlCrystal = hasControlCrystal();
@@ -422,7 +426,7 @@ public abstract class DHDAbstractTile extends SidedTileEntity implements ILinkab
         if (world.isRemote) return;
 
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -539,6 +543,7 @@ public abstract class DHDAbstractTile extends SidedTileEntity implements ILinkab
         if (node != null) node.remove();
 
         JSG.ocWrapper.leaveWirelessNetwork(this);
+        DeviceRegistry.get(world).remove(this);
     }
 
     @Override
@@ -546,6 +551,7 @@ public abstract class DHDAbstractTile extends SidedTileEntity implements ILinkab
         if (node != null) node.remove();
 
         JSG.ocWrapper.leaveWirelessNetwork(this);
+        if (world != null) DeviceRegistry.get(world).remove(this);
 
         super.invalidate();
     }
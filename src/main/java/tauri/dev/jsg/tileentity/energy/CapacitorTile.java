@@ -15,8 +15,11 @@ import net.minecraftforge.items.ItemStackHandler;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.gui.container.capacitor.CapacitorContainerGuiUpdate;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
+import tauri.dev.jsg.power.general.EnergyNetworks;
+import tauri.dev.jsg.power.general.IEnergyNetworkNode;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
 import tauri.dev.jsg.state.State;
 import tauri.dev.jsg.state.StateProviderInterface;
@@ -25,9 +28,8 @@ import tauri.dev.jsg.state.energy.CapacitorPowerLevelUpdate;
 import tauri.dev.jsg.util.JSGItemStackHandler;
 
 import javax.annotation.Nonnull;
-import java.util.Objects;
 
-public class CapacitorTile extends TileEntity implements ITickable, ICapabilityProvider, StateProviderInterface {
+public class CapacitorTile extends TileEntity implements ITickable, ICapabilityProvider, StateProviderInterface, IEnergyNetworkNode {
 
     // ------------------------------------------------------------------------
     // Loading & ticking
@@ -86,29 +88,53 @@ public class CapacitorTile extends TileEntity implements ITickable, ICapabilityP
     public void onLoad() {
         if (!world.isRemote) {
             targetPoint = new TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
+            EnergyNetworks.get(world).add(this);
         } else {
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_UPDATE));
         }
     }
 
 
+    @Override
+    public void onChunkUnload() {
+        if (!world.isRemote) EnergyNetworks.get(world).remove(this);
+    }
+
+    @Override
+    public void invalidate() {
+        if (world != null && !world.isRemote) EnergyNetworks.get(world).remove(this);
+
+        super.invalidate();
+    }
+
+
     // -----------------------------------------------------------------------------
     // Power system
 
     @Override
-    public void update() {
-        if (!world.isRemote) {
-            for (EnumFacing facing : EnumFacing.VALUES) {
-                TileEntity tile = world.getTileEntity(pos.offset(facing));
+    public int extractNetworkEnergy(int maxExtract, boolean simulate) {
+        return getEnergyStorage().extractEnergy(maxExtract, simulate);
+    }
 
-                if (tile != null && tile.hasCapability(CapabilityEnergy.ENERGY, facing.getOpposite())) {
-                    int extracted = getEnergyStorage().extractEnergy(JSGConfig.Stargate.power.stargateMaxEnergyTransfer, true);
-                    extracted = Objects.requireNonNull(tile.getCapability(CapabilityEnergy.ENERGY, facing.getOpposite())).receiveEnergy(extracted, false);
+    @Override
+    public int receiveNetworkEnergy(int maxReceive, boolean simulate) {
+        return getEnergyStorage().receiveEnergy(maxReceive, simulate);
+    }
 
-                    getEnergyStorage().extractEnergy(extracted, false);
-                }
-            }
+    @Override
+    public boolean canReceiveNetworkEnergy() {
+        return getEnergyStorage().canReceive();
+    }
 
+    @Override
+    public int getMaxTransferPerFace() {
+        return JSGConfig.Stargate.power.stargateMaxEnergyTransfer;
+    }
+
+    @Override
+    public void update() {
+        if (!world.isRemote) {
+            // Neighbors are powered by EnergyNetworks
             ItemStack stack = itemStackHandler.getStackInSlot(0);
             if (!stack.isEmpty() && stack.hasCapability(CapabilityEnergy.ENERGY, null)) {
                 IEnergyStorage targetEnergyStorage = stack.getCapability(CapabilityEnergy.ENERGY, null);
@@ -121,7 +147,7 @@ public class CapacitorTile extends TileEntity implements ITickable, ICapabilityP
 
             powerLevel = Math.round(getEnergyStorage().getEnergyStored() / (float) getEnergyStorage().getMaxEnergyStored() * 10);
             if (powerLevel != lastPowerLevel) {
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE)), targetPoint);
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE)), targetPoint);
 
                 lastPowerLevel = powerLevel;
             }
@@ -26,9 +26,12 @@ import tauri.dev.jsg.capability.CapabilityEnergyZPM;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.gui.container.zpmhub.ZPMHubContainerGuiUpdate;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.power.zpm.IEnergyStorageZPM;
+import tauri.dev.jsg.power.general.EnergyNetworks;
+import tauri.dev.jsg.power.general.IEnergyNetworkNode;
 import tauri.dev.jsg.power.zpm.ZPMHubEnergyStorage;
 import tauri.dev.jsg.renderer.zpm.ZPMRenderer;
 import tauri.dev.jsg.state.State;
@@ -42,12 +45,11 @@ import tauri.dev.jsg.util.main.JSGProps;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static tauri.dev.jsg.util.JSGAdvancementsUtil.tryTriggerRangedAdvancement;
 
 @Optional.Interface(iface = "li.cil.oc.api.network.Environment", modid = "opencomputers")
-public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProvider, StateProviderInterface, Environment {
+public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProvider, StateProviderInterface, Environment, IEnergyNetworkNode {
 
     private static final int SLIDING_ANIMATION_LENGTH = 50;// int ticks
 
@@ -170,6 +172,7 @@ public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProv
         if (!world.isRemote) {
             updatePowerTier();
             targetPoint = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
+            EnergyNetworks.get(world).add(this);
         } else {
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_UPDATE));
         }
@@ -185,18 +188,7 @@ public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProv
                 JSG.ocWrapper.joinOrCreateNetwork(this);
             }
 
-            if (!isSlidingUp && !isAnimating) {
-                for (EnumFacing facing : EnumFacing.VALUES) {
-                    TileEntity tile = world.getTileEntity(pos.offset(facing));
-
-                    if (tile != null && tile.hasCapability(CapabilityEnergy.ENERGY, facing.getOpposite())) {
-                        int extracted = getEnergyStorage().extractEnergy(JSGConfig.ZPM.power.zpmHubMaxEnergyTransfer, true);
-                        extracted = Objects.requireNonNull(tile.getCapability(CapabilityEnergy.ENERGY, facing.getOpposite())).receiveEnergy(extracted, false);
-
-                        getEnergyStorage().extractEnergy(extracted, false);
-                    }
-                }
-            }
+            // Neighbors are powered by EnergyNetworks (only while slid down, see energyStorage#canExtract)
 
             if (energyStoredLastTick != (getEnergyStorage().getEnergyStored() - energyStoredLastTick)) {
                 sendState(StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE));
@@ -243,6 +235,29 @@ public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProv
         }
     }
 
+    // -----------------------------------------------------------------------------
+    // Energy network
+
+    @Override
+    public int extractNetworkEnergy(int maxExtract, boolean simulate) {
+        return getEnergyStorage().extractEnergy(maxExtract, simulate);
+    }
+
+    @Override
+    public int receiveNetworkEnergy(int maxReceive, boolean simulate) {
+        return 0;
+    }
+
+    @Override
+    public boolean canReceiveNetworkEnergy() {
+        return false;
+    }
+
+    @Override
+    public int getMaxTransferPerFace() {
+        return JSGConfig.ZPM.power.zpmHubMaxEnergyTransfer;
+    }
+
     @Nonnull
     @Override
     public NBTTagCompound writeToNBT(@Nonnull NBTTagCompound compound) {
@@ -333,7 +348,7 @@ public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProv
     protected void sendState(StateTypeEnum type, State state) {
         if (world.isRemote) return;
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -428,11 +443,13 @@ public class ZPMHubTile extends TileEntity implements ITickable, ICapabilityProv
     @Override
     public void onChunkUnload() {
         if (node != null) node.remove();
+        if (!world.isRemote) EnergyNetworks.get(world).remove(this);
     }
 
     @Override
     public void invalidate() {
         if (node != null) node.remove();
+        if (world != null && !world.isRemote) EnergyNetworks.get(world).remove(this);
 
         super.invalidate();
     }
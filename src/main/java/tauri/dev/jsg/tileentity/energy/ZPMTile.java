@@ -10,6 +10,7 @@ import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
 import tauri.dev.jsg.capability.CapabilityEnergyZPM;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.power.zpm.ZPMEnergyStorage;
@@ -74,7 +75,7 @@ public class ZPMTile extends TileEntity implements ITickable, ICapabilityProvide
         if (!world.isRemote) {
             powerLevel = ZPMHubTile.getZPMPowerLevel(getEnergyStorage().getEnergyStored(), getEnergyStorage().getMaxEnergyStored());
             if (powerLevel != lastPowerLevel) {
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE)), targetPoint);
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE)), targetPoint);
 
                 lastPowerLevel = powerLevel;
             }
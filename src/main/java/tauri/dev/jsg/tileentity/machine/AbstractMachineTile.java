@@ -9,8 +9,9 @@ import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.items.CapabilityItemHandler;
 import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.config.craftings.CraftingConfig;
 import tauri.dev.jsg.machine.AbstractMachineRecipe;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
 import tauri.dev.jsg.renderer.machine.AbstractMachineRendererState;
@@ -79,10 +80,37 @@ public abstract class AbstractMachineTile extends TileEntity implements IUpgrada
         return machineEnd;
     }
 
-    public abstract AbstractMachineRecipe getRecipeIfPossible();
+    /**
+     * Recipe matching the inventory (energy not checked). Searched again only when the inventory changes.
+     */
+    private AbstractMachineRecipe matchedRecipe = null;
+    private int matchedConfigVersion = -1;
+
+    /**
+     * @return Recipe matching the inventory, using {@link tauri.dev.jsg.machine.RecipeIndex}.
+     * Should check the output slot, but not energy.
+     */
+    protected abstract AbstractMachineRecipe findRecipe();
+
+    public AbstractMachineRecipe getRecipeIfPossible() {
+        if (hasChanged || matchedConfigVersion != CraftingConfig.getVersion()) {
+            matchedRecipe = findRecipe();
+            matchedConfigVersion = CraftingConfig.getVersion();
+            hasChanged = false;
+        }
+
+        if (matchedRecipe == null || matchedRecipe.isDisabled()) return null;
+
+        // Don't switch recipes in the middle of work
+        if (isWorking && currentRecipe != null && matchedRecipe != currentRecipe) return null;
+
+        if (!matchedRecipe.hasEnoughEnergy(getEnergyStorage().getEnergyStored())) return null;
+        return matchedRecipe;
+    }
 
     protected void workIsDone() {
         if (!isWorking) return;
+        hasChanged = true;
         currentRecipe = getRecipeIfPossible();
         if (currentRecipe != null) {
             machineStart = this.world.getTotalWorldTime();
@@ -112,11 +140,7 @@ public abstract class AbstractMachineTile extends TileEntity implements IUpgrada
             energyStoredLastTick = getEnergyStorage().getEnergyStored();
 
 
-            if(isWorking || hasChanged) {
-                currentRecipe = getRecipeIfPossible();
-                hasChanged = false;
-                markDirty();
-            }
+            currentRecipe = getRecipeIfPossible();
             if (isWorking) {
                 if (currentRecipe == null) {
                     isWorking = false;
@@ -160,7 +184,7 @@ public abstract class AbstractMachineTile extends TileEntity implements IUpgrada
     protected void sendState(StateTypeEnum type, State state) {
         if (world.isRemote) return;
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
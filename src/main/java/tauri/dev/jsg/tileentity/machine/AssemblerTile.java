@@ -89,7 +89,8 @@ public class AssemblerTile extends AbstractMachineTile {
             JSGSoundHelper.playSoundEvent(world, pos, SoundEventEnum.BEAMER_START);
     }
 
-    public AbstractMachineRecipe getRecipeIfPossible() {
+    @Override
+    protected AbstractMachineRecipe findRecipe() {
         ArrayList<ItemStack> stacks = new ArrayList<>();
         for (int i = 1; i < 10; i++)
             stacks.add(itemStackHandler.getStackInSlot(i));
@@ -97,16 +98,10 @@ public class AssemblerTile extends AbstractMachineTile {
         Item scheme = itemStackHandler.getStackInSlot(0).getItem();
         ItemStack subStack = itemStackHandler.getStackInSlot(10);
 
-        if(currentRecipe instanceof AssemblerRecipe){
-            AssemblerRecipe recipe = (AssemblerRecipe) currentRecipe;
-            if (!itemStackHandler.insertItem(11, recipe.getResult(), true).equals(ItemStack.EMPTY)) return null;
-            if (recipe.isOk(energyStorage.getEnergyStored(), scheme, stacks, subStack)) return recipe;
-            return null;
-        }
-
-        for (AssemblerRecipe recipe : AssemblerRecipes.RECIPES) {
+        for (AssemblerRecipe recipe : AssemblerRecipes.INDEX.getRecipes(AssemblerRecipe.getIndexKey(scheme, stacks, subStack))) {
+            if (recipe.isDisabled()) continue;
             if (!itemStackHandler.insertItem(11, recipe.getResult(), true).equals(ItemStack.EMPTY)) continue;
-            if (recipe.isOk(energyStorage.getEnergyStored(), scheme, stacks, subStack)) return recipe;
+            if (recipe.matches(scheme, stacks, subStack)) return recipe;
         }
 
         return null;
@@ -93,19 +93,14 @@ public class CrystalChamberTile extends AbstractMachineTile {
     }
 
     @Override
-    public AbstractMachineRecipe getRecipeIfPossible() {
-        if(currentRecipe instanceof CrystalChamberRecipe){
-            CrystalChamberRecipe recipe = (CrystalChamberRecipe) currentRecipe;
-            if (!itemStackHandler.insertItem(1, recipe.getResult(), true).equals(ItemStack.EMPTY)) return null;
-            if (fluidHandler.getFluid() == null) return null;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), itemStackHandler.getStackInSlot(0)))
-                return recipe;
-            return null;
-        }
-        for (CrystalChamberRecipe recipe : CrystalChamberRecipes.RECIPES) {
+    protected AbstractMachineRecipe findRecipe() {
+        FluidStack fluid = fluidHandler.getFluid();
+        if (fluid == null) return null;
+
+        for (CrystalChamberRecipe recipe : CrystalChamberRecipes.INDEX.getRecipes(CrystalChamberRecipe.getIndexKey(fluid))) {
+            if (recipe.isDisabled()) continue;
             if (!itemStackHandler.insertItem(1, recipe.getResult(), true).equals(ItemStack.EMPTY)) continue;
-            if (fluidHandler.getFluid() == null) continue;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), itemStackHandler.getStackInSlot(0)))
+            if (recipe.matches(fluid, itemStackHandler.getStackInSlot(0)))
                 return recipe;
         }
         return null;
@@ -39,6 +39,7 @@ public class OreWashingTile extends AbstractMachineTile {
         protected void onContentsChanged(int slot) {
             super.onContentsChanged(slot);
             markDirty();
+            onItemHandlerChange();
             sendState(StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE));
         }
     };
@@ -86,20 +87,15 @@ public class OreWashingTile extends AbstractMachineTile {
     }
 
     @Override
-    public AbstractMachineRecipe getRecipeIfPossible() {
-        if(currentRecipe instanceof OreWashingRecipe){
-            OreWashingRecipe recipe = (OreWashingRecipe) currentRecipe;
-            if (!itemStackHandler.insertItem(1, recipe.getResult(), true).equals(ItemStack.EMPTY)) return null;
-            if (fluidHandler.getFluid() == null) return null;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), itemStackHandler.getStackInSlot(0)))
-                return recipe;
-            return null;
-        }
+    protected AbstractMachineRecipe findRecipe() {
+        FluidStack fluid = fluidHandler.getFluid();
+        if (fluid == null) return null;
 
-        for (OreWashingRecipe recipe : OreWashingRecipes.RECIPES) {
+        ItemStack itemIn = itemStackHandler.getStackInSlot(0);
+        for (OreWashingRecipe recipe : OreWashingRecipes.INDEX.getRecipes(OreWashingRecipe.getIndexKey(fluid, itemIn))) {
+            if (recipe.isDisabled()) continue;
             if (!itemStackHandler.insertItem(1, recipe.getResult(), true).equals(ItemStack.EMPTY)) continue;
-            if (fluidHandler.getFluid() == null) continue;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), itemStackHandler.getStackInSlot(0)))
+            if (recipe.matches(fluid, itemIn))
                 return recipe;
         }
         return null;
@@ -109,6 +105,15 @@ public class OreWashingTile extends AbstractMachineTile {
     protected void workIsDone() {
         if (!isWorking) return;
         OreWashingRecipe recipe = (OreWashingRecipe) currentRecipe;
+
+        // Inventory could change since the recipe was matched
+        FluidStack fluid = fluidHandler.getFluid();
+        if (recipe == null || fluid == null || !recipe.matches(fluid, itemStackHandler.getStackInSlot(0))
+                || !itemStackHandler.insertItem(1, recipe.getResult(), true).isEmpty()) {
+            super.workIsDone();
+            return;
+        }
+
         itemStackHandler.insertItem(1, recipe.getResult(), false);
         itemStackHandler.extractItem(0, recipe.getItemNeeded().getCount(), false);
         fluidHandler.drainInternal(recipe.getSubFluidStack().amount, true);
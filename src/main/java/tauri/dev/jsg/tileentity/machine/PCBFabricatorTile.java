@@ -40,6 +40,7 @@ public class PCBFabricatorTile extends AbstractMachineTile {
         protected void onContentsChanged(int slot) {
             super.onContentsChanged(slot);
             markDirty();
+            onItemHandlerChange();
             sendState(StateTypeEnum.RENDERER_UPDATE, getState(StateTypeEnum.RENDERER_UPDATE));
         }
     };
@@ -82,24 +83,18 @@ public class PCBFabricatorTile extends AbstractMachineTile {
     }
 
     @Override
-    public AbstractMachineRecipe getRecipeIfPossible() {
+    protected AbstractMachineRecipe findRecipe() {
+        FluidStack fluid = fluidHandler.getFluid();
+        if (fluid == null) return null;
+
         ArrayList<ItemStack> stacks = new ArrayList<>();
         for (int i = 0; i < 9; i++)
             stacks.add(itemStackHandler.getStackInSlot(i));
 
-        if(currentRecipe instanceof PCBFabricatorRecipe){
-            PCBFabricatorRecipe recipe = (PCBFabricatorRecipe) currentRecipe;
-            if (!itemStackHandler.insertItem(9, recipe.getResult(), true).equals(ItemStack.EMPTY)) return null;
-            if (fluidHandler.getFluid() == null) return null;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), stacks))
-                return recipe;
-            return null;
-        }
-
-        for (PCBFabricatorRecipe recipe : PCBFabricatorRecipes.RECIPES) {
+        for (PCBFabricatorRecipe recipe : PCBFabricatorRecipes.INDEX.getRecipes(PCBFabricatorRecipe.getIndexKey(fluid, stacks))) {
+            if (recipe.isDisabled()) continue;
             if (!itemStackHandler.insertItem(9, recipe.getResult(), true).equals(ItemStack.EMPTY)) continue;
-            if (fluidHandler.getFluid() == null) continue;
-            if (recipe.isOk(energyStorage.getEnergyStored(), new FluidStack(fluidHandler.getFluid(), fluidHandler.getFluidAmount()), stacks))
+            if (recipe.matches(fluid, stacks))
                 return recipe;
         }
         return null;
@@ -108,6 +103,18 @@ public class PCBFabricatorTile extends AbstractMachineTile {
     protected void workIsDone() {
         if (!isWorking || currentRecipe == null) return;
         PCBFabricatorRecipe currentRecipe = (PCBFabricatorRecipe) this.currentRecipe;
+
+        // Inventory could change since the recipe was matched
+        FluidStack fluid = fluidHandler.getFluid();
+        ArrayList<ItemStack> stacks = new ArrayList<>();
+        for (int i = 0; i < 9; i++)
+            stacks.add(itemStackHandler.getStackInSlot(i));
+        if (fluid == null || !currentRecipe.matches(fluid, stacks)
+                || !itemStackHandler.insertItem(9, currentRecipe.getResult(), true).isEmpty()) {
+            super.workIsDone();
+            return;
+        }
+
         itemStackHandler.insertItem(9, currentRecipe.getResult(), false);
         fluidHandler.drainInternal(currentRecipe.getSubFluidStack().amount, true);
         for (int i = 0; i < 9; i++) {
@@ -5,7 +5,7 @@ import net.minecraft.tileentity.TileEntitySign;
 import net.minecraft.util.ITickable;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import tauri.dev.jsg.JSG;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.renderer.props.AncientSignRendererState;
 import tauri.dev.jsg.state.State;
@@ -91,7 +91,7 @@ public class AncientSignTile extends TileEntitySign implements StateProviderInte
     public void sendState(StateTypeEnum type, State state) {
         if (world.isRemote) return;
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
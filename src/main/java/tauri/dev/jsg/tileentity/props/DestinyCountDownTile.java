@@ -24,6 +24,7 @@ import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.config.ingame.*;
 import tauri.dev.jsg.gui.container.countdown.CountDownContainerGuiUpdate;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.renderer.props.DestinyCountDownRendererState;
@@ -37,6 +38,7 @@ import tauri.dev.jsg.state.State;
 import tauri.dev.jsg.state.StateProviderInterface;
 import tauri.dev.jsg.state.StateTypeEnum;
 import tauri.dev.jsg.tileentity.stargate.StargateUniverseBaseTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 import tauri.dev.jsg.tileentity.util.PreparableInterface;
 import tauri.dev.jsg.util.LinkingHelper;
 
@@ -86,6 +88,8 @@ public class DestinyCountDownTile extends TileEntity implements ICapabilityProvi
 
     @Override
     public void onLoad() {
+        DeviceRegistry.get(world).add(this);
+
         if (!world.isRemote) {
             targetPoint = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
             markDirty();
@@ -249,7 +253,7 @@ public class DestinyCountDownTile extends TileEntity implements ICapabilityProvi
     protected void sendState(StateTypeEnum type, State state) {
         if (world.isRemote) return;
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -482,12 +486,14 @@ public class DestinyCountDownTile extends TileEntity implements ICapabilityProvi
     @Override
     public void onChunkUnload() {
         if (node != null) node.remove();
+        DeviceRegistry.get(world).remove(this);
         super.onChunkUnload();
     }
 
     @Override
     public void invalidate() {
         if (node != null) node.remove();
+        if (world != null) DeviceRegistry.get(world).remove(this);
         super.invalidate();
     }
 
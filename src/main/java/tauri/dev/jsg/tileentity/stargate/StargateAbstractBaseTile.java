@@ -47,6 +47,7 @@ import tauri.dev.jsg.item.JSGItems;
 import tauri.dev.jsg.item.notebook.PageNotebookItem;
 import tauri.dev.jsg.loader.OriginsLoader;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.particle.ParticleWhiteSmoke;
@@ -67,9 +68,12 @@ import tauri.dev.jsg.state.StateTypeEnum;
 import tauri.dev.jsg.state.stargate.StargateFlashState;
 import tauri.dev.jsg.state.stargate.StargateRendererActionState;
 import tauri.dev.jsg.state.stargate.StargateVaporizeBlockParticlesRequest;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 import tauri.dev.jsg.tileentity.util.PreparableInterface;
 import tauri.dev.jsg.tileentity.util.ScheduledTask;
+import tauri.dev.jsg.tileentity.util.ScheduledTaskWheel;
 import tauri.dev.jsg.tileentity.util.ScheduledTaskExecutorInterface;
+import tauri.dev.jsg.util.EntityBroadphase;
 import tauri.dev.jsg.util.JSGAdvancementsUtil;
 import tauri.dev.jsg.util.JSGAxisAlignedBB;
 import tauri.dev.jsg.util.main.JSGProps;
@@ -140,7 +144,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
         new StargateClosedEvent(this).post();
 
-        ChunkManager.unforceChunk(world, new ChunkPos(pos));
+        ChunkManager.releaseChunks(this);
         sendSignal(null, "stargate_wormhole_closed_fully", new Object[]{isInitiating});
 
         connectedToGate = false;
@@ -178,11 +182,11 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         connectedToGate = false;
         connectingToGate = false;
         targetGatePos = null;
-        scheduledTasks.clear();
+        ScheduledTask.clear(scheduledTasks);
         stargateState = EnumStargateState.IDLE;
         sendRenderingUpdate(StargateRendererActionState.EnumGateAction.CLEAR_CHEVRONS, 0, false);
 
-        ChunkManager.unforceChunk(world, new ChunkPos(pos));
+        ChunkManager.releaseChunks(this);
         JSGSoundHelper.playPositionedSound(world, getGateCenterPos(), SoundPositionedEnum.WORMHOLE_LOOP, false);
 
         markDirty();
@@ -224,7 +228,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         if (world.isRemote) return;
 
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -717,7 +721,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         this.stargateState = EnumStargateState.UNSTABLE;
         this.isNoxDialing = noxDialing;
 
-        ChunkManager.forceChunk(world, new ChunkPos(pos));
+        ChunkManager.forceChunk(this, new ChunkPos(pos));
 
         sendRenderingUpdate(StargateRendererActionState.EnumGateAction.OPEN_GATE, 0, noxDialing);
 
@@ -892,6 +896,10 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
     @Override
     public void onLoad() {
+        if (!world.isRemote)
+            ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
+        DeviceRegistry.get(world).add(this);
+
         if (!world.isRemote) {
             lastPos = pos;
             markDirty();
@@ -984,8 +992,9 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
     @Override
     public void update() {
-        // Scheduled tasks
-        ScheduledTask.iterate(scheduledTasks, world.getTotalWorldTime());
+        // Client tasks are not in the ScheduledTaskWheel (WorldTickEvent is server only)
+        if (world.isRemote)
+            ScheduledTask.iterate(scheduledTasks, world.getTotalWorldTime());
 
         if (!world.isRemote) {
             // This cannot be done in onLoad because it makes
@@ -1114,18 +1123,24 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         }
     }
 
+    private final List<AxisAlignedBB> kawooshEntityBoxes = new ArrayList<>();
+    private final List<Entity> kawooshEntities = new ArrayList<>();
+
     protected void kawooshDestruction() {
         // Event horizon killing
         if (horizonKilling) {
-            List<Entity> entities = new ArrayList<>();
             List<BlockPos> blocks = new ArrayList<>();
+            List<BlockPos> vaporized = new ArrayList<>();
+            AxisAlignedBB entityScanBox = null;
+            kawooshEntityBoxes.clear();
 
-            // Get all blocks and entities inside the kawoosh
+            // Get all blocks and boxes of the kawoosh
             for (int i = 0; i < horizonSegments; i++) {
                 if (localKillingBoxes.size() > i) {
                     JSGAxisAlignedBB gBox = localKillingBoxes.get(i).offset(pos);
 
-                    entities.addAll(world.getEntitiesWithinAABB(Entity.class, gBox));
+                    kawooshEntityBoxes.add(gBox);
+                    entityScanBox = (entityScanBox == null ? gBox : entityScanBox.union(gBox));
 
                     //					JSG.info(new AxisAlignedBB((int)Math.floor(gBox.minX), (int)Math.floor(gBox.minY+1), (int)Math.floor(gBox.minZ), (int)Math.ceil(gBox.maxX-1), (int)Math.ceil(gBox.maxY-1), (int)Math.ceil(gBox.maxZ-1)).toString());
                     for (BlockPos bPos : BlockPos.getAllInBox((int) Math.floor(gBox.minX), (int) Math.floor(gBox.minY), (int) Math.floor(gBox.minZ), (int) Math.ceil(gBox.maxX) - 1, (int) Math.ceil(gBox.maxY) - 1, (int) Math.ceil(gBox.maxZ) - 1))
@@ -1133,9 +1148,25 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
                 }
             }
 
-            // Get all entities inside the gate
-            for (JSGAxisAlignedBB lBox : localInnerEntityBoxes)
-                entities.addAll(world.getEntitiesWithinAABB(Entity.class, lBox.offset(pos)));
+            // Get boxes inside the gate
+            for (JSGAxisAlignedBB lBox : localInnerEntityBoxes) {
+                JSGAxisAlignedBB gBox = lBox.offset(pos);
+                kawooshEntityBoxes.add(gBox);
+                entityScanBox = (entityScanBox == null ? gBox : entityScanBox.union(gBox));
+            }
+
+            // Kill all entities inside the kawoosh and the gate (one query for all boxes)
+            if (entityScanBox != null) {
+                for (Entity entity : EntityBroadphase.get(world).getEntitiesWithin(Entity.class, entityScanBox, kawooshEntities)) {
+                    for (AxisAlignedBB box : kawooshEntityBoxes) {
+                        if (!entity.getEntityBoundingBox().intersects(box)) continue;
+
+                        eventHorizon.horizonKill(entity);
+                        vaporized.add(entity.getPosition());
+                        break;
+                    }
+                }
+            }
 
             // Get all blocks inside the gate
             for (JSGAxisAlignedBB lBox : localInnerBlockBoxes) {
@@ -1149,22 +1180,20 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
                 }
             }
 
-            // Kill them
-            for (Entity entity : entities) {
-                eventHorizon.horizonKill(entity);
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.STARGATE_VAPORIZE_BLOCK_PARTICLES, new StargateVaporizeBlockParticlesRequest(entity.getPosition())), targetPoint);
-            }
-
             // Vaporize them
             for (BlockPos dPos : blocks) {
                 if (!dPos.equals(getGateCenterPos())) {
                     IBlockState state = world.getBlockState(dPos);
                     if (!world.isAirBlock(dPos) && state.getBlockHardness(world, dPos) >= 0.0f && JSGConfigUtil.canKawooshDestroyBlock(state)) {
                         world.setBlockToAir(dPos);
-                        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.STARGATE_VAPORIZE_BLOCK_PARTICLES, new StargateVaporizeBlockParticlesRequest(dPos)), targetPoint);
+                        vaporized.add(dPos.toImmutable());
                     }
                 }
             }
+
+            // Particles for all of them in one state
+            if (!vaporized.isEmpty())
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.STARGATE_VAPORIZE_BLOCK_PARTICLES, new StargateVaporizeBlockParticlesRequest(vaporized)), targetPoint);
         }
     }
 
@@ -1245,6 +1274,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         if (node != null) node.remove();
 
         JSG.ocWrapper.leaveWirelessNetwork(this);
+        DeviceRegistry.get(world).remove(this);
     }
 
     @Override
@@ -1252,6 +1282,8 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         if (node != null) node.remove();
 
         JSG.ocWrapper.leaveWirelessNetwork(this);
+        if (world != null) DeviceRegistry.get(world).remove(this);
+        if (world != null && !world.isRemote) ChunkManager.releaseChunks(this);
 
         super.invalidate();
     }
@@ -1471,26 +1503,16 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
     public void updatePassedEntities() {
         if (!stargateState.engaged()) {
-            if (entitiesPassedLast.size() > 0)
+            if (!entitiesPassedLast.isEmpty())
                 entitiesPassedLast.clear();
-            markDirty();
             return;
         }
+        if (entitiesPassedLast.isEmpty()) return;
 
+        // Forget entities which left the gate's surroundings
+        // (the passed entities are known, so they are checked directly instead of scanning the box)
         AxisAlignedBB scanBox = new AxisAlignedBB(getGateCenterPos().add(new Vec3i(-5, -5, -5)), getGateCenterPos().add(new Vec3i(5, 5, 5)));
-        List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, scanBox);
-        List<Integer> ids = new ArrayList<Integer>() {{
-            for (Entity e : entities)
-                add(e.getEntityId());
-        }};
-        HashMap<Integer, Entity> clonedEntitiesLast = new HashMap<Integer, Entity>() {{
-            putAll(entitiesPassedLast);
-        }};
-        for (int i : clonedEntitiesLast.keySet()) {
-            if (!ids.contains(i))
-                entitiesPassedLast.remove(i);
-        }
-        markDirty();
+        entitiesPassedLast.values().removeIf(entity -> entity.world != world || !EntityBroadphase.isWithin(Entity.class, entity, scanBox));
     }
 
     public final void entityPassing(Entity entity, boolean inbound) {
@@ -1534,11 +1556,11 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
     }
 
     private void updateFlashState(boolean flash) {
-        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.FLASH_STATE, new StargateFlashState(isCurrentlyUnstable)), targetPoint);
+        StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.FLASH_STATE, new StargateFlashState(isCurrentlyUnstable)), targetPoint);
 
         if (targetGatePos != null) {
             BlockPos tPos = targetGatePos.gatePos;
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(tPos, StateTypeEnum.FLASH_STATE, new StargateFlashState(isCurrentlyUnstable)), new TargetPoint(targetGatePos.dimensionID, tPos.getX(), tPos.getY(), tPos.getZ(), 512));
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(tPos, StateTypeEnum.FLASH_STATE, new StargateFlashState(isCurrentlyUnstable)), new TargetPoint(targetGatePos.dimensionID, tPos.getX(), tPos.getY(), tPos.getZ(), 512));
         }
     }
 
@@ -1645,10 +1667,10 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
                 break;
 
             case STARGATE_VAPORIZE_BLOCK_PARTICLES:
-                BlockPos b = ((StargateVaporizeBlockParticlesRequest) state).block;
-
-                for (int i = 0; i < 20; i++) {
-                    Minecraft.getMinecraft().effectRenderer.addEffect(new ParticleWhiteSmoke(world, b.getX() + (Math.random() - 0.5), b.getY(), b.getZ() + (Math.random() - 0.5), 0, 0, false));
+                for (BlockPos b : ((StargateVaporizeBlockParticlesRequest) state).blocks) {
+                    for (int i = 0; i < 20; i++) {
+                        Minecraft.getMinecraft().effectRenderer.addEffect(new ParticleWhiteSmoke(world, b.getX() + (Math.random() - 0.5), b.getY(), b.getZ() + (Math.random() - 0.5), 0, 0, false));
+                    }
                 }
 
                 break;
@@ -1680,11 +1702,14 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
         scheduledTask.setTaskCreated(world.getTotalWorldTime());
 
         scheduledTasks.add(scheduledTask);
+        if (!world.isRemote)
+            ScheduledTaskWheel.get(world).schedule(scheduledTask);
         markDirty();
     }
 
+    @Override
     public void removeTask(ScheduledTask scheduledTask) {
-        scheduledTasks.remove(scheduledTask);
+        ScheduledTask.remove(scheduledTasks, scheduledTask);
         markDirty();
     }
 
@@ -1735,7 +1760,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
                 if (!horizonKilling) horizonKilling = true;
 
                 horizonSegments++;
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, StargateRendererActionState.STARGATE_HORIZON_WIDEN_ACTION), targetPoint);
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, StargateRendererActionState.STARGATE_HORIZON_WIDEN_ACTION), targetPoint);
 
                 if (horizonSegments < getHorizonSegmentCount(true))
                     addTask(new ScheduledTask(EnumScheduledTask.STARGATE_HORIZON_WIDEN, getTicksPerHorizonSegment(true)));
@@ -1746,7 +1771,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
             case STARGATE_HORIZON_SHRINK:
                 horizonSegments--;
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, StargateRendererActionState.STARGATE_HORIZON_SHRINK_ACTION), targetPoint);
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RENDERER_UPDATE, StargateRendererActionState.STARGATE_HORIZON_SHRINK_ACTION), targetPoint);
 
                 if (horizonSegments > 0)
                     addTask(new ScheduledTask(EnumScheduledTask.STARGATE_HORIZON_SHRINK, getTicksPerHorizonSegment(true) + 1));
@@ -1984,6 +2009,8 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
         try {
             ScheduledTask.deserializeList(compound.getCompoundTag("scheduledTasks"), scheduledTasks, this);
+            if (world != null && !world.isRemote)
+                ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
         } catch (NullPointerException | IndexOutOfBoundsException | ClassCastException e) {
             JSG.warn("Exception at reading NBT");
             JSG.warn("If loading world used with previous version and nothing game-breaking doesn't happen, please ignore it");
@@ -2023,7 +2050,7 @@ public abstract class StargateAbstractBaseTile extends TileEntity implements Sta
 
         gateAddressMap.clear();
         dialedAddress.clear();
-        scheduledTasks.clear();
+        ScheduledTask.clear(scheduledTasks);
 
         return true;
     }
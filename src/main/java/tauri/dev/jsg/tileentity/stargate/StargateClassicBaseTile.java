@@ -3,8 +3,6 @@ package tauri.dev.jsg.tileentity.stargate;
 import li.cil.oc.api.machine.Arguments;
 import li.cil.oc.api.machine.Callback;
 import li.cil.oc.api.machine.Context;
-import net.minecraft.block.Block;
-import net.minecraft.block.BlockLiquid;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
@@ -12,7 +10,6 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.effect.EntityLightningBolt;
 import net.minecraft.entity.monster.EntityZombie;
-import net.minecraft.init.Blocks;
 import net.minecraft.init.Enchantments;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -32,7 +29,6 @@ import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
-import net.minecraftforge.fluids.BlockFluidBase;
 import net.minecraftforge.fml.common.Optional;
 import net.minecraftforge.items.CapabilityItemHandler;
 import tauri.dev.jsg.JSG;
@@ -476,6 +472,7 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
         BeamerLinkingHelper.findBeamersInFront(world, pos, facing);
         updateBeamers();
         updateIrisType();
+        onEnvironmentChanged();
         double heat = TemperatureHelper.asKelvins(getTemperatureAroundGate()).toCelsius();
         gateHeat = heat;
         irisHeat = heat;
@@ -582,32 +579,18 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
             lightUpChevronByIncoming(!getConfig().getOption(ALLOW_INCOMING.id).getBooleanValue());
     }
 
-    private static boolean isLiquidBlock(boolean lava, IBlockState state) {
-        return getLiquidBlockTemp(lava, state) > -1;
+    private StargateThermalEnvironment thermalEnvironment;
+
+    public StargateThermalEnvironment getThermalEnvironment() {
+        if (thermalEnvironment == null) thermalEnvironment = new StargateThermalEnvironment(this);
+        return thermalEnvironment;
     }
 
     /**
-     * @param lava  - searching for hot block?
-     * @param state - state of target block
-     * @return temperature in Kelvins
+     * Called when a block around the gate changed. The temperature around the gate will be recalculated.
      */
-    private static double getLiquidBlockTemp(boolean lava, IBlockState state) {
-        Block block = state.getBlock();
-        if (block instanceof BlockLiquid) {
-            if (lava && block.getUnlocalizedName().equalsIgnoreCase("tile.lava"))
-                return TemperatureHelper.asCelsius(1200).toKelvins();
-            if (!lava && block.getUnlocalizedName().equalsIgnoreCase("tile.water"))
-                return TemperatureHelper.asCelsius(3).toKelvins();
-        }
-
-        if (block instanceof BlockFluidBase) {
-            BlockFluidBase liquid = (BlockFluidBase) block;
-            boolean isHot = (liquid.getFluid().getTemperature() >= TemperatureHelper.asCelsius(1200).toKelvins());
-            if ((isHot && lava) || (!isHot && !lava)) {
-                return liquid.getFluid().getTemperature();
-            }
-        }
-        return -1;
+    public void onEnvironmentChanged() {
+        getThermalEnvironment().markDirty();
     }
 
     public double getAroundGateLiquid(boolean lava, boolean getTemperature) {
@@ -619,109 +602,14 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
      * @param getTemperature - return sum of temperatures of all blocks?
      */
     public double getTemperatureAroundGate(int type, boolean getTemperature) {
-        boolean lava = (type == 1);
-        boolean air = (type == 0);
-        double suma = 0;
-        // check chevron blocks
-        for (BlockPos chevron : getMergeHelper().getChevronBlocks()) {
-            chevron = FacingHelper.rotateBlock(chevron, facing, facingVertical).add(pos);
-            for (EnumFacing facing : EnumFacing.values()) {
-                BlockPos newPos = chevron.add(facing.getDirectionVec());
-                IBlockState state = world.getBlockState(newPos);
-                Block block = state.getBlock();
-                if (air) {
-                    if (world.isAirBlock(newPos)) {
-                        if (getTemperature)
-                            suma += TemperatureHelper.asCelsius(world.getBiome(pos).getTemperature(pos) * 30).toKelvins();
-                        else
-                            suma++;
-                    }
-                } else if (isLiquidBlock(lava, state)) {
-                    if (getTemperature)
-                        suma += getLiquidBlockTemp(lava, state);
-                    else
-                        suma++;
-                } else if (!lava && (block == Blocks.ICE || block == Blocks.SNOW || block == Blocks.PACKED_ICE)) {
-                    if (getTemperature)
-                        suma += (block == Blocks.SNOW ? TemperatureHelper.asCelsius(3).toKelvins() : TemperatureHelper.asCelsius(-3).toKelvins());
-                    else
-                        suma++;
-                }
-            }
-        }
-
-        // check ring blocks
-        for (BlockPos ring : getMergeHelper().getRingBlocks()) {
-            ring = FacingHelper.rotateBlock(ring, facing, facingVertical).add(pos);
-            for (EnumFacing facing : EnumFacing.values()) {
-                BlockPos newPos = ring.add(facing.getDirectionVec());
-                IBlockState state = world.getBlockState(newPos);
-                Block block = state.getBlock();
-                if (air) {
-                    if (world.isAirBlock(newPos)) {
-                        if (getTemperature)
-                            suma += TemperatureHelper.asCelsius(world.getBiome(pos).getTemperature(pos) * 30).toKelvins();
-                        else
-                            suma++;
-                    }
-                } else if (isLiquidBlock(lava, state)) {
-                    if (getTemperature)
-                        suma += getLiquidBlockTemp(lava, state);
-                    else
-                        suma++;
-                } else if (!lava && (block == Blocks.ICE || block == Blocks.SNOW || block == Blocks.PACKED_ICE)) {
-                    if (getTemperature)
-                        suma += (block == Blocks.SNOW ? TemperatureHelper.asCelsius(3).toKelvins() : TemperatureHelper.asCelsius(-3).toKelvins());
-                    else
-                        suma++;
-                }
-            }
-        }
-
-        // check base block
-        for (EnumFacing facing : EnumFacing.values()) {
-            BlockPos newPos = pos.add(facing.getDirectionVec());
-            IBlockState state = world.getBlockState(newPos);
-            Block block = state.getBlock();
-            if (air) {
-                if (world.isAirBlock(newPos)) {
-                    if (getTemperature)
-                        suma += TemperatureHelper.asCelsius(world.getBiome(pos).getTemperature(pos) * 30).toKelvins();
-                    else
-                        suma++;
-                }
-            } else if (isLiquidBlock(lava, state)) {
-                if (getTemperature)
-                    suma += getLiquidBlockTemp(lava, state);
-                else
-                    suma++;
-            } else if (!lava && (block == Blocks.ICE || block == Blocks.SNOW || block == Blocks.PACKED_ICE)) {
-                if (getTemperature)
-                    suma += (block == Blocks.SNOW ? TemperatureHelper.asCelsius(3).toKelvins() : TemperatureHelper.asCelsius(-3).toKelvins());
-                else
-                    suma++;
-            }
-        }
-        return suma;
+        return getThermalEnvironment().getSum(type, getTemperature);
     }
 
     /**
      * @return temperature of air/blocks/liquids around the gate
      */
     public double getTemperatureAroundGate() {
-        double lavaCount = getAroundGateLiquid(true, false);
-        double waterCount = getAroundGateLiquid(false, false);
-        double airCount = getTemperatureAroundGate(0, false);
-
-        double total = lavaCount + waterCount + airCount;
-
-        double maxTemperature = getAroundGateLiquid(true, true);
-        double minTemperature = getAroundGateLiquid(false, true);
-        double airTemp = getTemperatureAroundGate(0, true);
-
-        double totalTemp = maxTemperature + minTemperature + airTemp;
-
-        return TemperatureHelper.asCelsius(((total > 0) ? TemperatureHelper.asKelvins((totalTemp / total)).toCelsius() : 25)).toKelvins();
+        return getThermalEnvironment().getTemperature();
     }
 
     @Override
@@ -896,7 +784,7 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
                             targetGatePos = null;
                             setOpenedSince();
 
-                            ChunkManager.forceChunk(world, new ChunkPos(pos));
+                            ChunkManager.forceChunk(this, new ChunkPos(pos));
 
                             sendRenderingUpdate(StargateRendererActionState.EnumGateAction.OPEN_GATE, 0, false);
 
@@ -2045,7 +1933,8 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
                 case 4:
                 case 5:
                 case 6:
-                    updatePowerTier();
+                    // Capacitor could be swapped with another one - storages must be updated
+                    updatePowerTier(true);
                     break;
 
                 case BIOME_OVERRIDE_SLOT:
@@ -2507,7 +2396,10 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
 
         ArrayList<NearbyGate> addresses = new ArrayList<>();
 
-        for (Map.Entry<StargateAddress, StargatePos> entry : StargateNetwork.get(getFakeWorld()).getMap().get(gateType).entrySet()) {
+        int sourceDim = getFakeWorld().provider.getDimension();
+        List<Map.Entry<StargateAddress, StargatePos>> candidates = StargateNetwork.get(getFakeWorld()).getStargatesInRange(gateType, sourceDim, getFakePos(), JSGConfig.Stargate.mechanics.universeGateNearbyReach);
+
+        for (Map.Entry<StargateAddress, StargatePos> entry : candidates) {
 
             StargatePos stargatePos = entry.getValue();
 
@@ -2527,7 +2419,7 @@ public abstract class StargateClassicBaseTile extends StargateAbstractBaseTile i
             int targetDim = classicTile.getFakeWorld().provider.getDimension();
             BlockPos targetFoundPos = classicTile.getFakePos();
 
-            if (targetDim != getFakeWorld().provider.getDimension())
+            if (targetDim != sourceDim)
                 continue;
 
             if (targetFoundPos.distanceSq(getFakePos()) > squaredGate)
@@ -17,7 +17,7 @@ import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.config.stargate.StargateDimensionConfig;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.EnergyRequiredToOperate;
 import tauri.dev.jsg.power.general.SmallEnergyStorage;
@@ -390,7 +390,7 @@ public class StargateOrlinBaseTile extends StargateAbstractBaseTile {
                 break;
 
             case STARGATE_ORLIN_SPARK:
-                JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPARK_STATE, new StargateOrlinSparkState(sparkIndex, world.getTotalWorldTime())), targetPoint);
+                StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPARK_STATE, new StargateOrlinSparkState(sparkIndex, world.getTotalWorldTime())), targetPoint);
 
                 if (sparkIndex < 6 && sparkIndex != -1)
                     addTask(new ScheduledTask(EnumScheduledTask.STARGATE_ORLIN_SPARK, 24));
@@ -15,6 +15,7 @@ import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.config.ingame.JSGTileEntityConfig;
 import tauri.dev.jsg.gui.container.stargate.StargateContainerGuiUpdate;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.renderer.biomes.BiomeOverlayEnum;
 import tauri.dev.jsg.renderer.dialhomedevice.DHDAbstractRendererState;
@@ -552,7 +553,7 @@ public class StargatePegasusBaseTile extends StargateClassicBaseTile implements
                     }
 
                     if (getRendererStateClient().chevronTextureList.getNextChevron().rotationIndex == 1) {
-                        getRendererStateClient().slotToGlyphMap.clear();
+                        getRendererStateClient().clearGlyphs();
                     }
 
                     break;
@@ -684,7 +685,7 @@ public class StargatePegasusBaseTile extends StargateClassicBaseTile implements
             continueDialing = false;
             markDirty();
 
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, EnumSpinDirection.CLOCKWISE, true, 0)), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, EnumSpinDirection.CLOCKWISE, true, 0)), targetPoint);
             addTask(new ScheduledTask(EnumScheduledTask.STARGATE_SPIN_FINISHED, 5 + new Random().nextInt(5)));
             doIncomingAnimation(10, true);
             sendSignal(null, "stargate_dhd_chevron_engaged", new Object[]{dialedAddress.size(), stargateWillLock(targetRingSymbol), targetSymbol.getEnglishName()});
@@ -710,7 +711,7 @@ public class StargatePegasusBaseTile extends StargateClassicBaseTile implements
         int duration = (int) (distance);
         doIncomingAnimation(duration, true, targetSymbol);
 
-        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, spinDirection, false, 0)), targetPoint);
+        StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, spinDirection, false, 0)), targetPoint);
         lastSpinFinished = new ScheduledTask(EnumScheduledTask.STARGATE_SPIN_FINISHED, duration - 1);
         addTask(lastSpinFinished);
         if (!continueDialing) {
@@ -768,7 +769,7 @@ public class StargatePegasusBaseTile extends StargateClassicBaseTile implements
 
             JSG.debug("addSymbolToAddressManual: " + "current:" + currentRingSymbol + ", " + "target:" + targetSymbol + ", " + "direction:" + spinDirection + ", " + "distance:" + distance + ", " + "duration:" + duration + ", " + "moveOnly:" + moveOnly);
 
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, spinDirection, false, 0)), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.SPIN_STATE, new StargateSpinState(targetRingSymbol, spinDirection, false, 0)), targetPoint);
             lastSpinFinished = new ScheduledTask(EnumScheduledTask.STARGATE_SPIN_FINISHED, duration - 1);
             addTask(lastSpinFinished);
             addTask(new ScheduledTask(EnumScheduledTask.GATE_RING_ROLL, 15));
@@ -12,7 +12,7 @@ import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.block.JSGBlocks;
 import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.config.stargate.StargateDimensionConfig;
-import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.power.general.EnergyRequiredToOperate;
 import tauri.dev.jsg.renderer.biomes.BiomeOverlayEnum;
@@ -59,6 +59,7 @@ public class StargateUniverseBaseTile extends StargateClassicBaseTile {
     @Override
     public void setFakeWorld(World world) {
         fakeWorld = world;
+        updateNetworkRelocation();
         markDirty();
     }
 
@@ -71,15 +72,40 @@ public class StargateUniverseBaseTile extends StargateClassicBaseTile {
     @Override
     public void setFakePos(BlockPos pos) {
         fakePos = pos;
+        updateNetworkRelocation();
         markDirty();
     }
 
     public void resetFakePos(){
         this.fakePos = this.pos;
         this.fakeWorld = this.world;
+        updateNetworkRelocation();
         markDirty();
     }
 
+    /**
+     * Gates with fake position can't be found by network's spatial index,
+     * mark them so they are always checked by nearby gates queries.
+     */
+    protected void updateNetworkRelocation() {
+        if (world == null || world.isRemote) return;
+        boolean relocated = !getFakePos().equals(pos) || getFakeWorld() != world;
+        for (StargateAddress address : gateAddressMap.values())
+            getNetwork().setStargateRelocated(address, relocated);
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        updateNetworkRelocation();
+    }
+
+    @Override
+    public void setGateAddress(SymbolTypeEnum symbolType, StargateAddress stargateAddress) {
+        super.setGateAddress(symbolType, stargateAddress);
+        updateNetworkRelocation();
+    }
+
     // general
     private static final EnumSet<BiomeOverlayEnum> SUPPORTED_OVERLAYS = EnumSet.of(
             BiomeOverlayEnum.NORMAL,
@@ -382,7 +408,7 @@ public class StargateUniverseBaseTile extends StargateClassicBaseTile {
             JSG.error("Error while engaging symbol " + symbol.getEnglishName() + " for clients.", new ClassCastException());
             return;
         }
-        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.STARGATE_UNIVERSE_ACTIVATE_SYMBOL, new StargateUniverseSymbolState((SymbolUniverseEnum) symbol, false)), targetPoint);
+        StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.STARGATE_UNIVERSE_ACTIVATE_SYMBOL, new StargateUniverseSymbolState((SymbolUniverseEnum) symbol, false)), targetPoint);
     }
 
     public void updateBearing(boolean activate) {
@@ -47,6 +47,7 @@ import tauri.dev.jsg.item.JSGItems;
 import tauri.dev.jsg.item.energy.CapacitorItemBlock;
 import tauri.dev.jsg.item.notebook.PageNotebookItem;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.packet.transportrings.StartPlayerFadeOutToClient;
@@ -64,9 +65,11 @@ import tauri.dev.jsg.state.dialhomedevice.DHDActivateButtonState;
 import tauri.dev.jsg.state.transportrings.TransportRingsRendererState;
 import tauri.dev.jsg.state.transportrings.TransportRingsStartAnimationRequest;
 import tauri.dev.jsg.tileentity.transportrings.controller.TRControllerAbstractTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 import tauri.dev.jsg.tileentity.util.IUpgradable;
 import tauri.dev.jsg.tileentity.util.PreparableInterface;
 import tauri.dev.jsg.tileentity.util.ScheduledTask;
+import tauri.dev.jsg.tileentity.util.ScheduledTaskWheel;
 import tauri.dev.jsg.tileentity.util.ScheduledTaskExecutorInterface;
 import tauri.dev.jsg.transportrings.*;
 import tauri.dev.jsg.util.*;
@@ -98,7 +101,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
     private final Node node = JSG.ocWrapper.createNode(this, "transportrings");
     // ---------------------------------------------------------------------------------
     // Ticking and loading
-    public Map<Map<SymbolTypeTransportRingsEnum, TransportRingsAddress>, TransportRings> ringsMap = new HashMap<>();
+    public Map<TransportRingsAddressKey, TransportRings> ringsMap = new HashMap<>();
 
     private final JSGItemStackHandler itemStackHandler = new JSGItemStackHandler(10) {
         @Override
@@ -334,7 +337,6 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
             }
 
             initConfig();
-            ScheduledTask.iterate(scheduledTasks, world.getTotalWorldTime());
             if (getRings().getAddresses() == null // if is null
                     || getRings().getAddresses().size() < SymbolTypeTransportRingsEnum.values().length // if is short
                     || getRings().getAddress(SymbolTypeTransportRingsEnum.valueOf(0)).get(0).equals(SymbolGoauldEnum.getOrigin()) // if first symbol is origin
@@ -346,6 +348,8 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
             }
 
             if (!lastPos.equals(pos)) {
+                DeviceRegistry.get(world).remove(lastPos, this);
+                DeviceRegistry.get(world).add(this);
                 lastPos = pos;
 
                 getRings().setPos(pos);
@@ -440,7 +444,9 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
             rendererState.ringsDistance = ringsDistance;
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_STATE));
         }
+        DeviceRegistry.get(world).add(this);
         if (!world.isRemote) {
+            ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
             setBarrierBlocks(false, false);
             generateAddress(false);
             globalTeleportBox = LOCAL_TELEPORT_BOX.offset(pos);
@@ -488,7 +494,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         rendererState.ringsDistance = ringsDistance;
         rendererState.ringsConfig = config;
         NetworkRegistry.TargetPoint point = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
-        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RINGS_DISTANCE_UPDATE, new TransportRingsStartAnimationRequest(rendererState.animationStart, rendererState.ringsDistance, rendererState.ringsConfig)), point);
+        StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.RINGS_DISTANCE_UPDATE, new TransportRingsStartAnimationRequest(rendererState.animationStart, rendererState.ringsDistance, rendererState.ringsConfig)), point);
         markDirty();
     }
 
@@ -498,6 +504,14 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         scheduledTask.setTaskCreated(world.getTotalWorldTime());
 
         scheduledTasks.add(scheduledTask);
+        if (!world.isRemote)
+            ScheduledTaskWheel.get(world).schedule(scheduledTask);
+        markDirty();
+    }
+
+    @Override
+    public void removeTask(ScheduledTask scheduledTask) {
+        ScheduledTask.remove(scheduledTasks, scheduledTask);
         markDirty();
     }
 
@@ -676,7 +690,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         markDirty();
 
         NetworkRegistry.TargetPoint point = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
-        JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.START_ANIMATION, new TransportRingsStartAnimationRequest(rendererState.animationStart, rendererState.ringsDistance, rendererState.ringsConfig)), point);
+        StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, StateTypeEnum.START_ANIMATION, new TransportRingsStartAnimationRequest(rendererState.animationStart, rendererState.ringsDistance, rendererState.ringsConfig)), point);
     }
 
     public TransportRingsRendererState getRendererState() {
@@ -994,14 +1008,18 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         TransportRings clonedRings = caller.getClonedRings(this.pos);
 
         if (clonedRings.isInGrid()) {
-            ringsMap.put(clonedRings.getAddresses(), clonedRings);
+            ringsMap.put(TransportRingsAddressKey.of(clonedRings.getAddresses()), clonedRings);
 
             markDirty();
         }
     }
 
     public void removeRingsFromMap(Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressMap) {
-        if (ringsMap.remove(addressMap) != null) markDirty();
+        removeRingsFromMap(TransportRingsAddressKey.of(addressMap));
+    }
+
+    public void removeRingsFromMap(TransportRingsAddressKey addressKey) {
+        if (ringsMap.remove(addressKey) != null) markDirty();
     }
 
 
@@ -1009,19 +1027,23 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
     // States
 
     public void removeRings(Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressMap) {
-        TransportRings rings = ringsMap.get(addressMap);
+        removeRings(TransportRingsAddressKey.of(addressMap));
+    }
+
+    public void removeRings(TransportRingsAddressKey addressKey) {
+        TransportRings rings = ringsMap.get(addressKey);
         if (rings != null) {
             TileEntity tile = world.getTileEntity(rings.getPos());
             if (tile instanceof TransportRingsAbstractTile) {
                 ((TransportRingsAbstractTile) tile).removeRingsFromMap(getRings().getAddresses());
             }
         }
-        removeRingsFromMap(addressMap);
+        removeRingsFromMap(addressKey);
     }
 
     public void removeAllRings() {
-        for (Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressMap : new ArrayList<>(ringsMap.keySet())) {
-            removeRings(addressMap);
+        for (TransportRingsAddressKey addressKey : new ArrayList<>(ringsMap.keySet())) {
+            removeRings(addressKey);
         }
     }
 
@@ -1043,25 +1065,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
     public ParamsSetResult setRingsParams(TransportRingsAddress
                                                   address, Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressMap, SymbolTypeTransportRingsEnum
                                                   symbolType, String name) {
-        int x = pos.getX();
-        int z = pos.getZ();
-
-        int radius = JSGConfig.Rings.mechanics.rangeFlat;
-
-        int y = pos.getY();
-        int vertical = tauri.dev.jsg.config.JSGConfig.Rings.mechanics.rangeVertical;
-
-        List<TransportRingsAbstractTile> ringsTilesInRange = new ArrayList<>();
-
-        for (BlockPos newRingsPos : BlockPos.getAllInBoxMutable(new BlockPos(x - radius, y - vertical, z - radius), new BlockPos(x + radius, y + vertical, z + radius))) {
-            if (JSGBlocks.isInBlocksArray(world.getBlockState(newRingsPos).getBlock(), JSGBlocks.RINGS_BLOCKS) && !pos.equals(newRingsPos)) {
-                TileEntity tile = world.getTileEntity(newRingsPos);
-                if (tile instanceof TransportRingsAbstractTile) {
-                    TransportRingsAbstractTile newRingsTile = (TransportRingsAbstractTile) tile;
-                    ringsTilesInRange.add(newRingsTile);
-                }
-            }
-        }
+        List<TransportRingsAbstractTile> ringsTilesInRange = DeviceRegistry.get(world).getTilesInRange(TransportRingsAbstractTile.class, pos, new BlockPos(JSGConfig.Rings.mechanics.rangeFlat, JSGConfig.Rings.mechanics.rangeVertical, JSGConfig.Rings.mechanics.rangeFlat));
 
         Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressOld = getRings().getAddresses();
 
@@ -1144,6 +1148,8 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         try {
             rendererState.deserializeNBT(compound.getCompoundTag("rendererState"));
             ScheduledTask.deserializeList(compound.getCompoundTag("scheduledTasks"), scheduledTasks, this);
+            if (world != null && !world.isRemote)
+                ScheduledTaskWheel.get(world).scheduleRestored(scheduledTasks);
 
             teleportList = new ArrayList<>();
             int size = compound.getInteger("teleportListSize");
@@ -1172,7 +1178,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
                 for (int i = 0; i < len; i++) {
                     TransportRings rings = new TransportRings(compound.getCompoundTag("ringsMap" + i));
 
-                    ringsMap.put(rings.getAddresses(), rings);
+                    ringsMap.put(TransportRingsAddressKey.of(rings.getAddresses()), rings);
                 }
             }
 
@@ -1290,7 +1296,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         if (world.isRemote) return;
 
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -1364,11 +1370,13 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
     @Override
     public void onChunkUnload() {
         if (node != null) node.remove();
+        DeviceRegistry.get(world).remove(this);
     }
 
     @Override
     public void invalidate() {
         if (node != null) node.remove();
+        if (world != null) DeviceRegistry.get(world).remove(this);
 
         super.invalidate();
     }
@@ -1428,7 +1436,10 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
     @net.minecraftforge.fml.common.Optional.Method(modid = "opencomputers")
     @Callback
     public Object[] getAvailableRingsAddresses(Context context, Arguments args) {
-        return new Object[]{ringsMap.keySet()};
+        List<Map<SymbolTypeTransportRingsEnum, TransportRingsAddress>> addresses = new ArrayList<>(ringsMap.size());
+        for (TransportRings rings : ringsMap.values())
+            addresses.add(rings.getAddresses());
+        return new Object[]{addresses};
     }
 
     // ------------------------------------------------------------
@@ -1545,18 +1556,19 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
             }
         }
 
-        if (powerTier != currentPowerTier) {
-            currentPowerTier = powerTier;
-
-            energyStorage.clearStorages();
+        // Capacitor could be swapped with another one - storages are updated even if the tier is the same
+        energyStorage.clearStorages();
 
-            for (int i = 4; i < 7; i++) {
-                ItemStack stack = itemStackHandler.getStackInSlot(i);
+        for (int i = 4; i < 7; i++) {
+            ItemStack stack = itemStackHandler.getStackInSlot(i);
 
-                if (!stack.isEmpty()) {
-                    energyStorage.addStorage(stack.getCapability(CapabilityEnergy.ENERGY, null));
-                }
+            if (!stack.isEmpty()) {
+                energyStorage.addStorage(stack.getCapability(CapabilityEnergy.ENERGY, null));
             }
+        }
+
+        if (powerTier != currentPowerTier) {
+            currentPowerTier = powerTier;
 
             JSG.debug("Updated to power tier: " + powerTier);
         }
@@ -1571,7 +1583,7 @@ public abstract class TransportRingsAbstractTile extends TileEntity implements I
         }
 
         dialedAddress.clear();
-        scheduledTasks.clear();
+        ScheduledTask.clear(scheduledTasks);
         getRings().getAddresses().clear();
 
         return true;
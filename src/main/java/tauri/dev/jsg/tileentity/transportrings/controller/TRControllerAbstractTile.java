@@ -11,6 +11,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.block.transportrings.TransportRingsAbstractBlock;
 import tauri.dev.jsg.packet.JSGPacketHandler;
+import tauri.dev.jsg.packet.StateUpdateBatcher;
 import tauri.dev.jsg.packet.StateUpdatePacketToClient;
 import tauri.dev.jsg.packet.StateUpdateRequestToServer;
 import tauri.dev.jsg.renderer.biomes.BiomeOverlayEnum;
@@ -20,6 +21,7 @@ import tauri.dev.jsg.state.StateProviderInterface;
 import tauri.dev.jsg.state.StateTypeEnum;
 import tauri.dev.jsg.state.dialhomedevice.DHDActivateButtonState;
 import tauri.dev.jsg.tileentity.transportrings.TransportRingsAbstractTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 import tauri.dev.jsg.transportrings.SymbolTypeTransportRingsEnum;
 import tauri.dev.jsg.util.ILinkable;
 import tauri.dev.jsg.util.LinkingHelper;
@@ -53,12 +55,26 @@ public abstract class TRControllerAbstractTile extends TileEntity implements ITi
 
     @Override
     public void onLoad() {
+        DeviceRegistry.get(world).add(this);
+
         if (!world.isRemote)
             targetPoint = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 512);
         else
             JSGPacketHandler.INSTANCE.sendToServer(new StateUpdateRequestToServer(pos, StateTypeEnum.RENDERER_STATE));
     }
 
+    @Override
+    public void onChunkUnload() {
+        DeviceRegistry.get(world).remove(this);
+        super.onChunkUnload();
+    }
+
+    @Override
+    public void invalidate() {
+        if (world != null) DeviceRegistry.get(world).remove(this);
+        super.invalidate();
+    }
+
     @Override
     public void update() {
         if (world.isRemote) {
@@ -188,7 +204,7 @@ public abstract class TRControllerAbstractTile extends TileEntity implements ITi
         if (world.isRemote) return;
 
         if (targetPoint != null) {
-            JSGPacketHandler.INSTANCE.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
+            StateUpdateBatcher.sendToAllTracking(new StateUpdatePacketToClient(pos, type, state), targetPoint);
         } else {
             JSG.debug("targetPoint was null trying to send " + type + " from " + this.getClass().getCanonicalName());
         }
@@ -0,0 +1,172 @@
+package tauri.dev.jsg.tileentity.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import tauri.dev.jsg.block.JSGBlocks;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Per-world registry of loaded JSG devices (gates, DHDs, rings, rings controllers, beamers, countdowns), bucketed by chunk.
+ * <p>
+ * Device tiles register themselves in {@link TileEntity#onLoad()} (placement, chunk load) and unregister
+ * in {@link TileEntity#invalidate()} (break) and {@link TileEntity#onChunkUnload()}.
+ * Lookups visit only the chunks overlapping the searched box instead of every block in it.
+ */
+@EventBusSubscriber
+public class DeviceRegistry {
+
+    private static final Map<World, DeviceRegistry> INSTANCES = new WeakHashMap<>();
+
+    public static DeviceRegistry get(World world) {
+        return INSTANCES.computeIfAbsent(world, DeviceRegistry::new);
+    }
+
+    private static Set<Block> indexedBlocks;
+
+    /**
+     * @return True if all tiles of this block are registered (the registry can be used to find the block).
+     */
+    public static boolean isIndexed(Block block) {
+        if (indexedBlocks == null) {
+            Set<Block> blocks = new HashSet<>();
+            blocks.addAll(Arrays.asList(JSGBlocks.STARGATE_BASE_BLOCKS));
+            blocks.addAll(Arrays.asList(JSGBlocks.RINGS_BLOCKS));
+            blocks.add(JSGBlocks.DHD_BLOCK);
+            blocks.add(JSGBlocks.DHD_PEGASUS_BLOCK);
+            blocks.add(JSGBlocks.TR_CONTROLLER_GOAULD_BLOCK);
+            blocks.add(JSGBlocks.BEAMER_BLOCK);
+            blocks.add(JSGBlocks.DESTINY_COUNTDOWN_BLOCK);
+            indexedBlocks = blocks;
+        }
+
+        return indexedBlocks.contains(block);
+    }
+
+    public static boolean isIndexed(Block[] blocks) {
+        for (Block block : blocks) {
+            if (!isIndexed(block)) return false;
+        }
+
+        return true;
+    }
+
+    private final World world;
+    private final Map<Long, Map<BlockPos, TileEntity>> chunks = new HashMap<>();
+
+    private DeviceRegistry(World world) {
+        this.world = world;
+    }
+
+    private static long getChunkKey(BlockPos pos) {
+        return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    public void add(TileEntity tile) {
+        chunks.computeIfAbsent(getChunkKey(tile.getPos()), key -> new HashMap<>()).put(tile.getPos().toImmutable(), tile);
+    }
+
+    public void remove(TileEntity tile) {
+        remove(tile.getPos(), tile);
+    }
+
+    /**
+     * @param pos Position the tile was registered at (may differ from the current one).
+     */
+    public void remove(BlockPos pos, TileEntity tile) {
+        long key = getChunkKey(pos);
+        Map<BlockPos, TileEntity> bucket = chunks.get(key);
+        if (bucket == null) return;
+
+        bucket.remove(pos, tile);
+        if (bucket.isEmpty()) chunks.remove(key);
+    }
+
+    // ------------------------------------------------------------------------
+    // Queries
+
+    /**
+     * @param radius Max distance on each axis (same as the box of {@link BlockPos#getAllInBoxMutable(BlockPos, BlockPos)}).
+     * @return Loaded devices of given class in the box, the center excluded.
+     */
+    public <T> List<T> getTilesInRange(Class<T> tileClass, BlockPos center, BlockPos radius) {
+        return getTilesInRange(tileClass, center, radius, true);
+    }
+
+    /**
+     * @param excludeCenter Don't return the device at the center (the one searching).
+     * @return Loaded devices of given class in the box.
+     */
+    public <T> List<T> getTilesInRange(Class<T> tileClass, BlockPos center, BlockPos radius, boolean excludeCenter) {
+        List<T> result = new ArrayList<>();
+        forEachInRange(center, radius, tile -> {
+            if (tileClass.isInstance(tile) && !(excludeCenter && tile.getPos().equals(center)))
+                result.add(tileClass.cast(tile));
+        });
+
+        return result;
+    }
+
+    /**
+     * @param filter Additional condition.
+     * @return Closest device (by {@link BlockPos#distanceSq(net.minecraft.util.math.Vec3i)}) whose block is one of
+     * the target blocks, or null.
+     */
+    @Nullable
+    public TileEntity findClosest(BlockPos center, BlockPos radius, Block[] targetBlocks, Predicate<TileEntity> filter) {
+        TileEntity[] closest = {null};
+        double[] closestDistance = {Double.MAX_VALUE};
+
+        forEachInRange(center, radius, tile -> {
+            double distanceSq = center.distanceSq(tile.getPos());
+            if (distanceSq >= closestDistance[0]) return;
+            if (!JSGBlocks.isInBlocksArray(world.getBlockState(tile.getPos()).getBlock(), targetBlocks)) return;
+            if (!filter.test(tile)) return;
+
+            closestDistance[0] = distanceSq;
+            closest[0] = tile;
+        });
+
+        return closest[0];
+    }
+
+    private void forEachInRange(BlockPos center, BlockPos radius, Consumer<TileEntity> consumer) {
+        int minX = center.getX() - radius.getX();
+        int maxX = center.getX() + radius.getX();
+        int minY = center.getY() - radius.getY();
+        int maxY = center.getY() + radius.getY();
+        int minZ = center.getZ() - radius.getZ();
+        int maxZ = center.getZ() + radius.getZ();
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                Map<BlockPos, TileEntity> bucket = chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (bucket == null) continue;
+
+                for (TileEntity tile : new ArrayList<>(bucket.values())) {
+                    BlockPos pos = tile.getPos();
+                    if (tile.isInvalid()) continue;
+                    if (pos.getX() < minX || pos.getX() > maxX) continue;
+                    if (pos.getY() < minY || pos.getY() > maxY) continue;
+                    if (pos.getZ() < minZ || pos.getZ() > maxZ) continue;
+
+                    consumer.accept(tile);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+}
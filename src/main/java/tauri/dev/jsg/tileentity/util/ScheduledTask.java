@@ -12,6 +12,7 @@ import java.util.List;
 
 /**
  * Holds scheduled task to be performed some time in future on {@link ITickable#update()}.
+ * Tasks added by {@link ScheduledTaskExecutorInterface#addTask(ScheduledTask)} are executed by the {@link ScheduledTaskWheel}.
  * 
  * Previously done by a shitload of variables in {@link StargateMilkyWayBaseTile} and other like "waitForShit", "shitStateChange".
  * 
@@ -49,6 +50,11 @@ public class ScheduledTask implements INBTSerializable<NBTTagCompound> {
 	 * User can pass custom data to the {@link ScheduledTaskExecutorInterface} instance.
 	 */
 	private NBTTagCompound customData = null;
+
+	/**
+	 * Entry of the {@link ScheduledTaskWheel} if this task is scheduled there. Not serialized.
+	 */
+	private ScheduledTaskWheel.Entry wheelEntry = null;
 	
 	/**
 	 * Main constructor
@@ -139,23 +145,74 @@ public class ScheduledTask implements INBTSerializable<NBTTagCompound> {
 		return active;
 	}
 	
+	public ScheduledTaskExecutorInterface getExecutor() {
+		return executor;
+	}
+	
+	/**
+	 * @return World time when the task should be executed.
+	 */
+	public long getExecutionTime() {
+		return taskCreated + (customWaitTime ? this.waitTime : scheduledTask.waitTicks);
+	}
+	
+	/**
+	 * @return {@code True} if the task should be executed even when loaded after its time passed.
+	 */
+	public boolean isOvertime() {
+		return scheduledTask.overtime;
+	}
+	
+	/**
+	 * @return {@code True} if this task waits in the {@link ScheduledTaskWheel}.
+	 */
+	public boolean isScheduled() {
+		return wheelEntry != null;
+	}
+	
+	ScheduledTaskWheel.Entry getWheelEntry() {
+		return wheelEntry;
+	}
+	
+	void setWheelEntry(ScheduledTaskWheel.Entry wheelEntry) {
+		this.wheelEntry = wheelEntry;
+	}
+	
+	/**
+	 * Removes this task from the {@link ScheduledTaskWheel} (if scheduled there).
+	 */
+	public void cancel() {
+		wheelEntry = null;
+	}
+	
+	/**
+	 * Called by the {@link ScheduledTaskWheel} when the time has come.
+	 * Executes the task and removes it from the executor's list.
+	 */
+	void execute() {
+		try {
+//			JSG.info("execute " + scheduledTask + " time: " + (worldTicks-taskCreated));
+			executor.executeTask(scheduledTask, customData);
+		}
+		
+		catch (UnsupportedOperationException e) {
+			e.printStackTrace();
+		}
+		
+		executor.removeTask(this);
+	}
+	
 	/**
-	 * Main waiting function. Call this in {@link ITickable#update()}.
+	 * Waiting function for tasks which are not scheduled in the {@link ScheduledTaskWheel}.
+	 * Call this in {@link ITickable#update()}.
 	 * 
 	 * @param worldTicks Usually {@link World#getTotalWorldTime()}.
 	 * @return {@code True} if this {@link ScheduledTask} should be removed.
 	 */
 	public boolean update(long worldTicks) {
-		int waitTime = customWaitTime ? this.waitTime : scheduledTask.waitTicks;
-		long effTick = worldTicks - taskCreated;
-		boolean call = effTick == waitTime;
-		
-		if (scheduledTask.overtime)
-			call = effTick >= waitTime;
-		
-		if (call) {
+		// Don't wait for exact tick - the task would never be called if the update was skipped
+		if (worldTicks >= getExecutionTime()) {
 			try {
-//				JSG.info("execute " + scheduledTask + " time: " + (worldTicks-taskCreated));
 				executor.executeTask(scheduledTask, customData);
 			}
 			
@@ -232,24 +289,60 @@ public class ScheduledTask implements INBTSerializable<NBTTagCompound> {
 	
 	/**
 	 * Static method to consolidate iterating through
-	 * a set of {@link ScheduledTask}.
+	 * a set of {@link ScheduledTask} which are not scheduled in the {@link ScheduledTaskWheel} (client side).
 	 * 
 	 * @param scheduledTasks {@link List} of {@link ScheduledTask}.
 	 * @param worldTicks Usually {@link World#getTotalWorldTime()}.
 	 */
 	public static void iterate(List<ScheduledTask> scheduledTasks, long worldTicks) {
-		for (int i=0; i<scheduledTasks.size();) {			
+		for (int i=0; i<scheduledTasks.size();) {
 			ScheduledTask scheduledTask = scheduledTasks.get(i);
 			
-			if (scheduledTask.isActive()) {								
-				if (scheduledTask.update(worldTicks))
-					scheduledTasks.remove(scheduledTask);
-				
-				else i++;
-			}
+			// Executed task can modify the list
+			if (scheduledTask.isActive() && scheduledTask.update(worldTicks) && remove(scheduledTasks, scheduledTask))
+				continue;
 			
-			else i++;
+			i++;
+		}
+	}
+	
+	/**
+	 * Static method to consolidate removing of a {@link ScheduledTask}
+	 * from the list. The removed task is also cancelled in the {@link ScheduledTaskWheel}.
+	 * 
+	 * @param scheduledTasks {@link List} of {@link ScheduledTask}.
+	 * @param scheduledTask Task to remove (the same instance or equal task).
+	 * @return {@code True} if the task was removed.
+	 */
+	public static boolean remove(List<ScheduledTask> scheduledTasks, ScheduledTask scheduledTask) {
+		int index = -1;
+		for (int i=0; i<scheduledTasks.size(); i++) {
+			if (scheduledTasks.get(i) == scheduledTask) {
+				index = i;
+				break;
+			}
 		}
+		
+		if (index == -1)
+			index = scheduledTasks.indexOf(scheduledTask);
+		
+		if (index == -1)
+			return false;
+		
+		scheduledTasks.remove(index).cancel();
+		return true;
+	}
+	
+	/**
+	 * Cancels and removes all tasks of the list.
+	 * 
+	 * @param scheduledTasks {@link List} of {@link ScheduledTask}.
+	 */
+	public static void clear(List<ScheduledTask> scheduledTasks) {
+		for (ScheduledTask scheduledTask : scheduledTasks)
+			scheduledTask.cancel();
+		
+		scheduledTasks.clear();
 	}
 	
 	public static NBTTagCompound serializeList(List<ScheduledTask> scheduledTasks) {
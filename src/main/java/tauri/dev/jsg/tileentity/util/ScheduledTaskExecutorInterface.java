@@ -19,6 +19,14 @@ public interface ScheduledTaskExecutorInterface {
 	 */
 	public void addTask(ScheduledTask scheduledTask);
 	
+	/**
+	 * Removes given {@link ScheduledTask} from the list.
+	 * Called by the {@link ScheduledTaskWheel} after the task was executed.
+	 * 
+	 * @param scheduledTask The task to be removed.
+	 */
+	public void removeTask(ScheduledTask scheduledTask);
+	
 	/**
 	 * Executes given task.
 	 * 
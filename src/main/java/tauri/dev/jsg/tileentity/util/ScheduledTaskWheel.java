@@ -0,0 +1,257 @@
+package tauri.dev.jsg.tileentity.util;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-world hierarchical timing wheel of {@link ScheduledTask}s keyed by {@link World#getTotalWorldTime()}.
+ * <p>
+ * Tiles register their tasks here (see {@link ScheduledTaskExecutorInterface#addTask(ScheduledTask)}) instead of
+ * iterating their task lists on every {@link net.minecraft.util.ITickable#update()}. The wheel is advanced once per world
+ * tick (at the end of it) and runs only the tasks which are due.
+ * <p>
+ * Server side only - {@link TickEvent.WorldTickEvent} is not fired for client worlds.
+ * Client tiles iterate their lists with {@link ScheduledTask#iterate(List, long)}.
+ * <p>
+ * Level 0 has one slot per tick of the current {@link #LEVEL0_SIZE}-tick block, level 1 one slot per block
+ * of the current {@link #LEVEL0_SIZE} * {@link #LEVEL1_SIZE}-tick epoch. Later tasks wait in the overflow list.
+ * Tasks are moved to the lower level when their block/epoch begins.
+ */
+@EventBusSubscriber
+public class ScheduledTaskWheel {
+
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL0_SIZE = 1 << LEVEL0_BITS;
+    private static final int LEVEL1_BITS = 6;
+    private static final int LEVEL1_SIZE = 1 << LEVEL1_BITS;
+    private static final int EPOCH_BITS = LEVEL0_BITS + LEVEL1_BITS;
+
+    /**
+     * If the world time jumps by more than this, the wheel is rebuilt instead of stepping through every tick.
+     */
+    private static final long MAX_CATCH_UP = LEVEL0_SIZE;
+
+    private static final Map<World, ScheduledTaskWheel> INSTANCES = new WeakHashMap<>();
+
+    public static ScheduledTaskWheel get(World world) {
+        return INSTANCES.computeIfAbsent(world, ScheduledTaskWheel::new);
+    }
+
+    /**
+     * Entry of the wheel. Valid only while the task holds it (cancelled tasks are dropped lazily).
+     */
+    static class Entry {
+        final ScheduledTask task;
+
+        Entry(ScheduledTask task) {
+            this.task = task;
+        }
+
+        boolean isValid() {
+            return task.getWheelEntry() == this;
+        }
+    }
+
+    private final World world;
+
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[] level0 = new List[LEVEL0_SIZE];
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[] level1 = new List[LEVEL1_SIZE];
+    private final List<Entry> overflow = new ArrayList<>();
+
+    /**
+     * Next tick to be processed.
+     */
+    private long nextTick;
+    private int size;
+
+    private ScheduledTaskWheel(World world) {
+        this.world = world;
+        this.nextTick = world.getTotalWorldTime();
+
+        for (int i = 0; i < LEVEL0_SIZE; i++)
+            level0[i] = new ArrayList<>();
+        for (int i = 0; i < LEVEL1_SIZE; i++)
+            level1[i] = new ArrayList<>();
+    }
+
+    // ------------------------------------------------------------------------
+    // Scheduling
+
+    /**
+     * Schedules the task to be executed at {@link ScheduledTask#getExecutionTime()}.
+     * Tasks whose time already passed are executed on the nearest tick.
+     */
+    public void schedule(ScheduledTask task) {
+        if (task.isScheduled()) return;
+
+        Entry entry = new Entry(task);
+        task.setWheelEntry(entry);
+        insert(entry);
+        size++;
+    }
+
+    /**
+     * Schedules tasks loaded from NBT. Tasks which are not {@link tauri.dev.jsg.stargate.EnumScheduledTask#overtime}
+     * and whose time passed while the tile was not loaded are removed from the list instead.
+     */
+    public void scheduleRestored(List<ScheduledTask> scheduledTasks) {
+        for (Iterator<ScheduledTask> iterator = scheduledTasks.iterator(); iterator.hasNext(); ) {
+            ScheduledTask task = iterator.next();
+
+            if (!task.isScheduled() && !task.isOvertime() && task.getExecutionTime() < nextTick) {
+                iterator.remove();
+                continue;
+            }
+
+            schedule(task);
+        }
+    }
+
+    private void insert(Entry entry) {
+        long time = Math.max(entry.task.getExecutionTime(), nextTick);
+
+        if ((time >> LEVEL0_BITS) == (nextTick >> LEVEL0_BITS))
+            level0[(int) (time & (LEVEL0_SIZE - 1))].add(entry);
+        else if ((time >> EPOCH_BITS) == (nextTick >> EPOCH_BITS))
+            level1[(int) ((time >> LEVEL0_BITS) & (LEVEL1_SIZE - 1))].add(entry);
+        else
+            overflow.add(entry);
+    }
+
+    // ------------------------------------------------------------------------
+    // Ticking
+
+    private void tick() {
+        long worldTime = world.getTotalWorldTime();
+
+        if (worldTime < nextTick - 1 || worldTime - nextTick > MAX_CATCH_UP) {
+            // Time changed unexpectedly - start over from current time
+            rebuild(worldTime);
+        }
+
+        while (nextTick <= worldTime) {
+            step(nextTick);
+            nextTick++;
+        }
+    }
+
+    private void step(long tick) {
+        if ((tick & (LEVEL0_SIZE - 1)) == 0) {
+            if (((tick >> LEVEL0_BITS) & (LEVEL1_SIZE - 1)) == 0)
+                cascade(overflow);
+
+            cascade(level1[(int) ((tick >> LEVEL0_BITS) & (LEVEL1_SIZE - 1))]);
+        }
+
+        if (size == 0) return;
+
+        List<Entry> slot = level0[(int) (tick & (LEVEL0_SIZE - 1))];
+
+        // Executed tasks can add new tasks for this tick to the same slot
+        for (int i = 0; i < slot.size(); i++) {
+            Entry entry = slot.get(i);
+            ScheduledTask task = entry.task;
+            if (!entry.isValid()) {
+                size--;
+                continue;
+            }
+
+            if (!isExecutorLoaded(task.getExecutor())) {
+                // Task is kept in the unloaded tile's list (NBT), it will be scheduled again on load
+                task.setWheelEntry(null);
+                size--;
+                continue;
+            }
+
+            if (!task.isActive()) {
+                // Check again next tick
+                insertNextTick(entry, tick + 1);
+                continue;
+            }
+
+            task.setWheelEntry(null);
+            size--;
+            task.execute();
+        }
+
+        slot.clear();
+    }
+
+    private void insertNextTick(Entry entry, long tick) {
+        if ((tick >> LEVEL0_BITS) == (nextTick >> LEVEL0_BITS))
+            level0[(int) (tick & (LEVEL0_SIZE - 1))].add(entry);
+        else
+            level1[(int) ((tick >> LEVEL0_BITS) & (LEVEL1_SIZE - 1))].add(entry);
+    }
+
+    private void cascade(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+
+        List<Entry> copy = new ArrayList<>(entries);
+        entries.clear();
+
+        for (Entry entry : copy) {
+            if (entry.isValid()) insert(entry);
+            else size--;
+        }
+    }
+
+    private void rebuild(long worldTime) {
+        List<Entry> entries = new ArrayList<>(overflow);
+        overflow.clear();
+
+        for (List<Entry> slot : level0) {
+            entries.addAll(slot);
+            slot.clear();
+        }
+        for (List<Entry> slot : level1) {
+            entries.addAll(slot);
+            slot.clear();
+        }
+
+        nextTick = worldTime;
+        size = 0;
+
+        for (Entry entry : entries) {
+            if (!entry.isValid()) continue;
+
+            insert(entry);
+            size++;
+        }
+    }
+
+    private boolean isExecutorLoaded(ScheduledTaskExecutorInterface executor) {
+        if (!(executor instanceof TileEntity)) return executor != null;
+
+        TileEntity tile = (TileEntity) executor;
+        return !tile.isInvalid() && tile.getWorld() == world && world.isBlockLoaded(tile.getPos(), false) && world.getTileEntity(tile.getPos()) == tile;
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        ScheduledTaskWheel wheel = INSTANCES.get(event.world);
+        if (wheel != null) wheel.tick();
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+}
@@ -0,0 +1,59 @@
+package tauri.dev.jsg.transportrings;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of rings addresses (all symbol types) used as a key of
+ * {@link tauri.dev.jsg.tileentity.transportrings.TransportRingsAbstractTile#ringsMap}.
+ * <p>
+ * Compared by symbol ids, so editing the address objects later doesn't change the hash of the key.
+ */
+public final class TransportRingsAddressKey {
+
+    private final int[][] symbols;
+    private final int hash;
+
+    private TransportRingsAddressKey(int[][] symbols) {
+        this.symbols = symbols;
+        this.hash = Arrays.deepHashCode(symbols);
+    }
+
+    public static TransportRingsAddressKey of(Map<SymbolTypeTransportRingsEnum, TransportRingsAddress> addressMap) {
+        SymbolTypeTransportRingsEnum[] symbolTypes = SymbolTypeTransportRingsEnum.values();
+        int[][] symbols = new int[symbolTypes.length][];
+
+        for (int i = 0; i < symbolTypes.length; i++) {
+            TransportRingsAddress address = (addressMap != null ? addressMap.get(symbolTypes[i]) : null);
+            if (address == null) {
+                symbols[i] = new int[0];
+                continue;
+            }
+
+            symbols[i] = new int[address.size()];
+            for (int j = 0; j < address.size(); j++)
+                symbols[i][j] = (address.get(j) != null ? address.get(j).getId() : -1);
+        }
+
+        return new TransportRingsAddressKey(symbols);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransportRingsAddressKey)) return false;
+
+        TransportRingsAddressKey that = (TransportRingsAddressKey) o;
+        return hash == that.hash && Arrays.deepEquals(symbols, that.symbols);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(symbols);
+    }
+}
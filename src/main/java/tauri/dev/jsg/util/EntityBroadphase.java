@@ -0,0 +1,160 @@
+package tauri.dev.jsg.util;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Per-world entity lookup shared by all stargates (and other machines) ticking in the world.
+ * <p>
+ * Entities of a chunk are collected only once per world tick - on the first query touching that chunk.
+ * Every next query in the same tick (event horizon, kawoosh, passed entities of all gates around)
+ * is served from these buckets and writes the result into a list owned by the caller,
+ * so no new lists are allocated every tick.
+ * <p>
+ * Server side only. Entities spawned later in the same tick are visible from the next tick.
+ */
+@EventBusSubscriber
+public class EntityBroadphase {
+
+    private static final Map<World, EntityBroadphase> INSTANCES = new WeakHashMap<>();
+
+    public static EntityBroadphase get(World world) {
+        return INSTANCES.computeIfAbsent(world, EntityBroadphase::new);
+    }
+
+    private static final List<Entity> EMPTY_BUCKET = Collections.emptyList();
+
+    private final World world;
+    private long bucketsTick = -1;
+    private final Map<Long, List<Entity>> buckets = new HashMap<>();
+    private final Deque<List<Entity>> bucketPool = new ArrayDeque<>();
+
+    private EntityBroadphase(World world) {
+        this.world = world;
+    }
+
+    // ------------------------------------------------------------------------
+    // Buckets
+
+    private void checkTick() {
+        long tick = world.getTotalWorldTime();
+        if (tick == bucketsTick) return;
+
+        for (List<Entity> bucket : buckets.values()) {
+            if (bucket == EMPTY_BUCKET) continue;
+            bucket.clear();
+            bucketPool.push(bucket);
+        }
+        buckets.clear();
+        bucketsTick = tick;
+    }
+
+    private List<Entity> getBucket(int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        List<Entity> bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+
+        bucket = EMPTY_BUCKET;
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+        if (chunk != null) {
+            for (Collection<Entity> section : chunk.getEntityLists()) {
+                if (section.isEmpty()) continue;
+                if (bucket == EMPTY_BUCKET)
+                    bucket = bucketPool.isEmpty() ? new ArrayList<>() : bucketPool.pop();
+                bucket.addAll(section);
+            }
+        }
+
+        buckets.put(key, bucket);
+        return bucket;
+    }
+
+    // ------------------------------------------------------------------------
+    // Queries
+
+    /**
+     * Same as {@link World#getEntitiesWithinAABB(Class, AxisAlignedBB)} - spectators are skipped.
+     *
+     * @param out List to fill, it's cleared first.
+     * @return out
+     */
+    public <T extends Entity> List<T> getEntitiesWithin(Class<? extends T> entityClass, AxisAlignedBB box, List<T> out) {
+        return getEntitiesWithin(entityClass, box, EntitySelectors.NOT_SPECTATING, out);
+    }
+
+    /**
+     * Same as {@link World#getEntitiesWithinAABB(Class, AxisAlignedBB, Predicate)}.
+     *
+     * @param out List to fill, it's cleared first.
+     * @return out
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> getEntitiesWithin(Class<? extends T> entityClass, AxisAlignedBB box, @Nullable Predicate<? super T> filter, List<T> out) {
+        out.clear();
+        checkTick();
+
+        int minX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxX = MathHelper.ceil((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+        int minZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxZ = MathHelper.ceil((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+
+        for (int x = minX; x < maxX; x++) {
+            for (int z = minZ; z < maxZ; z++) {
+                for (Entity entity : getBucket(x, z)) {
+                    if (isWithin(entityClass, entity, box) && (filter == null || filter.apply((T) entity)))
+                        out.add((T) entity);
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * @return True if there is at least one entity (not dead) of given class within the box.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> boolean hasEntityWithin(Class<? extends T> entityClass, AxisAlignedBB box, @Nullable Predicate<? super T> filter) {
+        checkTick();
+
+        int minX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxX = MathHelper.ceil((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+        int minZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxZ = MathHelper.ceil((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+
+        for (int x = minX; x < maxX; x++) {
+            for (int z = minZ; z < maxZ; z++) {
+                for (Entity entity : getBucket(x, z)) {
+                    if (isWithin(entityClass, entity, box) && (filter == null || filter.apply((T) entity)))
+                        return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+
+    /**
+     * Checks single already known entity the same way as the queries do.
+     */
+    public static boolean isWithin(Class<? extends Entity> entityClass, Entity entity, AxisAlignedBB box) {
+        return !entity.isDead && entityClass.isInstance(entity) && entity.getEntityBoundingBox().intersects(box);
+    }
+}
@@ -8,6 +8,7 @@ import tauri.dev.jsg.config.JSGConfig;
 import tauri.dev.jsg.tileentity.dialhomedevice.DHDAbstractTile;
 import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
 import tauri.dev.jsg.tileentity.stargate.StargateClassicBaseTile;
+import tauri.dev.jsg.tileentity.util.DeviceRegistry;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -17,6 +18,7 @@ public class LinkingHelper {
 
     /**
      * Finds closest block of the given type within given radius.
+     * Devices indexed by {@link DeviceRegistry} are looked up in the registry, other blocks are searched block by block.
      *
      * @param world       World instance.
      * @param startPos    Starting position.
@@ -27,6 +29,19 @@ public class LinkingHelper {
 
     @Nullable
     public static BlockPos findClosestUnlinked(World world, BlockPos startPos, BlockPos radius, Block targetBlock, int linkId) {
+        if (DeviceRegistry.isIndexed(targetBlock)) {
+            TileEntity tile = DeviceRegistry.get(world).findClosest(startPos, radius, new Block[]{targetBlock}, target -> {
+                if (!(target instanceof ILinkable)) return false;
+
+                ILinkable linkedTile = (ILinkable) target;
+                if (!linkedTile.canLinkTo() && linkId != linkedTile.getLinkId()) return false;
+
+                return !(linkedTile instanceof StargateClassicBaseTile) || ((StargateClassicBaseTile) linkedTile).isMerged();
+            });
+
+            return tile != null ? tile.getPos() : null;
+        }
+
         double closestDistance = Double.MAX_VALUE;
         BlockPos closest = null;
 
@@ -55,6 +70,13 @@ public class LinkingHelper {
     @SuppressWarnings("unused")
     @Nullable
     public static BlockPos findClosestUnlinked(World world, BlockPos startPos, BlockPos radius, Block[] targetBlocks, int linkId) {
+        if (DeviceRegistry.isIndexed(targetBlocks)) {
+            TileEntity tile = DeviceRegistry.get(world).findClosest(startPos, radius, targetBlocks, target ->
+                    target instanceof ILinkable && (((ILinkable) target).canLinkTo() || linkId == ((ILinkable) target).getLinkId()));
+
+            return tile != null ? tile.getPos() : null;
+        }
+
         double closestDistance = Double.MAX_VALUE;
         BlockPos closest = null;
 
@@ -81,6 +103,12 @@ public class LinkingHelper {
 
     @Nullable
     public static BlockPos findClosestPos(World world, BlockPos startPos, BlockPos radius, Block[] targetBlocks, ArrayList<BlockPos> blacklist) {
+        if (DeviceRegistry.isIndexed(targetBlocks)) {
+            TileEntity tile = DeviceRegistry.get(world).findClosest(startPos, radius, targetBlocks, target -> !blacklist.contains(target.getPos()));
+
+            return tile != null ? tile.getPos() : null;
+        }
+
         double closestDistance = Double.MAX_VALUE;
         BlockPos closest = null;
 
@@ -101,6 +129,9 @@ public class LinkingHelper {
     }
 
     public static TileEntity findClosestTile(World world, BlockPos startPos, Block[] allowedBlocks, Class<? extends TileEntity> tileClass, int radiusXZ, int radiusY) {
+        if (DeviceRegistry.isIndexed(allowedBlocks))
+            return DeviceRegistry.get(world).findClosest(startPos, new BlockPos(radiusXZ, radiusY, radiusXZ), allowedBlocks, tileClass::isInstance);
+
         BlockPos found = null;
         TileEntity tileEntity = null;
 
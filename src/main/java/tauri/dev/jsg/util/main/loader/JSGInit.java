@@ -28,6 +28,8 @@ import tauri.dev.jsg.machine.assembler.AssemblerRecipes;
 import tauri.dev.jsg.machine.chamber.CrystalChamberRecipes;
 import tauri.dev.jsg.machine.orewashing.OreWashingRecipes;
 import tauri.dev.jsg.machine.pcbfabricator.PCBFabricatorRecipes;
+import tauri.dev.jsg.packet.admincontroller.AdminControllerNetworkSync;
+import tauri.dev.jsg.stargate.network.StargateNetwork;
 import tauri.dev.jsg.worldgen.JSGOresGenerator;
 import tauri.dev.jsg.worldgen.structures.EnumStructures;
 import tauri.dev.jsg.worldgen.structures.JSGStructuresGenerator;
@@ -51,6 +53,9 @@ public class JSGInit {
         ItemEndpointCapability.register();
         JSG.info("Successfully registered Capabilities (phase 2)!");
 
+        // Stargate network listeners
+        StargateNetwork.registerListener(AdminControllerNetworkSync.INSTANCE);
+
         // Advancements
         JSGAdvancements.register();
 
@@ -0,0 +1,277 @@
+package tauri.dev.jsg.webserver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.api.event.*;
+import tauri.dev.jsg.config.JSGConfig;
+import tauri.dev.jsg.tileentity.stargate.StargateAbstractBaseTile;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live stargate events for the web server (Server-Sent Events).
+ * <p>
+ * The server thread serializes events into a ring buffer, it never waits for the clients.
+ * Every connected client has its own thread reading the buffer from its cursor. Clients which fall
+ * behind more than the buffer capacity skip the overwritten events (a "reset" event is sent,
+ * its data is the number of skipped events or -1 if unknown).
+ * Clients resume from the Last-Event-ID header (or lastEventId query parameter). Event ids are
+ * {@code <epoch>-<number>}, ids from before a restart (other epoch) can't be resumed - a "reset" is sent.
+ */
+@EventBusSubscriber
+public class EventStream {
+
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * Comment sent to idle clients to detect closed connections.
+     */
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private static final Gson GSON = new Gson();
+
+    private static class StoredEvent {
+        final long id;
+        final byte[] frame;
+
+        StoredEvent(long id, byte[] frame) {
+            this.id = id;
+            this.frame = frame;
+        }
+    }
+
+    private static final AtomicReferenceArray<StoredEvent> BUFFER = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * Id of the last published event. Ids start at 1.
+     */
+    private static final AtomicLong LAST_ID = new AtomicLong();
+
+    /**
+     * Prefix of the event ids, different after every restart (numbers start at 1 again).
+     */
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final List<Thread> CLIENT_THREADS = new CopyOnWriteArrayList<>();
+    private static Semaphore clientSlots;
+
+    // ------------------------------------------------------------------------
+    // Publishing (server thread)
+
+    private static void publish(String type, JsonObject data) {
+        long id = LAST_ID.get() + 1;
+        String frame = "id: " + EPOCH + "-" + id + "\nevent: " + type + "\ndata: " + GSON.toJson(data) + "\n\n";
+
+        BUFFER.set((int) (id & MASK), new StoredEvent(id, frame.getBytes(StandardCharsets.UTF_8)));
+        LAST_ID.set(id);
+
+        for (Thread thread : CLIENT_THREADS)
+            LockSupport.unpark(thread);
+    }
+
+    private static JsonObject serializeGate(StargateAbstractEvent event) {
+        StargateAbstractBaseTile tile = event.getTile();
+        BlockPos pos = tile.getPos();
+
+        JsonObject json = new JsonObject();
+        json.addProperty("dimension", tile.getWorld().provider.getDimension());
+        json.addProperty("x", pos.getX());
+        json.addProperty("y", pos.getY());
+        json.addProperty("z", pos.getZ());
+        json.addProperty("symbolType", String.valueOf(tile.getSymbolType()));
+        json.addProperty("address", String.valueOf(event.getAddress()));
+        json.addProperty("time", tile.getWorld().getTotalWorldTime());
+
+        return json;
+    }
+
+    private static JsonObject serializeConnected(StargateConnectedAbstractEvent event) {
+        JsonObject json = serializeGate(event);
+        json.addProperty("targetAddress", event.getTargetTile() != null ? String.valueOf(event.getTargetAddress()) : null);
+        json.addProperty("initiating", event.isInitiating());
+
+        return json;
+    }
+
+    private static boolean shouldPublish(StargateAbstractEvent event) {
+        return RestAPI.isRunning() && event.getTile().getWorld() != null && !event.getTile().getWorld().isRemote;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onOpened(StargateOpenedEvent event) {
+        if (shouldPublish(event)) publish("opened", serializeConnected(event));
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onClosed(StargateClosedEvent event) {
+        if (shouldPublish(event)) publish("closed", serializeGate(event));
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onDialFail(StargateDialFailEvent event) {
+        if (!shouldPublish(event)) return;
+
+        JsonObject json = serializeGate(event);
+        json.addProperty("reason", String.valueOf(event.getReason()));
+        publish("dial_fail", json);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onChevronEngaged(StargateChevronEngagedEvent event) {
+        if (!shouldPublish(event)) return;
+
+        JsonObject json = serializeGate(event);
+        json.addProperty("symbol", event.getSymbol() != null ? event.getSymbol().getEnglishName() : null);
+        json.addProperty("lastSymbol", event.isLastSymbol());
+        publish("chevron_engaged", json);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onTeleport(StargateTeleportEntityEvent event) {
+        if (!shouldPublish(event)) return;
+
+        JsonObject json = serializeConnected(event);
+        json.addProperty("entity", event.getEntity().getName());
+        json.addProperty("entityId", event.getEntity().getUniqueID().toString());
+        json.addProperty("redirected", event.isRedirected());
+        publish("teleport", json);
+    }
+
+    // ------------------------------------------------------------------------
+    // Streaming (client threads)
+
+    /**
+     * Starts streaming to the client on its own thread.
+     *
+     * @return False if there are too many clients.
+     */
+    public static synchronized boolean startStreaming(HttpExchange exchange, @Nullable String lastEventId) {
+        if (clientSlots == null)
+            clientSlots = new Semaphore(JSGConfig.WebServer.general.maxEventClients);
+
+        if (!clientSlots.tryAcquire()) return false;
+
+        long cursor = LAST_ID.get();
+        boolean unknownId = false;
+        if (lastEventId != null) {
+            String[] parts = lastEventId.trim().split("-", 2);
+            unknownId = true;
+
+            try {
+                long id = Long.parseLong(parts[1]);
+
+                // Id from before a restart - events can't be matched
+                if (parts[0].equals(EPOCH) && id <= cursor) {
+                    cursor = id;
+                    unknownId = false;
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ignored) {
+            }
+        }
+
+        long startCursor = cursor;
+        boolean reset = unknownId;
+        Semaphore slots = clientSlots;
+        Thread thread = new Thread(() -> {
+            try {
+                stream(exchange, startCursor, reset);
+            } finally {
+                CLIENT_THREADS.remove(Thread.currentThread());
+                exchange.close();
+                slots.release();
+            }
+        }, "JSG HTTP Event Stream");
+        thread.setDaemon(true);
+        CLIENT_THREADS.add(thread);
+        thread.start();
+
+        return true;
+    }
+
+    private static void writeReset(OutputStream os, long skipped) throws IOException {
+        os.write(("event: reset\ndata: " + skipped + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param reset Client's last event id is unknown (restart), tell it some events could be missed.
+     */
+    private static void stream(HttpExchange exchange, long cursor, boolean reset) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+
+            OutputStream os = exchange.getResponseBody();
+            os.write("retry: 2000\n\n".getBytes(StandardCharsets.UTF_8));
+            if (reset) writeReset(os, -1);
+            os.flush();
+
+            long lastWrite = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted() && RestAPI.isRunning()) {
+                long last = LAST_ID.get();
+
+                if (cursor < last) {
+                    long oldest = Math.max(1, last - CAPACITY + 1);
+                    if (cursor + 1 < oldest) {
+                        writeReset(os, oldest - cursor - 1);
+                        cursor = oldest - 1;
+                    }
+
+                    for (long id = cursor + 1; id <= last; id++) {
+                        StoredEvent event = BUFFER.get((int) (id & MASK));
+
+                        if (event == null || event.id != id) {
+                            // Overwritten while we were writing - skip to the oldest event still in the buffer
+                            long newOldest = Math.max(1, LAST_ID.get() - CAPACITY + 1);
+                            long skipped = Math.max(1, newOldest - id);
+                            writeReset(os, skipped);
+                            id += skipped - 1;
+                            continue;
+                        }
+                        os.write(event.frame);
+                    }
+
+                    os.flush();
+                    cursor = last;
+                    lastWrite = System.nanoTime();
+                } else if (System.nanoTime() - lastWrite > KEEP_ALIVE_NANOS) {
+                    os.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+                    os.flush();
+                    lastWrite = System.nanoTime();
+                } else {
+                    LockSupport.parkNanos(KEEP_ALIVE_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            // Client disconnected
+            JSG.debug("Event stream client disconnected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Disconnects all clients (web server stopped).
+     */
+    public static synchronized void stop() {
+        for (Thread thread : CLIENT_THREADS)
+            thread.interrupt();
+
+        clientSlots = null;
+    }
+}
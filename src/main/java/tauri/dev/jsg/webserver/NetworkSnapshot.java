@@ -0,0 +1,188 @@
+package tauri.dev.jsg.webserver;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.stargate.network.*;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable copy of the {@link StargateNetwork} for the web server.
+ * <p>
+ * Built on the server thread (the network is not thread safe) when the network changed
+ * and published to the HTTP threads. Gates changed in place (renames...) are picked up
+ * by a periodic refresh while the API is being used. The refreshed snapshot keeps its version (ETag)
+ * when nothing changed.
+ */
+@EventBusSubscriber
+public class NetworkSnapshot {
+
+    /**
+     * Max age of the snapshot while the API is queried.
+     */
+    private static final int REFRESH_TICKS = 100;
+
+    public static class Entry {
+        public final SymbolTypeEnum symbolType;
+        public final String address;
+        public final int dimensionID;
+        public final JsonElement json;
+
+        private Entry(SymbolTypeEnum symbolType, String address, int dimensionID, JsonElement json) {
+            this.symbolType = symbolType;
+            this.address = address;
+            this.dimensionID = dimensionID;
+            this.json = json;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+
+            Entry entry = (Entry) o;
+            return symbolType == entry.symbolType && dimensionID == entry.dimensionID && address.equals(entry.address) && json.equals(entry.json);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbolType, address, dimensionID, json);
+        }
+    }
+
+    private static volatile NetworkSnapshot current;
+    private static volatile boolean dirty = true;
+    private static volatile boolean requested;
+    private static int ticksSinceBuild;
+    private static long nextVersion;
+    private static boolean listenerRegistered;
+
+    public final long version;
+    public final List<Entry> entries;
+
+    private byte[] fullJson;
+    private byte[] fullJsonGzip;
+
+    private NetworkSnapshot(long version, List<Entry> entries) {
+        this.version = version;
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return Latest snapshot or null if none was built yet.
+     */
+    @Nullable
+    public static NetworkSnapshot get() {
+        requested = true;
+        return current;
+    }
+
+    public static void registerListener() {
+        if (listenerRegistered) return;
+        listenerRegistered = true;
+
+        StargateNetwork.registerListener(new StargateNetworkListener() {
+            @Override
+            public void onStargateAdded(StargateAddress address, StargatePos pos, @Nullable StargatePos oldPos) {
+                dirty = true;
+            }
+
+            @Override
+            public void onStargateRemoved(StargateAddress address, StargatePos pos) {
+                dirty = true;
+            }
+        });
+    }
+
+    public static void clear() {
+        current = null;
+        dirty = true;
+    }
+
+    // ------------------------------------------------------------------------
+    // Responses
+
+    /**
+     * @return Gates grouped by symbol type and address (the format of the whole network).
+     */
+    public static String toJson(List<Entry> entries) {
+        JsonObject root = new JsonObject();
+
+        for (Entry entry : entries) {
+            String type = String.valueOf(entry.symbolType);
+            JsonObject typeObject = root.getAsJsonObject(type);
+            if (typeObject == null) {
+                typeObject = new JsonObject();
+                root.add(type, typeObject);
+            }
+
+            typeObject.add(entry.address, entry.json);
+        }
+
+        return RestAPI.GSON.toJson(root);
+    }
+
+    public synchronized byte[] getFullJson() {
+        if (fullJson == null)
+            fullJson = toJson(entries).getBytes(StandardCharsets.UTF_8);
+
+        return fullJson;
+    }
+
+    public synchronized byte[] getFullJsonGzip() {
+        if (fullJsonGzip == null)
+            fullJsonGzip = RestAPI.gzip(getFullJson());
+
+        return fullJsonGzip;
+    }
+
+    // ------------------------------------------------------------------------
+    // Building
+
+    private static List<Entry> build(StargateNetwork network) {
+        List<Entry> entries = new ArrayList<>();
+
+        for (Map.Entry<SymbolTypeEnum, Map<StargateAddress, StargatePos>> typeEntry : network.getMap().entrySet()) {
+            for (Map.Entry<StargateAddress, StargatePos> gateEntry : typeEntry.getValue().entrySet()) {
+                StargatePos pos = gateEntry.getValue();
+                entries.add(new Entry(typeEntry.getKey(), String.valueOf(gateEntry.getKey()), pos.dimensionID, RestAPI.GSON.toJsonTree(pos)));
+            }
+        }
+
+        entries.sort(Comparator.comparing((Entry entry) -> entry.symbolType).thenComparing(entry -> entry.address));
+        return entries;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !RestAPI.isRunning() || JSG.currentServer == null) return;
+
+        ticksSinceBuild++;
+        if (!dirty && current != null && !(requested && ticksSinceBuild >= REFRESH_TICKS)) return;
+        if (current == null && !requested) return;
+
+        World world = JSG.currentServer.getWorld(0);
+        if (world == null) return;
+
+        try {
+            List<Entry> entries = build(StargateNetwork.get(world));
+
+            // Keep the old version (and the cached JSON) so the clients get 304
+            if (current == null || !current.entries.equals(entries))
+                current = new NetworkSnapshot(++nextVersion, entries);
+
+            dirty = false;
+            requested = false;
+            ticksSinceBuild = 0;
+        } catch (Exception e) {
+            JSG.error("Failed to build the network snapshot for the web server", e);
+        }
+    }
+}
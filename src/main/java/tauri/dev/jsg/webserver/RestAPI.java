@@ -1,32 +1,75 @@
 package tauri.dev.jsg.webserver;
 
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import tauri.dev.jsg.JSG;
 import tauri.dev.jsg.config.JSGConfig;
+import tauri.dev.jsg.webserver.sites.Events;
 import tauri.dev.jsg.webserver.sites.IHttpSite;
 import tauri.dev.jsg.webserver.sites.Network;
 
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 public class RestAPI {
     protected static HttpServer server = null;
+    protected static ThreadPoolExecutor executor = null;
+
+    /**
+     * Max requests waiting for a free thread. When full, the dispatcher thread handles the request itself
+     * (and stops accepting new connections until it's done).
+     */
+    private static final int QUEUE_SIZE = 64;
+
+    /**
+     * Responses smaller than this are not compressed.
+     */
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    public static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
 
     public static final IHttpSite[] sitesArray = {
-            new Network()
+            new Network(),
+            new Events()
     };
 
     public static void start() {
         if(!JSGConfig.WebServer.general.enabled) return;
-        if (server != null) server.stop(0);
+        if (server != null) stop();
         try {
             int port = JSGConfig.WebServer.general.port;
+            int threads = JSGConfig.WebServer.general.threads;
             server = HttpServer.create(new InetSocketAddress(port), 0);
             for (IHttpSite site : sitesArray) {
                 server.createContext(site.getPath(), site::handle);
             }
-            server.setExecutor(null);
+
+            AtomicInteger threadIndex = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "JSG HTTP Server #" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+
+            NetworkSnapshot.registerListener();
+            server.setExecutor(executor);
             server.start();
             JSG.logger.info("HTTP Server Listening on port: " + port);
         } catch (IOException e) {
@@ -38,6 +81,103 @@ public class RestAPI {
         if (server == null) return;
         server.stop(0);
         server = null;
+        EventStream.stop();
+        executor.shutdownNow();
+        executor = null;
+        NetworkSnapshot.clear();
         JSG.logger.info("Stopping HTTP Server");
     }
+
+    public static boolean isRunning() {
+        return server != null;
+    }
+
+    // ------------------------------------------------------------------------
+    // Helpers for the sites
+
+    /**
+     * @return Query parameters of the request (last value wins).
+     */
+    public static Map<String, String> getQueryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) return params;
+
+        try {
+            for (String param : query.split("&")) {
+                int index = param.indexOf('=');
+                if (index < 0)
+                    params.put(URLDecoder.decode(param, "UTF-8"), "");
+                else
+                    params.put(URLDecoder.decode(param.substring(0, index), "UTF-8"), URLDecoder.decode(param.substring(index + 1), "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException | IllegalArgumentException ignored) {
+        }
+
+        return params;
+    }
+
+    public static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return out.toByteArray();
+    }
+
+    public static boolean acceptsGzip(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * @return True if the client has the version with the given ETag (304 was sent).
+     */
+    public static boolean checkNotModified(HttpExchange exchange, String etag) throws IOException {
+        exchange.getResponseHeaders().set("ETag", etag);
+
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null) return false;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals(etag) || tag.equals("*")) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sends the JSON response. Compressed if the client accepts gzip.
+     *
+     * @param gzipped Already compressed body or null to compress it here (if needed).
+     */
+    public static void sendJson(HttpExchange exchange, int status, byte[] json, @Nullable byte[] gzipped) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+
+        byte[] body = json;
+        if (acceptsGzip(exchange) && json.length >= GZIP_MIN_SIZE) {
+            body = gzipped != null ? gzipped : gzip(json);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    public static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        sendJson(exchange, status, GSON.toJson(error).getBytes(StandardCharsets.UTF_8), null);
+    }
 }
@@ -0,0 +1,39 @@
+package tauri.dev.jsg.webserver.sites;
+
+import com.sun.net.httpserver.HttpExchange;
+import tauri.dev.jsg.JSG;
+import tauri.dev.jsg.webserver.EventStream;
+import tauri.dev.jsg.webserver.RestAPI;
+
+/**
+ * Server-Sent Events stream of stargate events (opened, closed, dial_fail, chevron_engaged, teleport).
+ * See {@link EventStream}.
+ */
+public class Events implements IHttpSite {
+    @Override
+    public String getPath() {
+        return "/sgevents";
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                RestAPI.sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            if (lastEventId == null)
+                lastEventId = RestAPI.getQueryParams(exchange).get("lastEventId");
+
+            if (!EventStream.startStreaming(exchange, lastEventId)) {
+                exchange.getResponseHeaders().set("Retry-After", "10");
+                RestAPI.sendError(exchange, 503, "Too many event stream clients");
+            }
+        } catch (Exception e) {
+            JSG.debug("Web server request failed: " + e);
+            exchange.close();
+        }
+    }
+}
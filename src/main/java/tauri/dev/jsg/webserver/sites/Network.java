@@ -1,17 +1,32 @@
 package tauri.dev.jsg.webserver.sites;
 
-import com.google.gson.GsonBuilder;
 import com.sun.net.httpserver.HttpExchange;
 import tauri.dev.jsg.JSG;
-import tauri.dev.jsg.stargate.network.StargateAddress;
-import tauri.dev.jsg.stargate.network.StargateNetwork;
-import tauri.dev.jsg.stargate.network.StargatePos;
 import tauri.dev.jsg.stargate.network.SymbolTypeEnum;
+import tauri.dev.jsg.webserver.NetworkSnapshot;
+import tauri.dev.jsg.webserver.RestAPI;
 
-import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Whole stargate network, grouped by symbol type and address.
+ * <p>
+ * Query parameters (all optional):
+ * <ul>
+ *     <li>dim - only gates in this dimension</li>
+ *     <li>type - only addresses of this symbol type (MILKYWAY, PEGASUS, UNIVERSE)</li>
+ *     <li>page, pageSize - page (from 1) of the filtered gates. Total count is sent in the X-Total-Count header.</li>
+ * </ul>
+ * Served from {@link NetworkSnapshot}, supports ETag/If-None-Match and gzip.
+ */
 public class Network implements IHttpSite {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final String etagPrefix = "\"" + Long.toHexString(System.currentTimeMillis()) + "-";
+
     @Override
     public String getPath() {
         return "/sgnetwork";
@@ -20,14 +35,65 @@ public class Network implements IHttpSite {
     @Override
     public void handle(HttpExchange exchange) {
         try {
-            Map<SymbolTypeEnum, Map<StargateAddress, StargatePos>> network = StargateNetwork.get(JSG.currentServer.getWorld(0)).getMap();
-            String json = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(network);
-
-            exchange.sendResponseHeaders(200, json.length());
-            OutputStream os = exchange.getResponseBody();
-            os.write(json.getBytes());
-            os.close();
-        } catch (Exception ignored) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                RestAPI.sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            NetworkSnapshot snapshot = NetworkSnapshot.get();
+            if (snapshot == null) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                RestAPI.sendError(exchange, 503, "Network is not loaded yet");
+                return;
+            }
+
+            Map<String, String> params = RestAPI.getQueryParams(exchange);
+            Integer dimension = null;
+            SymbolTypeEnum symbolType = null;
+            int page = 0;
+            int pageSize = 0;
+
+            try {
+                if (params.containsKey("dim"))
+                    dimension = Integer.parseInt(params.get("dim"));
+                if (params.containsKey("type"))
+                    symbolType = SymbolTypeEnum.valueOf(params.get("type").toUpperCase());
+                if (params.containsKey("page") || params.containsKey("pageSize")) {
+                    page = Math.max(1, Integer.parseInt(params.getOrDefault("page", "1")));
+                    pageSize = Math.min(MAX_PAGE_SIZE, Math.max(1, Integer.parseInt(params.getOrDefault("pageSize", "100"))));
+                }
+            } catch (IllegalArgumentException e) {
+                RestAPI.sendError(exchange, 400, "Invalid query parameters");
+                return;
+            }
+
+            String query = (dimension != null ? "d" + dimension : "") + (symbolType != null ? "t" + symbolType.id : "") + (page > 0 ? "p" + page + "s" + pageSize : "");
+            if (RestAPI.checkNotModified(exchange, etagPrefix + snapshot.version + query + "\""))
+                return;
+
+            if (dimension == null && symbolType == null && page == 0) {
+                exchange.getResponseHeaders().set("X-Total-Count", String.valueOf(snapshot.entries.size()));
+                RestAPI.sendJson(exchange, 200, snapshot.getFullJson(), RestAPI.acceptsGzip(exchange) ? snapshot.getFullJsonGzip() : null);
+                return;
+            }
+
+            List<NetworkSnapshot.Entry> filtered = new ArrayList<>();
+            for (NetworkSnapshot.Entry entry : snapshot.entries) {
+                if (dimension != null && entry.dimensionID != dimension) continue;
+                if (symbolType != null && entry.symbolType != symbolType) continue;
+                filtered.add(entry);
+            }
+
+            exchange.getResponseHeaders().set("X-Total-Count", String.valueOf(filtered.size()));
+            if (page > 0) {
+                int from = (int) Math.min(filtered.size(), (long) (page - 1) * pageSize);
+                filtered = filtered.subList(from, Math.min(filtered.size(), from + pageSize));
+            }
+
+            RestAPI.sendJson(exchange, 200, NetworkSnapshot.toJson(filtered).getBytes(StandardCharsets.UTF_8), null);
+        } catch (Exception e) {
+            JSG.debug("Web server request failed: " + e);
+            exchange.close();
         }
     }
 }
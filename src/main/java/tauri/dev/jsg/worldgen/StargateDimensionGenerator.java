@@ -15,9 +15,10 @@ import tauri.dev.jsg.util.DimensionsHelper;
 import tauri.dev.jsg.worldgen.util.GeneratedStargate;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 public class StargateDimensionGenerator {
     @SuppressWarnings("all")
@@ -28,15 +29,12 @@ public class StargateDimensionGenerator {
         }
         JSG.info("Checking dimensions to generate addresses of possible gates there...");
         StargateNetwork sgn = StargateNetwork.get(worldServer);
-        ArrayList<Integer> dimensionsWithGate = new ArrayList<>();
+        Set<Integer> dimensionsWithGate = new HashSet<>();
         Map<StargatePos, Map<SymbolTypeEnum, StargateAddress>> virtualGates = sgn.getMapNotGenerated();
-        Map<StargateAddress, StargatePos> sgNetwork = sgn.getMap().get(SymbolTypeEnum.MILKYWAY);
         for (StargatePos p : virtualGates.keySet()) {
             dimensionsWithGate.add(p.dimensionID);
         }
-        for (StargatePos p : sgNetwork.values()) {
-            dimensionsWithGate.add(p.dimensionID);
-        }
+        dimensionsWithGate.addAll(sgn.getDimensionsWithStargate());
 
         int i = 0;
         int y = 0;
@@ -3,8 +3,6 @@ package tauri.dev.jsg.worldgen.structures;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.RayTraceResult;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldType;
@@ -17,14 +15,12 @@ import tauri.dev.jsg.util.FacingHelper;
 import tauri.dev.jsg.worldgen.structures.stargate.nether.JSGNetherStructure;
 import tauri.dev.jsg.worldgen.util.GeneratedStargate;
 import tauri.dev.jsg.worldgen.util.JSGStructurePos;
-import tauri.dev.jsg.worldgen.util.JSGWorldTopBlock;
+import tauri.dev.jsg.worldgen.util.JSGSurfaceCache;
 
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Random;
 
-import static tauri.dev.jsg.worldgen.util.JSGWorldTopBlock.getTopBlock;
-
 /**
  * @author MrJake222
  */
@@ -56,7 +52,9 @@ public class JSGStructuresGenerator implements IWorldGenerator {
 
         int x = (chunkX * 16) + (notCommandGen ? random.nextInt(15) : 0);
         int z = (chunkZ * 16) + (notCommandGen ? random.nextInt(15) : 0);
-        JSGStructurePos structurePos = checkForPlace(worldToSpawn, chunkX, chunkZ, structure, dimId);
+        // Random generation must not load chunks, it would cause cascading worldgen
+        JSGSurfaceCache surfaceCache = new JSGSurfaceCache(worldToSpawn, dimId, notRandomGen);
+        JSGStructurePos structurePos = checkForPlace(surfaceCache, chunkX, chunkZ, structure);
         if (notRandomGen && notCommandGen) {
             int tries = 0;
             while ((structurePos == null || structurePos.foundPos == null) && tries < 50) {
@@ -82,7 +80,7 @@ public class JSGStructuresGenerator implements IWorldGenerator {
                 chunkX = x / 16;
                 chunkZ = z / 16;
 
-                structurePos = JSGStructuresGenerator.checkForPlace(worldToSpawn, chunkX, chunkZ, structure, dimId);
+                structurePos = checkForPlace(surfaceCache, chunkX, chunkZ, structure);
                 tries++;
             }
         }
@@ -113,42 +111,69 @@ public class JSGStructuresGenerator implements IWorldGenerator {
     }
 
     public static JSGStructurePos checkForPlace(World world, int chunkX, int chunkZ, EnumStructures structure, int dimensionId) {
-        if (!world.getChunkProvider().isChunkGeneratedAt(chunkX, chunkZ)) {
-            world.getChunkProvider().provideChunk(chunkX, chunkZ);
-        }
+        return checkForPlace(new JSGSurfaceCache(world, dimensionId, true), chunkX, chunkZ, structure);
+    }
+
+    /**
+     * Scores the place using the cached surface. Columns in chunks which are not available are skipped.
+     */
+    public static JSGStructurePos checkForPlace(JSGSurfaceCache cache, int chunkX, int chunkZ, EnumStructures structure) {
+        int dimensionId = cache.dimensionId;
+        JSGStructure actualStructure = structure.getActualStructure(dimensionId);
+        if (cache.getSurface(chunkX, chunkZ, actualStructure.airUp) == null)
+            return null;
+
         int x = chunkX * 16;
         int z = chunkZ * 16;
 
-        int structureSizeX = structure.getActualStructure(dimensionId).structureSizeX;
-        int structureSizeZ = structure.getActualStructure(dimensionId).structureSizeZ;
+        int structureSizeX = actualStructure.structureSizeX;
+        int structureSizeZ = actualStructure.structureSizeZ;
 
 
         int lowestY = 100;
         int highestY = 0;
 
         BlockPos pos = new BlockPos(x, 50, z);
+        Rotation rotation = FacingHelper.getRotation(findOptimalRotation(cache, pos));
+
+        // None of the footprint's chunks has an allowed top block - the place can't match
+        if (structure.allowedOnBlocks != null && actualStructure.topBlockMatchPercent > 0) {
+            BlockPos corner1 = pos.add(new BlockPos(-1, 0, -1).rotate(rotation));
+            BlockPos corner2 = pos.add(new BlockPos(structureSizeX + 1, 0, structureSizeZ + 1).rotate(rotation));
+            boolean anyAllowed = false;
+            for (int cx = Math.min(corner1.getX(), corner2.getX()) >> 4; cx <= Math.max(corner1.getX(), corner2.getX()) >> 4 && !anyAllowed; cx++) {
+                for (int cz = Math.min(corner1.getZ(), corner2.getZ()) >> 4; cz <= Math.max(corner1.getZ(), corner2.getZ()) >> 4; cz++) {
+                    JSGSurfaceCache.ChunkSurface surface = cache.getSurface(cx, cz, actualStructure.airUp);
+                    if (surface != null && surface.containsAny(structure.allowedOnBlocks)) {
+                        anyAllowed = true;
+                        break;
+                    }
+                }
+            }
+            if (!anyAllowed) return null;
+        }
+
         ArrayList<BlockPos> bestPositions = new ArrayList<>();
         int topBlocksOk = 0;
-        Rotation rotation = FacingHelper.getRotation(findOptimalRotation(world, pos));
         for (int xx = -1; xx <= (structureSizeX + 1); xx++) {
             for (int zz = -1; zz <= (structureSizeZ + 1); zz++) {
                 BlockPos newPos = pos.add((new BlockPos(xx, 0, zz).rotate(rotation)));
-                if (world.getChunkProvider().isChunkGeneratedAt(newPos.getX() / 16, newPos.getZ() / 16)) {
-                    JSGWorldTopBlock topBlock = getTopBlock(world, newPos.getX(), newPos.getZ(), structure.getActualStructure(dimensionId).airUp, dimensionId);
-                    if (topBlock != null) {
-                        if (topBlock.y < lowestY) lowestY = topBlock.y;
-                        if (topBlock.y > highestY) highestY = topBlock.y;
-                        int step = Math.abs(topBlock.y - lowestY);
-                        if (structure.allowedOnBlocks == null || structure.allowedOnBlocks.contains(topBlock.topBlock)) {
-                            topBlocksOk++;
-                            if (step <= 4) {
-                                bestPositions.add(newPos);
-                            } else if (step >= 15)
-                                return null;
-                        }
-                    }
-                } else
-                    world.getChunkProvider().provideChunk(newPos.getX() / 16, newPos.getZ() / 16);
+                JSGSurfaceCache.ChunkSurface surface = cache.getSurface(newPos.getX() >> 4, newPos.getZ() >> 4, actualStructure.airUp);
+                if (surface == null) continue;
+
+                int topY = surface.getTopY(newPos.getX(), newPos.getZ());
+                if (topY < 0) continue;
+
+                if (topY < lowestY) lowestY = topY;
+                if (topY > highestY) highestY = topY;
+                int step = Math.abs(topY - lowestY);
+                if (structure.allowedOnBlocks == null || structure.allowedOnBlocks.contains(surface.getTopBlock(newPos.getX(), newPos.getZ()))) {
+                    topBlocksOk++;
+                    if (step <= 4) {
+                        bestPositions.add(newPos);
+                    } else if (step >= 15)
+                        return null;
+                }
             }
         }
 
@@ -171,14 +196,22 @@ public class JSGStructuresGenerator implements IWorldGenerator {
 
         double successPercent = (bestPositions.size() / ((double) (structureSizeX * structureSizeZ)));
 
-        if (bestAttemptPos != null && (successPercent < structure.getActualStructure(dimensionId).terrainFlatPercents))
+        if (bestAttemptPos != null && (successPercent < actualStructure.terrainFlatPercents))
             return new JSGStructurePos(null, bestAttemptPos);
-        if (successPercent >= structure.getActualStructure(dimensionId).terrainFlatPercents && ((topBlocksOk / (double) (structureSizeX * structureSizeZ)) >= structure.getActualStructure(dimensionId).topBlockMatchPercent))
-            return new JSGStructurePos(new BlockPos(x, structure.getActualStructure(dimensionId).genHeight.getHeight(lowestY, highestY), z), null);
+        if (successPercent >= actualStructure.terrainFlatPercents && ((topBlocksOk / (double) (structureSizeX * structureSizeZ)) >= actualStructure.topBlockMatchPercent))
+            return new JSGStructurePos(new BlockPos(x, actualStructure.genHeight.getHeight(lowestY, highestY), z), null);
         return null;
     }
 
     public static EnumFacing findOptimalRotation(World world, BlockPos pos) {
+        return findOptimalRotation(new JSGSurfaceCache(world, world.provider.getDimension(), false), pos);
+    }
+
+    /**
+     * Finds the facing with the most free space in front of the position.
+     * Space ends at the first column whose heightmap is above the checked height. Unloaded chunks count as free.
+     */
+    public static EnumFacing findOptimalRotation(JSGSurfaceCache cache, BlockPos pos) {
         final int MAX_CHECK = 100;
 
         BlockPos start = pos.add(0, 5, 5);
@@ -186,10 +219,18 @@ public class JSGStructuresGenerator implements IWorldGenerator {
         EnumFacing maxFacing = EnumFacing.EAST;
 
         for (EnumFacing facing : EnumFacing.HORIZONTALS) {
-            RayTraceResult rayTraceResult = world.rayTraceBlocks(new Vec3d(start), new Vec3d(start.offset(facing, MAX_CHECK)));
+            int hitDistance = -1;
+            for (int i = 1; i <= MAX_CHECK; i++) {
+                int height = cache.getHeight(start.getX() + facing.getFrontOffsetX() * i, start.getZ() + facing.getFrontOffsetZ() * i);
+                if (height < 0) break;
+                if (height > start.getY()) {
+                    hitDistance = i;
+                    break;
+                }
+            }
 
-            if (rayTraceResult != null && rayTraceResult.typeOfHit == RayTraceResult.Type.BLOCK) {
-                int distance = (int) rayTraceResult.getBlockPos().distanceSq(start);
+            if (hitDistance >= 0) {
+                int distance = hitDistance * hitDistance;
                 if (distance > max) {
                     max = distance;
                     maxFacing = facing;
@@ -13,6 +13,7 @@ import tauri.dev.jsg.worldgen.structures.EnumStructures;
 import tauri.dev.jsg.worldgen.structures.JSGStructuresGenerator;
 import tauri.dev.jsg.worldgen.util.GeneratedStargate;
 import tauri.dev.jsg.worldgen.util.JSGStructurePos;
+import tauri.dev.jsg.worldgen.util.JSGSurfaceCache;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
@@ -46,6 +47,7 @@ public class StargateGenerator {
         if (pPos.getZ() < 0) z *= -1;
 
         JSGStructurePos structurePos = null;
+        JSGSurfaceCache surfaceCache = new JSGSurfaceCache(worldToSpawn, dimensionToSpawn, true);
         int chunkX = x / 16;
         int chunkZ = z / 16;
         int bestCount = 0;
@@ -82,7 +84,7 @@ public class StargateGenerator {
             String biomeName = Objects.requireNonNull(worldToSpawn.getBiome(new BlockPos(x, y, z)).getRegistryName()).getResourcePath();
             structure = EnumStructures.getStargateStructureByBiome(biomeName, symbolType, dimensionToSpawn);
             if (structure != null) {
-                structurePos = JSGStructuresGenerator.checkForPlace(worldToSpawn, chunkX, chunkZ, structure, dimensionToSpawn);
+                structurePos = JSGStructuresGenerator.checkForPlace(surfaceCache, chunkX, chunkZ, structure);
             }
             if(structurePos != null && structurePos.bestAttemptPos != null)
                 bestCount++;
@@ -111,6 +113,7 @@ public class StargateGenerator {
         if (pPos.getZ() < 0) z *= -1;
 
         JSGStructurePos structurePos = null;
+        JSGSurfaceCache surfaceCache = new JSGSurfaceCache(worldToSpawn, dimensionToSpawn, true);
         int chunkX = x / 16;
         int chunkZ = z / 16;
         int bestCount = 0;
@@ -145,7 +148,7 @@ public class StargateGenerator {
                 continue;
 
             if (structure != null) {
-                structurePos = JSGStructuresGenerator.checkForPlace(worldToSpawn, chunkX, chunkZ, structure, dimensionToSpawn);
+                structurePos = JSGStructuresGenerator.checkForPlace(surfaceCache, chunkX, chunkZ, structure);
             }
             if(structurePos != null && structurePos.bestAttemptPos != null)
                 bestCount++;
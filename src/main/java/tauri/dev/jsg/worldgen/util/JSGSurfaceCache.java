@@ -0,0 +1,155 @@
+package tauri.dev.jsg.worldgen.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Surface of the chunks used while searching for a structure place (one generation pass).
+ * <p>
+ * The top blocks are found the same way as {@link JSGWorldTopBlock#getTopBlock(World, int, int, int, int)},
+ * but the search starts at the chunk's heightmap instead of the world height and every chunk is scanned only once.
+ * <p>
+ * Chunks which are not loaded are only loaded when {@code loadChunks} is set (commands, myst pages).
+ * Random generation must not load them - that would cause cascading worldgen.
+ */
+public class JSGSurfaceCache {
+
+    /**
+     * Top blocks above this height are ignored (same as {@link JSGWorldTopBlock}).
+     */
+    private static final int MAX_TOP_Y = 239;
+
+    public final World world;
+    public final int dimensionId;
+    private final boolean loadChunks;
+
+    private final Map<Long, ChunkSurface> surfaces = new HashMap<>();
+
+    public JSGSurfaceCache(World world, int dimensionId, boolean loadChunks) {
+        this.world = world;
+        this.dimensionId = dimensionId;
+        this.loadChunks = loadChunks;
+    }
+
+    public static class ChunkSurface {
+        public final int airUp;
+
+        /**
+         * Y of the top block per column (index z * 16 + x), -1 if the column has no top block.
+         */
+        private final int[] topY = new int[256];
+        private final Block[] topBlock = new Block[256];
+
+        public final Map<Block, Integer> topBlocks = new IdentityHashMap<>();
+        public int minY = Integer.MAX_VALUE;
+        public int maxY = -1;
+
+        private ChunkSurface(World world, Chunk chunk, int airUp, int dimensionId) {
+            this.airUp = airUp;
+
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    int index = z * 16 + x;
+                    int y = findTopY(world, chunk, pos, x, z, chunk.getHeightValue(x, z), dimensionId);
+                    topY[index] = y;
+                    if (y < 0) continue;
+
+                    Block block = chunk.getBlockState(x, y, z).getBlock();
+                    topBlock[index] = block;
+                    topBlocks.merge(block, 1, Integer::sum);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+
+        private int findTopY(World world, Chunk chunk, BlockPos.MutableBlockPos pos, int x, int z, int height, int dimensionId) {
+            // Nether has a ceiling, heightmap is useless there
+            if (dimensionId == -1) {
+                for (int y = 0; y <= MAX_TOP_Y; y++) {
+                    if (isTopBlock(world, chunk, pos, x, y, z)) return y;
+                }
+                return -1;
+            }
+
+            for (int y = Math.min(height, MAX_TOP_Y); y > 0; y--) {
+                if (isTopBlock(world, chunk, pos, x, y, z)) return y;
+            }
+            return -1;
+        }
+
+        private boolean isTopBlock(World world, Chunk chunk, BlockPos.MutableBlockPos pos, int x, int y, int z) {
+            IBlockState state = chunk.getBlockState(x, y, z);
+            Block block = state.getBlock();
+            if (!JSGWorldTopBlock.canBeTopBlock(block)) return false;
+
+            pos.setPos((chunk.x << 4) + x, y, (chunk.z << 4) + z);
+            if (block.isReplaceable(world, pos)) return false;
+
+            for (int i = 1; i <= airUp; i++) {
+                if (JSGWorldTopBlock.canBeTopBlock(chunk.getBlockState(x, y + i, z).getBlock()))
+                    return false;
+            }
+
+            return true;
+        }
+
+        /**
+         * @return Y of the top block or -1.
+         */
+        public int getTopY(int x, int z) {
+            return topY[(z & 15) * 16 + (x & 15)];
+        }
+
+        @Nullable
+        public Block getTopBlock(int x, int z) {
+            return topBlock[(z & 15) * 16 + (x & 15)];
+        }
+
+        public boolean containsAny(Collection<Block> blocks) {
+            for (Block block : blocks) {
+                if (topBlocks.containsKey(block)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return Surface of the chunk or null if the chunk is not available.
+     */
+    @Nullable
+    public ChunkSurface getSurface(int chunkX, int chunkZ, int airUp) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        ChunkSurface surface = surfaces.get(key);
+        if (surfaces.containsKey(key) && (surface == null || surface.airUp == airUp)) return surface;
+
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+        if (chunk == null && loadChunks)
+            chunk = world.getChunkProvider().provideChunk(chunkX, chunkZ);
+
+        surface = (chunk != null ? new ChunkSurface(world, chunk, airUp, dimensionId) : null);
+        surfaces.put(key, surface);
+        return surface;
+    }
+
+    /**
+     * Never loads the chunk.
+     *
+     * @return Heightmap value at the position or -1 if the chunk is not loaded.
+     */
+    public int getHeight(int x, int z) {
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(x >> 4, z >> 4);
+        return chunk != null ? chunk.getHeightValue(x & 15, z & 15) : -1;
+    }
+}
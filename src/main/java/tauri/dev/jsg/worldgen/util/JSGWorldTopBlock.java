@@ -48,7 +48,7 @@ public class JSGWorldTopBlock {
         return null;
     }
 
-    private static boolean canBeTopBlock(Block block){
+    static boolean canBeTopBlock(Block block){
         if(block == Blocks.SNOW_LAYER) return false;
         if(block == Blocks.AIR) return false;
         if(block == Blocks.LEAVES) return false;